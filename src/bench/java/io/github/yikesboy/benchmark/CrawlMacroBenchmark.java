@@ -0,0 +1,186 @@
+package io.github.yikesboy.benchmark;
+
+import io.github.yikesboy.benchmark.site.LatencyDistribution;
+import io.github.yikesboy.benchmark.site.SyntheticSite;
+import io.github.yikesboy.benchmark.site.SyntheticSiteServer;
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlEngine;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.config.FetcherType;
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.crawler.FrontierCrawlerService;
+import io.github.yikesboy.crawler.VirtualThreadCrawlerService;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.crawler.WebCrawlerServiceInterface;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParser;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Crawls a generated site served by a local {@link SyntheticSiteServer} with every combination of engine, pool
+ * size and site shape, and prints pages per second, fetch latency percentiles, peak heap and the number of
+ * threads the crawl started. The politeness limit per host is raised to the pool size, since every page is
+ * served by the same host.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=io.github.yikesboy.benchmark.CrawlMacroBenchmark}.
+ * Settings are passed as {@code key=value} pairs in {@code -Dbenchmark.args}, lists are comma separated:
+ * <ul>
+ *     <li>{@code engines} - crawl engines, {@code forkjoin}, {@code virtual} and {@code frontier}</li>
+ *     <li>{@code pools} - fork/join parallelism or in-flight limit of the virtual thread and frontier engines</li>
+ *     <li>{@code shapes} - site shapes as {@code <fan-out>x<depth>}</li>
+ *     <li>{@code page-kb} - page size in KB</li>
+ *     <li>{@code cross-links} - links to random pages per page</li>
+ *     <li>{@code latency} - response delay, see {@link LatencyDistribution}</li>
+ *     <li>{@code error-rate} - share of pages answering with HTTP 500, reported as broken pages</li>
+ *     <li>{@code fetcher} - {@code jsoup} or {@code httpclient}</li>
+ *     <li>{@code server-threads} - handler threads of the local server</li>
+ * </ul>
+ */
+public class CrawlMacroBenchmark {
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "engines", "forkjoin,virtual,frontier",
+            "pools", "4,16,64",
+            "shapes", "10x3,40x2",
+            "page-kb", "16",
+            "cross-links", "3",
+            "latency", "exponential:10",
+            "error-rate", "0.01",
+            "fetcher", "jsoup",
+            "server-threads", "256");
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> settings = parseSettings(args);
+        LatencyDistribution latency = LatencyDistribution.parse(settings.get("latency"));
+        FetcherType fetcherType = FetcherType.fromOptionValue(settings.get("fetcher"));
+        int pageBytes = Integer.parseInt(settings.get("page-kb")) * 1024;
+        int crossLinks = Integer.parseInt(settings.get("cross-links"));
+        double errorRate = Double.parseDouble(settings.get("error-rate"));
+
+        CrawlMacroBenchmark benchmark = new CrawlMacroBenchmark();
+        try (SyntheticSiteServer server = new SyntheticSiteServer(Integer.parseInt(settings.get("server-threads")))) {
+            System.out.printf("latency %s, page size %d KB, cross links %d, error rate %.3f, fetcher %s%n",
+                    latency, pageBytes / 1024, crossLinks, errorRate, fetcherType.getOptionValue());
+            System.out.printf("%-8s %-7s %5s %8s %10s %9s %9s %7s %11s %8s%n", "engine", "shape", "pool",
+                    "pages", "pages/s", "p50 ms", "p99 ms", "broken", "peak heap", "threads");
+
+            for (String shape : split(settings.get("shapes"))) {
+                SyntheticSite site = SyntheticSite.ofShape(shape, pageBytes, crossLinks, errorRate);
+                server.serve(site, latency);
+                for (String engine : split(settings.get("engines"))) {
+                    for (String pool : split(settings.get("pools"))) {
+                        benchmark.run(server, site, CrawlEngine.fromOptionValue(engine), Integer.parseInt(pool),
+                                fetcherType);
+                    }
+                }
+            }
+        }
+    }
+
+    private void run(SyntheticSiteServer server,
+                     SyntheticSite site,
+                     CrawlEngine engine,
+                     int poolSize,
+                     FetcherType fetcherType) throws IOException {
+        TimingPageParser parser = new TimingPageParser(new PageParser(
+                fetcherType, CrawlOptions.DEFAULT_CONNECT_TIMEOUT, CrawlOptions.DEFAULT_READ_TIMEOUT));
+        CrawlConfig config = new CrawlConfig(server.getRootUrl(), site.depth(), Set.of(server.getHost()));
+        LongAdder brokenPages = new LongAdder();
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = resetHeapPeaks();
+        int baselineThreads = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        long elapsedNanos;
+        try (WebCrawlerServiceInterface service = createService(engine, poolSize, parser, brokenPages)) {
+            long start = System.nanoTime();
+            service.crawl(config);
+            elapsedNanos = System.nanoTime() - start;
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+
+        System.out.printf("%-8s %-7s %5d %8d %10.1f %9.2f %9.2f %7d %8.1f MB %8d%n",
+                engine.getOptionValue(), site, poolSize, parser.getCount(),
+                parser.getCount() / (elapsedNanos / (NANOS_PER_MILLI * 1000)),
+                parser.percentileNanos(50) / NANOS_PER_MILLI, parser.percentileNanos(99) / NANOS_PER_MILLI,
+                brokenPages.sum(), peakHeap / BYTES_PER_MEGABYTE,
+                threads.getPeakThreadCount() - baselineThreads);
+    }
+
+    /**
+     * Broken pages are counted by a listener, the crawl result only lists those that had links to follow. The
+     * service is closed after each run, so its pool and politeness timer do not add to the threads of later runs.
+     */
+    private static WebCrawlerServiceInterface createService(CrawlEngine engine,
+                                                            int poolSize,
+                                                            TimingPageParser parser,
+                                                            LongAdder brokenPages) {
+        PolitenessPolicy politenessPolicy = new PolitenessPolicy(poolSize, Duration.ZERO);
+        CrawlListener listener = new CrawlListener() {
+            @Override
+            public void onPageParsed(WebPage page) {
+                if (page.isBroken()) {
+                    brokenPages.increment();
+                }
+            }
+        };
+        return switch (engine) {
+            case FORK_JOIN -> new WebCrawlerService(
+                    parser, politenessPolicy, listener, new SetBackedVisitedUrlSet(), poolSize);
+            case VIRTUAL_THREADS -> new VirtualThreadCrawlerService(parser, poolSize, politenessPolicy, listener);
+            case FRONTIER -> new FrontierCrawlerService(parser, poolSize, politenessPolicy, listener);
+        };
+    }
+
+    /**
+     * The sum of the per-pool peaks is an upper bound of the real peak, pools rarely peak at the same time.
+     */
+    private static List<MemoryPoolMXBean> resetHeapPeaks() {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        return heapPools;
+    }
+
+    private static Map<String, String> parseSettings(String[] args) {
+        Map<String, String> settings = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] setting = arg.split("=", 2);
+            if (setting.length != 2 || !DEFAULTS.containsKey(setting[0])) {
+                throw new IllegalArgumentException("Unknown setting " + arg + ", known are " + DEFAULTS.keySet());
+            }
+            settings.put(setting[0], setting[1]);
+        }
+        return settings;
+    }
+
+    private static String[] split(String list) {
+        return list.split(",");
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.yikesboy.benchmark;
+
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records how long every fetch and parse of the wrapped parser takes.
+ */
+class TimingPageParser implements PageParserInterface {
+    private final PageParserInterface parser;
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+
+    TimingPageParser(PageParserInterface parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth) {
+        long start = System.nanoTime();
+        try {
+            return parser.parse(url, depth);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth, Consumer<URL> linkListener) {
+        long start = System.nanoTime();
+        try {
+            return parser.parse(url, depth, linkListener);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<URL> extractLinks(WebPage page) {
+        return parser.extractLinks(page);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return parser.isStreaming();
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile of the recorded latencies, zero when nothing was recorded.
+     */
+    synchronized long percentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    synchronized void reset() {
+        count = 0;
+    }
+
+    private synchronized void record(long nanos) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = nanos;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.yikesboy.benchmark;
+
+import io.github.yikesboy.visited.DiskSpillingVisitedUrlSet;
+import io.github.yikesboy.visited.DiskVisitedUrlSetConfig;
+import io.github.yikesboy.visited.FingerprintVisitedUrlSet;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures heap bytes per URL and claim throughput of the visited set implementations. The disk set is
+ * given a memory budget that is too small for all URLs, so it has to spill to segment files.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=io.github.yikesboy.benchmark.VisitedUrlSetBenchmark}.
+ * The URL count can be passed as {@code -Dbenchmark.args=<urls>}.
+ */
+public class VisitedUrlSetBenchmark {
+    private static final int DEFAULT_URL_COUNT = 2_000_000;
+    private static final long DISK_MEMORY_BUDGET_BYTES = 16L * 1024 * 1024;
+
+    public static void main(String[] args) {
+        int urlCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_URL_COUNT;
+
+        measure("exact", SetBackedVisitedUrlSet::new, urlCount);
+        measure("fingerprint", FingerprintVisitedUrlSet::new, urlCount);
+
+        DiskSpillingVisitedUrlSet diskVisitedUrls = new DiskSpillingVisitedUrlSet(
+                new DiskVisitedUrlSetConfig(null, urlCount, 0.01, DISK_MEMORY_BUDGET_BYTES));
+        measure("disk", () -> diskVisitedUrls, urlCount);
+        System.out.println(diskVisitedUrls.getStats());
+        diskVisitedUrls.close();
+    }
+
+    private static void measure(String name, Supplier<VisitedUrlSetInterface> factory, int urlCount) {
+        long before = usedHeap();
+        long start = System.nanoTime();
+
+        VisitedUrlSetInterface visitedUrls = factory.get();
+        for (int i = 0; i < urlCount; i++) {
+            visitedUrls.claim("https://example.com/section/" + (i % 1000) + "/page/" + i);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        long after = usedHeap();
+        if (visitedUrls.size() != urlCount) {
+            throw new IllegalStateException("Unexpected visited set size " + visitedUrls.size());
+        }
+
+        System.out.printf("%-12s %,8d bytes per URL, %,8d ns per claim%n",
+                name, (after - before) / urlCount, elapsedNanos / urlCount);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.yikesboy.benchmark;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.HeadingExtractor;
+import io.github.yikesboy.parser.LinkExtractor;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap retained per crawled page, once with the parsed document kept next to the page
+ * (how pages were held before) and once with the compact {@link WebPage} summary only.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=io.github.yikesboy.benchmark.WebPageRetentionBenchmark}.
+ * The page count can be passed as {@code -Dbenchmark.args=<pages>}.
+ */
+public class WebPageRetentionBenchmark {
+    private static final int DEFAULT_PAGE_COUNT = 2_000;
+    private static final int LINKS_PER_PAGE = 100;
+    private static final int PARAGRAPHS_PER_PAGE = 50;
+
+    private final HeadingExtractor headingExtractor = new HeadingExtractor();
+    private final LinkExtractor linkExtractor = new LinkExtractor();
+
+    public static void main(String[] args) throws IOException {
+        int pageCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PAGE_COUNT;
+        WebPageRetentionBenchmark benchmark = new WebPageRetentionBenchmark();
+
+        long documentBytes = benchmark.measure(pageCount, true);
+        long summaryBytes = benchmark.measure(pageCount, false);
+
+        System.out.printf("pages: %d, html bytes per page: %d%n", pageCount, createHtml(0).length);
+        System.out.printf("retained DOM:    %,10d bytes per page%n", documentBytes / pageCount);
+        System.out.printf("compact summary: %,10d bytes per page%n", summaryBytes / pageCount);
+    }
+
+    private long measure(int pageCount, boolean retainDocument) throws IOException {
+        List<Object> retained = new ArrayList<>(pageCount);
+        long before = usedHeap();
+
+        for (int i = 0; i < pageCount; i++) {
+            URL url = new URL("https://example.com/page/" + i);
+            HtmlDocument document = JsoupHtmlDocument.parse(createHtml(i), StandardCharsets.UTF_8.name(), url);
+            List<Heading> headings = headingExtractor.extractHeadings(document);
+            List<URL> links = linkExtractor.extractLinks(document, url);
+            WebPage page = new WebPage(url, headings, 1, links);
+            retained.add(retainDocument ? new RetainedPage(page, document) : page);
+        }
+
+        long after = usedHeap();
+        if (retained.size() != pageCount) {
+            throw new IllegalStateException("Pages were not retained.");
+        }
+        retained.clear();
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static byte[] createHtml(int pageNumber) {
+        StringBuilder html = new StringBuilder("<html><head><title>Page ")
+                .append(pageNumber)
+                .append("</title></head><body><h1>Page ")
+                .append(pageNumber)
+                .append("</h1>");
+
+        for (int i = 0; i < PARAGRAPHS_PER_PAGE; i++) {
+            html.append("<h2>Section ").append(i).append("</h2><p>")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor. ".repeat(4))
+                    .append("</p>");
+        }
+        for (int i = 0; i < LINKS_PER_PAGE; i++) {
+            html.append("<a href=\"/page/").append(pageNumber * LINKS_PER_PAGE + i).append("\">link</a>");
+        }
+
+        return html.append("</body></html>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record RetainedPage(WebPage page, HtmlDocument document) {
+    }
+}
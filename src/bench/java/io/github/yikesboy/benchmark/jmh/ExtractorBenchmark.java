@@ -0,0 +1,70 @@
+package io.github.yikesboy.benchmark.jmh;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.parser.ExtractionPipeline;
+import io.github.yikesboy.parser.ExtractionResult;
+import io.github.yikesboy.parser.HeadingExtractor;
+import io.github.yikesboy.parser.LinkExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heading and link extraction on an already parsed page, each extractor on its own and both in one
+ * {@link ExtractionPipeline} pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractorBenchmark {
+    @Param({HtmlCorpus.DOCS_PAGE, HtmlCorpus.NEWS_ARTICLE, HtmlCorpus.WIKI_ARTICLE})
+    public String page;
+
+    private final HeadingExtractor headingExtractor = new HeadingExtractor();
+    private final LinkExtractor linkExtractor = new LinkExtractor();
+    private final ExtractionPipeline pipeline = new ExtractionPipeline(List.of(headingExtractor, linkExtractor));
+
+    private URL baseUrl;
+    private HtmlDocument document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        baseUrl = HtmlCorpus.baseUrl(page);
+        document = JsoupHtmlDocument.parse(HtmlCorpus.load(page), StandardCharsets.UTF_8.name(), baseUrl);
+    }
+
+    @Benchmark
+    public List<Heading> extractHeadings() {
+        return headingExtractor.extractHeadings(document);
+    }
+
+    @Benchmark
+    public List<URL> extractLinks() {
+        return linkExtractor.extractLinks(document, baseUrl);
+    }
+
+    @Benchmark
+    public ExtractionResult extractWithPipeline() {
+        return pipeline.extract(document, baseUrl);
+    }
+}
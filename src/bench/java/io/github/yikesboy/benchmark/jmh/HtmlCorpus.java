@@ -0,0 +1,42 @@
+package io.github.yikesboy.benchmark.jmh;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Saved HTML pages from src/bench/resources/corpus. Each page keeps the markup of its kind of site: navigation
+ * menus, sidebars, tables, scripts, comments and a lot of relative and absolute links.
+ */
+final class HtmlCorpus {
+    static final String DOCS_PAGE = "docs-page.html";
+    static final String NEWS_ARTICLE = "news-article.html";
+    static final String WIKI_ARTICLE = "wiki-article.html";
+
+    private static final String CORPUS_DIRECTORY = "/corpus/";
+    private static final String BASE_URL = "https://www.example.com/section/";
+
+    private HtmlCorpus() {
+    }
+
+    static byte[] load(String page) {
+        try (InputStream input = HtmlCorpus.class.getResourceAsStream(CORPUS_DIRECTORY + page)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Unknown corpus page: " + page);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static URL baseUrl(String page) {
+        try {
+            return new URL(BASE_URL + page);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
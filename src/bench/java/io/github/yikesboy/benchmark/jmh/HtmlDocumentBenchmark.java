@@ -0,0 +1,69 @@
+package io.github.yikesboy.benchmark.jmh;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a saved page into a {@link JsoupHtmlDocument} and querying it, once with a CSS selector and once with
+ * the single traversal the extraction pipeline uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlDocumentBenchmark {
+    private static final String SELECTOR = "h1, h2, h3, h4, h5, h6, a[href]";
+    private static final Set<String> TAG_NAMES = Set.of("h1", "h2", "h3", "h4", "h5", "h6", "a");
+
+    @Param({HtmlCorpus.DOCS_PAGE, HtmlCorpus.NEWS_ARTICLE, HtmlCorpus.WIKI_ARTICLE})
+    public String page;
+
+    private byte[] html;
+    private URL baseUrl;
+    private HtmlDocument document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        html = HtmlCorpus.load(page);
+        baseUrl = HtmlCorpus.baseUrl(page);
+        document = JsoupHtmlDocument.parse(html, StandardCharsets.UTF_8.name(), baseUrl);
+    }
+
+    @Benchmark
+    public HtmlDocument parse() throws IOException {
+        return JsoupHtmlDocument.parse(html, StandardCharsets.UTF_8.name(), baseUrl);
+    }
+
+    @Benchmark
+    public List<HtmlElement> select() {
+        return document.select(SELECTOR);
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        document.traverse(TAG_NAMES, blackhole::consume);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.yikesboy.benchmark.jmh;
+
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.report.MarkdownReportRenderer;
+import io.github.yikesboy.report.ReportGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report rendering for large synthetic crawl trees. {@code render} writes into a discarding writer and only
+ * measures the markdown rendering, {@code generateReport} also includes the buffered file output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportGeneratorBenchmark {
+    private static final int HEADINGS_PER_PAGE = 8;
+    private static final int ERROR_COUNT = 1_000;
+
+    @Param({"10"})
+    public int fanOut;
+
+    @Param({"3", "4"})
+    public int depth;
+
+    private final MarkdownReportRenderer renderer = new MarkdownReportRenderer();
+    private final ReportGenerator reportGenerator = new ReportGenerator();
+
+    private WebPage rootPage;
+    private List<CrawlError> errors;
+    private Path outputPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rootPage = createTree(new URL("https://example.com/"), 0);
+        errors = new ArrayList<>();
+        for (int i = 0; i < ERROR_COUNT; i++) {
+            errors.add(new CrawlError(new URL("https://example.com/broken/" + i), depth, "Failed to fetch or parse page"));
+        }
+        outputPath = Files.createTempFile("report-benchmark", ".md");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputPath);
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        renderer.renderReport(Writer.nullWriter(), rootPage, errors);
+    }
+
+    @Benchmark
+    public boolean generateReport() {
+        return reportGenerator.generateReport(rootPage, errors, outputPath);
+    }
+
+    private WebPage createTree(URL url, int pageDepth) throws IOException {
+        List<Heading> headings = new ArrayList<>(HEADINGS_PER_PAGE);
+        for (int i = 0; i < HEADINGS_PER_PAGE; i++) {
+            headings.add(new Heading(i % 6 + 1, "Section " + i + " of " + url.getPath()));
+        }
+        WebPage page = new WebPage(url, headings, pageDepth, null);
+
+        if (pageDepth < depth) {
+            for (int i = 0; i < fanOut; i++) {
+                page.addChildPage(createTree(new URL(url, "page-" + i + "/"), pageDepth + 1));
+            }
+        }
+        return page;
+    }
+}
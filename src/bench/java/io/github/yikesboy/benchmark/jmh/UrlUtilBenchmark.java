@@ -0,0 +1,114 @@
+package io.github.yikesboy.benchmark.jmh;
+
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.parser.LinkExtractor;
+import io.github.yikesboy.util.DomainMatcher;
+import io.github.yikesboy.util.UrlCanonicalizer;
+import io.github.yikesboy.util.UrlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL normalization and the allowed domain check over every link found in the corpus. One operation handles
+ * all links, the score is therefore in link batches per second. {@link #legacyNormalizeUrl} is the former
+ * lowercase-and-strip-slash normalization, kept as the baseline of the {@link UrlCanonicalizer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlUtilBenchmark {
+    private static final Set<String> ALLOWED_DOMAINS = Set.of("example.com", "example.org", "docs.example.net");
+    private static final int LARGE_ALLOWLIST_SIZE = 20_000;
+
+    private URL[] links;
+    private DomainMatcher domainMatcher;
+    private Set<String> largeAllowedDomains;
+    private DomainMatcher largeDomainMatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LinkExtractor linkExtractor = new LinkExtractor();
+        List<URL> corpusLinks = new ArrayList<>();
+        for (String page : List.of(HtmlCorpus.DOCS_PAGE, HtmlCorpus.NEWS_ARTICLE, HtmlCorpus.WIKI_ARTICLE)) {
+            URL baseUrl = HtmlCorpus.baseUrl(page);
+            corpusLinks.addAll(linkExtractor.extractLinks(
+                    JsoupHtmlDocument.parse(HtmlCorpus.load(page), StandardCharsets.UTF_8.name(), baseUrl), baseUrl));
+        }
+        links = corpusLinks.toArray(new URL[0]);
+
+        domainMatcher = new DomainMatcher(ALLOWED_DOMAINS);
+        largeAllowedDomains = new HashSet<>(ALLOWED_DOMAINS);
+        for (int i = 0; i < LARGE_ALLOWLIST_SIZE; i++) {
+            largeAllowedDomains.add("site" + i + ".example.info");
+        }
+        largeDomainMatcher = new DomainMatcher(largeAllowedDomains);
+    }
+
+    @Benchmark
+    public void normalizeUrl(Blackhole blackhole) {
+        for (URL link : links) {
+            blackhole.consume(UrlUtil.normalizeUrl(link));
+        }
+    }
+
+    @Benchmark
+    public void legacyNormalizeUrl(Blackhole blackhole) {
+        for (URL link : links) {
+            String urlStr = link.toString();
+            if (urlStr.endsWith("/")) {
+                urlStr = urlStr.substring(0, urlStr.length() - 1);
+            }
+            blackhole.consume(urlStr.toLowerCase());
+        }
+    }
+
+    @Benchmark
+    public void isAllowedDomain(Blackhole blackhole) {
+        for (URL link : links) {
+            blackhole.consume(UrlUtil.isAllowedDomain(link, ALLOWED_DOMAINS));
+        }
+    }
+
+    @Benchmark
+    public void domainMatcher(Blackhole blackhole) {
+        for (URL link : links) {
+            blackhole.consume(domainMatcher.matches(link));
+        }
+    }
+
+    @Benchmark
+    public void isAllowedDomainLargeAllowlist(Blackhole blackhole) {
+        for (URL link : links) {
+            blackhole.consume(UrlUtil.isAllowedDomain(link, largeAllowedDomains));
+        }
+    }
+
+    @Benchmark
+    public void domainMatcherLargeAllowlist(Blackhole blackhole) {
+        for (URL link : links) {
+            blackhole.consume(largeDomainMatcher.matches(link));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.yikesboy.benchmark.site;
+
+import java.util.Random;
+
+/**
+ * Distribution of the artificial delay before a response is sent, written as {@code <kind>:<mean ms>},
+ * for example {@code fixed:5}, {@code uniform:10} or {@code exponential:20}. {@code none} sends responses
+ * right away.
+ *
+ * @param kind   Shape of the distribution.
+ * @param meanMs Mean delay in milliseconds.
+ */
+public record LatencyDistribution(Kind kind, double meanMs) {
+    private static final String SEPARATOR = ":";
+    private static final long MAX_DELAY_MS = 60_000;
+
+    public enum Kind {
+        NONE,
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL
+    }
+
+    public LatencyDistribution {
+        if (meanMs < 0) {
+            throw new IllegalArgumentException("Mean latency cannot be negative.");
+        }
+    }
+
+    public static LatencyDistribution parse(String value) {
+        String[] parts = value.split(SEPARATOR, 2);
+        Kind kind = Kind.valueOf(parts[0].toUpperCase());
+        if (kind == Kind.NONE) {
+            return new LatencyDistribution(kind, 0);
+        }
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Latency " + value + " needs a mean, e.g. " + parts[0] + ":10");
+        }
+        return new LatencyDistribution(kind, Double.parseDouble(parts[1]));
+    }
+
+    /**
+     * Uniform delays lie between zero and twice the mean, exponential ones are capped at one minute.
+     */
+    public long sampleMs(Random random) {
+        double delay = switch (kind) {
+            case NONE -> 0;
+            case FIXED -> meanMs;
+            case UNIFORM -> random.nextDouble() * 2 * meanMs;
+            case EXPONENTIAL -> -meanMs * Math.log(1 - random.nextDouble());
+        };
+        return Math.min(MAX_DELAY_MS, Math.round(delay));
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.NONE ? "none" : kind.name().toLowerCase() + SEPARATOR + meanMs;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.yikesboy.benchmark.site;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic site graph. The pages form a complete tree where every page above {@code depth} links to
+ * {@code fanOut} children, additionally every page links to {@code crossLinks} random pages of the site so a
+ * crawler keeps running into pages it has already visited. A share of {@code errorRate} pages answers with a
+ * server error, which pages those are only depends on the page number.
+ *
+ * @param fanOut     Number of child pages per page.
+ * @param depth      Depth of the deepest pages, the root page has depth zero.
+ * @param pageBytes  Approximate size of a page body.
+ * @param crossLinks Number of links to random pages per page.
+ * @param errorRate  Share of pages that fail with a server error.
+ */
+public record SyntheticSite(int fanOut, int depth, int pageBytes, int crossLinks, double errorRate) {
+    public static final String PAGE_PATH = "/page/";
+
+    private static final String FILLER_SENTENCE =
+            "The crawler follows every link it finds and records the headings of each page it visits. ";
+
+    public SyntheticSite {
+        if (fanOut < 1 || depth < 0 || pageBytes < 0 || crossLinks < 0) {
+            throw new IllegalArgumentException("Fan-out must be positive, depth, size and cross links non-negative.");
+        }
+        if (errorRate < 0 || errorRate >= 1) {
+            throw new IllegalArgumentException("Error rate must be at least 0 and below 1.");
+        }
+    }
+
+    /**
+     * Parses a site shape written as {@code <fan-out>x<depth>}, e.g. {@code 10x3}.
+     */
+    public static SyntheticSite ofShape(String shape, int pageBytes, int crossLinks, double errorRate) {
+        String[] parts = shape.toLowerCase().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Site shape must look like <fan-out>x<depth>: " + shape);
+        }
+        return new SyntheticSite(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), pageBytes, crossLinks, errorRate);
+    }
+
+    public long pageCount() {
+        long pages = 0;
+        long pagesAtDepth = 1;
+        for (int level = 0; level <= depth; level++) {
+            pages += pagesAtDepth;
+            pagesAtDepth *= fanOut;
+        }
+        return pages;
+    }
+
+    public boolean isPage(long page) {
+        return page >= 0 && page < pageCount();
+    }
+
+    public boolean isBroken(long page) {
+        return page != 0 && new SplittableRandom(page).nextDouble() < errorRate;
+    }
+
+    public String renderPage(long page) {
+        SplittableRandom random = new SplittableRandom(~page);
+        StringBuilder html = new StringBuilder(pageBytes + 1024)
+                .append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Page ").append(page)
+                .append("</title></head><body><nav><a href=\"").append(PAGE_PATH).append("0\">Home</a></nav>")
+                .append("<h1>Page ").append(page).append("</h1><ul>");
+
+        long firstChild = page * fanOut + 1;
+        if (isPage(firstChild)) {
+            for (long child = firstChild; child < firstChild + fanOut; child++) {
+                appendLink(html, child);
+            }
+        }
+        for (int i = 0; i < crossLinks; i++) {
+            appendLink(html, random.nextLong(pageCount()));
+        }
+        html.append("</ul>");
+
+        for (int section = 0; html.length() < pageBytes; section++) {
+            html.append("<h2>Section ").append(section).append("</h2><p>");
+            for (int i = 0; i < 8 && html.length() < pageBytes; i++) {
+                html.append(FILLER_SENTENCE);
+            }
+            html.append("</p>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    @Override
+    public String toString() {
+        return fanOut + "x" + depth;
+    }
+
+    private static void appendLink(StringBuilder html, long page) {
+        html.append("<li><a href=\"").append(PAGE_PATH).append(page).append("\">Page ").append(page).append("</a></li>");
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.yikesboy.benchmark.site;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a {@link SyntheticSite} on a loopback port. Every request is delayed according to the
+ * {@link LatencyDistribution} on one of {@code threads} prestarted handler threads, so the server does not
+ * create threads while a crawl is measured.
+ */
+public class SyntheticSiteServer implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/html; charset=utf-8";
+    private static final int BACKLOG = 1024;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor executor;
+    private volatile SyntheticSite site;
+    private volatile LatencyDistribution latency;
+
+    /**
+     * Without TCP_NODELAY the separately written headers and body run into delayed ACKs and add about 40 ms
+     * to every response.
+     */
+    public SyntheticSiteServer(int threads) throws IOException {
+        System.setProperty(NO_DELAY_PROPERTY, Boolean.TRUE.toString());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "site-server");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.prestartAllCoreThreads();
+        server.setExecutor(executor);
+        server.createContext(SyntheticSite.PAGE_PATH, this::handle);
+        server.start();
+    }
+
+    /**
+     * Switches the site that is served, crawls started afterwards see the new site.
+     */
+    public void serve(SyntheticSite site, LatencyDistribution latency) {
+        this.site = site;
+        this.latency = latency;
+    }
+
+    public URL getRootUrl() throws IOException {
+        return new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(),
+                SyntheticSite.PAGE_PATH + 0);
+    }
+
+    public String getHost() {
+        return server.getAddress().getHostString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            delay();
+            long page = parsePage(exchange.getRequestURI().getPath());
+            if (!site.isPage(page)) {
+                exchange.sendResponseHeaders(404, -1);
+            } else if (site.isBroken(page)) {
+                exchange.sendResponseHeaders(500, -1);
+            } else {
+                byte[] body = site.renderPage(page).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            }
+        }
+    }
+
+    private void delay() {
+        long delayMs = latency.sampleMs(ThreadLocalRandom.current());
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static long parsePage(String path) {
+        try {
+            return Long.parseLong(path.substring(SyntheticSite.PAGE_PATH.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package io.github.yikesboy.app;
+
+import io.github.yikesboy.checkpoint.CheckpointWriter;
+import io.github.yikesboy.checkpoint.CrawlCheckpoint;
+import io.github.yikesboy.checkpoint.ResumingPageParser;
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.crawler.FrontierCrawlerService;
+import io.github.yikesboy.crawler.VirtualThreadCrawlerService;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.crawler.WebCrawlerServiceInterface;
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.cache.CachingPageTransport;
+import io.github.yikesboy.html.cache.DiskHttpCache;
+import io.github.yikesboy.html.cache.HttpCacheStatsReporter;
+import io.github.yikesboy.html.http.HttpClientDocumentFetcher;
+import io.github.yikesboy.html.http.HttpClientTransport;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import io.github.yikesboy.html.jsoup.JsoupPageTransport;
+import io.github.yikesboy.html.jsoup.JsoupStreamingDocumentFetcher;
+import io.github.yikesboy.html.retry.CircuitBreakerPolicy;
+import io.github.yikesboy.html.retry.FetchRetrier;
+import io.github.yikesboy.html.retry.HostCircuitBreaker;
+import io.github.yikesboy.html.retry.RetryPolicy;
+import io.github.yikesboy.html.retry.RetryStatsReporter;
+import io.github.yikesboy.html.retry.RetryingDocumentFetcher;
+import io.github.yikesboy.html.retry.RetryingPageTransport;
+import io.github.yikesboy.html.retry.RetryingStreamingDocumentFetcher;
+import io.github.yikesboy.metrics.CrawlMetrics;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.metrics.DuplicateUrlReporter;
+import io.github.yikesboy.metrics.MetricsFileExporter;
+import io.github.yikesboy.parser.IncrementalPageParser;
+import io.github.yikesboy.parser.PageParser;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.parser.StreamingPageParser;
+import io.github.yikesboy.report.ReportGenerator;
+import io.github.yikesboy.report.ReportGeneratorInterface;
+import io.github.yikesboy.report.StreamingReportGenerator;
+import io.github.yikesboy.robots.RobotsCacheReporter;
+import io.github.yikesboy.robots.RobotsPageParser;
+import io.github.yikesboy.robots.RobotsTxtCache;
+import io.github.yikesboy.scheduler.HostDelays;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.snapshot.CrawlSnapshot;
+import io.github.yikesboy.snapshot.CrawlSnapshotWriter;
+import io.github.yikesboy.trace.ChromeTraceRecorder;
+import io.github.yikesboy.trace.CrawlTracer;
+import io.github.yikesboy.visited.DiskSpillingVisitedUrlSet;
+import io.github.yikesboy.visited.DiskVisitedUrlSetConfig;
+import io.github.yikesboy.visited.FingerprintVisitedUrlSet;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedSetStatsReporter;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wires the crawler components selected by the {@link CrawlOptions} of a crawl.
+ */
+public class CrawlComponentFactory implements CrawlComponentFactoryInterface {
+    private static final long MAX_ROBOTS_TXT_BYTES = 512 * 1024;
+
+    @Override
+    public CrawlComponents create(CrawlConfig config) {
+        CrawlOptions options = config.options();
+        List<CrawlListener> listeners = new ArrayList<>();
+        CrawlMetricsRecorder metrics = createMetrics(options, listeners);
+        RobotsTxtCache robotsCache = options.isRespectRobots() ? createRobotsCache(options, metrics, listeners) : null;
+        PageParserInterface parser = addCheckpointing(
+                config, addRobots(createParser(options, metrics, listeners), robotsCache), listeners);
+        ReportGeneratorInterface reportGenerator = createReportGenerator(options, listeners);
+        VisitedUrlSetInterface visitedUrls = createVisitedUrlSet(options, listeners);
+        CrawlTracer tracer = createTracer(options, listeners);
+        CrawlListener listener = CrawlListener.compose(listeners);
+
+        HostDelays hostDelays = robotsCache == null ? HostDelays.NONE : robotsCache;
+
+        return new CrawlComponents(createCrawlerService(
+                options, parser, listener, visitedUrls, metrics, tracer, hostDelays), reportGenerator);
+    }
+
+    private CrawlMetricsRecorder createMetrics(CrawlOptions options, List<CrawlListener> listeners) {
+        if (options.getMetricsDirectory() == null) {
+            return CrawlMetricsRecorder.NONE;
+        }
+
+        CrawlMetrics metrics = new CrawlMetrics();
+        listeners.add(metrics);
+        listeners.add(new DuplicateUrlReporter(metrics));
+        listeners.add(new MetricsFileExporter(metrics, options.getMetricsDirectory(), options.getMetricsInterval()));
+        return metrics;
+    }
+
+    private CrawlTracer createTracer(CrawlOptions options, List<CrawlListener> listeners) {
+        if (options.getTraceFile() == null) {
+            return CrawlTracer.NONE;
+        }
+
+        ChromeTraceRecorder tracer = new ChromeTraceRecorder(options.getTraceFile());
+        listeners.add(tracer);
+        return tracer;
+    }
+
+    /**
+     * The streaming parser only exists for jsoup, which like {@link PageParser} is given the read timeout. Every
+     * parser fetches through the same {@link FetchRetrier}.
+     */
+    private PageParserInterface createParser(CrawlOptions options,
+                                             CrawlMetricsRecorder metrics,
+                                             List<CrawlListener> listeners) {
+        FetchLimits limits = new FetchLimits(options.getMaxPageBytes(), options.getSkippedExtensions());
+        FetchRetrier retrier = createRetrier(options, metrics, listeners);
+        if (options.isStreamParse()) {
+            return new StreamingPageParser(new RetryingStreamingDocumentFetcher(
+                    new JsoupStreamingDocumentFetcher((int) options.getReadTimeout().toMillis(), limits), retrier),
+                    metrics);
+        }
+        if (options.getSnapshotFile() != null) {
+            IncrementalPageParser parser = new IncrementalPageParser(
+                    new RetryingPageTransport(createPageTransport(options, limits, listeners), retrier),
+                    loadSnapshot(options.getSnapshotFile()),
+                    metrics);
+            listeners.add(new CrawlSnapshotWriter(parser, options.getSnapshotFile()));
+            return parser;
+        }
+        HtmlDocumentFetcher fetcher = options.getHttpCacheDirectory() != null
+                ? new HttpClientDocumentFetcher(createPageTransport(options, limits, listeners))
+                : PageParser.createFetcher(
+                        options.getFetcherType(), options.getConnectTimeout(), options.getReadTimeout(), limits);
+        return new PageParser(new RetryingDocumentFetcher(fetcher, retrier), metrics);
+    }
+
+    private FetchRetrier createRetrier(CrawlOptions options,
+                                       CrawlMetricsRecorder metrics,
+                                       List<CrawlListener> listeners) {
+        FetchRetrier retrier = new FetchRetrier(
+                new RetryPolicy(options.getMaxRetries(), options.getRetryBackoff()),
+                new HostCircuitBreaker(new CircuitBreakerPolicy(
+                        options.getCircuitFailureThreshold(), options.getCircuitOpenDuration())));
+        metrics.registerGauge("crawler_fetch_retries", "Fetches retried after a temporary failure.",
+                retrier::getRetries);
+        metrics.registerGauge("crawler_fetches_failed_fast", "Fetches not attempted because their host was down.",
+                retrier::getFailedFastFetches);
+        listeners.add(new RetryStatsReporter(retrier));
+        return retrier;
+    }
+
+    /**
+     * Pages are requested through a transport where request headers are needed, for the conditional requests
+     * of the HTTP cache and of incremental crawls.
+     */
+    private HttpPageTransport createPageTransport(CrawlOptions options,
+                                                  FetchLimits limits,
+                                                  List<CrawlListener> listeners) {
+        HttpPageTransport transport = switch (options.getFetcherType()) {
+            case JSOUP -> new JsoupPageTransport((int) options.getReadTimeout().toMillis(), limits);
+            case HTTP_CLIENT -> new HttpClientTransport(options.getConnectTimeout(), options.getReadTimeout(), limits);
+        };
+        if (options.getHttpCacheDirectory() == null) {
+            return transport;
+        }
+
+        CachingPageTransport cachingTransport = new CachingPageTransport(transport, createHttpCache(options));
+        listeners.add(new HttpCacheStatsReporter(cachingTransport));
+        return cachingTransport;
+    }
+
+    /**
+     * Robots.txt files are small text files, they are always fetched with the HTTP client and their own size
+     * limit, whatever fetcher and limits the pages use, and are not skipped for not being HTML.
+     */
+    private RobotsTxtCache createRobotsCache(CrawlOptions options,
+                                             CrawlMetricsRecorder metrics,
+                                             List<CrawlListener> listeners) {
+        HttpPageTransport transport = new HttpClientTransport(options.getConnectTimeout(), options.getReadTimeout(),
+                new FetchLimits(MAX_ROBOTS_TXT_BYTES, Set.of(), false));
+        RobotsTxtCache cache = new RobotsTxtCache(transport, options.getRobotsTtl());
+        metrics.registerGauge("crawler_robots_cache_hits", "Robots.txt lookups answered from the cache.",
+                cache::getHits);
+        metrics.registerGauge("crawler_robots_cache_misses", "Robots.txt lookups that fetched the file.",
+                cache::getMisses);
+        listeners.add(new RobotsCacheReporter(cache));
+        return cache;
+    }
+
+    private PageParserInterface addRobots(PageParserInterface parser, RobotsTxtCache robotsCache) {
+        return robotsCache == null ? parser : new RobotsPageParser(parser, robotsCache);
+    }
+
+    /**
+     * Completed pages of a resumed crawl are restored from the checkpoint, so the crawl rebuilds its tree,
+     * frontier and visited set without fetching them again.
+     */
+    private PageParserInterface addCheckpointing(CrawlConfig config,
+                                                 PageParserInterface parser,
+                                                 List<CrawlListener> listeners) {
+        Path checkpointFile = config.options().getCheckpointFile();
+        if (checkpointFile == null) {
+            return parser;
+        }
+
+        CrawlCheckpoint checkpoint = config.options().isResume()
+                ? loadCheckpoint(checkpointFile, config)
+                : CrawlCheckpoint.empty();
+        listeners.add(new CheckpointWriter(checkpointFile, checkpoint));
+        return checkpoint.size() == 0 ? parser : new ResumingPageParser(parser, checkpoint);
+    }
+
+    private CrawlCheckpoint loadCheckpoint(Path file, CrawlConfig config) {
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("No crawl checkpoint to resume from at " + file);
+        }
+
+        CrawlCheckpoint checkpoint;
+        try {
+            checkpoint = CrawlCheckpoint.load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read crawl checkpoint " + file, e);
+        }
+        if (!checkpoint.isCheckpointOf(config.rootUrl())) {
+            throw new IllegalArgumentException("Checkpoint " + file + " belongs to a crawl of " + checkpoint.getRootUrl());
+        }
+        System.out.println("Resuming crawl with " + checkpoint.size() + " completed pages from " + file);
+        return checkpoint;
+    }
+
+    private CrawlSnapshot loadSnapshot(Path file) {
+        try {
+            return CrawlSnapshot.load(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read crawl snapshot " + file, e);
+        }
+    }
+
+    private DiskHttpCache createHttpCache(CrawlOptions options) {
+        try {
+            return new DiskHttpCache(options.getHttpCacheDirectory(), options.getHttpCacheMaxBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open HTTP cache " + options.getHttpCacheDirectory(), e);
+        }
+    }
+
+    private ReportGeneratorInterface createReportGenerator(CrawlOptions options, List<CrawlListener> listeners) {
+        if (!options.isStreamReport()) {
+            return new ReportGenerator(options.isGzipReport());
+        }
+
+        StreamingReportGenerator reportGenerator =
+                new StreamingReportGenerator(Paths.get(options.getReportFile()), options.isGzipReport());
+        listeners.add(reportGenerator);
+        return reportGenerator;
+    }
+
+    private WebCrawlerServiceInterface createCrawlerService(CrawlOptions options,
+                                                            PageParserInterface parser,
+                                                            CrawlListener listener,
+                                                            VisitedUrlSetInterface visitedUrls,
+                                                            CrawlMetricsRecorder metrics,
+                                                            CrawlTracer tracer,
+                                                            HostDelays hostDelays) {
+        PolitenessPolicy politenessPolicy = new PolitenessPolicy(options.getMaxRequestsPerHost(),
+                options.getMinHostDelay()).withHostDelays(hostDelays);
+
+        return switch (options.getEngine()) {
+            case FORK_JOIN -> new WebCrawlerService(parser, politenessPolicy, listener, visitedUrls,
+                    WebCrawlerService.defaultParallelism(), metrics, tracer);
+            case VIRTUAL_THREADS -> new VirtualThreadCrawlerService(
+                    parser, options.getMaxInFlight(), politenessPolicy, listener, visitedUrls, metrics);
+            case FRONTIER -> new FrontierCrawlerService(
+                    parser, options.getMaxInFlight(), politenessPolicy, listener, visitedUrls, metrics);
+        };
+    }
+
+    private VisitedUrlSetInterface createVisitedUrlSet(CrawlOptions options, List<CrawlListener> listeners) {
+        return switch (options.getVisitedSetType()) {
+            case EXACT -> new SetBackedVisitedUrlSet();
+            case FINGERPRINT -> new FingerprintVisitedUrlSet();
+            case DISK -> {
+                DiskSpillingVisitedUrlSet visitedUrls = new DiskSpillingVisitedUrlSet(new DiskVisitedUrlSetConfig(
+                        options.getVisitedDirectory(),
+                        options.getVisitedExpectedUrls(),
+                        options.getVisitedFalsePositiveRate(),
+                        options.getVisitedMemoryBudgetBytes()));
+                listeners.add(new VisitedSetStatsReporter(visitedUrls));
+                yield visitedUrls;
+            }
+        };
+    }
+}
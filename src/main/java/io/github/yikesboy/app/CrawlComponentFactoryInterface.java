@@ -0,0 +1,7 @@
+package io.github.yikesboy.app;
+
+import io.github.yikesboy.config.CrawlConfig;
+
+public interface CrawlComponentFactoryInterface {
+    CrawlComponents create(CrawlConfig config);
+}
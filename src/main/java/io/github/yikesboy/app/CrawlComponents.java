@@ -0,0 +1,7 @@
+package io.github.yikesboy.app;
+
+import io.github.yikesboy.crawler.WebCrawlerServiceInterface;
+import io.github.yikesboy.report.ReportGeneratorInterface;
+
+public record CrawlComponents(WebCrawlerServiceInterface crawlerService, ReportGeneratorInterface reportGenerator) {
+}
@@ -1,11 +1,10 @@
 package io.github.yikesboy.app;
 
 import io.github.yikesboy.config.CrawlConfig;
-import io.github.yikesboy.crawler.WebCrawlerService;
 import io.github.yikesboy.crawler.WebCrawlerServiceInterface;
+import io.github.yikesboy.jfr.CrawlRecording;
 import io.github.yikesboy.models.CrawlResult;
-import io.github.yikesboy.parser.PageParser;
-import io.github.yikesboy.report.ReportGenerator;
+import io.github.yikesboy.models.CrawlStopReason;
 import io.github.yikesboy.report.ReportGeneratorInterface;
 import io.github.yikesboy.util.ArgumentParser;
 import io.github.yikesboy.util.ArgumentParserInterface;
@@ -15,17 +14,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class WebCrawlerApp implements WebCrawlerAppInterface {
-    private static final String DEFAULT_OUTPUT_FILE = "crawler-report.md";
-
     private final ArgumentParserInterface argumentParser;
-    private final WebCrawlerServiceInterface crawlerService;
-    private final ReportGeneratorInterface reportGenerator;
+    private final CrawlComponentFactoryInterface componentFactory;
 
     public WebCrawlerApp() {
         this(
                 new ArgumentParser(),
-                new WebCrawlerService(new PageParser()),
-                new ReportGenerator()
+                new CrawlComponentFactory()
         );
     }
 
@@ -33,16 +28,31 @@ public class WebCrawlerApp implements WebCrawlerAppInterface {
             ArgumentParserInterface argumentParser,
             WebCrawlerServiceInterface crawlerService,
             ReportGeneratorInterface reportGenerator) {
+        this(argumentParser, config -> new CrawlComponents(crawlerService, reportGenerator));
+    }
+
+    public WebCrawlerApp(
+            ArgumentParserInterface argumentParser,
+            CrawlComponentFactoryInterface componentFactory) {
         this.argumentParser = argumentParser;
-        this.crawlerService = crawlerService;
-        this.reportGenerator = reportGenerator;
+        this.componentFactory = componentFactory;
     }
 
     public ExitStatus run(String[] args) {
         try {
             CrawlConfig config = argumentParser.parse(args);
-            CrawlResult result = executeCrawl(config);
-            return generateReport(result);
+            CrawlRecording recording = CrawlRecording.start(config.options().getJfrFile());
+            try {
+                CrawlComponents components = componentFactory.create(config);
+                CrawlResult result;
+                try (WebCrawlerServiceInterface crawlerService = components.crawlerService()) {
+                    result = executeCrawl(crawlerService, config);
+                }
+                return generateReport(
+                        components.reportGenerator(), result, Paths.get(config.options().getReportFile()));
+            } finally {
+                recording.close();
+            }
         } catch (IllegalArgumentException e) {
             System.err.println("Error: " + e.getMessage());
             return ExitStatus.INVALID_ARGS;
@@ -52,13 +62,17 @@ public class WebCrawlerApp implements WebCrawlerAppInterface {
         }
     }
 
-    private CrawlResult executeCrawl(CrawlConfig config) {
+    private CrawlResult executeCrawl(WebCrawlerServiceInterface crawlerService, CrawlConfig config) {
         System.out.println("Starting crawl from " + config.rootUrl());
-        return crawlerService.crawl(config);
+        CrawlResult result = crawlerService.crawl(config);
+        if (result.stopReason() != CrawlStopReason.COMPLETED) {
+            System.out.println("Crawl stopped early, " + result.stopReason().getDescription()
+                    + ". The report contains the pages crawled until then.");
+        }
+        return result;
     }
 
-    private ExitStatus generateReport(CrawlResult result) {
-        Path outputPath = Paths.get(DEFAULT_OUTPUT_FILE);
+    private ExitStatus generateReport(ReportGeneratorInterface reportGenerator, CrawlResult result, Path outputPath) {
         boolean success = reportGenerator.generateReport(result.rootPage(), result.errors(), outputPath);
 
         if (success) {
@@ -0,0 +1,20 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Summary of a completed page as it is stored in a checkpoint file.
+ */
+record CheckpointEntry(URL url, boolean broken, List<Heading> headings, List<URL> links) {
+    static CheckpointEntry of(WebPage page) {
+        return new CheckpointEntry(page.getUrl(), page.isBroken(), List.copyOf(page.getHeadings()), page.getLinks());
+    }
+
+    WebPage toWebPage(int depth) {
+        return broken ? new WebPage(url, depth, true) : new WebPage(url, headings, depth, links);
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every completed page of a crawl to a checkpoint file so an interrupted crawl can be resumed.
+ * <p>
+ * Crawl workers only put pages into an unbounded queue. A single background thread appends them to the file
+ * and forces the file to disk every {@code syncInterval}, so a crash loses at most the pages of the last
+ * interval. When the crawl completes the checkpoint is no longer needed and the file is deleted. A crawl stopped
+ * by its page, download or time budget keeps the file, so it can be resumed to crawl the remaining pages.
+ */
+public class CheckpointWriter implements CrawlListener {
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String THREAD_NAME = "crawl-checkpoint";
+    private static final CheckpointEntry END_OF_CRAWL = new CheckpointEntry(null, false, null, null);
+
+    private final Path file;
+    private final CrawlCheckpoint resumedCheckpoint;
+    private final Duration syncInterval;
+    private final BlockingQueue<CheckpointEntry> pendingEntries = new LinkedBlockingQueue<>();
+
+    private Thread writerThread;
+
+    public CheckpointWriter(Path file, CrawlCheckpoint resumedCheckpoint) {
+        this(file, resumedCheckpoint, DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * @param resumedCheckpoint checkpoint the crawl resumes from, its pages are kept and not written again
+     */
+    public CheckpointWriter(Path file, CrawlCheckpoint resumedCheckpoint, Duration syncInterval) {
+        this.file = file;
+        this.resumedCheckpoint = resumedCheckpoint;
+        this.syncInterval = syncInterval;
+    }
+
+    @Override
+    public synchronized void onCrawlStarted(CrawlConfig config) {
+        try {
+            FileChannel channel = openChannel(config);
+            writerThread = new Thread(() -> writeEntries(channel), THREAD_NAME);
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } catch (IOException e) {
+            System.err.println("Error opening crawl checkpoint, continuing without: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Skipped pages are not stored, a resumed crawl decides again whether to skip them without downloading them.
+     */
+    @Override
+    public void onPageParsed(WebPage page) {
+        if (!page.isSkipped() && !resumedCheckpoint.contains(page.getUrl())) {
+            pendingEntries.add(CheckpointEntry.of(page));
+        }
+    }
+
+    @Override
+    public synchronized void onCrawlFinished(CrawlResult result) {
+        if (writerThread == null) {
+            return;
+        }
+
+        pendingEntries.add(END_OF_CRAWL);
+        try {
+            writerThread.join();
+            if (result.stopReason() == CrawlStopReason.COMPLETED) {
+                Files.deleteIfExists(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error deleting crawl checkpoint: " + e.getMessage());
+        }
+        writerThread = null;
+    }
+
+    /**
+     * A resumed checkpoint is continued behind its last complete record, otherwise a new file is started.
+     */
+    private FileChannel openChannel(CrawlConfig config) throws IOException {
+        if (resumedCheckpoint.getRootUrl() != null) {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            channel.truncate(resumedCheckpoint.getValidLength());
+            channel.position(resumedCheckpoint.getValidLength());
+            return channel;
+        }
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        DataOutputStream header = new DataOutputStream(Channels.newOutputStream(channel));
+        header.writeInt(CrawlCheckpoint.MAGIC);
+        header.writeInt(CrawlCheckpoint.FORMAT_VERSION);
+        CrawlCheckpoint.writeString(header, config.rootUrl().toString());
+        header.flush();
+        return channel;
+    }
+
+    private void writeEntries(FileChannel channel) {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            long nextSyncNanos = System.nanoTime() + syncInterval.toNanos();
+            while (true) {
+                CheckpointEntry entry = pendingEntries.poll(syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (entry == END_OF_CRAWL) {
+                    return;
+                }
+                if (entry != null) {
+                    byte[] record = CrawlCheckpoint.encode(entry);
+                    output.writeInt(record.length);
+                    output.writeInt(CrawlCheckpoint.checksum(record));
+                    output.write(record);
+                }
+                if (System.nanoTime() - nextSyncNanos >= 0) {
+                    output.flush();
+                    channel.force(false);
+                    nextSyncNanos = System.nanoTime() + syncInterval.toNanos();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing crawl checkpoint, checkpointing stopped: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.util.UrlUtil;
+
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Completed pages of an interrupted crawl, read from the append-only file a {@link CheckpointWriter} wrote.
+ * <p>
+ * The file starts with the root URL of the crawl, followed by one length-prefixed and checksummed record per
+ * completed page. Reading stops at the first incomplete or corrupt record, which is where the previous
+ * process died. Pending URLs and the visited set are not stored, they are rebuilt when the resumed crawl
+ * expands the restored pages again.
+ */
+public class CrawlCheckpoint {
+    static final int MAGIC = 0x43524b50;
+    static final int FORMAT_VERSION = 1;
+
+    private final URL rootUrl;
+    private final Map<String, CheckpointEntry> pages;
+    private final long validLength;
+
+    private CrawlCheckpoint(URL rootUrl, Map<String, CheckpointEntry> pages, long validLength) {
+        this.rootUrl = rootUrl;
+        this.pages = pages;
+        this.validLength = validLength;
+    }
+
+    public static CrawlCheckpoint empty() {
+        return new CrawlCheckpoint(null, Map.of(), 0);
+    }
+
+    public static CrawlCheckpoint load(Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a crawl checkpoint: " + file);
+            }
+            String rootUrl = readString(input);
+            long validLength = 2L * Integer.BYTES + Integer.BYTES + rootUrl.getBytes(StandardCharsets.UTF_8).length;
+
+            Map<String, CheckpointEntry> pages = new ConcurrentHashMap<>();
+            byte[] record;
+            while ((record = readRecord(input)) != null) {
+                CheckpointEntry entry = decode(record);
+                pages.put(entry.url().toString(), entry);
+                validLength += 2L * Integer.BYTES + record.length;
+            }
+            return new CrawlCheckpoint(new URL(rootUrl), pages, validLength);
+        } catch (EOFException e) {
+            throw new IOException("Incomplete crawl checkpoint header in " + file, e);
+        }
+    }
+
+    /**
+     * @return root URL of the checkpointed crawl, {@code null} for an empty checkpoint
+     */
+    public URL getRootUrl() {
+        return rootUrl;
+    }
+
+    /**
+     * Compares the canonical forms of the URLs. {@link URL#equals} would resolve both hosts, which fails without
+     * DNS and treats virtual hosts on the same address as equal.
+     *
+     * @return {@code true} if the checkpoint belongs to a crawl starting at the given URL
+     */
+    public boolean isCheckpointOf(URL crawlRootUrl) {
+        return rootUrl != null && UrlUtil.normalizeUrl(rootUrl).equals(UrlUtil.normalizeUrl(crawlRootUrl));
+    }
+
+    /**
+     * @return the completed page with the given URL, placed at the depth it is reached at now
+     */
+    public Optional<WebPage> restore(URL url, int depth) {
+        CheckpointEntry entry = pages.get(url.toString());
+        return entry == null ? Optional.empty() : Optional.of(entry.toWebPage(depth));
+    }
+
+    public boolean contains(URL url) {
+        return pages.containsKey(url.toString());
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    /**
+     * @return length of the file up to the end of the last complete record, appending continues there
+     */
+    long getValidLength() {
+        return validLength;
+    }
+
+    static byte[] encode(CheckpointEntry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeString(output, entry.url().toString());
+            output.writeBoolean(entry.broken());
+            output.writeInt(entry.headings().size());
+            for (Heading heading : entry.headings()) {
+                output.writeByte(heading.level());
+                writeString(output, heading.text());
+            }
+            output.writeInt(entry.links().size());
+            for (URL link : entry.links()) {
+                writeString(output, link.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * @return the next complete record, or null at the end of the file or at a torn or corrupt record
+     */
+    private static byte[] readRecord(DataInputStream input) throws IOException {
+        try {
+            int length = input.readInt();
+            int checksum = input.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] record = input.readNBytes(length);
+            return record.length == length && checksum(record) == checksum ? record : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static CheckpointEntry decode(byte[] record) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        URL url = new URL(readString(input));
+        boolean broken = input.readBoolean();
+
+        int headingCount = input.readInt();
+        List<Heading> headings = new ArrayList<>(headingCount);
+        for (int i = 0; i < headingCount; i++) {
+            headings.add(new Heading(input.readUnsignedByte(), readString(input)));
+        }
+
+        int linkCount = input.readInt();
+        List<URL> links = new ArrayList<>(linkCount);
+        for (int i = 0; i < linkCount; i++) {
+            links.add(new URL(readString(input)));
+        }
+        return new CheckpointEntry(url, broken, headings, links);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
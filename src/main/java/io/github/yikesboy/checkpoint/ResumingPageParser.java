@@ -0,0 +1,51 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Parser decorator of a resumed crawl. Pages completed before the interruption are restored from the
+ * {@link CrawlCheckpoint} instead of being fetched again, all other pages are passed to the wrapped parser.
+ */
+public class ResumingPageParser implements PageParserInterface {
+    private final PageParserInterface parser;
+    private final CrawlCheckpoint checkpoint;
+
+    public ResumingPageParser(PageParserInterface parser, CrawlCheckpoint checkpoint) {
+        this.parser = parser;
+        this.checkpoint = checkpoint;
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth) {
+        Optional<WebPage> restoredPage = checkpoint.restore(url, depth);
+        return restoredPage.orElseGet(() -> parser.parse(url, depth));
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth, Consumer<URL> linkListener) {
+        Optional<WebPage> restoredPage = checkpoint.restore(url, depth);
+        if (restoredPage.isEmpty()) {
+            return parser.parse(url, depth, linkListener);
+        }
+
+        WebPage page = restoredPage.get();
+        extractLinks(page).forEach(linkListener);
+        return page;
+    }
+
+    @Override
+    public List<URL> extractLinks(WebPage page) {
+        return parser.extractLinks(page);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return parser.isStreaming();
+    }
+}
@@ -9,8 +9,9 @@ import java.util.Set;
  * @param rootUrl        The starting URL for the crawler.
  * @param maxDepth       Maximum depth of links to follow from root URL.
  * @param allowedDomains Set of domains the crawler is allowed to visit.
+ * @param options        Optional runtime settings, defaults are used when null.
  */
-public record CrawlConfig(URL rootUrl, int maxDepth, Set<String> allowedDomains) {
+public record CrawlConfig(URL rootUrl, int maxDepth, Set<String> allowedDomains, CrawlOptions options) {
     public CrawlConfig {
         if (rootUrl == null) {
             throw new IllegalArgumentException("Root URL cannot be null");
@@ -23,5 +24,12 @@ public record CrawlConfig(URL rootUrl, int maxDepth, Set<String> allowedDomains)
         }
 
         allowedDomains = Set.copyOf(allowedDomains);
+        if (options == null) {
+            options = CrawlOptions.defaults();
+        }
+    }
+
+    public CrawlConfig(URL rootUrl, int maxDepth, Set<String> allowedDomains) {
+        this(rootUrl, maxDepth, allowedDomains, CrawlOptions.defaults());
     }
 }
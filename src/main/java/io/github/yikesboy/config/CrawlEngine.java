@@ -0,0 +1,29 @@
+package io.github.yikesboy.config;
+
+/**
+ * The execution engines a crawl can run on.
+ */
+public enum CrawlEngine {
+    FORK_JOIN("forkjoin"),
+    VIRTUAL_THREADS("virtual"),
+    FRONTIER("frontier");
+
+    private final String optionValue;
+
+    CrawlEngine(String optionValue) {
+        this.optionValue = optionValue;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public static CrawlEngine fromOptionValue(String value) {
+        for (CrawlEngine engine : values()) {
+            if (engine.optionValue.equalsIgnoreCase(value)) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("Unknown crawl engine: " + value);
+    }
+}
@@ -0,0 +1,622 @@
+package io.github.yikesboy.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Optional runtime settings of a crawl. They influence how a crawl is executed, not what is crawled.
+ */
+public final class CrawlOptions {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 4;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(5);
+    public static final long DEFAULT_VISITED_EXPECTED_URLS = 10_000_000L;
+    public static final double DEFAULT_VISITED_FALSE_POSITIVE_RATE = 0.01;
+    public static final long DEFAULT_VISITED_MEMORY_BUDGET_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_HTTP_CACHE_MAX_BYTES = 256L * 1024 * 1024;
+    public static final Duration DEFAULT_METRICS_INTERVAL = Duration.ofSeconds(5);
+    public static final long UNLIMITED = Long.MAX_VALUE;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(500);
+    public static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_CIRCUIT_OPEN_DURATION = Duration.ofSeconds(30);
+    public static final long DEFAULT_MAX_PAGE_BYTES = 5L * 1024 * 1024;
+    public static final Duration DEFAULT_ROBOTS_TTL = Duration.ofHours(24);
+    public static final String DEFAULT_CHECKPOINT_FILE = "crawler-checkpoint.bin";
+    public static final String DEFAULT_REPORT_FILE = "crawler-report.md";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final CrawlEngine engine;
+    private final int maxInFlight;
+    private final int maxRequestsPerHost;
+    private final Duration minHostDelay;
+    private final FetcherType fetcherType;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final boolean streamReport;
+    private final boolean gzipReport;
+    private final boolean streamParse;
+    private final VisitedSetType visitedSetType;
+    private final Path visitedDirectory;
+    private final long visitedExpectedUrls;
+    private final double visitedFalsePositiveRate;
+    private final long visitedMemoryBudgetBytes;
+    private final Path httpCacheDirectory;
+    private final long httpCacheMaxBytes;
+    private final Path snapshotFile;
+    private final Path checkpointFile;
+    private final boolean resume;
+    private final Path allowedDomainsFile;
+    private final Path metricsDirectory;
+    private final Duration metricsInterval;
+    private final Path jfrFile;
+    private final Path traceFile;
+    private final long maxPages;
+    private final long maxBytes;
+    private final Duration maxDuration;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int circuitFailureThreshold;
+    private final Duration circuitOpenDuration;
+    private final long maxPageBytes;
+    private final Set<String> skippedExtensions;
+    private final boolean respectRobots;
+    private final Duration robotsTtl;
+
+    private CrawlOptions(Builder builder) {
+        this.engine = builder.engine;
+        this.maxInFlight = builder.maxInFlight;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        this.minHostDelay = builder.minHostDelay;
+        this.fetcherType = builder.fetcherType;
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.streamReport = builder.streamReport;
+        this.gzipReport = builder.gzipReport;
+        this.streamParse = builder.streamParse;
+        this.visitedSetType = builder.visitedSetType;
+        this.visitedDirectory = builder.visitedDirectory;
+        this.visitedExpectedUrls = builder.visitedExpectedUrls;
+        this.visitedFalsePositiveRate = builder.visitedFalsePositiveRate;
+        this.visitedMemoryBudgetBytes = builder.visitedMemoryBudgetBytes;
+        this.httpCacheDirectory = builder.httpCacheDirectory;
+        this.httpCacheMaxBytes = builder.httpCacheMaxBytes;
+        this.snapshotFile = builder.snapshotFile;
+        this.checkpointFile = builder.checkpointFile;
+        this.resume = builder.resume;
+        this.allowedDomainsFile = builder.allowedDomainsFile;
+        this.metricsDirectory = builder.metricsDirectory;
+        this.metricsInterval = builder.metricsInterval;
+        this.jfrFile = builder.jfrFile;
+        this.traceFile = builder.traceFile;
+        this.maxPages = builder.maxPages;
+        this.maxBytes = builder.maxBytes;
+        this.maxDuration = builder.maxDuration;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoff = builder.retryBackoff;
+        this.circuitFailureThreshold = builder.circuitFailureThreshold;
+        this.circuitOpenDuration = builder.circuitOpenDuration;
+        this.maxPageBytes = builder.maxPageBytes;
+        this.skippedExtensions = Set.copyOf(builder.skippedExtensions);
+        this.respectRobots = builder.respectRobots;
+        this.robotsTtl = builder.robotsTtl;
+    }
+
+    public static CrawlOptions defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public CrawlEngine getEngine() {
+        return engine;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public Duration getMinHostDelay() {
+        return minHostDelay;
+    }
+
+    public FetcherType getFetcherType() {
+        return fetcherType;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public boolean isStreamReport() {
+        return streamReport;
+    }
+
+    public boolean isGzipReport() {
+        return gzipReport;
+    }
+
+    public boolean isStreamParse() {
+        return streamParse;
+    }
+
+    public VisitedSetType getVisitedSetType() {
+        return visitedSetType;
+    }
+
+    /**
+     * @return directory of the {@code disk} visited set, {@code null} for a temporary directory
+     */
+    public Path getVisitedDirectory() {
+        return visitedDirectory;
+    }
+
+    public long getVisitedExpectedUrls() {
+        return visitedExpectedUrls;
+    }
+
+    public double getVisitedFalsePositiveRate() {
+        return visitedFalsePositiveRate;
+    }
+
+    public long getVisitedMemoryBudgetBytes() {
+        return visitedMemoryBudgetBytes;
+    }
+
+    /**
+     * @return directory of the HTTP cache, {@code null} if responses are not cached
+     */
+    public Path getHttpCacheDirectory() {
+        return httpCacheDirectory;
+    }
+
+    public long getHttpCacheMaxBytes() {
+        return httpCacheMaxBytes;
+    }
+
+    /**
+     * @return snapshot file of an incremental crawl, {@code null} to crawl every page from scratch
+     */
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * @return checkpoint file of the crawl, {@code null} if no checkpoint is written. Resuming without an
+     * explicit file uses {@value #DEFAULT_CHECKPOINT_FILE}.
+     */
+    public Path getCheckpointFile() {
+        if (checkpointFile == null && resume) {
+            return Paths.get(DEFAULT_CHECKPOINT_FILE);
+        }
+        return checkpointFile;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+
+    /**
+     * @return a file with one allowed domain per line, or {@code null}
+     */
+    public Path getAllowedDomainsFile() {
+        return allowedDomainsFile;
+    }
+
+    /**
+     * @return the directory metrics are exported to, or {@code null} if metrics are disabled
+     */
+    public Path getMetricsDirectory() {
+        return metricsDirectory;
+    }
+
+    public Duration getMetricsInterval() {
+        return metricsInterval;
+    }
+
+    /**
+     * @return the file a flight recording of the crawl is written to, or {@code null} if the crawl is not recorded
+     */
+    public Path getJfrFile() {
+        return jfrFile;
+    }
+
+    /**
+     * @return the file a Chrome trace of the crawl tasks is written to, or {@code null} if the crawl is not traced
+     */
+    public Path getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * @return the maximum number of pages fetched by a crawl, {@link #UNLIMITED} by default
+     */
+    public long getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * @return the maximum number of body bytes downloaded by a crawl, {@link #UNLIMITED} by default
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the wall-clock time after which a crawl is stopped, or {@code null} if it is not limited
+     */
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Retries after the first attempt of a fetch that failed temporarily, 0 disables retrying.
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Backoff before the first retry, doubled for every further retry.
+     */
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    /**
+     * Consecutive timeouts or connection failures after which fetches to a host fail fast.
+     */
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public Duration getCircuitOpenDuration() {
+        return circuitOpenDuration;
+    }
+
+    /**
+     * Largest body downloaded for a page, larger pages are skipped.
+     */
+    public long getMaxPageBytes() {
+        return maxPageBytes;
+    }
+
+    /**
+     * File extensions of URLs that are skipped without a request.
+     */
+    public Set<String> getSkippedExtensions() {
+        return skippedExtensions;
+    }
+
+    /**
+     * Whether robots.txt is fetched and followed, including its {@code Crawl-delay}.
+     */
+    public boolean isRespectRobots() {
+        return respectRobots;
+    }
+
+    /**
+     * How long a fetched robots.txt is used before it is fetched again.
+     */
+    public Duration getRobotsTtl() {
+        return robotsTtl;
+    }
+
+    public String getReportFile() {
+        return gzipReport ? DEFAULT_REPORT_FILE + GZIP_EXTENSION : DEFAULT_REPORT_FILE;
+    }
+
+    public static final class Builder {
+        private CrawlEngine engine = CrawlEngine.FORK_JOIN;
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private Duration minHostDelay = Duration.ZERO;
+        private FetcherType fetcherType = FetcherType.JSOUP;
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+        private boolean streamReport;
+        private boolean gzipReport;
+        private boolean streamParse;
+        private VisitedSetType visitedSetType = VisitedSetType.EXACT;
+        private Path visitedDirectory;
+        private long visitedExpectedUrls = DEFAULT_VISITED_EXPECTED_URLS;
+        private double visitedFalsePositiveRate = DEFAULT_VISITED_FALSE_POSITIVE_RATE;
+        private long visitedMemoryBudgetBytes = DEFAULT_VISITED_MEMORY_BUDGET_BYTES;
+        private Path httpCacheDirectory;
+        private long httpCacheMaxBytes = DEFAULT_HTTP_CACHE_MAX_BYTES;
+        private Path snapshotFile;
+        private Path checkpointFile;
+        private boolean resume;
+        private Path allowedDomainsFile;
+        private Path metricsDirectory;
+        private Duration metricsInterval = DEFAULT_METRICS_INTERVAL;
+        private Path jfrFile;
+        private Path traceFile;
+        private long maxPages = UNLIMITED;
+        private long maxBytes = UNLIMITED;
+        private Duration maxDuration;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private Duration retryBackoff = DEFAULT_RETRY_BACKOFF;
+        private int circuitFailureThreshold = DEFAULT_CIRCUIT_FAILURE_THRESHOLD;
+        private Duration circuitOpenDuration = DEFAULT_CIRCUIT_OPEN_DURATION;
+        private long maxPageBytes = DEFAULT_MAX_PAGE_BYTES;
+        private Set<String> skippedExtensions = Set.of();
+        private boolean respectRobots = true;
+        private Duration robotsTtl = DEFAULT_ROBOTS_TTL;
+
+        private Builder() {
+        }
+
+        public Builder engine(CrawlEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        public Builder minHostDelay(Duration minHostDelay) {
+            this.minHostDelay = minHostDelay;
+            return this;
+        }
+
+        public Builder fetcherType(FetcherType fetcherType) {
+            this.fetcherType = fetcherType;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        public Builder streamReport(boolean streamReport) {
+            this.streamReport = streamReport;
+            return this;
+        }
+
+        public Builder gzipReport(boolean gzipReport) {
+            this.gzipReport = gzipReport;
+            return this;
+        }
+
+        public Builder streamParse(boolean streamParse) {
+            this.streamParse = streamParse;
+            return this;
+        }
+
+        public Builder visitedSetType(VisitedSetType visitedSetType) {
+            this.visitedSetType = visitedSetType;
+            return this;
+        }
+
+        public Builder visitedDirectory(Path visitedDirectory) {
+            this.visitedDirectory = visitedDirectory;
+            return this;
+        }
+
+        public Builder visitedExpectedUrls(long visitedExpectedUrls) {
+            this.visitedExpectedUrls = visitedExpectedUrls;
+            return this;
+        }
+
+        public Builder visitedFalsePositiveRate(double visitedFalsePositiveRate) {
+            this.visitedFalsePositiveRate = visitedFalsePositiveRate;
+            return this;
+        }
+
+        public Builder visitedMemoryBudgetBytes(long visitedMemoryBudgetBytes) {
+            this.visitedMemoryBudgetBytes = visitedMemoryBudgetBytes;
+            return this;
+        }
+
+        public Builder httpCacheDirectory(Path httpCacheDirectory) {
+            this.httpCacheDirectory = httpCacheDirectory;
+            return this;
+        }
+
+        public Builder httpCacheMaxBytes(long httpCacheMaxBytes) {
+            this.httpCacheMaxBytes = httpCacheMaxBytes;
+            return this;
+        }
+
+        public Builder snapshotFile(Path snapshotFile) {
+            this.snapshotFile = snapshotFile;
+            return this;
+        }
+
+        public Builder checkpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public Builder resume(boolean resume) {
+            this.resume = resume;
+            return this;
+        }
+
+        public Builder allowedDomainsFile(Path allowedDomainsFile) {
+            this.allowedDomainsFile = allowedDomainsFile;
+            return this;
+        }
+
+        public Builder metricsDirectory(Path metricsDirectory) {
+            this.metricsDirectory = metricsDirectory;
+            return this;
+        }
+
+        public Builder metricsInterval(Duration metricsInterval) {
+            this.metricsInterval = metricsInterval;
+            return this;
+        }
+
+        public Builder jfrFile(Path jfrFile) {
+            this.jfrFile = jfrFile;
+            return this;
+        }
+
+        public Builder traceFile(Path traceFile) {
+            this.traceFile = traceFile;
+            return this;
+        }
+
+        public Builder maxPages(long maxPages) {
+            this.maxPages = maxPages;
+            return this;
+        }
+
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public Builder maxDuration(Duration maxDuration) {
+            this.maxDuration = maxDuration;
+            return this;
+        }
+
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder retryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        public Builder circuitFailureThreshold(int circuitFailureThreshold) {
+            this.circuitFailureThreshold = circuitFailureThreshold;
+            return this;
+        }
+
+        public Builder circuitOpenDuration(Duration circuitOpenDuration) {
+            this.circuitOpenDuration = circuitOpenDuration;
+            return this;
+        }
+
+        public Builder maxPageBytes(long maxPageBytes) {
+            this.maxPageBytes = maxPageBytes;
+            return this;
+        }
+
+        public Builder skippedExtensions(Set<String> skippedExtensions) {
+            this.skippedExtensions = skippedExtensions;
+            return this;
+        }
+
+        public Builder respectRobots(boolean respectRobots) {
+            this.respectRobots = respectRobots;
+            return this;
+        }
+
+        public Builder robotsTtl(Duration robotsTtl) {
+            this.robotsTtl = robotsTtl;
+            return this;
+        }
+
+        public CrawlOptions build() {
+            if (engine == null) {
+                throw new IllegalArgumentException("Crawl engine cannot be null.");
+            }
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("Max in-flight requests must be at least 1.");
+            }
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("Max requests per host must be at least 1.");
+            }
+            if (minHostDelay == null || minHostDelay.isNegative()) {
+                throw new IllegalArgumentException("Minimum host delay cannot be negative.");
+            }
+            if (fetcherType == null) {
+                throw new IllegalArgumentException("Fetcher cannot be null.");
+            }
+            if (streamParse && fetcherType != FetcherType.JSOUP) {
+                throw new IllegalArgumentException("Streaming parse requires the jsoup fetcher.");
+            }
+            if (visitedSetType == null) {
+                throw new IllegalArgumentException("Visited set cannot be null.");
+            }
+            if (visitedExpectedUrls < 1) {
+                throw new IllegalArgumentException("Expected visited URL count must be at least 1.");
+            }
+            if (!(visitedFalsePositiveRate > 0 && visitedFalsePositiveRate < 1)) {
+                throw new IllegalArgumentException("Visited set false positive rate must be between 0 and 1.");
+            }
+            if (visitedMemoryBudgetBytes < 1) {
+                throw new IllegalArgumentException("Visited set memory budget must be positive.");
+            }
+            if (httpCacheMaxBytes < 1) {
+                throw new IllegalArgumentException("HTTP cache size must be positive.");
+            }
+            if (streamParse && httpCacheDirectory != null) {
+                throw new IllegalArgumentException("Streaming parse cannot be combined with the HTTP cache.");
+            }
+            if (streamParse && snapshotFile != null) {
+                throw new IllegalArgumentException("Streaming parse cannot be combined with an incremental crawl.");
+            }
+            requirePositive(metricsInterval, "Metrics interval");
+            if (traceFile != null && engine != CrawlEngine.FORK_JOIN) {
+                throw new IllegalArgumentException("Tracing requires the fork/join engine.");
+            }
+            if (maxPages < 1) {
+                throw new IllegalArgumentException("Max pages must be at least 1.");
+            }
+            if (maxBytes < 1) {
+                throw new IllegalArgumentException("Max downloaded bytes must be positive.");
+            }
+            if (maxDuration != null) {
+                requirePositive(maxDuration, "Max crawl duration");
+            }
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Max retries cannot be negative.");
+            }
+            requirePositive(retryBackoff, "Retry backoff");
+            if (circuitFailureThreshold < 1) {
+                throw new IllegalArgumentException("Circuit failure threshold must be at least 1.");
+            }
+            requirePositive(circuitOpenDuration, "Circuit open duration");
+            if (maxPageBytes < 1) {
+                throw new IllegalArgumentException("Max page size must be positive.");
+            }
+            if (skippedExtensions == null) {
+                throw new IllegalArgumentException("Skipped extensions cannot be null.");
+            }
+            requirePositive(robotsTtl, "Robots.txt TTL");
+            requirePositive(connectTimeout, "Connect timeout");
+            requirePositive(readTimeout, "Read timeout");
+            return new CrawlOptions(this);
+        }
+
+        private static void requirePositive(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive.");
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.yikesboy.config;
+
+/**
+ * The HTTP clients pages can be fetched with.
+ */
+public enum FetcherType {
+    JSOUP("jsoup"),
+    HTTP_CLIENT("httpclient");
+
+    private final String optionValue;
+
+    FetcherType(String optionValue) {
+        this.optionValue = optionValue;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public static FetcherType fromOptionValue(String value) {
+        for (FetcherType fetcherType : values()) {
+            if (fetcherType.optionValue.equalsIgnoreCase(value)) {
+                return fetcherType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown fetcher: " + value);
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.yikesboy.config;
+
+/**
+ * The ways a crawl can remember the URLs it has already visited.
+ */
+public enum VisitedSetType {
+    EXACT("exact"),
+    FINGERPRINT("fingerprint"),
+    DISK("disk");
+
+    private final String optionValue;
+
+    VisitedSetType(String optionValue) {
+        this.optionValue = optionValue;
+    }
+
+    public String getOptionValue() {
+        return optionValue;
+    }
+
+    public static VisitedSetType fromOptionValue(String value) {
+        for (VisitedSetType type : values()) {
+            if (type.optionValue.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown visited set: " + value);
+    }
+}
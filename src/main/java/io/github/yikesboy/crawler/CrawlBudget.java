@@ -0,0 +1,117 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Page, download and wall-clock limits of a single crawl. The first limit that is reached stops the crawl:
+ * no further page is started and {@code onExhausted} is run once, so fetches still waiting to run can be
+ * cancelled. Pages that are already being fetched complete and stay part of the result.
+ */
+public class CrawlBudget {
+    private final long maxPages;
+    private final long maxBytes;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final Runnable onExhausted;
+    private final AtomicLong startedPages;
+    private final AtomicLong downloadedBytes;
+    private final AtomicReference<CrawlStopReason> stopReason;
+
+    private CrawlBudget(long maxPages, long maxBytes, Duration maxDuration, Runnable onExhausted) {
+        this.maxPages = maxPages;
+        this.maxBytes = maxBytes;
+        this.hasDeadline = maxDuration != null;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + maxDuration.toNanos() : 0;
+        this.onExhausted = onExhausted;
+        this.startedPages = new AtomicLong();
+        this.downloadedBytes = new AtomicLong();
+        this.stopReason = new AtomicReference<>();
+    }
+
+    /**
+     * Starts the budget of a crawl, its deadline counts from now.
+     *
+     * @param onExhausted run once when a limit is reached, from the thread that reached it
+     */
+    public static CrawlBudget start(CrawlOptions options, Runnable onExhausted) {
+        CrawlBudget budget = new CrawlBudget(
+                options.getMaxPages(), options.getMaxBytes(), options.getMaxDuration(), onExhausted);
+        if (budget.hasDeadline) {
+            CompletableFuture.delayedExecutor(options.getMaxDuration().toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> budget.exhaust(CrawlStopReason.DEADLINE));
+        }
+        return budget;
+    }
+
+    public boolean isExhausted() {
+        if (stopReason.get() != null) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            exhaust(CrawlStopReason.DEADLINE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes one page from the budget before it is fetched.
+     *
+     * @return false if the page must not be fetched because the budget is exhausted
+     */
+    public boolean tryStartPage() {
+        if (isExhausted()) {
+            return false;
+        }
+        if (startedPages.incrementAndGet() > maxPages) {
+            exhaust(CrawlStopReason.PAGE_BUDGET);
+            return false;
+        }
+        return true;
+    }
+
+    public void recordBytes(long bytes) {
+        if (downloadedBytes.addAndGet(bytes) >= maxBytes) {
+            exhaust(CrawlStopReason.BYTE_BUDGET);
+        }
+    }
+
+    /**
+     * Ends the budget once the crawl is finished, a deadline passing afterwards has no effect.
+     *
+     * @return the limit that stopped the crawl, or {@link CrawlStopReason#COMPLETED}
+     */
+    public CrawlStopReason finish() {
+        stopReason.compareAndSet(null, CrawlStopReason.COMPLETED);
+        return stopReason.get();
+    }
+
+    /**
+     * Maps a fetch cancelled because the budget was exhausted to no page, other failures propagate.
+     */
+    static WebPage skipCancelled(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return null;
+        }
+        throw error instanceof CompletionException completionException
+                ? completionException
+                : new CompletionException(error);
+    }
+
+    private void exhaust(CrawlStopReason reason) {
+        if (stopReason.compareAndSet(null, reason)) {
+            onExhausted.run();
+        }
+    }
+}
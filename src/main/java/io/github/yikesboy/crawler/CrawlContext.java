@@ -0,0 +1,117 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.DirectFetchScheduler;
+import io.github.yikesboy.scheduler.FetchSchedulerInterface;
+import io.github.yikesboy.trace.CrawlTracer;
+import io.github.yikesboy.util.DomainMatcher;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
+
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * State and collaborators shared by all tasks of a single crawl.
+ */
+public class CrawlContext {
+    private final CrawlConfig config;
+    private final PageParserInterface parser;
+    private final VisitedUrlSetInterface visitedUrls;
+    private final Queue<CrawlError> errors;
+    private final FetchSchedulerInterface scheduler;
+    private final CrawlListener listener;
+    private final DomainMatcher domainMatcher;
+    private final CrawlMetricsRecorder metrics;
+    private final CrawlTracer tracer;
+    private final CrawlBudget budget;
+
+    public CrawlContext(CrawlConfig config, PageParserInterface parser, Set<String> visitedUrls, Queue<CrawlError> errors) {
+        this(config, parser, new SetBackedVisitedUrlSet(visitedUrls), errors, new DirectFetchScheduler(), CrawlListener.NONE);
+    }
+
+    public CrawlContext(CrawlConfig config,
+                        PageParserInterface parser,
+                        VisitedUrlSetInterface visitedUrls,
+                        Queue<CrawlError> errors,
+                        FetchSchedulerInterface scheduler,
+                        CrawlListener listener) {
+        this(config, parser, visitedUrls, errors, scheduler, listener, CrawlMetricsRecorder.NONE);
+    }
+
+    public CrawlContext(CrawlConfig config,
+                        PageParserInterface parser,
+                        VisitedUrlSetInterface visitedUrls,
+                        Queue<CrawlError> errors,
+                        FetchSchedulerInterface scheduler,
+                        CrawlListener listener,
+                        CrawlMetricsRecorder metrics) {
+        this(config, parser, visitedUrls, errors, scheduler, listener, metrics, CrawlTracer.NONE);
+    }
+
+    public CrawlContext(CrawlConfig config,
+                        PageParserInterface parser,
+                        VisitedUrlSetInterface visitedUrls,
+                        Queue<CrawlError> errors,
+                        FetchSchedulerInterface scheduler,
+                        CrawlListener listener,
+                        CrawlMetricsRecorder metrics,
+                        CrawlTracer tracer) {
+        this.config = config;
+        this.parser = parser;
+        this.visitedUrls = visitedUrls;
+        this.errors = errors;
+        this.scheduler = scheduler;
+        this.listener = listener;
+        this.domainMatcher = new DomainMatcher(config.allowedDomains());
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.budget = CrawlBudget.start(config.options(), scheduler::cancelPending);
+    }
+
+    public CrawlConfig getConfig() {
+        return config;
+    }
+
+    public PageParserInterface getParser() {
+        return parser;
+    }
+
+    public VisitedUrlSetInterface getVisitedUrls() {
+        return visitedUrls;
+    }
+
+    public Queue<CrawlError> getErrors() {
+        return errors;
+    }
+
+    public FetchSchedulerInterface getScheduler() {
+        return scheduler;
+    }
+
+    public CrawlListener getListener() {
+        return listener;
+    }
+
+    public DomainMatcher getDomainMatcher() {
+        return domainMatcher;
+    }
+
+    public CrawlMetricsRecorder getMetrics() {
+        return metrics;
+    }
+
+    public CrawlTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * @return the budget of the crawl, started when the context was created
+     */
+    public CrawlBudget getBudget() {
+        return budget;
+    }
+}
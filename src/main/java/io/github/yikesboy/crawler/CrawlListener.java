@@ -0,0 +1,67 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.WebPage;
+
+import java.util.List;
+
+/**
+ * Callbacks about the progress of a crawl. Methods may be called concurrently from crawl worker threads,
+ * implementations have to be thread-safe and should return quickly.
+ */
+public interface CrawlListener {
+    CrawlListener NONE = new CrawlListener() {
+    };
+
+    default void onCrawlStarted(CrawlConfig config) {
+    }
+
+    /**
+     * Called once a page has been fetched and parsed, before any of its child pages are crawled.
+     */
+    default void onPageParsed(WebPage page) {
+    }
+
+    /**
+     * Called when a child page is attached to its parent. The subtree of the child is complete at this point
+     * and children of the same parent are attached in order.
+     */
+    default void onChildPageAttached(WebPage parent, WebPage child) {
+    }
+
+    default void onCrawlFinished(CrawlResult result) {
+    }
+
+    static CrawlListener compose(List<CrawlListener> listeners) {
+        List<CrawlListener> targets = List.copyOf(listeners);
+        if (targets.isEmpty()) {
+            return NONE;
+        }
+        if (targets.size() == 1) {
+            return targets.get(0);
+        }
+
+        return new CrawlListener() {
+            @Override
+            public void onCrawlStarted(CrawlConfig config) {
+                targets.forEach(listener -> listener.onCrawlStarted(config));
+            }
+
+            @Override
+            public void onPageParsed(WebPage page) {
+                targets.forEach(listener -> listener.onPageParsed(page));
+            }
+
+            @Override
+            public void onChildPageAttached(WebPage parent, WebPage child) {
+                targets.forEach(listener -> listener.onChildPageAttached(parent, child));
+            }
+
+            @Override
+            public void onCrawlFinished(CrawlResult result) {
+                targets.forEach(listener -> listener.onCrawlFinished(result));
+            }
+        };
+    }
+}
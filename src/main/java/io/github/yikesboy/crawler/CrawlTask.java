@@ -1,6 +1,7 @@
 package io.github.yikesboy.crawler;
 
 import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.jfr.CrawlTaskEvent;
 import io.github.yikesboy.models.CrawlError;
 import io.github.yikesboy.models.WebPage;
 import io.github.yikesboy.parser.PageParserInterface;
@@ -8,68 +9,262 @@ import io.github.yikesboy.util.UrlUtil;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountedCompleter;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Crawls one page and, through the tasks it forks, the pages it links to. The fetch is handed to the scheduler
+ * and the task returns without waiting for it, so a fetch waiting for its host does not hold a pool thread.
+ * The task completes once its fetch and all of its child tasks have completed, the child pages are attached
+ * in link order then.
+ */
+public class CrawlTask extends CountedCompleter<WebPage> {
+    private static final String TASK_SPAN = "crawl task";
+    private static final String QUEUED_SPAN = "queued";
+    private static final String AWAIT_PAGE_SPAN = "await page";
+    private static final String FETCH_SPAN = "fetch and parse";
+    private static final String EXPAND_SPAN = "expand links";
+    private static final String JOIN_SPAN = "wait for children";
 
-public class CrawlTask extends RecursiveTask<WebPage> {
     private final URL url;
     private final int currentDepth;
-    private final CrawlConfig config;
-    private final PageParserInterface parser;
-    private final Set<String> visitedUrls;
-    private final Queue<CrawlError> errors;
+    private final CrawlContext context;
+    private final long createdNanos;
+    private final boolean claimed;
+    private final List<CrawlTask> tasks;
+    private long startNanos;
+    private long fetchedNanos;
+    private WebPage page;
+
+    public CrawlTask(URL url,
+                     int currentDepth,
+                     CrawlConfig config,
+                     PageParserInterface parser,
+                     Set<String> visitedUrls,
+                     Queue<CrawlError> errors) {
+        this(url, currentDepth, new CrawlContext(config, parser, visitedUrls, errors));
+    }
 
-    public CrawlTask(URL url, int currentDepth, CrawlConfig config, PageParserInterface parser, Set<String> visitedUrls, Queue<CrawlError> errors) {
+    public CrawlTask(URL url, int currentDepth, CrawlContext context) {
+        this(null, url, currentDepth, context, false);
+    }
+
+    private CrawlTask(CrawlTask parent, URL url, int currentDepth, CrawlContext context, boolean claimed) {
+        super(parent);
         this.url = url;
         this.currentDepth = currentDepth;
-        this.config = config;
-        this.parser = parser;
-        this.visitedUrls = visitedUrls;
-        this.errors = errors;
+        this.context = context;
+        this.createdNanos = System.nanoTime();
+        this.claimed = claimed;
+        this.tasks = Collections.synchronizedList(new ArrayList<>());
     }
 
-    public WebPage compute() {
-        if (url == null || currentDepth > config.maxDepth()) {
-            return null;
+    @Override
+    public void compute() {
+        CrawlConfig config = context.getConfig();
+        if (url == null || currentDepth > config.maxDepth() || context.getBudget().isExhausted()) {
+            tryComplete();
+            return;
         }
 
-        String normalizedUrl = UrlUtil.normalizeUrl(url);
-
-        if (visitedUrls.contains(normalizedUrl)) {
-            return null;
+        startNanos = System.nanoTime();
+        context.getTracer().span(QUEUED_SPAN, url, currentDepth, createdNanos, startNanos);
+        CrawlTaskEvent event = new CrawlTaskEvent();
+        event.begin();
+        if (!claimed && !claim(event)) {
+            tryComplete();
+            return;
         }
 
-        visitedUrls.add(normalizedUrl);
+        boolean followLinks = currentDepth < config.maxDepth();
+        boolean streaming = followLinks && context.getParser().isStreaming();
+        CompletableFuture<WebPage> fetch = streaming ? fetchPage(this::forkChildTask) : fetchPage();
+        fetch.whenComplete((fetchedPage, error) -> {
+            try {
+                onPageFetched(fetchedPage, error, event, followLinks, streaming);
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            }
+        });
+    }
 
-        WebPage page = parser.parse(url, currentDepth);
+    @Override
+    public WebPage getRawResult() {
+        return page;
+    }
 
-        if (currentDepth == config.maxDepth()) {
-            return page;
+    @Override
+    protected void setRawResult(WebPage page) {
+        this.page = page;
+    }
+
+    /**
+     * Attaches the child pages once the fetch and every child task are complete. A broken page only has
+     * children if it broke while streaming, they are awaited but not attached.
+     */
+    @Override
+    public void onCompletion(CountedCompleter<?> caller) {
+        if (startNanos == 0) {
+            return;
+        }
+        if (page != null && fetchedNanos != 0 && !page.isBroken()) {
+            for (CrawlTask task : tasks) {
+                WebPage childPage = task.getRawResult();
+                if (childPage != null) {
+                    page.addChildPage(childPage);
+                    context.getListener().onChildPageAttached(page, childPage);
+                }
+            }
         }
+        long now = System.nanoTime();
+        if (fetchedNanos != 0) {
+            context.getTracer().span(JOIN_SPAN, url, currentDepth, fetchedNanos, now);
+        }
+        context.getTracer().span(TASK_SPAN, url, currentDepth, startNanos, now);
+    }
 
-        if (page.isBroken()) {
-            errors.add(new CrawlError(url, currentDepth, "Failed to fetch or parse page"));
-            return page;
+    private void onPageFetched(WebPage fetchedPage,
+                               Throwable error,
+                               CrawlTaskEvent event,
+                               boolean followLinks,
+                               boolean streaming) {
+        fetchedNanos = System.nanoTime();
+        context.getTracer().span(AWAIT_PAGE_SPAN, url, currentDepth, startNanos, fetchedNanos);
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (!(cause instanceof CancellationException)) {
+                completeExceptionally(cause);
+                return;
+            }
+        }
+        if (fetchedPage == null) {
+            event.finish(url, currentDepth, tasks.size(), CrawlTaskEvent.STOPPED);
+            tryComplete();
+            return;
         }
 
-        List<URL> links = parser.extractLinks(page);
-        List<CrawlTask> tasks = new ArrayList<>();
+        page = fetchedPage;
+        context.getListener().onPageParsed(page);
+        if (!followLinks) {
+            event.finish(url, currentDepth, 0, page.isBroken() ? CrawlTaskEvent.BROKEN : CrawlTaskEvent.CRAWLED);
+            tryComplete();
+            return;
+        }
+        if (page.isBroken()) {
+            context.getErrors().add(new CrawlError(url, currentDepth, "Failed to fetch or parse page"));
+            event.finish(url, currentDepth, tasks.size(), CrawlTaskEvent.BROKEN);
+            tryComplete();
+            return;
+        }
 
-        for (URL link : links) {
-            if (UrlUtil.isAllowedDomain(link, config.allowedDomains())) {
-                CrawlTask task = new CrawlTask(link, currentDepth + 1, config, parser, visitedUrls, errors);
-                task.fork();
-                tasks.add(task);
+        if (!streaming) {
+            long expandStart = System.nanoTime();
+            List<CrawlTask> childTasks = new ArrayList<>();
+            for (URL link : context.getParser().extractLinks(page)) {
+                CrawlTask task = claimChildTask(link);
+                if (task != null) {
+                    childTasks.add(task);
+                }
             }
+            childTasks.forEach(this::forkClaimedTask);
+            context.getTracer().span(EXPAND_SPAN, url, currentDepth, expandStart, System.nanoTime());
+        }
+        event.finish(url, currentDepth, tasks.size(), CrawlTaskEvent.CRAWLED);
+        tryComplete();
+    }
+
+    private void forkChildTask(URL link) {
+        CrawlTask task = claimChildTask(link);
+        if (task != null) {
+            forkClaimedTask(task);
         }
+    }
 
-        for (CrawlTask task : tasks) {
-            WebPage childPage = task.join();
-            page.addChildPage(childPage);
+    /**
+     * Children are claimed in link order before any of them is forked, so which page a URL is attached to does
+     * not depend on the order the pool runs the tasks in. Links streamed while the page is parsed are forked as
+     * they arrive.
+     *
+     * @return {@code null} if the link is not crawled
+     */
+    private CrawlTask claimChildTask(URL link) {
+        if (context.getBudget().isExhausted()) {
+            return null;
         }
+        if (!context.getDomainMatcher().matches(link)) {
+            context.getMetrics().recordDomainReject();
+            return null;
+        }
+        CrawlTaskEvent event = new CrawlTaskEvent();
+        event.begin();
+        if (!claim(link, currentDepth + 1, event)) {
+            return null;
+        }
+        return new CrawlTask(this, link, currentDepth + 1, context, true);
+    }
 
-        return page;
+    /**
+     * The pending count of this task is raised before the child is forked, so this task cannot complete before
+     * the child has.
+     */
+    private void forkClaimedTask(CrawlTask task) {
+        tasks.add(task);
+        addToPendingCount(1);
+        task.fork();
+    }
+
+    private boolean claim(CrawlTaskEvent event) {
+        return claim(url, currentDepth, event);
+    }
+
+    private boolean claim(URL pageUrl, int pageDepth, CrawlTaskEvent event) {
+        if (context.getVisitedUrls().claim(UrlUtil.normalizeUrl(pageUrl))) {
+            return true;
+        }
+        context.getMetrics().recordDuplicateUrl();
+        event.finish(pageUrl, pageDepth, 0, CrawlTaskEvent.DUPLICATE);
+        return false;
+    }
+
+    private CompletableFuture<WebPage> fetchPage() {
+        PageParserInterface parser = context.getParser();
+        return context.getScheduler().schedule(url, () -> traceFetch(() -> parser.parse(url, currentDepth)));
+    }
+
+    private CompletableFuture<WebPage> fetchPage(Consumer<URL> linkListener) {
+        PageParserInterface parser = context.getParser();
+        return context.getScheduler().schedule(
+                url, () -> traceFetch(() -> parser.parse(url, currentDepth, linkListener)));
+    }
+
+    /**
+     * The fetch runs on whichever thread the scheduler hands it to, its span is recorded on that thread.
+     *
+     * @return {@code null} if the budget of the crawl was exhausted before the fetch could start
+     */
+    private WebPage traceFetch(Supplier<WebPage> fetch) {
+        CrawlBudget budget = context.getBudget();
+        if (!budget.tryStartPage()) {
+            return null;
+        }
+
+        long fetchStart = System.nanoTime();
+        try {
+            WebPage fetchedPage = fetch.get();
+            budget.recordBytes(fetchedPage.getByteCount());
+            return fetchedPage;
+        } finally {
+            context.getTracer().span(FETCH_SPAN, url, currentDepth, fetchStart, System.nanoTime());
+        }
     }
 }
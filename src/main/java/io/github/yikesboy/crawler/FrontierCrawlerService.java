@@ -0,0 +1,226 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.HostPolitenessScheduler;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.util.DomainMatcher;
+import io.github.yikesboy.util.UrlUtil;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Crawl engine that traverses the site breadth-first, one depth level at a time.
+ * <p>
+ * All pages of a level are handed to a fixed pool of workers at once and the next level is built from their
+ * links only after the whole level is fetched. URLs are claimed in the order of their parent pages and links,
+ * so every page is crawled at the smallest depth it is reachable at and the crawled tree is the same on every
+ * run. Pages only refer to their parent by its position in the previous level, no worker ever waits for
+ * another one. The tree is linked from the deepest level upwards once the crawl is done.
+ */
+public class FrontierCrawlerService implements WebCrawlerServiceInterface {
+    private final PageParserInterface parser;
+    private final VisitedUrlSetInterface visitedUrls;
+    private final ExecutorService executor;
+    private final HostPolitenessScheduler scheduler;
+    private final CrawlListener listener;
+    private final CrawlMetricsRecorder metrics;
+
+    public FrontierCrawlerService(PageParserInterface parser) {
+        this(parser, CrawlOptions.DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public FrontierCrawlerService(PageParserInterface parser, int workers) {
+        this(parser, workers, PolitenessPolicy.defaults());
+    }
+
+    public FrontierCrawlerService(PageParserInterface parser, int workers, PolitenessPolicy politenessPolicy) {
+        this(parser, workers, politenessPolicy, CrawlListener.NONE);
+    }
+
+    public FrontierCrawlerService(PageParserInterface parser,
+                                  int workers,
+                                  PolitenessPolicy politenessPolicy,
+                                  CrawlListener listener) {
+        this(parser, workers, politenessPolicy, listener, new SetBackedVisitedUrlSet());
+    }
+
+    public FrontierCrawlerService(PageParserInterface parser,
+                                  int workers,
+                                  PolitenessPolicy politenessPolicy,
+                                  CrawlListener listener,
+                                  VisitedUrlSetInterface visitedUrls) {
+        this(parser, workers, politenessPolicy, listener, visitedUrls, CrawlMetricsRecorder.NONE);
+    }
+
+    public FrontierCrawlerService(PageParserInterface parser,
+                                  int workers,
+                                  PolitenessPolicy politenessPolicy,
+                                  CrawlListener listener,
+                                  VisitedUrlSetInterface visitedUrls,
+                                  CrawlMetricsRecorder metrics) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1.");
+        }
+        this.parser = parser;
+        this.visitedUrls = visitedUrls;
+        this.executor = createExecutor(workers);
+        this.scheduler = new HostPolitenessScheduler(politenessPolicy, executor);
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CrawlResult crawl(CrawlConfig config) {
+        visitedUrls.clear();
+        listener.onCrawlStarted(config);
+
+        DomainMatcher domainMatcher = new DomainMatcher(config.allowedDomains());
+        CrawlBudget budget = CrawlBudget.start(config.options(), scheduler::cancelPending);
+        List<CrawlError> errors = new ArrayList<>();
+        List<List<FrontierEntry>> levels = new ArrayList<>();
+        List<FrontierEntry> frontier = new ArrayList<>();
+        visitedUrls.claim(UrlUtil.normalizeUrl(config.rootUrl()));
+        frontier.add(new FrontierEntry(config.rootUrl(), -1));
+
+        for (int depth = 0; !frontier.isEmpty(); depth++) {
+            fetchLevel(frontier, depth, budget);
+            levels.add(frontier);
+            frontier = depth < config.maxDepth() && !budget.isExhausted()
+                    ? expandLevel(frontier, depth, domainMatcher, errors)
+                    : List.of();
+        }
+
+        CrawlStopReason stopReason = budget.finish();
+        CrawlResult result = new CrawlResult(linkLevels(levels, config), errors, stopReason);
+        listener.onCrawlFinished(result);
+        return result;
+    }
+
+    /**
+     * Entries whose fetch was skipped or cancelled because the budget was exhausted are left without a page.
+     */
+    private void fetchLevel(List<FrontierEntry> level, int depth, CrawlBudget budget) {
+        List<CompletableFuture<WebPage>> pages = new ArrayList<>(level.size());
+        for (FrontierEntry entry : level) {
+            pages.add(scheduler.schedule(entry.url, () -> fetchPage(entry.url, depth, budget))
+                    .exceptionally(CrawlBudget::skipCancelled)
+                    .thenApply(page -> {
+                        if (page != null) {
+                            listener.onPageParsed(page);
+                        }
+                        return page;
+                    }));
+        }
+
+        try {
+            for (int id = 0; id < level.size(); id++) {
+                level.get(id).page = pages.get(id).join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<FrontierEntry> expandLevel(List<FrontierEntry> level,
+                                            int depth,
+                                            DomainMatcher domainMatcher,
+                                            List<CrawlError> errors) {
+        List<FrontierEntry> nextLevel = new ArrayList<>();
+        for (int id = 0; id < level.size(); id++) {
+            WebPage page = level.get(id).page;
+            if (page == null) {
+                continue;
+            }
+            if (page.isBroken()) {
+                errors.add(new CrawlError(page.getUrl(), depth, "Failed to fetch or parse page"));
+                continue;
+            }
+
+            for (URL link : parser.extractLinks(page)) {
+                if (!domainMatcher.matches(link)) {
+                    metrics.recordDomainReject();
+                } else if (visitedUrls.claim(UrlUtil.normalizeUrl(link))) {
+                    nextLevel.add(new FrontierEntry(link, id));
+                } else {
+                    metrics.recordDuplicateUrl();
+                }
+            }
+        }
+        return nextLevel;
+    }
+
+    /**
+     * Attaches every page to its parent, deepest level first, so a page's subtree is complete when it is
+     * attached itself.
+     */
+    private WebPage linkLevels(List<List<FrontierEntry>> levels, CrawlConfig config) {
+        for (int depth = levels.size() - 1; depth > 0; depth--) {
+            List<FrontierEntry> parents = levels.get(depth - 1);
+            for (FrontierEntry entry : levels.get(depth)) {
+                if (entry.page == null) {
+                    continue;
+                }
+                WebPage parentPage = parents.get(entry.parentId).page;
+                parentPage.addChildPage(entry.page);
+                listener.onChildPageAttached(parentPage, entry.page);
+            }
+        }
+        WebPage rootPage = levels.get(0).get(0).page;
+        return rootPage != null ? rootPage : new WebPage(config.rootUrl(), 0, true);
+    }
+
+    private WebPage fetchPage(URL url, int depth, CrawlBudget budget) {
+        if (!budget.tryStartPage()) {
+            return null;
+        }
+
+        WebPage page = parser.parse(url, depth);
+        budget.recordBytes(page.getByteCount());
+        return page;
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+        executor.shutdown();
+    }
+
+    private static ExecutorService createExecutor(int workers) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "crawler-frontier-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class FrontierEntry {
+        private final URL url;
+        private final int parentId;
+        private WebPage page;
+
+        private FrontierEntry(URL url, int parentId) {
+            this.url = url;
+            this.parentId = parentId;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.HostPolitenessScheduler;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.util.DomainMatcher;
+import io.github.yikesboy.util.UrlUtil;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Crawl engine that runs every page fetch as its own task instead of on a fixed size fork/join pool.
+ * Parent pages never block on their children, they are completed once all child futures are done.
+ * The number of fetches running at the same time is bounded by {@code maxInFlight}, fetches waiting for their
+ * host's {@link PolitenessPolicy} are queued without occupying a thread. A fetch waiting to retry does not count.
+ * <p>
+ * On a Java 21+ runtime each fetch runs on a virtual thread. On older runtimes a daemon thread pool
+ * with {@code maxInFlight} threads is used instead.
+ */
+public class VirtualThreadCrawlerService implements WebCrawlerServiceInterface {
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    private final PageParserInterface parser;
+    private final VisitedUrlSetInterface visitedUrls;
+    private final Queue<CrawlError> errors;
+    private final ExecutorService executor;
+    private final HostPolitenessScheduler scheduler;
+    private final CrawlListener listener;
+    private final CrawlMetricsRecorder metrics;
+    private volatile DomainMatcher domainMatcher;
+    private volatile CrawlBudget budget;
+
+    public VirtualThreadCrawlerService(PageParserInterface parser) {
+        this(parser, CrawlOptions.DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser, int maxInFlight) {
+        this(parser, maxInFlight, PolitenessPolicy.defaults());
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser, int maxInFlight, PolitenessPolicy politenessPolicy) {
+        this(parser, maxInFlight, politenessPolicy, CrawlListener.NONE);
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser,
+                                       int maxInFlight,
+                                       PolitenessPolicy politenessPolicy,
+                                       CrawlListener listener) {
+        this(parser, maxInFlight, politenessPolicy, listener, new SetBackedVisitedUrlSet());
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser,
+                                       int maxInFlight,
+                                       PolitenessPolicy politenessPolicy,
+                                       CrawlListener listener,
+                                       VisitedUrlSetInterface visitedUrls) {
+        this(parser, maxInFlight, politenessPolicy, listener, visitedUrls, createExecutor(maxInFlight));
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser,
+                                       int maxInFlight,
+                                       PolitenessPolicy politenessPolicy,
+                                       CrawlListener listener,
+                                       VisitedUrlSetInterface visitedUrls,
+                                       CrawlMetricsRecorder metrics) {
+        this(parser, maxInFlight, politenessPolicy, listener, visitedUrls, createExecutor(maxInFlight), metrics);
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser,
+                                       int maxInFlight,
+                                       PolitenessPolicy politenessPolicy,
+                                       CrawlListener listener,
+                                       VisitedUrlSetInterface visitedUrls,
+                                       ExecutorService executor) {
+        this(parser, maxInFlight, politenessPolicy, listener, visitedUrls, executor, CrawlMetricsRecorder.NONE);
+    }
+
+    public VirtualThreadCrawlerService(PageParserInterface parser,
+                                       int maxInFlight,
+                                       PolitenessPolicy politenessPolicy,
+                                       CrawlListener listener,
+                                       VisitedUrlSetInterface visitedUrls,
+                                       ExecutorService executor,
+                                       CrawlMetricsRecorder metrics) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight requests must be at least 1.");
+        }
+        this.parser = parser;
+        this.visitedUrls = visitedUrls;
+        this.errors = new ConcurrentLinkedQueue<>();
+        this.executor = executor;
+        this.scheduler = new HostPolitenessScheduler(politenessPolicy, executor, new Semaphore(maxInFlight));
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CrawlResult crawl(CrawlConfig config) {
+        visitedUrls.clear();
+        errors.clear();
+        domainMatcher = new DomainMatcher(config.allowedDomains());
+        budget = CrawlBudget.start(config.options(), scheduler::cancelPending);
+
+        listener.onCrawlStarted(config);
+
+        try {
+            WebPage rootPage = crawlPage(config.rootUrl(), 0, config).join();
+            CrawlStopReason stopReason = budget.finish();
+            if (rootPage == null) {
+                rootPage = new WebPage(config.rootUrl(), 0, true);
+            }
+            CrawlResult result = new CrawlResult(rootPage, new ArrayList<>(errors), stopReason);
+            listener.onCrawlFinished(result);
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<WebPage> crawlPage(URL url, int depth, CrawlConfig config) {
+        if (url == null || depth > config.maxDepth() || budget.isExhausted()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!visitedUrls.claim(UrlUtil.normalizeUrl(url))) {
+            metrics.recordDuplicateUrl();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (depth < config.maxDepth() && parser.isStreaming()) {
+            List<CompletableFuture<WebPage>> childFutures = Collections.synchronizedList(new ArrayList<>());
+            Consumer<URL> linkListener = link -> crawlChildPage(link, depth, config, childFutures);
+            return scheduler.schedule(url, () -> fetchPage(url, depth, linkListener))
+                    .exceptionally(CrawlBudget::skipCancelled)
+                    .thenCompose(page -> {
+                        if (page == null) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        listener.onPageParsed(page);
+                        return awaitChildPages(page, depth, childFutures);
+                    });
+        }
+
+        return scheduler.schedule(url, () -> fetchPage(url, depth, null))
+                .exceptionally(CrawlBudget::skipCancelled)
+                .thenCompose(page -> {
+                    if (page == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    listener.onPageParsed(page);
+                    return crawlChildPages(page, depth, config);
+                });
+    }
+
+    /**
+     * @return {@code null} if the budget of the crawl was exhausted before the fetch could start
+     */
+    private WebPage fetchPage(URL url, int depth, Consumer<URL> linkListener) {
+        if (!budget.tryStartPage()) {
+            return null;
+        }
+
+        WebPage page = linkListener == null ? parser.parse(url, depth) : parser.parse(url, depth, linkListener);
+        budget.recordBytes(page.getByteCount());
+        return page;
+    }
+
+    private CompletableFuture<WebPage> crawlChildPages(WebPage page, int depth, CrawlConfig config) {
+        if (depth == config.maxDepth()) {
+            return CompletableFuture.completedFuture(page);
+        }
+
+        List<CompletableFuture<WebPage>> childFutures = new ArrayList<>();
+        if (!page.isBroken()) {
+            for (URL link : parser.extractLinks(page)) {
+                crawlChildPage(link, depth, config, childFutures);
+            }
+        }
+        return awaitChildPages(page, depth, childFutures);
+    }
+
+    private void crawlChildPage(URL link, int depth, CrawlConfig config, List<CompletableFuture<WebPage>> childFutures) {
+        if (budget.isExhausted()) {
+            return;
+        }
+        if (domainMatcher.matches(link)) {
+            childFutures.add(crawlPage(link, depth + 1, config));
+        } else {
+            metrics.recordDomainReject();
+        }
+    }
+
+    /**
+     * Children of a broken page can only exist if it broke while streaming, they are awaited but not attached.
+     */
+    private CompletableFuture<WebPage> awaitChildPages(WebPage page,
+                                                       int depth,
+                                                       List<CompletableFuture<WebPage>> childFutures) {
+        if (page.isBroken()) {
+            errors.add(new CrawlError(page.getUrl(), depth, "Failed to fetch or parse page"));
+        }
+
+        return CompletableFuture.allOf(childFutures.toArray(CompletableFuture<?>[]::new))
+                .thenApply(ignored -> page.isBroken() ? page : attachChildPages(page, childFutures));
+    }
+
+    private WebPage attachChildPages(WebPage page, List<CompletableFuture<WebPage>> childFutures) {
+        for (CompletableFuture<WebPage> childFuture : childFutures) {
+            WebPage childPage = childFuture.join();
+            if (childPage != null) {
+                page.addChildPage(childPage);
+                listener.onChildPageAttached(page, childPage);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Also shuts down the executor the fetches run on, including one passed to the constructor.
+     */
+    @Override
+    public void close() {
+        scheduler.close();
+        executor.shutdown();
+    }
+
+    private static ExecutorService createExecutor(int maxInFlight) {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY).invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxInFlight, runnable -> {
+                Thread thread = new Thread(runnable, "crawler-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
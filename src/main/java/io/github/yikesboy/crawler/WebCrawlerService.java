@@ -1,35 +1,130 @@
 package io.github.yikesboy.crawler;
 
 import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
 import io.github.yikesboy.models.CrawlError;
 import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
 import io.github.yikesboy.models.WebPage;
 import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.HostPolitenessScheduler;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.trace.CrawlTracer;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import io.github.yikesboy.visited.VisitedUrlSetInterface;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ForkJoinPool;
 
 public class WebCrawlerService implements WebCrawlerServiceInterface {
     private final PageParserInterface parser;
-    private final Set<String> visitedUrls;
+    private final VisitedUrlSetInterface visitedUrls;
     private final Queue<CrawlError> errors;
     private final ForkJoinPool forkJoinPool;
+    private final HostPolitenessScheduler scheduler;
+    private final CrawlListener listener;
+    private final CrawlMetricsRecorder metrics;
+    private final CrawlTracer tracer;
 
     public WebCrawlerService(PageParserInterface parser) {
+        this(parser, PolitenessPolicy.defaults());
+    }
+
+    public WebCrawlerService(PageParserInterface parser, PolitenessPolicy politenessPolicy) {
+        this(parser, politenessPolicy, CrawlListener.NONE);
+    }
+
+    public WebCrawlerService(PageParserInterface parser, PolitenessPolicy politenessPolicy, CrawlListener listener) {
+        this(parser, politenessPolicy, listener, new SetBackedVisitedUrlSet());
+    }
+
+    public WebCrawlerService(PageParserInterface parser,
+                             PolitenessPolicy politenessPolicy,
+                             CrawlListener listener,
+                             VisitedUrlSetInterface visitedUrls) {
+        this(parser, politenessPolicy, listener, visitedUrls, defaultParallelism());
+    }
+
+    public WebCrawlerService(PageParserInterface parser,
+                             PolitenessPolicy politenessPolicy,
+                             CrawlListener listener,
+                             VisitedUrlSetInterface visitedUrls,
+                             int parallelism) {
+        this(parser, politenessPolicy, listener, visitedUrls, parallelism, CrawlMetricsRecorder.NONE);
+    }
+
+    public WebCrawlerService(PageParserInterface parser,
+                             PolitenessPolicy politenessPolicy,
+                             CrawlListener listener,
+                             VisitedUrlSetInterface visitedUrls,
+                             int parallelism,
+                             CrawlMetricsRecorder metrics) {
+        this(parser, politenessPolicy, listener, visitedUrls, parallelism, metrics, CrawlTracer.NONE);
+    }
+
+    public WebCrawlerService(PageParserInterface parser,
+                             PolitenessPolicy politenessPolicy,
+                             CrawlListener listener,
+                             VisitedUrlSetInterface visitedUrls,
+                             int parallelism,
+                             CrawlMetricsRecorder metrics,
+                             CrawlTracer tracer) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
         this.parser = parser;
-        this.visitedUrls = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.listener = listener;
+        this.visitedUrls = visitedUrls;
         this.errors = new ConcurrentLinkedQueue<>();
-        this.forkJoinPool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        this.forkJoinPool = new ForkJoinPool(parallelism);
+        this.scheduler = new HostPolitenessScheduler(politenessPolicy, forkJoinPool);
+        this.metrics = metrics;
+        this.tracer = tracer;
+        registerPoolGauges(metrics, forkJoinPool);
     }
 
     @Override
     public CrawlResult crawl(CrawlConfig config) throws IllegalArgumentException {
         visitedUrls.clear();
         errors.clear();
-        CrawlTask rootTask = new CrawlTask(config.rootUrl(), 0, config, parser, visitedUrls, errors);
+        listener.onCrawlStarted(config);
+        CrawlContext context = new CrawlContext(
+                config, parser, visitedUrls, errors, scheduler, listener, metrics, tracer);
+        CrawlTask rootTask = new CrawlTask(config.rootUrl(), 0, context);
         WebPage rootPage = forkJoinPool.invoke(rootTask);
-        return new CrawlResult(rootPage, new ArrayList<>(errors));
+        CrawlStopReason stopReason = context.getBudget().finish();
+        if (rootPage == null) {
+            rootPage = new WebPage(config.rootUrl(), 0, true);
+        }
+        CrawlResult result = new CrawlResult(rootPage, new ArrayList<>(errors), stopReason);
+        listener.onCrawlFinished(result);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+        forkJoinPool.shutdown();
+    }
+
+    private static void registerPoolGauges(CrawlMetricsRecorder metrics, ForkJoinPool pool) {
+        metrics.registerGauge("crawler_forkjoin_parallelism", "Target parallelism of the crawl pool.",
+                pool::getParallelism);
+        metrics.registerGauge("crawler_forkjoin_pool_size", "Worker threads started by the crawl pool.",
+                pool::getPoolSize);
+        metrics.registerGauge("crawler_forkjoin_active_threads", "Crawl pool threads running or stealing tasks.",
+                pool::getActiveThreadCount);
+        metrics.registerGauge("crawler_forkjoin_queued_submissions", "Tasks submitted to the crawl pool, not yet run.",
+                pool::getQueuedSubmissionCount);
+        metrics.registerGauge("crawler_forkjoin_queued_tasks", "Tasks queued in the work queues of the crawl pool.",
+                pool::getQueuedTaskCount);
+        metrics.registerGauge("crawler_forkjoin_steals", "Tasks stolen between crawl pool threads.",
+                pool::getStealCount);
+    }
+
+    public static int defaultParallelism() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,13 @@ package io.github.yikesboy.crawler;
 import io.github.yikesboy.config.CrawlConfig;
 import io.github.yikesboy.models.CrawlResult;
 
-public interface WebCrawlerServiceInterface {
+public interface WebCrawlerServiceInterface extends AutoCloseable {
     CrawlResult crawl(CrawlConfig config);
+
+    /**
+     * Stops the threads the service started. The service cannot crawl afterwards.
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,106 @@
+package io.github.yikesboy.html;
+
+import io.github.yikesboy.models.SkipReason;
+
+import java.net.URL;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which URLs and responses are not worth downloading. URLs are checked before the request is sent,
+ * headers before the body is read and the body while it is read, each failing with a
+ * {@link PageSkippedException}.
+ *
+ * @param maxBodyBytes       Largest body that is downloaded.
+ * @param skippedExtensions  File extensions, without the dot, of URLs that are never requested.
+ * @param htmlOnly           Whether bodies that are neither HTML nor XML are skipped.
+ */
+public record FetchLimits(long maxBodyBytes, Set<String> skippedExtensions, boolean htmlOnly) {
+    public static final FetchLimits NONE = new FetchLimits(Long.MAX_VALUE, Set.of());
+
+    private static final String HTML_MEDIA_TYPE = "text/html";
+    private static final String XHTML_MEDIA_TYPE = "application/xhtml+xml";
+    private static final Pattern XML_MEDIA_TYPE_PATTERN = Pattern.compile("(application|text)/([\\w.-]+\\+)?xml");
+
+    public FetchLimits {
+        if (maxBodyBytes < 1) {
+            throw new IllegalArgumentException("Max body size must be positive.");
+        }
+        skippedExtensions = skippedExtensions.stream()
+                .map(extension -> extension.trim().toLowerCase(Locale.ROOT))
+                .map(extension -> extension.startsWith(".") ? extension.substring(1) : extension)
+                .filter(extension -> !extension.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public FetchLimits(long maxBodyBytes, Set<String> skippedExtensions) {
+        this(maxBodyBytes, skippedExtensions, true);
+    }
+
+    public void checkUrl(URL url) throws PageSkippedException {
+        if (!skippedExtensions.isEmpty() && skippedExtensions.contains(extensionOf(url))) {
+            throw new PageSkippedException(url, SkipReason.EXCLUDED_EXTENSION);
+        }
+    }
+
+    /**
+     * Checks the headers of a response before its body is read. Only successful responses are checked, error
+     * statuses are left to the caller.
+     *
+     * @param contentType   The {@code Content-Type} header, or null if there is none.
+     * @param contentLength The {@code Content-Length} header, or null if there is none.
+     */
+    public void checkHeaders(URL url, int statusCode, String contentType, String contentLength)
+            throws PageSkippedException {
+        if (statusCode < 200 || statusCode >= 300) {
+            return;
+        }
+        if (htmlOnly && contentType != null && !isParseableContentType(contentType)) {
+            throw new PageSkippedException(url, SkipReason.NOT_HTML);
+        }
+        if (contentLength != null && parseContentLength(contentLength) > maxBodyBytes) {
+            throw new PageSkippedException(url, SkipReason.TOO_LARGE);
+        }
+    }
+
+    public void checkBodySize(URL url, long bodyBytes) throws PageSkippedException {
+        if (bodyBytes > maxBodyBytes) {
+            throw new PageSkippedException(url, SkipReason.TOO_LARGE);
+        }
+    }
+
+    /**
+     * HTML, XHTML and XML, which jsoup parses into documents. Media types are compared case-insensitively and
+     * without their parameters, a blank content type is treated like a missing one.
+     */
+    public static boolean isParseableContentType(String contentType) {
+        String mediaType = mediaTypeOf(contentType);
+        return mediaType.isEmpty()
+                || mediaType.equals(HTML_MEDIA_TYPE)
+                || mediaType.equals(XHTML_MEDIA_TYPE)
+                || XML_MEDIA_TYPE_PATTERN.matcher(mediaType).matches();
+    }
+
+    static String mediaTypeOf(String contentType) {
+        int parametersIndex = contentType.indexOf(';');
+        String mediaType = parametersIndex < 0 ? contentType : contentType.substring(0, parametersIndex);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String extensionOf(URL url) {
+        String path = url.getPath();
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        int dotIndex = fileName.lastIndexOf('.');
+        return dotIndex < 0 ? "" : fileName.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static long parseContentLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
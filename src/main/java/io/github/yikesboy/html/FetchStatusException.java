@@ -0,0 +1,43 @@
+package io.github.yikesboy.html;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Signals that a server answered a fetch with an unsuccessful HTTP status code.
+ */
+public class FetchStatusException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final URL url;
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    public FetchStatusException(URL url, int statusCode) {
+        this(url, statusCode, null);
+    }
+
+    /**
+     * @param retryAfter The delay the server asked for before the next request, or null if it did not.
+     */
+    public FetchStatusException(URL url, int statusCode, Duration retryAfter) {
+        super("HTTP status " + statusCode + " fetching " + url);
+        this.url = url;
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
@@ -1,9 +1,30 @@
 package io.github.yikesboy.html;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface HtmlDocument {
     List<HtmlElement> select(String cssSelector);
 
     String getTitle();
+
+    /**
+     * @return size of the body the document was parsed from, 0 if it is not known
+     */
+    default long getByteCount() {
+        return 0;
+    }
+
+    /**
+     * Visits every element with one of the given lower case tag names in document order.
+     */
+    default void traverse(Set<String> tagNames, Consumer<HtmlElement> visitor) {
+        if (tagNames.isEmpty()) {
+            return;
+        }
+        for (HtmlElement element : select(String.join(", ", tagNames))) {
+            visitor.accept(element);
+        }
+    }
 }
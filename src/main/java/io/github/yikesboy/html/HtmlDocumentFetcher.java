@@ -2,7 +2,20 @@ package io.github.yikesboy.html;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 public interface HtmlDocumentFetcher {
     HtmlDocument fetch(URL url) throws IOException;
+
+    /**
+     * Fetches the document without blocking the caller. Fetchers without native async support
+     * complete the future on the calling thread.
+     */
+    default CompletableFuture<HtmlDocument> fetchAsync(URL url) {
+        try {
+            return CompletableFuture.completedFuture(fetch(url));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
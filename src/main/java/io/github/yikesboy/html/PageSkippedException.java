@@ -0,0 +1,31 @@
+package io.github.yikesboy.html;
+
+import io.github.yikesboy.models.SkipReason;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Signals that a fetch was not started or was aborted because the URL or the response is not a page the crawler
+ * reads, such as a PDF or an oversized body.
+ */
+public class PageSkippedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final URL url;
+    private final SkipReason reason;
+
+    public PageSkippedException(URL url, SkipReason reason) {
+        super("Skipped " + url + ": " + reason.getDescription());
+        this.url = url;
+        this.reason = reason;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public SkipReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.yikesboy.html;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.function.Consumer;
+
+/**
+ * Fetcher that parses the response body while it is still being downloaded.
+ */
+public interface StreamingHtmlDocumentFetcher {
+    /**
+     * Passes every element to the listener as soon as its end tag has been parsed, then returns the complete
+     * document. Elements are passed in the order they are closed, nested elements before their parent.
+     */
+    HtmlDocument fetch(URL url, Consumer<HtmlElement> closedElementListener) throws IOException;
+}
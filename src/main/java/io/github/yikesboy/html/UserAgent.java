@@ -0,0 +1,12 @@
+package io.github.yikesboy.html;
+
+/**
+ * How the crawler identifies itself, in the requests of every fetcher and in the robots.txt groups it obeys.
+ */
+public class UserAgent {
+    public static final String TOKEN = "CleanCodeWebCrawler";
+    public static final String HEADER_VALUE = "Mozilla/5.0 (compatible; " + TOKEN + "/1.0)";
+
+    private UserAgent() {
+    }
+}
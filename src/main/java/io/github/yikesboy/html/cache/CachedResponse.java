@@ -0,0 +1,83 @@
+package io.github.yikesboy.html.cache;
+
+import io.github.yikesboy.html.http.HttpPageResponse;
+
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response body stored in the {@link DiskHttpCache} together with what is needed to decide whether it is still
+ * fresh and to revalidate it. Empty strings stand for validators the server did not send.
+ *
+ * @param url            The final URL of the response after redirects.
+ * @param etag           The {@code ETag} header.
+ * @param lastModified   The {@code Last-Modified} header.
+ * @param contentType    The {@code Content-Type} header.
+ * @param storedAtMillis When the response was received or last revalidated.
+ * @param maxAgeSeconds  How long the response is fresh after {@code storedAtMillis}.
+ * @param body           The raw response body.
+ */
+public record CachedResponse(URL url,
+                             String etag,
+                             String lastModified,
+                             String contentType,
+                             long storedAtMillis,
+                             long maxAgeSeconds,
+                             byte[] body) {
+    static final String ETAG_HEADER = "ETag";
+    static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    static final String CONTENT_TYPE_HEADER = "Content-Type";
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+    private static final int OK = 200;
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    public static CachedResponse of(HttpPageResponse response, long nowMillis, long maxAgeSeconds) {
+        return new CachedResponse(
+                response.url(),
+                response.header(ETAG_HEADER).orElse(""),
+                response.header(LAST_MODIFIED_HEADER).orElse(""),
+                response.header(CONTENT_TYPE_HEADER).orElse(""),
+                nowMillis,
+                maxAgeSeconds,
+                response.body());
+    }
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis - storedAtMillis < maxAgeSeconds * MILLIS_PER_SECOND;
+    }
+
+    public boolean hasValidator() {
+        return !etag.isEmpty() || !lastModified.isEmpty();
+    }
+
+    /**
+     * @return the request headers that ask the server to answer with 304 if this response is still current
+     */
+    public Map<String, String> validatorHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        if (!etag.isEmpty()) {
+            headers.put(IF_NONE_MATCH_HEADER, etag);
+        }
+        if (!lastModified.isEmpty()) {
+            headers.put(IF_MODIFIED_SINCE_HEADER, lastModified);
+        }
+        return headers;
+    }
+
+    public CachedResponse revalidated(long nowMillis, long newMaxAgeSeconds) {
+        return new CachedResponse(url, etag, lastModified, contentType, nowMillis, newMaxAgeSeconds, body);
+    }
+
+    public HttpPageResponse toPageResponse() {
+        Map<String, List<String>> headers = new HashMap<>();
+        if (!contentType.isEmpty()) {
+            headers.put(CONTENT_TYPE_HEADER, List.of(contentType));
+        }
+        return new HttpPageResponse(url, OK, HttpHeaders.of(headers, (name, value) -> true), body);
+    }
+}
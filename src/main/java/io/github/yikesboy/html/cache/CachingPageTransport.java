@@ -0,0 +1,114 @@
+package io.github.yikesboy.html.cache;
+
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+
+import java.net.URL;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Transport decorator that keeps page responses in a {@link DiskHttpCache} between crawls.
+ * <p>
+ * A cached response is served without a request while it is fresh according to the {@code max-age} of its
+ * {@code Cache-Control} header. Afterwards the request carries {@code If-None-Match} and
+ * {@code If-Modified-Since}, and a 304 answer is served from the cache. Responses without {@code max-age} are
+ * revalidated on every request, responses marked {@code no-store} are not stored.
+ */
+public class CachingPageTransport implements HttpPageTransport {
+    private static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=\"?(\\d+)");
+    private static final long MAX_AGE_LIMIT_SECONDS = Long.MAX_VALUE / 1000;
+    private static final int OK = 200;
+    private static final int NOT_MODIFIED = 304;
+
+    private final HttpPageTransport transport;
+    private final DiskHttpCache cache;
+    private final Clock clock;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder revalidatedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public CachingPageTransport(HttpPageTransport transport, DiskHttpCache cache) {
+        this(transport, cache, Clock.systemUTC());
+    }
+
+    public CachingPageTransport(HttpPageTransport transport, DiskHttpCache cache, Clock clock) {
+        this.transport = transport;
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletableFuture<HttpPageResponse> send(URL url, Map<String, String> requestHeaders) {
+        requests.increment();
+        Optional<CachedResponse> cached = cache.get(url);
+        if (cached.isPresent() && cached.get().isFresh(clock.millis())) {
+            return CompletableFuture.completedFuture(serveFromCache(cached.get(), freshHits));
+        }
+
+        Map<String, String> headers = new HashMap<>(requestHeaders);
+        cached.ifPresent(response -> headers.putAll(response.validatorHeaders()));
+        return transport.send(url, headers).thenApply(response -> handleResponse(url, cached, response));
+    }
+
+    public HttpCacheStats getStats() {
+        return new HttpCacheStats(requests.sum(), freshHits.sum(), revalidatedHits.sum(), misses.sum(),
+                bytesSaved.sum(), cache.size(), cache.getTotalBytes(), cache.getEvictions());
+    }
+
+    private HttpPageResponse handleResponse(URL url, Optional<CachedResponse> cached, HttpPageResponse response) {
+        if (response.statusCode() == NOT_MODIFIED && cached.isPresent()) {
+            CachedResponse revalidated = cached.get().revalidated(clock.millis(), maxAgeSeconds(response));
+            cache.put(url, revalidated);
+            return serveFromCache(revalidated, revalidatedHits);
+        }
+
+        misses.increment();
+        String cacheControl = cacheControl(response);
+        if (response.statusCode() == OK && !cacheControl.contains(NO_STORE)) {
+            CachedResponse stored = CachedResponse.of(response, clock.millis(), maxAgeSeconds(response));
+            if (stored.hasValidator() || stored.maxAgeSeconds() > 0) {
+                cache.put(url, stored);
+            }
+        }
+        return response;
+    }
+
+    private HttpPageResponse serveFromCache(CachedResponse cached, LongAdder hitCounter) {
+        hitCounter.increment();
+        bytesSaved.add(cached.body().length);
+        return cached.toPageResponse();
+    }
+
+    private static long maxAgeSeconds(HttpPageResponse response) {
+        String cacheControl = cacheControl(response);
+        if (cacheControl.contains(NO_CACHE)) {
+            return 0;
+        }
+        Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+        if (!matcher.find()) {
+            return 0;
+        }
+        try {
+            return Math.min(Long.parseLong(matcher.group(1)), MAX_AGE_LIMIT_SECONDS);
+        } catch (NumberFormatException e) {
+            return MAX_AGE_LIMIT_SECONDS;
+        }
+    }
+
+    private static String cacheControl(HttpPageResponse response) {
+        return response.header(CACHE_CONTROL_HEADER).orElse("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.yikesboy.html.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded store of {@link CachedResponse}s with one file per URL. The least recently used entries are
+ * deleted once the files exceed {@code maxBytes}. The modification time of an entry file is its last use, so
+ * the LRU order survives restarts.
+ * <p>
+ * Only the index is guarded by a lock, entry files are read and written outside of it. An entry that was
+ * evicted while it was read counts as a miss.
+ */
+public class DiskHttpCache {
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entrySizes;
+
+    private long totalBytes;
+    private long evictions;
+
+    public DiskHttpCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.entrySizes = new LinkedHashMap<>(16, 0.75f, true);
+        loadIndex();
+    }
+
+    public Optional<CachedResponse> get(URL url) {
+        String fileName = fileName(url);
+        synchronized (this) {
+            if (entrySizes.get(fileName) == null) {
+                return Optional.empty();
+            }
+        }
+
+        Path file = directory.resolve(fileName);
+        try {
+            CachedResponse response = read(file, url);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.ofNullable(response);
+        } catch (IOException e) {
+            remove(fileName);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores or replaces the response for a URL. Responses larger than the whole cache are not stored.
+     */
+    public void put(URL url, CachedResponse response) {
+        byte[] entry = encode(url, response);
+        if (entry.length > maxBytes) {
+            return;
+        }
+
+        String fileName = fileName(url);
+        Path file = directory.resolve(fileName);
+        try {
+            Path tempFile = Files.createTempFile(directory, fileName, TEMP_SUFFIX);
+            Files.write(tempFile, entry);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write cache entry for " + url, e);
+        }
+
+        synchronized (this) {
+            Long previousSize = entrySizes.put(fileName, (long) entry.length);
+            totalBytes += entry.length - (previousSize == null ? 0 : previousSize);
+            evict();
+        }
+    }
+
+    public synchronized int size() {
+        return entrySizes.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Reads the sizes of the existing entries and deletes temporary files left over by an interrupted write.
+     */
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> tempFiles = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            entries.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(DiskHttpCache::lastModifiedTime));
+
+        for (Path file : files) {
+            long size = Files.size(file);
+            entrySizes.put(file.getFileName().toString(), size);
+            totalBytes += size;
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entrySizes.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            evictions++;
+            try {
+                Files.deleteIfExists(directory.resolve(entry.getKey()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private synchronized void remove(String fileName) {
+        Long size = entrySizes.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    /**
+     * @return the stored response, or null if the file belongs to another URL with the same digest
+     */
+    private static CachedResponse read(Path file, URL url) throws IOException {
+        try (InputStream stream = Files.newInputStream(file); DataInputStream input = new DataInputStream(stream)) {
+            if (input.readInt() != FORMAT_VERSION || !input.readUTF().equals(url.toString())) {
+                return null;
+            }
+            URL responseUrl = new URL(input.readUTF());
+            String etag = input.readUTF();
+            String lastModified = input.readUTF();
+            String contentType = input.readUTF();
+            long storedAtMillis = input.readLong();
+            long maxAgeSeconds = input.readLong();
+            byte[] body = new byte[input.readInt()];
+            input.readFully(body);
+            return new CachedResponse(responseUrl, etag, lastModified, contentType, storedAtMillis, maxAgeSeconds, body);
+        }
+    }
+
+    private static byte[] encode(URL url, CachedResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.body().length + 512);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(url.toString());
+            output.writeUTF(response.url().toString());
+            output.writeUTF(response.etag());
+            output.writeUTF(response.lastModified());
+            output.writeUTF(response.contentType());
+            output.writeLong(response.storedAtMillis());
+            output.writeLong(response.maxAgeSeconds());
+            output.writeInt(response.body().length);
+            output.write(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String fileName(URL url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(url.toString().getBytes(StandardCharsets.UTF_8))) + ENTRY_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FileTime lastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
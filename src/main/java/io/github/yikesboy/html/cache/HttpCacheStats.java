@@ -0,0 +1,37 @@
+package io.github.yikesboy.html.cache;
+
+/**
+ * Counters of a {@link CachingPageTransport}.
+ *
+ * @param requests        pages requested through the cache
+ * @param freshHits       requests answered from the cache without contacting the server
+ * @param revalidatedHits requests the server answered with 304 Not Modified
+ * @param misses          requests that downloaded the full body
+ * @param bytesSaved      body bytes that were served from the cache instead of downloaded
+ * @param entries         responses currently stored
+ * @param storedBytes     size of the stored entries
+ * @param evictions       entries deleted to stay within the size limit
+ */
+public record HttpCacheStats(long requests,
+                             long freshHits,
+                             long revalidatedHits,
+                             long misses,
+                             long bytesSaved,
+                             int entries,
+                             long storedBytes,
+                             long evictions) {
+    /**
+     * @return share of requests that were served with a body from the cache
+     */
+    public double hitRate() {
+        return requests == 0 ? 0 : (double) (freshHits + revalidatedHits) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, hit rate=%.1f%%, fresh hits=%d, revalidated=%d, misses=%d, "
+                        + "bytes saved=%d, entries=%d, stored bytes=%d, evictions=%d",
+                requests, hitRate() * 100, freshHits, revalidatedHits, misses, bytesSaved, entries, storedBytes,
+                evictions);
+    }
+}
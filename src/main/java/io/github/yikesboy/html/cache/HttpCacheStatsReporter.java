@@ -0,0 +1,20 @@
+package io.github.yikesboy.html.cache;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+/**
+ * Prints the {@link HttpCacheStats} of a {@link CachingPageTransport} once a crawl is finished.
+ */
+public class HttpCacheStatsReporter implements CrawlListener {
+    private final CachingPageTransport transport;
+
+    public HttpCacheStatsReporter(CachingPageTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("HTTP cache: " + transport.getStats());
+    }
+}
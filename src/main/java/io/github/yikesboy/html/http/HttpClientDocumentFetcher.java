@@ -0,0 +1,70 @@
+package io.github.yikesboy.html.http;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fetcher that downloads pages through a {@link HttpPageTransport} and only uses jsoup to parse the body.
+ */
+public class HttpClientDocumentFetcher implements HtmlDocumentFetcher {
+    private final HttpPageTransport transport;
+
+    public HttpClientDocumentFetcher(Duration connectTimeout, Duration readTimeout) {
+        this(connectTimeout, readTimeout, FetchLimits.NONE);
+    }
+
+    public HttpClientDocumentFetcher(Duration connectTimeout, Duration readTimeout, FetchLimits limits) {
+        this(new HttpClientTransport(connectTimeout, readTimeout, limits));
+    }
+
+    public HttpClientDocumentFetcher(HttpPageTransport transport) {
+        this.transport = transport;
+    }
+
+    @Override
+    public HtmlDocument fetch(URL url) throws IOException {
+        try {
+            return fetchAsync(url).get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HtmlDocument> fetchAsync(URL url) {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null");
+        }
+
+        return transport.send(url, Map.of()).thenCompose(response -> {
+            try {
+                return CompletableFuture.completedFuture(JsoupHtmlDocument.parse(response));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private static IOException unwrap(Throwable cause) {
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+}
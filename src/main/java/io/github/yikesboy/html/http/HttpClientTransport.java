@@ -0,0 +1,105 @@
+package io.github.yikesboy.html.http;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.UserAgent;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport backed by a single {@link HttpClient}. The client keeps connections alive per origin and
+ * multiplexes requests over HTTP/2 where the server supports it, so it should be shared by all fetches of a crawl.
+ * Responses the {@link FetchLimits} reject are cancelled before or while their body is read.
+ */
+public class HttpClientTransport implements HttpPageTransport {
+    private static final String ACCEPT = "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8";
+
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final FetchLimits limits;
+
+    public HttpClientTransport(Duration connectTimeout, Duration readTimeout) {
+        this(connectTimeout, readTimeout, FetchLimits.NONE);
+    }
+
+    public HttpClientTransport(Duration connectTimeout, Duration readTimeout, FetchLimits limits) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build(), readTimeout, limits);
+    }
+
+    public HttpClientTransport(HttpClient httpClient, Duration readTimeout) {
+        this(httpClient, readTimeout, FetchLimits.NONE);
+    }
+
+    public HttpClientTransport(HttpClient httpClient, Duration readTimeout, FetchLimits limits) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.limits = limits;
+    }
+
+    @Override
+    public CompletableFuture<HttpPageResponse> send(URL url, Map<String, String> requestHeaders) {
+        HttpRequest request;
+        try {
+            limits.checkUrl(url);
+            request = buildRequest(url, requestHeaders);
+        } catch (PageSkippedException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid URL " + url, e));
+        }
+
+        return httpClient.sendAsync(request, responseInfo -> limitedBody(url, responseInfo))
+                .thenApply(response -> toPageResponse(url, response));
+    }
+
+    /**
+     * Rejects the body of a response whose headers already show it is not HTML or too large, before any of it
+     * is read. Other bodies are read up to the size limit.
+     */
+    private HttpResponse.BodySubscriber<byte[]> limitedBody(URL url, HttpResponse.ResponseInfo responseInfo) {
+        try {
+            limits.checkHeaders(url, responseInfo.statusCode(),
+                    responseInfo.headers().firstValue(CONTENT_TYPE_HEADER).orElse(null),
+                    responseInfo.headers().firstValue(CONTENT_LENGTH_HEADER).orElse(null));
+            return new LimitedBodySubscriber(url, limits);
+        } catch (PageSkippedException e) {
+            return new LimitedBodySubscriber(url, limits, e);
+        }
+    }
+
+    private HttpRequest buildRequest(URL url, Map<String, String> requestHeaders) throws URISyntaxException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url.toURI())
+                .timeout(readTimeout)
+                .header("User-Agent", UserAgent.HEADER_VALUE)
+                .header("Accept", ACCEPT)
+                .GET();
+        requestHeaders.forEach(builder::header);
+        return builder.build();
+    }
+
+    private HttpPageResponse toPageResponse(URL requestUrl, HttpResponse<byte[]> response) {
+        URL responseUrl;
+        try {
+            responseUrl = response.uri().toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            responseUrl = requestUrl;
+        }
+        return new HttpPageResponse(responseUrl, response.statusCode(), response.headers(), response.body());
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.yikesboy.html.http;
+
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Fully read HTTP response of a page request.
+ *
+ * @param url        The final URL of the response after redirects.
+ * @param statusCode The HTTP status code.
+ * @param headers    The response headers.
+ * @param body       The raw response body.
+ */
+public record HttpPageResponse(URL url, int statusCode, HttpHeaders headers, byte[] body) {
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    public Optional<String> header(String name) {
+        return headers.firstValue(name);
+    }
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * The delay a server asked for with a {@code Retry-After} header, given either in seconds or as an HTTP
+     * date. Dates in the past are a delay of zero, unreadable values are ignored.
+     */
+    public Optional<Duration> retryAfter() {
+        return parseRetryAfter(header(RETRY_AFTER_HEADER).orElse(null));
+    }
+
+    /**
+     * Reads a {@code Retry-After} header value of a response that is not kept as a whole.
+     *
+     * @param value The header value, or null if the response had none.
+     */
+    public static Optional<Duration> parseRetryAfter(String value) {
+        return value == null ? Optional.empty() : parseRetryAfter(value, Instant.now());
+    }
+
+    static Optional<Duration> parseRetryAfter(String value, Instant now) {
+        String trimmed = value.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed))));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, try an HTTP date
+        }
+        try {
+            Instant date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return Optional.of(date.isAfter(now) ? Duration.between(now, date) : Duration.ZERO);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
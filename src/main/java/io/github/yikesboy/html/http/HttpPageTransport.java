@@ -0,0 +1,9 @@
+package io.github.yikesboy.html.http;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface HttpPageTransport {
+    CompletableFuture<HttpPageResponse> send(URL url, Map<String, String> requestHeaders);
+}
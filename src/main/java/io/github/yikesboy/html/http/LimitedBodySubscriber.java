@@ -0,0 +1,83 @@
+package io.github.yikesboy.html.http;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.PageSkippedException;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Collects a response body like {@link HttpResponse.BodySubscribers#ofByteArray()}, but cancels the download
+ * as soon as the body grows past the {@link FetchLimits}, or right away if the headers were already rejected.
+ * Cancelling closes the connection instead of draining the rest of the body.
+ */
+class LimitedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+    private final URL url;
+    private final FetchLimits limits;
+    private final PageSkippedException rejection;
+    private final CompletableFuture<byte[]> body;
+    private final ByteArrayOutputStream buffer;
+    private Flow.Subscription subscription;
+
+    LimitedBodySubscriber(URL url, FetchLimits limits) {
+        this(url, limits, null);
+    }
+
+    LimitedBodySubscriber(URL url, FetchLimits limits, PageSkippedException rejection) {
+        this.url = url;
+        this.limits = limits;
+        this.rejection = rejection;
+        this.body = new CompletableFuture<>();
+        this.buffer = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public CompletionStage<byte[]> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (rejection != null) {
+            subscription.cancel();
+            body.completeExceptionally(rejection);
+            return;
+        }
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (body.isDone()) {
+            return;
+        }
+        for (ByteBuffer byteBuffer : buffers) {
+            byte[] bytes = new byte[byteBuffer.remaining()];
+            byteBuffer.get(bytes);
+            buffer.writeBytes(bytes);
+        }
+        try {
+            limits.checkBodySize(url, buffer.size());
+        } catch (PageSkippedException e) {
+            subscription.cancel();
+            body.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        body.complete(buffer.toByteArray());
+    }
+}
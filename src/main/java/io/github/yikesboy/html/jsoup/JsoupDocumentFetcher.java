@@ -1,18 +1,32 @@
 package io.github.yikesboy.html.jsoup;
 
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.FetchStatusException;
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlDocumentFetcher;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.jfr.FetchEvent;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Map;
 
+/**
+ * Downloads the whole body before parsing it, so the download and the parse show up as separate
+ * {@link FetchEvent} and {@link io.github.yikesboy.jfr.DocumentParseEvent} in a flight recording. Error statuses
+ * are checked after the download, so a {@link FetchStatusException} carries the server's {@code Retry-After}.
+ */
 public class JsoupDocumentFetcher implements HtmlDocumentFetcher {
-    private final int timeoutMs;
+    private static final String SUCCESS = "success";
+
+    private final JsoupPageTransport transport;
 
     public JsoupDocumentFetcher(int timeoutMs) {
-        this.timeoutMs = timeoutMs;
+        this(timeoutMs, FetchLimits.NONE);
+    }
+
+    public JsoupDocumentFetcher(int timeoutMs, FetchLimits limits) {
+        this.transport = new JsoupPageTransport(timeoutMs, limits);
     }
 
     @Override
@@ -21,7 +35,18 @@ public class JsoupDocumentFetcher implements HtmlDocumentFetcher {
             throw new IllegalArgumentException("Url cannot be null");
         }
 
-        Document document = Jsoup.connect(url.toString()).timeout(timeoutMs).get();
-        return new JsoupHtmlDocument(document);
+        FetchEvent event = new FetchEvent();
+        event.begin();
+        HttpPageResponse response;
+        try {
+            response = transport.execute(url, Map.of());
+        } catch (IOException | RuntimeException e) {
+            event.finish(url, 0, 0, e.getClass().getSimpleName());
+            throw e;
+        }
+        String outcome = response.isSuccessful() ? SUCCESS : FetchStatusException.class.getSimpleName();
+        event.finish(url, response.statusCode(), response.body().length, outcome);
+
+        return JsoupHtmlDocument.parse(response);
     }
 }
@@ -1,19 +1,74 @@
 package io.github.yikesboy.html.jsoup;
 
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.FetchStatusException;
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.jfr.DocumentParseEvent;
+import io.github.yikesboy.models.SkipReason;
+import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class JsoupHtmlDocument implements HtmlDocument {
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset=\"?([^\\s;\"]+)", Pattern.CASE_INSENSITIVE);
+
     private final Document document;
+    private final long byteCount;
 
     public JsoupHtmlDocument(Document document) {
+        this(document, 0);
+    }
+
+    public JsoupHtmlDocument(Document document, long byteCount) {
         this.document = document;
+        this.byteCount = byteCount;
+    }
+
+    /**
+     * Parses raw response bytes. An unknown or missing charset lets jsoup detect it from the content.
+     */
+    public static JsoupHtmlDocument parse(byte[] body, String charsetName, URL baseUrl) throws IOException {
+        DocumentParseEvent event = new DocumentParseEvent();
+        event.begin();
+        String charset = isSupportedCharset(charsetName) ? charsetName : null;
+        Document document = Jsoup.parse(new ByteArrayInputStream(body), charset, baseUrl.toString());
+        event.finish(baseUrl, body.length);
+        return new JsoupHtmlDocument(document, body.length);
+    }
+
+    /**
+     * Parses a successful response into a document, rejecting error statuses and skipping non-HTML content.
+     */
+    public static JsoupHtmlDocument parse(HttpPageResponse response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new FetchStatusException(
+                    response.url(), response.statusCode(), response.retryAfter().orElse(null));
+        }
+
+        String contentType = response.header(CONTENT_TYPE_HEADER).orElse(null);
+        if (contentType != null && !FetchLimits.isParseableContentType(contentType)) {
+            throw new PageSkippedException(response.url(), SkipReason.NOT_HTML);
+        }
+
+        return parse(response.body(), charsetOf(contentType), response.url());
     }
 
     @Override
@@ -27,8 +82,41 @@ public class JsoupHtmlDocument implements HtmlDocument {
         return htmlElements;
     }
 
+    @Override
+    public void traverse(Set<String> tagNames, Consumer<HtmlElement> visitor) {
+        if (tagNames.isEmpty()) {
+            return;
+        }
+        NodeTraversor.traverse((node, depth) -> {
+            if (node instanceof Element element && tagNames.contains(element.normalName())) {
+                visitor.accept(new JsoupHtmlElement(element));
+            }
+        }, document);
+    }
+
     @Override
     public String getTitle() {
         return document.title();
     }
+
+    @Override
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    private static String charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        Matcher matcher = CHARSET_PATTERN.matcher(contentType);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static boolean isSupportedCharset(String charsetName) {
+        try {
+            return charsetName != null && Charset.isSupported(charsetName);
+        } catch (IllegalCharsetNameException e) {
+            return false;
+        }
+    }
 }
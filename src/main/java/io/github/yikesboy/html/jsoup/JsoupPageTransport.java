@@ -0,0 +1,93 @@
+package io.github.yikesboy.html.jsoup;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.UserAgent;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport that sends requests with jsoup's connection instead of the JDK HTTP client. Error statuses and
+ * parseable content types are returned as responses, checking them is left to the caller. Responses the
+ * {@link FetchLimits} reject are closed before their body is read. The request blocks the calling thread, the
+ * returned future is already completed.
+ */
+public class JsoupPageTransport implements HttpPageTransport {
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+
+    private final int timeoutMs;
+    private final FetchLimits limits;
+
+    public JsoupPageTransport(int timeoutMs) {
+        this(timeoutMs, FetchLimits.NONE);
+    }
+
+    public JsoupPageTransport(int timeoutMs, FetchLimits limits) {
+        this.timeoutMs = timeoutMs;
+        this.limits = limits;
+    }
+
+    @Override
+    public CompletableFuture<HttpPageResponse> send(URL url, Map<String, String> requestHeaders) {
+        try {
+            return CompletableFuture.completedFuture(execute(url, requestHeaders));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends the request on the calling thread.
+     */
+    public HttpPageResponse execute(URL url, Map<String, String> requestHeaders) throws IOException {
+        limits.checkUrl(url);
+        Connection.Response response;
+        try {
+            response = Jsoup.connect(url.toString())
+                    .timeout(timeoutMs)
+                    .userAgent(UserAgent.HEADER_VALUE)
+                    .headers(requestHeaders)
+                    .ignoreHttpErrors(true)
+                    .ignoreContentType(true)
+                    .maxBodySize(maxBodySize(limits, 1))
+                    .execute();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid URL " + url, e);
+        }
+
+        checkHeaders(url, response, limits);
+        byte[] body = response.bodyAsBytes();
+        limits.checkBodySize(url, body.length);
+        HttpHeaders headers = HttpHeaders.of(response.multiHeaders(), (name, value) -> true);
+        return new HttpPageResponse(response.url(), response.statusCode(), headers, body);
+    }
+
+    /**
+     * Closes the connection of a rejected response without reading its body.
+     */
+    static void checkHeaders(URL url, Connection.Response response, FetchLimits limits) throws IOException {
+        try {
+            limits.checkHeaders(
+                    url, response.statusCode(), response.contentType(), response.header(CONTENT_LENGTH_HEADER));
+        } catch (IOException e) {
+            response.bodyStream().close();
+            throw e;
+        }
+    }
+
+    /**
+     * jsoup cuts bodies at its maximum size without an error, the extra bytes tell a cut body from one that is
+     * exactly as large as allowed. 0 means unlimited to jsoup.
+     */
+    static int maxBodySize(FetchLimits limits, int extraBytes) {
+        long maxBodySize = limits.maxBodyBytes() + extraBytes;
+        return maxBodySize <= 0 || maxBodySize >= Integer.MAX_VALUE ? 0 : (int) maxBodySize;
+    }
+}
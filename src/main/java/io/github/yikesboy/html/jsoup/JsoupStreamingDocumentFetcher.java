@@ -0,0 +1,206 @@
+package io.github.yikesboy.html.jsoup;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.StreamingHtmlDocumentFetcher;
+import io.github.yikesboy.html.UserAgent;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import org.jsoup.Connection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Fetches pages with jsoup's {@link StreamParser}. Status, content type and declared size are checked before
+ * the body is parsed as it arrives, an error status is thrown as a {@link FetchStatusException}. A body that
+ * grows past the {@link FetchLimits} is cut there, the elements streamed until then are kept.
+ */
+public class JsoupStreamingDocumentFetcher implements StreamingHtmlDocumentFetcher, HtmlDocumentFetcher {
+    /**
+     * As much of the body as jsoup reads to find a {@code <meta>} charset in a buffered body.
+     */
+    private static final int CHARSET_PREFIX_BYTES = 5120;
+
+    private final int timeoutMs;
+    private final FetchLimits limits;
+
+    public JsoupStreamingDocumentFetcher(int timeoutMs) {
+        this(timeoutMs, FetchLimits.NONE);
+    }
+
+    public JsoupStreamingDocumentFetcher(int timeoutMs, FetchLimits limits) {
+        this.timeoutMs = timeoutMs;
+        this.limits = limits;
+    }
+
+    @Override
+    public HtmlDocument fetch(URL url) throws IOException {
+        return fetch(url, element -> {
+        });
+    }
+
+    @Override
+    public HtmlDocument fetch(URL url, Consumer<HtmlElement> closedElementListener) throws IOException {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null");
+        }
+
+        limits.checkUrl(url);
+        Connection.Response response = Jsoup.connect(url.toString())
+                .timeout(timeoutMs)
+                .userAgent(UserAgent.HEADER_VALUE)
+                .ignoreHttpErrors(true)
+                .ignoreContentType(true)
+                .maxBodySize(JsoupPageTransport.maxBodySize(limits, 0))
+                .execute();
+        JsoupPageTransport.checkHeaders(url, response, limits);
+        checkStatus(response);
+        CountingInputStream body = new CountingInputStream(response.bodyStream());
+        try (StreamParser streamParser = streamParser(body, response)) {
+            Iterator<Element> elements = streamParser.iterator();
+            while (elements.hasNext()) {
+                closedElementListener.accept(new JsoupHtmlElement(elements.next()));
+            }
+            Document document = streamParser.complete();
+            return new JsoupHtmlDocument(document, body.getCount());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void checkStatus(Connection.Response response) throws IOException {
+        int statusCode = response.statusCode();
+        if (statusCode >= 200 && statusCode < 300) {
+            return;
+        }
+        response.bodyStream().close();
+        Duration retryAfter =
+                HttpPageResponse.parseRetryAfter(response.header(HttpPageResponse.RETRY_AFTER_HEADER)).orElse(null);
+        throw new FetchStatusException(response.url(), statusCode, retryAfter);
+    }
+
+    /**
+     * jsoup's own {@code Response.streamParser()} reads its buffer again after releasing it at the end of the body,
+     * so the body stream is decoded here.
+     */
+    private static StreamParser streamParser(InputStream bodyStream, Connection.Response response) throws IOException {
+        BufferedInputStream body = new BufferedInputStream(bodyStream, CHARSET_PREFIX_BYTES);
+        Charset charset = detectCharset(body, response);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+        return new StreamParser(Parser.htmlParser()).parse(reader, response.url().toExternalForm());
+    }
+
+    /**
+     * Picks the charset the way jsoup does for a buffered body: a byte order mark, then the Content-Type header,
+     * then a {@code <meta>} charset near the start of the body, then UTF-8. The byte order mark is skipped.
+     */
+    private static Charset detectCharset(BufferedInputStream body, Connection.Response response) throws IOException {
+        body.mark(CHARSET_PREFIX_BYTES);
+        byte[] prefix = body.readNBytes(CHARSET_PREFIX_BYTES);
+        body.reset();
+        Charset byteOrderMarkCharset = skipByteOrderMark(body, prefix);
+        if (byteOrderMarkCharset != null) {
+            return byteOrderMarkCharset;
+        }
+        String headerCharset = supportedCharset(response.charset());
+        Document head = Jsoup.parse(new ByteArrayInputStream(prefix), headerCharset, response.url().toExternalForm());
+        return head.charset();
+    }
+
+    private static Charset skipByteOrderMark(BufferedInputStream body, byte[] prefix) throws IOException {
+        if (startsWith(prefix, 0xEF, 0xBB, 0xBF)) {
+            body.skipNBytes(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (startsWith(prefix, 0xFE, 0xFF)) {
+            body.skipNBytes(2);
+            return StandardCharsets.UTF_16BE;
+        }
+        if (startsWith(prefix, 0xFF, 0xFE)) {
+            body.skipNBytes(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String supportedCharset(String charsetName) {
+        try {
+            return charsetName != null && Charset.isSupported(charsetName) ? charsetName : null;
+        } catch (IllegalCharsetNameException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Counts the body bytes read, a streamed body is never held as a whole.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
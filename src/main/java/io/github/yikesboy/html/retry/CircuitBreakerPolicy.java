@@ -0,0 +1,27 @@
+package io.github.yikesboy.html.retry;
+
+import java.time.Duration;
+
+/**
+ * Limits of the circuit breaker kept for every host.
+ *
+ * @param failureThreshold Consecutive timeouts or connection failures after which the circuit of a host opens.
+ * @param openDuration     Time an open circuit fails fetches fast before a single trial fetch is let through.
+ */
+public record CircuitBreakerPolicy(int failureThreshold, Duration openDuration) {
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    public CircuitBreakerPolicy {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Circuit failure threshold must be at least 1.");
+        }
+        if (openDuration == null || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("Circuit open duration must be positive.");
+        }
+    }
+
+    public static CircuitBreakerPolicy defaults() {
+        return new CircuitBreakerPolicy(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.scheduler.HostPolitenessScheduler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries fetches that failed with a timeout, a refused connection or a status that signals a temporary
+ * problem. Retries wait for an exponential backoff with jitter, or for the {@code Retry-After} delay the server
+ * asked for. Timeouts and connection failures also count towards the circuit of the host in the
+ * {@link HostCircuitBreaker}, fetches to a host with an open circuit fail fast with a
+ * {@link HostUnavailableException}. Other failures neither count towards the circuit nor close it.
+ * <p>
+ * Waiting goes through {@link HostPolitenessScheduler#awaitRetry(URL, Duration, boolean)}, so a waiting fetch
+ * does not hold the slot of its host and a {@code Retry-After} holds back every request to the host. A wait that
+ * is cancelled because the crawl budget ran out ends the fetch with its last failure.
+ * <p>
+ * One retrier is shared by the fetchers and transports of a crawl, so they count towards the same circuits.
+ */
+public class FetchRetrier {
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(408, 429, 500, 502, 503, 504);
+
+    private final RetryPolicy retryPolicy;
+    private final HostCircuitBreaker circuitBreaker;
+    private final RetryWait retryWait;
+    private final LongAdder retries;
+    private final LongAdder failedFastFetches;
+
+    public FetchRetrier(RetryPolicy retryPolicy, HostCircuitBreaker circuitBreaker) {
+        this(retryPolicy, circuitBreaker, HostPolitenessScheduler::awaitRetry);
+    }
+
+    FetchRetrier(RetryPolicy retryPolicy, HostCircuitBreaker circuitBreaker, RetryWait retryWait) {
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.retryWait = retryWait;
+        this.retries = new LongAdder();
+        this.failedFastFetches = new LongAdder();
+    }
+
+    /**
+     * Runs the fetch of the url until it succeeds, fails permanently or runs out of retries.
+     */
+    public <T> T fetch(URL url, Attempt<T> attempt) throws IOException {
+        String host = url.getHost();
+        for (int retry = 1; ; retry++) {
+            if (!circuitBreaker.tryAcquire(host)) {
+                failedFastFetches.increment();
+                throw new HostUnavailableException(url);
+            }
+
+            IOException failure;
+            boolean hostFailure = false;
+            boolean outcomeRecorded = false;
+            try {
+                T result = attempt.fetch();
+                circuitBreaker.recordSuccess(host);
+                outcomeRecorded = true;
+                return result;
+            } catch (IOException e) {
+                failure = e;
+                hostFailure = isHostFailure(e);
+                if (hostFailure) {
+                    circuitBreaker.recordFailure(host);
+                    outcomeRecorded = true;
+                }
+            } finally {
+                if (!outcomeRecorded) {
+                    circuitBreaker.release(host);
+                }
+            }
+
+            Optional<Duration> delay = retryDelay(failure, hostFailure, retry);
+            if (delay.isEmpty() || !awaitRetry(url, delay.get(), isRetryAfter(failure))) {
+                throw failure;
+            }
+            retries.increment();
+        }
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getFailedFastFetches() {
+        return failedFastFetches.sum();
+    }
+
+    public long getOpenedCircuits() {
+        return circuitBreaker.getOpenedCircuits();
+    }
+
+    /**
+     * Whether a status is worth asking for again later.
+     */
+    static boolean isRetryableStatus(int statusCode) {
+        return RETRYABLE_STATUS_CODES.contains(statusCode);
+    }
+
+    private Optional<Duration> retryDelay(IOException exception, boolean hostFailure, int retry) {
+        if (retry > retryPolicy.maxRetries()) {
+            return Optional.empty();
+        }
+        if (exception instanceof FetchStatusException statusException) {
+            if (!isRetryableStatus(statusException.getStatusCode())) {
+                return Optional.empty();
+            }
+            Optional<Duration> retryAfter = statusException.getRetryAfter();
+            if (retryAfter.isPresent()) {
+                return retryAfter.filter(delay -> delay.compareTo(retryPolicy.maxRetryAfter()) <= 0);
+            }
+            return Optional.of(withJitter(retryPolicy.backoff(retry)));
+        }
+        if (hostFailure && !(exception instanceof UnknownHostException)) {
+            return Optional.of(withJitter(retryPolicy.backoff(retry)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Timeouts and connection failures, the only failures that tell something about the host rather than
+     * about the page. Unknown hosts are never retried but still open the circuit.
+     */
+    static boolean isHostFailure(IOException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException
+                    || cause instanceof HttpTimeoutException
+                    || cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits between half and all of the backoff, so fetches that failed together do not retry together.
+     */
+    private static Duration withJitter(Duration backoff) {
+        long half = backoff.toNanos() / 2;
+        return Duration.ofNanos(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static boolean isRetryAfter(IOException exception) {
+        return exception instanceof FetchStatusException statusException
+                && statusException.getRetryAfter().isPresent();
+    }
+
+    private boolean awaitRetry(URL url, Duration delay, boolean delayHost) throws InterruptedIOException {
+        try {
+            return retryWait.await(url, delay, delayHost);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry " + url);
+        }
+    }
+
+    /**
+     * A single try of a fetch. Failures the retrier can tell apart are thrown as {@link IOException}s, an error
+     * status as a {@link FetchStatusException}.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T fetch() throws IOException;
+    }
+
+    @FunctionalInterface
+    interface RetryWait {
+        /**
+         * @return false if the fetch must not retry after all
+         */
+        boolean await(URL url, Duration delay, boolean delayHost) throws InterruptedException;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.yikesboy.html.retry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a circuit per host that opens after repeated timeouts or connection failures. While open, fetches to
+ * the host fail fast. Once the open duration passed a single trial fetch is let through, its success closes the
+ * circuit and its failure opens it again. A trial that ends without telling anything about the host, like an
+ * error status, only lets the next trial through. Only hosts with failures have state, a success drops it.
+ */
+public class HostCircuitBreaker {
+    private final CircuitBreakerPolicy policy;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, HostCircuit> circuits;
+    private final LongAdder openedCircuits;
+
+    public HostCircuitBreaker(CircuitBreakerPolicy policy) {
+        this(policy, System::nanoTime);
+    }
+
+    HostCircuitBreaker(CircuitBreakerPolicy policy, LongSupplier nanoTime) {
+        this.policy = policy;
+        this.nanoTime = nanoTime;
+        this.circuits = new ConcurrentHashMap<>();
+        this.openedCircuits = new LongAdder();
+    }
+
+    /**
+     * Whether a fetch to the host may start. A caller that was allowed must report the outcome with
+     * {@link #recordSuccess}, {@link #recordFailure} or {@link #release}.
+     */
+    public boolean tryAcquire(String host) {
+        HostCircuit circuit = circuits.get(host);
+        return circuit == null || circuit.tryAcquire(nanoTime.getAsLong());
+    }
+
+    public void recordSuccess(String host) {
+        circuits.remove(host);
+    }
+
+    public void recordFailure(String host) {
+        if (circuits.computeIfAbsent(host, ignored -> new HostCircuit()).recordFailure(nanoTime.getAsLong())) {
+            openedCircuits.increment();
+        }
+    }
+
+    /**
+     * Ends a fetch whose outcome says nothing about the host. The failure count and an open circuit are kept,
+     * a trial in flight is given up.
+     */
+    public void release(String host) {
+        HostCircuit circuit = circuits.get(host);
+        if (circuit != null) {
+            circuit.release();
+        }
+    }
+
+    public long getOpenedCircuits() {
+        return openedCircuits.sum();
+    }
+
+    private final class HostCircuit {
+        private int consecutiveFailures;
+        private boolean open;
+        private boolean trialInFlight;
+        private long openedAtNanos;
+
+        synchronized boolean tryAcquire(long nowNanos) {
+            if (!open) {
+                return true;
+            }
+            if (trialInFlight || nowNanos - openedAtNanos < policy.openDuration().toNanos()) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        /**
+         * @return Whether the failure opened the circuit.
+         */
+        synchronized boolean recordFailure(long nowNanos) {
+            if (trialInFlight) {
+                trialInFlight = false;
+                openedAtNanos = nowNanos;
+                return false;
+            }
+            consecutiveFailures++;
+            if (open || consecutiveFailures < policy.failureThreshold()) {
+                return false;
+            }
+            open = true;
+            openedAtNanos = nowNanos;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.yikesboy.html.retry;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Signals that a fetch was not attempted because the circuit of its host is open.
+ */
+public class HostUnavailableException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final URL url;
+
+    public HostUnavailableException(URL url) {
+        super("Host " + url.getHost() + " is unavailable, not fetching " + url);
+        this.url = url;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+}
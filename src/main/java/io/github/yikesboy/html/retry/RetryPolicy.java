@@ -0,0 +1,57 @@
+package io.github.yikesboy.html.retry;
+
+import java.time.Duration;
+
+/**
+ * Limits for retrying failed fetches.
+ *
+ * @param maxRetries     Number of retries after the first attempt, 0 disables retrying.
+ * @param initialBackoff Backoff before the first retry, doubled for every further retry.
+ * @param maxBackoff     Upper bound of the backoff.
+ * @param maxRetryAfter  Longest {@code Retry-After} delay that is waited for, longer delays fail the fetch.
+ */
+public record RetryPolicy(int maxRetries, Duration initialBackoff, Duration maxBackoff, Duration maxRetryAfter) {
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_MAX_RETRY_AFTER = Duration.ofSeconds(60);
+
+    public RetryPolicy {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Max retries cannot be negative.");
+        }
+        if (initialBackoff == null || initialBackoff.isNegative() || initialBackoff.isZero()) {
+            throw new IllegalArgumentException("Initial backoff must be positive.");
+        }
+        if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Max backoff cannot be shorter than the initial backoff.");
+        }
+        if (maxRetryAfter == null || maxRetryAfter.isNegative()) {
+            throw new IllegalArgumentException("Max Retry-After delay cannot be negative.");
+        }
+    }
+
+    public RetryPolicy(int maxRetries, Duration initialBackoff) {
+        this(maxRetries, initialBackoff, max(initialBackoff, DEFAULT_MAX_BACKOFF), DEFAULT_MAX_RETRY_AFTER);
+    }
+
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_BACKOFF);
+    }
+
+    /**
+     * The backoff before the given retry, starting at 1, without jitter.
+     */
+    public Duration backoff(int retry) {
+        int doublings = Math.min(retry - 1, Long.SIZE - 2);
+        long nanos = initialBackoff.toNanos();
+        if (nanos > maxBackoff.toNanos() >> doublings) {
+            return maxBackoff;
+        }
+        return Duration.ofNanos(nanos << doublings);
+    }
+
+    private static Duration max(Duration first, Duration second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
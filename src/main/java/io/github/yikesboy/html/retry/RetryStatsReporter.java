@@ -0,0 +1,22 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+/**
+ * Prints how often a {@link FetchRetrier} retried and failed fast once a crawl is finished.
+ */
+public class RetryStatsReporter implements CrawlListener {
+    private final FetchRetrier retrier;
+
+    public RetryStatsReporter(FetchRetrier retrier) {
+        this.retrier = retrier;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("Fetch retries: " + retrier.getRetries()
+                + ", circuits opened: " + retrier.getOpenedCircuits()
+                + ", fetches failed fast: " + retrier.getFailedFastFetches());
+    }
+}
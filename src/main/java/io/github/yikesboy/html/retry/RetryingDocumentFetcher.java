@@ -0,0 +1,29 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlDocumentFetcher;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Fetcher that retries the fetches of its delegate with a {@link FetchRetrier}.
+ */
+public class RetryingDocumentFetcher implements HtmlDocumentFetcher {
+    private final HtmlDocumentFetcher delegate;
+    private final FetchRetrier retrier;
+
+    public RetryingDocumentFetcher(HtmlDocumentFetcher delegate, FetchRetrier retrier) {
+        this.delegate = delegate;
+        this.retrier = retrier;
+    }
+
+    @Override
+    public HtmlDocument fetch(URL url) throws IOException {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null");
+        }
+
+        return retrier.fetch(url, () -> delegate.fetch(url));
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Transport that retries the requests of its delegate with a {@link FetchRetrier}. Responses with a status
+ * worth retrying are retried, once the retries are used up the request fails with a
+ * {@link FetchStatusException}. Other responses are returned as they are. The request blocks the calling
+ * thread, the returned future is already completed.
+ */
+public class RetryingPageTransport implements HttpPageTransport {
+    private final HttpPageTransport delegate;
+    private final FetchRetrier retrier;
+
+    public RetryingPageTransport(HttpPageTransport delegate, FetchRetrier retrier) {
+        this.delegate = delegate;
+        this.retrier = retrier;
+    }
+
+    @Override
+    public CompletableFuture<HttpPageResponse> send(URL url, Map<String, String> requestHeaders) {
+        try {
+            return CompletableFuture.completedFuture(retrier.fetch(url, () -> sendOnce(url, requestHeaders)));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private HttpPageResponse sendOnce(URL url, Map<String, String> requestHeaders) throws IOException {
+        HttpPageResponse response;
+        try {
+            response = delegate.send(url, requestHeaders).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        }
+
+        if (FetchRetrier.isRetryableStatus(response.statusCode())) {
+            throw new FetchStatusException(response.url(), response.statusCode(), response.retryAfter().orElse(null));
+        }
+        return response;
+    }
+}
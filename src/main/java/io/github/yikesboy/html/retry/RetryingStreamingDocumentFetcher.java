@@ -0,0 +1,32 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.StreamingHtmlDocumentFetcher;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.function.Consumer;
+
+/**
+ * Streaming fetcher that retries the fetches of its delegate with a {@link FetchRetrier}. A fetch that failed
+ * while its body was streaming is streamed again from the start, so the listener sees its elements again.
+ */
+public class RetryingStreamingDocumentFetcher implements StreamingHtmlDocumentFetcher {
+    private final StreamingHtmlDocumentFetcher delegate;
+    private final FetchRetrier retrier;
+
+    public RetryingStreamingDocumentFetcher(StreamingHtmlDocumentFetcher delegate, FetchRetrier retrier) {
+        this.delegate = delegate;
+        this.retrier = retrier;
+    }
+
+    @Override
+    public HtmlDocument fetch(URL url, Consumer<HtmlElement> closedElementListener) throws IOException {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null");
+        }
+
+        return retrier.fetch(url, () -> delegate.fetch(url, closedElementListener));
+    }
+}
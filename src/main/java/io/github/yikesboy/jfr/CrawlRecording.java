@@ -0,0 +1,68 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * A flight recording of a crawl with the JDK {@code default} settings and the crawler events. The recording
+ * is written to its file when it is closed.
+ */
+public class CrawlRecording implements AutoCloseable {
+    public static final CrawlRecording NONE = new CrawlRecording(null, null);
+
+    private static final String SETTINGS = "default";
+    private static final List<Class<? extends Event>> CRAWLER_EVENTS = List.of(
+            FetchEvent.class,
+            DocumentParseEvent.class,
+            PageParseEvent.class,
+            ExtractionEvent.class,
+            CrawlTaskEvent.class);
+
+    private final Recording recording;
+    private final Path file;
+
+    private CrawlRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /**
+     * @param file the file to write the recording to, or {@code null} to not record
+     */
+    public static CrawlRecording start(Path file) throws IOException {
+        if (file == null) {
+            return NONE;
+        }
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(SETTINGS));
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR settings " + SETTINGS, e);
+        }
+        recording.setName("crawl");
+        for (Class<? extends Event> event : CRAWLER_EVENTS) {
+            recording.enable(event).withoutThreshold();
+        }
+        recording.setDestination(file);
+        recording.start();
+        return new CrawlRecording(recording, file);
+    }
+
+    @Override
+    public void close() {
+        if (recording == null) {
+            return;
+        }
+
+        recording.stop();
+        recording.close();
+        System.out.println("JFR recording saved to: " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URL;
+
+/**
+ * The work of a fork/join crawl task on its own page. Waiting for the child tasks is not included, so events
+ * of tasks that are run while joining do not overlap their parent.
+ */
+@Name("io.github.yikesboy.CrawlTask")
+@Label("Crawl Task")
+@Category({"Web Crawler", "Crawl"})
+@Description("Claim, fetch and link expansion of a page by a fork/join crawl task")
+@StackTrace(false)
+public class CrawlTaskEvent extends Event {
+    public static final String CRAWLED = "crawled";
+    public static final String BROKEN = "broken";
+    public static final String DUPLICATE = "duplicate";
+    public static final String STOPPED = "stopped";
+
+    @Label("URL")
+    private String url;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Depth")
+    private int depth;
+
+    @Label("Forked Tasks")
+    private int forkedTasks;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void finish(URL pageUrl, int pageDepth, int forkedTaskCount, String taskOutcome) {
+        end();
+        if (shouldCommit()) {
+            url = pageUrl.toString();
+            host = pageUrl.getHost();
+            depth = pageDepth;
+            forkedTasks = forkedTaskCount;
+            outcome = taskOutcome;
+            commit();
+        }
+    }
+}
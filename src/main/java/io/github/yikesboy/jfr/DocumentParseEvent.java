@@ -0,0 +1,37 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URL;
+
+/**
+ * jsoup parsing a downloaded body into a document.
+ */
+@Name("io.github.yikesboy.DocumentParse")
+@Label("Document Parse")
+@Category({"Web Crawler", "Parse"})
+@Description("jsoup parsing a downloaded page body into a document")
+@StackTrace(false)
+public class DocumentParseEvent extends Event {
+    @Label("URL")
+    private String url;
+
+    @Label("Body Size")
+    @DataAmount
+    private long bytes;
+
+    public void finish(URL pageUrl, long bodyBytes) {
+        end();
+        if (shouldCommit()) {
+            url = pageUrl.toString();
+            bytes = bodyBytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URL;
+
+/**
+ * Extraction of elements from a parsed document. When headings and links are extracted in a shared pass the
+ * event covers both extractors.
+ */
+@Name("io.github.yikesboy.Extraction")
+@Label("Extraction")
+@Category({"Web Crawler", "Parse"})
+@Description("Extraction of headings and links from a parsed document")
+@StackTrace(false)
+public class ExtractionEvent extends Event {
+    public static final String HEADINGS = "headings";
+    public static final String LINKS = "links";
+    public static final String HEADINGS_AND_LINKS = "headings+links";
+
+    @Label("URL")
+    private String url;
+
+    @Label("Extractor")
+    private String extractor;
+
+    @Label("Headings")
+    private int headings;
+
+    @Label("Links")
+    private int links;
+
+    /**
+     * @param pageUrl the URL of the page, may be {@code null} when the document was extracted on its own
+     */
+    public void finish(URL pageUrl, String extractorName, int headingCount, int linkCount) {
+        end();
+        if (shouldCommit()) {
+            url = pageUrl == null ? null : pageUrl.toString();
+            extractor = extractorName;
+            headings = headingCount;
+            links = linkCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URL;
+
+/**
+ * Download of a page, from opening the connection until the whole body is read.
+ */
+@Name("io.github.yikesboy.Fetch")
+@Label("Page Fetch")
+@Category({"Web Crawler", "Fetch"})
+@Description("Download of a page body")
+@StackTrace(false)
+public class FetchEvent extends Event {
+    @Label("URL")
+    private String url;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Status Code")
+    private int statusCode;
+
+    @Label("Body Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Ends the event and commits it if it is enabled and exceeds its threshold.
+     */
+    public void finish(URL pageUrl, int pageStatusCode, long bodyBytes, String pageOutcome) {
+        end();
+        if (shouldCommit()) {
+            url = pageUrl.toString();
+            host = pageUrl.getHost();
+            statusCode = pageStatusCode;
+            bytes = bodyBytes;
+            outcome = pageOutcome;
+            commit();
+        }
+    }
+}
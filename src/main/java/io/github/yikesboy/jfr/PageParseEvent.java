@@ -0,0 +1,55 @@
+package io.github.yikesboy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URL;
+
+/**
+ * Fetch and extraction of a single page by the page parser.
+ */
+@Name("io.github.yikesboy.PageParse")
+@Label("Page Parse")
+@Category({"Web Crawler", "Parse"})
+@Description("Fetch of a page and extraction of its headings and links")
+@StackTrace(false)
+public class PageParseEvent extends Event {
+    public static final String PARSED = "parsed";
+    public static final String BROKEN = "broken";
+    public static final String SKIPPED = "skipped";
+
+    @Label("URL")
+    private String url;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Depth")
+    private int depth;
+
+    @Label("Headings")
+    private int headings;
+
+    @Label("Links")
+    private int links;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void finish(URL pageUrl, int pageDepth, int headingCount, int linkCount, String pageOutcome) {
+        end();
+        if (shouldCommit()) {
+            url = pageUrl.toString();
+            host = pageUrl.getHost();
+            depth = pageDepth;
+            headings = headingCount;
+            links = linkCount;
+            outcome = pageOutcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.yikesboy.metrics;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.WebPage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects the metrics of a crawl. Recording only touches {@link LongAdder}s and {@link LatencyHistogram}s, no
+ * lock is taken on the hot paths. Parsed and broken pages are counted as a {@link CrawlListener}.
+ */
+public class CrawlMetrics implements CrawlMetricsRecorder, CrawlListener {
+    private final LatencyHistogram fetchLatency;
+    private final LatencyHistogram extractionLatency;
+    private final LongAdder pages;
+    private final LongAdder brokenPages;
+    private final LongAdder skippedPages;
+    private final LongAdder headings;
+    private final LongAdder links;
+    private final LongAdder duplicateUrls;
+    private final LongAdder domainRejects;
+    private final ConcurrentMap<String, LongAdder> errorsByHost;
+    private final List<Gauge> gauges;
+
+    public CrawlMetrics() {
+        this.fetchLatency = new LatencyHistogram();
+        this.extractionLatency = new LatencyHistogram();
+        this.pages = new LongAdder();
+        this.brokenPages = new LongAdder();
+        this.skippedPages = new LongAdder();
+        this.headings = new LongAdder();
+        this.links = new LongAdder();
+        this.duplicateUrls = new LongAdder();
+        this.domainRejects = new LongAdder();
+        this.errorsByHost = new ConcurrentHashMap<>();
+        this.gauges = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void recordFetch(long nanos) {
+        fetchLatency.record(nanos);
+    }
+
+    @Override
+    public void recordExtraction(long nanos, int headingCount, int linkCount) {
+        extractionLatency.record(nanos);
+        headings.add(headingCount);
+        links.add(linkCount);
+    }
+
+    @Override
+    public void recordDuplicateUrl() {
+        duplicateUrls.increment();
+    }
+
+    @Override
+    public void recordDomainReject() {
+        domainRejects.increment();
+    }
+
+    @Override
+    public void registerGauge(String name, String help, LongSupplier value) {
+        gauges.add(new Gauge(name, help, value));
+    }
+
+    @Override
+    public void onPageParsed(WebPage page) {
+        pages.increment();
+        if (page.isSkipped()) {
+            skippedPages.increment();
+        }
+        if (page.isBroken()) {
+            brokenPages.increment();
+            String host = page.getUrl().getHost();
+            LongAdder hostErrors = errorsByHost.get(host);
+            if (hostErrors == null) {
+                hostErrors = errorsByHost.computeIfAbsent(host, ignored -> new LongAdder());
+            }
+            hostErrors.increment();
+        }
+    }
+
+    /**
+     * @return the number of links to URLs that another page had already claimed, so they were not fetched again
+     */
+    public long getDuplicateUrls() {
+        return duplicateUrls.sum();
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<MetricsSnapshot.Sample> counters = List.of(
+                new MetricsSnapshot.Sample("crawler_pages_total", "Pages fetched and parsed.", pages.sum()),
+                new MetricsSnapshot.Sample("crawler_broken_pages_total", "Pages that could not be fetched or parsed.",
+                        brokenPages.sum()),
+                new MetricsSnapshot.Sample("crawler_skipped_pages_total",
+                        "Pages not downloaded because of their extension, content type, size or robots.txt.",
+                        skippedPages.sum()),
+                new MetricsSnapshot.Sample("crawler_headings_total", "Headings extracted from pages.", headings.sum()),
+                new MetricsSnapshot.Sample("crawler_links_total", "Links extracted from pages.", links.sum()),
+                new MetricsSnapshot.Sample("crawler_duplicate_urls_total", "Links to URLs that were already claimed.",
+                        duplicateUrls.sum()),
+                new MetricsSnapshot.Sample("crawler_domain_rejects_total",
+                        "Links to hosts outside the allowed domains.", domainRejects.sum()));
+
+        List<MetricsSnapshot.Sample> gaugeSamples = new ArrayList<>();
+        for (Gauge gauge : gauges) {
+            gaugeSamples.add(new MetricsSnapshot.Sample(gauge.name(), gauge.help(), gauge.value().getAsLong()));
+        }
+
+        List<MetricsSnapshot.HistogramSample> histograms = List.of(
+                new MetricsSnapshot.HistogramSample("crawler_fetch_duration_seconds",
+                        "Time to fetch a page.", fetchLatency.snapshot()),
+                new MetricsSnapshot.HistogramSample("crawler_extraction_duration_seconds",
+                        "Time to extract headings and links from a fetched page.", extractionLatency.snapshot()));
+
+        Map<String, Long> hostErrors = new TreeMap<>();
+        errorsByHost.forEach((host, count) -> hostErrors.put(host, count.sum()));
+
+        return new MetricsSnapshot(counters, gaugeSamples, histograms, hostErrors);
+    }
+
+    private record Gauge(String name, String help, LongSupplier value) {
+    }
+}
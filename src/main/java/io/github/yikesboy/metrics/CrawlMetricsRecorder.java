@@ -0,0 +1,39 @@
+package io.github.yikesboy.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Receives measurements from the hot paths of a crawl. Methods are called concurrently from crawl worker
+ * threads, implementations have to be thread-safe and must not block.
+ */
+public interface CrawlMetricsRecorder {
+    CrawlMetricsRecorder NONE = new CrawlMetricsRecorder() {
+    };
+
+    default void recordFetch(long nanos) {
+    }
+
+    /**
+     * Records the extraction of a fetched document, headings and links are extracted in the same pass.
+     */
+    default void recordExtraction(long nanos, int headings, int links) {
+    }
+
+    /**
+     * Records a discovered link whose URL was already claimed by the crawl.
+     */
+    default void recordDuplicateUrl() {
+    }
+
+    /**
+     * Records a discovered link that is not on an allowed domain.
+     */
+    default void recordDomainReject() {
+    }
+
+    /**
+     * Registers a value that is read whenever the metrics are exported.
+     */
+    default void registerGauge(String name, String help, LongSupplier value) {
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.yikesboy.metrics;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+/**
+ * Prints how many fetches the visited set saved by rejecting links to already claimed URLs once a crawl is
+ * finished.
+ */
+public class DuplicateUrlReporter implements CrawlListener {
+    private final CrawlMetrics metrics;
+
+    public DuplicateUrlReporter(CrawlMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("Duplicate fetches avoided: " + metrics.getDuplicateUrls());
+    }
+}
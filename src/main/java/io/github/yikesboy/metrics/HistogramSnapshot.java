@@ -0,0 +1,54 @@
+package io.github.yikesboy.metrics;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}.
+ *
+ * @param bucketCounts number of recorded values per bucket
+ * @param sumNanos     sum of all recorded values
+ * @param maxNanos     largest recorded value
+ */
+public record HistogramSnapshot(long[] bucketCounts, long sumNanos, long maxNanos) {
+    public long getCount() {
+        long count = 0;
+        for (long bucketCount : bucketCounts) {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sumNanos / count;
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the given percentile, at most the recorded maximum
+     */
+    public long percentileNanos(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * @return the number of values in buckets that lie entirely at or below the limit
+     */
+    public long countAtMost(long limitNanos) {
+        long count = 0;
+        for (int i = 0; i < bucketCounts.length && LatencyHistogram.bucketUpperBound(i) <= limitNanos; i++) {
+            count += bucketCounts[i];
+        }
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.yikesboy.metrics;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders a {@link MetricsSnapshot} as a JSON summary. Histograms are summarized by their count, mean,
+ * percentiles and maximum in milliseconds.
+ */
+final class JsonMetricsFormat {
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+    private static final String INDENT = "  ";
+
+    private JsonMetricsFormat() {
+    }
+
+    static String format(MetricsSnapshot snapshot) {
+        StringBuilder json = new StringBuilder("{\n");
+
+        json.append(INDENT).append("\"counters\": {");
+        appendSamples(json, snapshot.counters().iterator());
+        json.append("},\n");
+
+        json.append(INDENT).append("\"gauges\": {");
+        appendSamples(json, snapshot.gauges().iterator());
+        json.append("},\n");
+
+        json.append(INDENT).append("\"histograms\": {");
+        Iterator<MetricsSnapshot.HistogramSample> histograms = snapshot.histograms().iterator();
+        while (histograms.hasNext()) {
+            MetricsSnapshot.HistogramSample sample = histograms.next();
+            HistogramSnapshot histogram = sample.histogram();
+            json.append('\n').append(INDENT).append(INDENT).append(quote(sample.name())).append(": {")
+                    .append("\"count\": ").append(histogram.getCount())
+                    .append(", \"mean_ms\": ").append(millis(histogram.getMeanNanos()))
+                    .append(", \"p50_ms\": ").append(millis(histogram.percentileNanos(50)))
+                    .append(", \"p90_ms\": ").append(millis(histogram.percentileNanos(90)))
+                    .append(", \"p99_ms\": ").append(millis(histogram.percentileNanos(99)))
+                    .append(", \"max_ms\": ").append(millis(histogram.maxNanos()))
+                    .append('}');
+            json.append(histograms.hasNext() ? "," : "\n" + INDENT);
+        }
+        json.append("},\n");
+
+        json.append(INDENT).append("\"errors_by_host\": {");
+        Iterator<Map.Entry<String, Long>> hostErrors = snapshot.errorsByHost().entrySet().iterator();
+        while (hostErrors.hasNext()) {
+            Map.Entry<String, Long> entry = hostErrors.next();
+            json.append('\n').append(INDENT).append(INDENT).append(quote(entry.getKey())).append(": ")
+                    .append(entry.getValue());
+            json.append(hostErrors.hasNext() ? "," : "\n" + INDENT);
+        }
+        json.append("}\n}\n");
+        return json.toString();
+    }
+
+    private static void appendSamples(StringBuilder json, Iterator<MetricsSnapshot.Sample> samples) {
+        while (samples.hasNext()) {
+            MetricsSnapshot.Sample sample = samples.next();
+            json.append('\n').append(INDENT).append(INDENT).append(quote(sample.name())).append(": ")
+                    .append(sample.value());
+            json.append(samples.hasNext() ? "," : "\n" + INDENT);
+        }
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLISECOND);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.yikesboy.metrics;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the {@link CrawlMetrics} of a running crawl to a directory at a fixed interval and once more when the
+ * crawl is finished: {@value #PROMETHEUS_FILE} for the Prometheus textfile collector and {@value #JSON_FILE} as
+ * a summary. Files are replaced atomically, readers never see a partial export.
+ */
+public class MetricsFileExporter implements CrawlListener {
+    public static final String PROMETHEUS_FILE = "crawler.prom";
+    public static final String JSON_FILE = "crawler-metrics.json";
+
+    private static final String THREAD_NAME = "crawl-metrics";
+
+    private final CrawlMetrics metrics;
+    private final Path directory;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    public MetricsFileExporter(CrawlMetrics metrics, Path directory, Duration interval) {
+        this.metrics = metrics;
+        this.directory = directory;
+        this.interval = interval;
+    }
+
+    @Override
+    public void onCrawlStarted(CrawlConfig config) {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::exportQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        exportQuietly();
+    }
+
+    public synchronized void export() throws IOException {
+        MetricsSnapshot snapshot = metrics.snapshot();
+        Files.createDirectories(directory);
+        write(directory.resolve(PROMETHEUS_FILE), PrometheusTextFormat.format(snapshot));
+        write(directory.resolve(JSON_FILE), JsonMetricsFormat.format(snapshot));
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException e) {
+            System.err.println("Error exporting crawl metrics: " + e.getMessage());
+        }
+    }
+
+    private void write(Path file, String content) throws IOException {
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temporaryFile, content, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+}
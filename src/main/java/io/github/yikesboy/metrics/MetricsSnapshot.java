@@ -0,0 +1,23 @@
+package io.github.yikesboy.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of all metrics of a crawl at one point in time, in the order they are exported.
+ *
+ * @param counters     monotonically increasing counts
+ * @param gauges       values that can go up and down
+ * @param histograms   latency distributions
+ * @param errorsByHost number of broken pages per host, sorted by host
+ */
+public record MetricsSnapshot(List<Sample> counters,
+                              List<Sample> gauges,
+                              List<HistogramSample> histograms,
+                              Map<String, Long> errorsByHost) {
+    public record Sample(String name, String help, long value) {
+    }
+
+    public record HistogramSample(String name, String help, HistogramSnapshot histogram) {
+    }
+}
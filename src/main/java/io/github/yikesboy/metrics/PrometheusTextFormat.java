@@ -0,0 +1,61 @@
+package io.github.yikesboy.metrics;
+
+import java.util.Map;
+
+/**
+ * Renders a {@link MetricsSnapshot} in the Prometheus text exposition format, as read by the textfile
+ * collector of the node exporter. Latencies are exported in seconds with a fixed set of bucket bounds.
+ */
+final class PrometheusTextFormat {
+    private static final String[] BUCKET_LABELS =
+            {"0.001", "0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final String HOST_ERRORS_NAME = "crawler_host_errors_total";
+
+    private PrometheusTextFormat() {
+    }
+
+    static String format(MetricsSnapshot snapshot) {
+        StringBuilder text = new StringBuilder();
+        for (MetricsSnapshot.Sample counter : snapshot.counters()) {
+            appendHeader(text, counter.name(), counter.help(), "counter");
+            text.append(counter.name()).append(' ').append(counter.value()).append('\n');
+        }
+        for (MetricsSnapshot.Sample gauge : snapshot.gauges()) {
+            appendHeader(text, gauge.name(), gauge.help(), "gauge");
+            text.append(gauge.name()).append(' ').append(gauge.value()).append('\n');
+        }
+        for (MetricsSnapshot.HistogramSample histogram : snapshot.histograms()) {
+            appendHistogram(text, histogram);
+        }
+
+        appendHeader(text, HOST_ERRORS_NAME, "Broken pages per host.", "counter");
+        for (Map.Entry<String, Long> hostErrors : snapshot.errorsByHost().entrySet()) {
+            text.append(HOST_ERRORS_NAME).append("{host=\"").append(escapeLabel(hostErrors.getKey())).append("\"} ")
+                    .append(hostErrors.getValue()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void appendHistogram(StringBuilder text, MetricsSnapshot.HistogramSample sample) {
+        HistogramSnapshot histogram = sample.histogram();
+        appendHeader(text, sample.name(), sample.help(), "histogram");
+        for (String label : BUCKET_LABELS) {
+            long limitNanos = (long) (Double.parseDouble(label) * NANOS_PER_SECOND);
+            text.append(sample.name()).append("_bucket{le=\"").append(label).append("\"} ")
+                    .append(histogram.countAtMost(limitNanos)).append('\n');
+        }
+        text.append(sample.name()).append("_bucket{le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+        text.append(sample.name()).append("_sum ").append(histogram.sumNanos() / NANOS_PER_SECOND).append('\n');
+        text.append(sample.name()).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+    private static void appendHeader(StringBuilder text, String name, String help, String type) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -2,5 +2,11 @@ package io.github.yikesboy.models;
 
 import java.util.List;
 
-public record CrawlResult(WebPage rootPage, List<CrawlError> errors) {
+/**
+ * @param stopReason why the crawl ended, the page tree is partial unless it is {@link CrawlStopReason#COMPLETED}
+ */
+public record CrawlResult(WebPage rootPage, List<CrawlError> errors, CrawlStopReason stopReason) {
+    public CrawlResult(WebPage rootPage, List<CrawlError> errors) {
+        this(rootPage, errors, CrawlStopReason.COMPLETED);
+    }
 }
@@ -0,0 +1,22 @@
+package io.github.yikesboy.models;
+
+/**
+ * Why a crawl ended. Every reason but {@link #COMPLETED} means the result only holds part of the pages in
+ * reach of the root URL.
+ */
+public enum CrawlStopReason {
+    COMPLETED("every page within the maximum depth was crawled"),
+    PAGE_BUDGET("the page budget was exhausted"),
+    BYTE_BUDGET("the download budget was exhausted"),
+    DEADLINE("the crawl deadline passed");
+
+    private final String description;
+
+    CrawlStopReason(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.yikesboy.models;
+
+/**
+ * Why a linked URL was not crawled although it was in reach. Unlike a broken link, the target answered or
+ * was never asked, it is just not a page the crawler reads or may read.
+ */
+public enum SkipReason {
+    EXCLUDED_EXTENSION("file extension is excluded"),
+    NOT_HTML("content type is not HTML"),
+    TOO_LARGE("body exceeds the page size limit"),
+    ROBOTS_DISALLOWED("disallowed by robots.txt");
+
+    private final String description;
+
+    SkipReason(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,35 +1,61 @@
 package io.github.yikesboy.models;
 
-import io.github.yikesboy.html.HtmlDocument;
-
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Compact summary of a crawled page. It only keeps what the crawl and the report need, the parsed
+ * document is dropped right after headings and links were extracted from it.
+ */
 public class WebPage {
     private final URL url;
     private final List<Heading> headings;
     private final List<WebPage> childPages;
     private final boolean isBroken;
     private final int depth;
-    private final HtmlDocument document;
+    private final List<URL> links;
+    private final long byteCount;
+    private final SkipReason skipReason;
+
+    public WebPage(URL url, List<Heading> headings, int depth, List<URL> links) {
+        this(url, headings, depth, links, 0);
+    }
 
-    public WebPage(URL url, List<Heading> headings, int depth, HtmlDocument document) {
+    /**
+     * @param byteCount size of the body downloaded for the page, 0 if it was not downloaded or is not known
+     */
+    public WebPage(URL url, List<Heading> headings, int depth, List<URL> links, long byteCount) {
         this.url = url;
         this.headings = new ArrayList<>(headings);
         this.childPages = new ArrayList<>();
         this.isBroken = false;
         this.depth = depth;
-        this.document = document;
+        this.links = links == null ? List.of() : List.copyOf(links);
+        this.byteCount = byteCount;
+        this.skipReason = null;
     }
 
     public WebPage(URL url, int depth, boolean isBroken) {
+        this(url, depth, isBroken, null);
+    }
+
+    /**
+     * A page that was not crawled on purpose. It is neither broken nor has it headings or links.
+     */
+    public WebPage(URL url, int depth, SkipReason skipReason) {
+        this(url, depth, false, skipReason);
+    }
+
+    private WebPage(URL url, int depth, boolean isBroken, SkipReason skipReason) {
         this.url = url;
         this.headings = new ArrayList<>();
         this.childPages = new ArrayList<>();
         this.isBroken = isBroken;
         this.depth = depth;
-        this.document = null;
+        this.links = List.of();
+        this.byteCount = 0;
+        this.skipReason = skipReason;
     }
 
     public URL getUrl() {
@@ -48,6 +74,17 @@ public class WebPage {
         return isBroken;
     }
 
+    public boolean isSkipped() {
+        return skipReason != null;
+    }
+
+    /**
+     * @return why the page was skipped, or null if it was not
+     */
+    public SkipReason getSkipReason() {
+        return skipReason;
+    }
+
     public int getDepth() {
         return depth;
     }
@@ -56,7 +93,11 @@ public class WebPage {
         childPages.add(childPage);
     }
 
-    public HtmlDocument getDocument() {
-        return document;
+    public List<URL> getLinks() {
+        return links;
+    }
+
+    public long getByteCount() {
+        return byteCount;
     }
 }
\ No newline at end of file
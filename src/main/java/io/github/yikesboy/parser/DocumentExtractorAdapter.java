@@ -0,0 +1,40 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+
+import java.net.URL;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Lets extractors that work on the whole document, such as custom {@link HeadingExtractorInterface} or
+ * {@link LinkExtractorInterface} implementations, take part in an {@link ExtractionPipeline}. They do not
+ * register any tag names and are run on the document when the traversal is finished.
+ */
+class DocumentExtractorAdapter<T> implements ElementExtractor<T> {
+    private final BiFunction<HtmlDocument, URL, T> extraction;
+
+    DocumentExtractorAdapter(BiFunction<HtmlDocument, URL, T> extraction) {
+        this.extraction = extraction;
+    }
+
+    @Override
+    public Set<String> getTagNames() {
+        return Set.of();
+    }
+
+    @Override
+    public ElementCollector<T> newCollector(URL baseUrl) {
+        return new ElementCollector<>() {
+            @Override
+            public void collect(HtmlElement element) {
+            }
+
+            @Override
+            public T finish(HtmlDocument document) {
+                return extraction.apply(document, baseUrl);
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+
+/**
+ * Collects the value of an {@link ElementExtractor} for a single page.
+ *
+ * @param <T> type of the extracted value
+ */
+public interface ElementCollector<T> {
+    /**
+     * Called for every element with one of the extractor's tag names, in document order.
+     */
+    void collect(HtmlElement element);
+
+    /**
+     * Called once after the last element.
+     *
+     * @param document the whole document, for collectors that do not work element by element
+     */
+    T finish(HtmlDocument document);
+}
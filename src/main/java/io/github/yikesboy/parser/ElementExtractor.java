@@ -0,0 +1,19 @@
+package io.github.yikesboy.parser;
+
+import java.net.URL;
+import java.util.Set;
+
+/**
+ * Extractor that is fed the elements it is interested in by an {@link ExtractionPipeline}, so all extractors
+ * of a page share a single pass over the document.
+ *
+ * @param <T> type of the extracted value
+ */
+public interface ElementExtractor<T> {
+    /**
+     * @return lower case names of the tags passed to the collectors of this extractor
+     */
+    Set<String> getTagNames();
+
+    ElementCollector<T> newCollector(URL baseUrl);
+}
@@ -0,0 +1,87 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Runs several {@link ElementExtractor}s over a document in a single traversal. Every element is looked at
+ * once and only handed to the collectors of the extractors that registered its tag name.
+ */
+public class ExtractionPipeline {
+    private final List<ElementExtractor<?>> extractors;
+    private final Set<String> tagNames;
+    private final Map<String, int[]> extractorIndicesByTag;
+
+    public ExtractionPipeline(List<ElementExtractor<?>> extractors) {
+        this.extractors = List.copyOf(extractors);
+        this.extractorIndicesByTag = indexByTag(this.extractors);
+        this.tagNames = Set.copyOf(extractorIndicesByTag.keySet());
+    }
+
+    public ExtractionResult extract(HtmlDocument document, URL baseUrl) {
+        PageCollectors collectors = newCollectors(baseUrl);
+        document.traverse(tagNames, collectors::collect);
+        return collectors.finish(document);
+    }
+
+    /**
+     * Creates the collectors for one page, for callers that feed elements themselves.
+     */
+    public PageCollectors newCollectors(URL baseUrl) {
+        List<ElementCollector<?>> collectors = new ArrayList<>(extractors.size());
+        for (ElementExtractor<?> extractor : extractors) {
+            collectors.add(extractor.newCollector(baseUrl));
+        }
+        return new PageCollectors(collectors);
+    }
+
+    public Set<String> getTagNames() {
+        return tagNames;
+    }
+
+    private static Map<String, int[]> indexByTag(List<ElementExtractor<?>> extractors) {
+        Map<String, List<Integer>> indices = new HashMap<>();
+        for (int i = 0; i < extractors.size(); i++) {
+            for (String tagName : extractors.get(i).getTagNames()) {
+                indices.computeIfAbsent(tagName.toLowerCase(Locale.ROOT), tag -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<String, int[]> indexByTag = new HashMap<>();
+        indices.forEach((tag, extractorIndices) ->
+                indexByTag.put(tag, extractorIndices.stream().mapToInt(Integer::intValue).toArray()));
+        return indexByTag;
+    }
+
+    /**
+     * The collectors of all extractors for a single page.
+     */
+    public final class PageCollectors {
+        private final List<ElementCollector<?>> collectors;
+
+        private PageCollectors(List<ElementCollector<?>> collectors) {
+            this.collectors = collectors;
+        }
+
+        public void collect(HtmlElement element) {
+            int[] extractorIndices = extractorIndicesByTag.get(element.getTagName().toLowerCase(Locale.ROOT));
+            if (extractorIndices == null) {
+                return;
+            }
+            for (int index : extractorIndices) {
+                collectors.get(index).collect(element);
+            }
+        }
+
+        public ExtractionResult finish(HtmlDocument document) {
+            Map<ElementExtractor<?>, Object> values = new IdentityHashMap<>();
+            for (int i = 0; i < extractors.size(); i++) {
+                values.put(extractors.get(i), collectors.get(i).finish(document));
+            }
+            return new ExtractionResult(values);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.yikesboy.parser;
+
+import java.util.Map;
+
+/**
+ * Values extracted from one page by an {@link ExtractionPipeline}.
+ */
+public class ExtractionResult {
+    private final Map<ElementExtractor<?>, Object> values;
+
+    ExtractionResult(Map<ElementExtractor<?>, Object> values) {
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ElementExtractor<T> extractor) {
+        if (!values.containsKey(extractor)) {
+            throw new IllegalArgumentException("Extractor is not part of the pipeline.");
+        }
+        return (T) values.get(extractor);
+    }
+}
@@ -2,29 +2,59 @@ package io.github.yikesboy.parser;
 
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.jfr.ExtractionEvent;
 import io.github.yikesboy.models.Heading;
 
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
-public class HeadingExtractor implements HeadingExtractorInterface {
+public class HeadingExtractor implements HeadingExtractorInterface, ElementExtractor<List<Heading>> {
     private static final String HEADLINE_SELECTOR_QUERY = "h1, h2, h3, h4, h5, h6";
+    private static final Set<String> HEADLINE_TAG_NAMES = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
 
     public List<Heading> extractHeadings(HtmlDocument document) {
         if (document == null) {
             return new ArrayList<>();
         }
 
-        List<Heading> headings = new ArrayList<>();
-        List<HtmlElement> elements = document.select(HEADLINE_SELECTOR_QUERY);
+        ExtractionEvent event = new ExtractionEvent();
+        event.begin();
+        ElementCollector<List<Heading>> collector = newCollector(null);
+        for (HtmlElement element : document.select(HEADLINE_SELECTOR_QUERY)) {
+            collector.collect(element);
+        }
+
+        List<Heading> headings = collector.finish(document);
+        event.finish(null, ExtractionEvent.HEADINGS, headings.size(), 0);
+        return headings;
+    }
+
+    @Override
+    public Set<String> getTagNames() {
+        return HEADLINE_TAG_NAMES;
+    }
 
-        for (HtmlElement element : elements) {
+    @Override
+    public ElementCollector<List<Heading>> newCollector(URL baseUrl) {
+        return new HeadingCollector();
+    }
+
+    private static final class HeadingCollector implements ElementCollector<List<Heading>> {
+        private final List<Heading> headings = new ArrayList<>();
+
+        @Override
+        public void collect(HtmlElement element) {
             String tagName = element.getTagName();
             int level = Integer.parseInt(tagName.substring(1));
             String text = element.getText();
             headings.add(new Heading(level, text));
         }
 
-        return headings;
+        @Override
+        public List<Heading> finish(HtmlDocument document) {
+            return headings;
+        }
     }
 }
@@ -0,0 +1,196 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.snapshot.CrawlSnapshot;
+import io.github.yikesboy.snapshot.IncrementalCrawlStats;
+import io.github.yikesboy.snapshot.PageSnapshot;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parser that reuses the headings and links of the previous crawl for pages that did not change.
+ * <p>
+ * Requests for pages of the previous snapshot carry its validators. If the server answers with 304, or the
+ * response hashes to the same content as before, the page is built from the snapshot without parsing it.
+ * Only changed and new pages are parsed. Every page of the current crawl is recorded in a new snapshot.
+ */
+public class IncrementalPageParser implements PageParserInterface {
+    private static final String ETAG_HEADER = "ETag";
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int NOT_MODIFIED = 304;
+
+    private final HttpPageTransport transport;
+    private final CrawlSnapshot previousSnapshot;
+    private final CrawlSnapshot currentSnapshot;
+    private final HeadingExtractor headingExtractor;
+    private final LinkExtractor linkExtractor;
+    private final ExtractionPipeline extractionPipeline;
+    private final CrawlMetricsRecorder metrics;
+    private final LongAdder notModifiedPages = new LongAdder();
+    private final LongAdder unchangedPages = new LongAdder();
+    private final LongAdder parsedPages = new LongAdder();
+
+    public IncrementalPageParser(HttpPageTransport transport, CrawlSnapshot previousSnapshot) {
+        this(transport, previousSnapshot, CrawlMetricsRecorder.NONE);
+    }
+
+    /**
+     * Every request is recorded as a fetch, only changed and new pages as an extraction.
+     */
+    public IncrementalPageParser(HttpPageTransport transport,
+                                 CrawlSnapshot previousSnapshot,
+                                 CrawlMetricsRecorder metrics) {
+        this.transport = transport;
+        this.previousSnapshot = previousSnapshot;
+        this.currentSnapshot = new CrawlSnapshot();
+        this.headingExtractor = new HeadingExtractor();
+        this.linkExtractor = new LinkExtractor();
+        this.extractionPipeline = new ExtractionPipeline(List.of(headingExtractor, linkExtractor));
+        this.metrics = metrics;
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth) {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null.");
+        }
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative.");
+        }
+
+        Optional<PageSnapshot> previousPage = previousSnapshot.get(url);
+        try {
+            long fetchStart = System.nanoTime();
+            HttpPageResponse response = send(url, previousPage.map(IncrementalPageParser::validatorHeaders)
+                    .orElse(Map.of()));
+            metrics.recordFetch(System.nanoTime() - fetchStart);
+            PageSnapshot page = toSnapshot(url, previousPage, response);
+            currentSnapshot.put(page);
+            return new WebPage(url, page.headings(), depth, page.links(), response.body().length);
+        } catch (PageSkippedException e) {
+            return new WebPage(url, depth, e.getReason());
+        } catch (IOException e) {
+            return new WebPage(url, depth, true);
+        }
+    }
+
+    @Override
+    public List<URL> extractLinks(WebPage page) {
+        if (page == null || page.isBroken()) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(page.getLinks());
+    }
+
+    /**
+     * @return the pages parsed or reused so far, to be stored for the next crawl
+     */
+    public CrawlSnapshot getCurrentSnapshot() {
+        return currentSnapshot;
+    }
+
+    public IncrementalCrawlStats getStats() {
+        return new IncrementalCrawlStats(notModifiedPages.sum(), unchangedPages.sum(), parsedPages.sum());
+    }
+
+    private PageSnapshot toSnapshot(URL url, Optional<PageSnapshot> previousPage, HttpPageResponse response)
+            throws IOException {
+        if (response.statusCode() == NOT_MODIFIED && previousPage.isPresent()) {
+            notModifiedPages.increment();
+            return previousPage.get();
+        }
+        if (!response.isSuccessful()) {
+            throw new FetchStatusException(
+                    response.url(), response.statusCode(), response.retryAfter().orElse(null));
+        }
+
+        String etag = response.header(ETAG_HEADER).orElse("");
+        String lastModified = response.header(LAST_MODIFIED_HEADER).orElse("");
+        byte[] contentHash = contentHash(response);
+        if (previousPage.isPresent() && Arrays.equals(previousPage.get().contentHash(), contentHash)) {
+            unchangedPages.increment();
+            PageSnapshot previous = previousPage.get();
+            return new PageSnapshot(url, etag, lastModified, contentHash, previous.headings(), previous.links());
+        }
+
+        parsedPages.increment();
+        HtmlDocument document = JsoupHtmlDocument.parse(response);
+        long extractionStart = System.nanoTime();
+        ExtractionResult extraction = extractionPipeline.extract(document, url);
+        List<Heading> headings = extraction.get(headingExtractor);
+        List<URL> links = extraction.get(linkExtractor);
+        metrics.recordExtraction(System.nanoTime() - extractionStart, headings.size(), links.size());
+        return new PageSnapshot(url, etag, lastModified, contentHash, headings, links);
+    }
+
+    private HttpPageResponse send(URL url, Map<String, String> headers) throws IOException {
+        try {
+            return transport.send(url, headers).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        }
+    }
+
+    private static Map<String, String> validatorHeaders(PageSnapshot page) {
+        Map<String, String> headers = new HashMap<>();
+        if (!page.etag().isEmpty()) {
+            headers.put(IF_NONE_MATCH_HEADER, page.etag());
+        }
+        if (!page.lastModified().isEmpty()) {
+            headers.put(IF_MODIFIED_SINCE_HEADER, page.lastModified());
+        }
+        return headers;
+    }
+
+    /**
+     * The final URL and the content type are part of the hash, links are resolved against the first and the
+     * charset of the second decides how the body is decoded.
+     */
+    private static byte[] contentHash(HttpPageResponse response) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(response.url().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(response.header(CONTENT_TYPE_HEADER).orElse("").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(response.body());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,14 +2,17 @@ package io.github.yikesboy.parser;
 
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.jfr.ExtractionEvent;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
-public class LinkExtractor implements LinkExtractorInterface {
+public class LinkExtractor implements LinkExtractorInterface, ElementExtractor<List<URL>> {
     private static final String LINK_SELECTOR = "a[href]";
+    private static final Set<String> LINK_TAG_NAMES = Set.of("a");
     private static final String HREF_ATTRIBUTE = "href";
     private static final String JAVASCRIPT_PREFIX = "javascript:";
     private static final String FRAGMENT_PREFIX = "#";
@@ -19,22 +22,45 @@ public class LinkExtractor implements LinkExtractorInterface {
             return new ArrayList<>();
         }
 
-        List<URL> validUrls = new ArrayList<>();
-        List<HtmlElement> links = document.select(LINK_SELECTOR);
+        ExtractionEvent event = new ExtractionEvent();
+        event.begin();
+        ElementCollector<List<URL>> collector = newCollector(baseUrl);
+        for (HtmlElement link : document.select(LINK_SELECTOR)) {
+            collector.collect(link);
+        }
 
-        for (HtmlElement link : links) {
-            String href = link.getAttribute(HREF_ATTRIBUTE);
-            if (!isValidHref(href)) {
-                continue;
-            }
+        List<URL> links = collector.finish(document);
+        event.finish(baseUrl, ExtractionEvent.LINKS, 0, links.size());
+        return links;
+    }
+
+    @Override
+    public Set<String> getTagNames() {
+        return LINK_TAG_NAMES;
+    }
 
-            tryAddValidUrl(href, baseUrl, validUrls);
+    @Override
+    public ElementCollector<List<URL>> newCollector(URL baseUrl) {
+        return new LinkCollector(baseUrl);
+    }
+
+    /**
+     * @return the absolute URL the link element points to, or {@code null} if it is not a followable link
+     */
+    public URL resolveLink(HtmlElement link, URL baseUrl) {
+        String href = link.getAttribute(HREF_ATTRIBUTE);
+        if (!isValidHref(href)) {
+            return null;
         }
 
-        return validUrls;
+        try {
+            return new URL(baseUrl, href);
+        } catch (MalformedURLException e) {
+            return null;
+        }
     }
 
-    private boolean isValidHref(String href) {
+    private static boolean isValidHref(String href) {
         if (href == null || href.trim().isEmpty()) {
             return false;
         }
@@ -43,13 +69,25 @@ public class LinkExtractor implements LinkExtractorInterface {
         return !lowerHref.startsWith(JAVASCRIPT_PREFIX) && !lowerHref.startsWith(FRAGMENT_PREFIX);
     }
 
-    private void tryAddValidUrl(String href, URL baseUrl, List<URL> validUrls) {
-        URL url;
-        try {
-            url = new URL(baseUrl, href);
-        } catch (MalformedURLException e) {
-            return;
+    private final class LinkCollector implements ElementCollector<List<URL>> {
+        private final URL baseUrl;
+        private final List<URL> validUrls = new ArrayList<>();
+
+        private LinkCollector(URL baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public void collect(HtmlElement link) {
+            URL url = resolveLink(link, baseUrl);
+            if (url != null) {
+                validUrls.add(url);
+            }
+        }
+
+        @Override
+        public List<URL> finish(HtmlDocument document) {
+            return validUrls;
         }
-        validUrls.add(url);
     }
 }
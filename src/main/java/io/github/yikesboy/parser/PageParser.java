@@ -1,41 +1,83 @@
 package io.github.yikesboy.parser;
 
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.config.FetcherType;
+import io.github.yikesboy.html.FetchLimits;
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.http.HttpClientDocumentFetcher;
 import io.github.yikesboy.html.jsoup.JsoupDocumentFetcher;
+import io.github.yikesboy.jfr.ExtractionEvent;
+import io.github.yikesboy.jfr.PageParseEvent;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
 import io.github.yikesboy.models.Heading;
 import io.github.yikesboy.models.WebPage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class PageParser implements PageParserInterface {
-    private static final int DEFAULT_TIMEOUT_MS = 5000;
-
     private final HtmlDocumentFetcher documentFetcher;
-    private final HeadingExtractorInterface headingExtractor;
-    private final LinkExtractorInterface linkExtractor;
+    private final ElementExtractor<List<Heading>> headingExtractor;
+    private final ElementExtractor<List<URL>> linkExtractor;
+    private final ExtractionPipeline extractionPipeline;
+    private final CrawlMetricsRecorder metrics;
 
     public PageParser() {
-        this(DEFAULT_TIMEOUT_MS);
+        this(FetcherType.JSOUP, CrawlOptions.DEFAULT_CONNECT_TIMEOUT, CrawlOptions.DEFAULT_READ_TIMEOUT);
     }
 
     public PageParser(int timeoutMs) {
+        this(new JsoupDocumentFetcher(timeoutMs));
+    }
+
+    public PageParser(FetcherType fetcherType, Duration connectTimeout, Duration readTimeout) {
+        this(fetcherType, connectTimeout, readTimeout, CrawlMetricsRecorder.NONE);
+    }
+
+    public PageParser(FetcherType fetcherType,
+                      Duration connectTimeout,
+                      Duration readTimeout,
+                      CrawlMetricsRecorder metrics) {
+        this(createFetcher(fetcherType, connectTimeout, readTimeout), metrics);
+    }
+
+    public PageParser(HtmlDocumentFetcher documentFetcher) {
+        this(documentFetcher, CrawlMetricsRecorder.NONE);
+    }
+
+    public PageParser(HtmlDocumentFetcher documentFetcher, CrawlMetricsRecorder metrics) {
         this(
-                new JsoupDocumentFetcher(timeoutMs),
+                documentFetcher,
                 new HeadingExtractor(),
-                new LinkExtractor()
+                new LinkExtractor(),
+                metrics
         );
     }
 
+    /**
+     * The default {@link HeadingExtractor} and {@link LinkExtractor} share a single pass over the document,
+     * other implementations of the extractor interfaces are run on the whole document after it.
+     */
     public PageParser(HtmlDocumentFetcher documentFetcher,
                       HeadingExtractorInterface headingExtractor,
                       LinkExtractorInterface linkExtractor) {
+        this(documentFetcher, headingExtractor, linkExtractor, CrawlMetricsRecorder.NONE);
+    }
+
+    public PageParser(HtmlDocumentFetcher documentFetcher,
+                      HeadingExtractorInterface headingExtractor,
+                      LinkExtractorInterface linkExtractor,
+                      CrawlMetricsRecorder metrics) {
         this.documentFetcher = documentFetcher;
-        this.headingExtractor = headingExtractor;
-        this.linkExtractor = linkExtractor;
+        this.headingExtractor = toElementExtractor(headingExtractor);
+        this.linkExtractor = toElementExtractor(linkExtractor);
+        this.extractionPipeline = new ExtractionPipeline(List.of(this.headingExtractor, this.linkExtractor));
+        this.metrics = metrics;
     }
 
     @Override
@@ -47,11 +89,29 @@ public class PageParser implements PageParserInterface {
             throw new IllegalArgumentException("Depth cannot be negative.");
         }
 
+        PageParseEvent event = new PageParseEvent();
+        event.begin();
         try {
+            long fetchStart = System.nanoTime();
             HtmlDocument document = documentFetcher.fetch(url);
-            List<Heading> headings = headingExtractor.extractHeadings(document);
-            return new WebPage(url, headings, depth, document);
+            long extractionStart = System.nanoTime();
+            metrics.recordFetch(extractionStart - fetchStart);
+
+            ExtractionEvent extractionEvent = new ExtractionEvent();
+            extractionEvent.begin();
+            ExtractionResult extraction = extractionPipeline.extract(document, url);
+            List<Heading> headings = extraction.get(headingExtractor);
+            List<URL> links = extraction.get(linkExtractor);
+            extractionEvent.finish(url, ExtractionEvent.HEADINGS_AND_LINKS, headings.size(), links.size());
+            metrics.recordExtraction(System.nanoTime() - extractionStart, headings.size(), links.size());
+
+            event.finish(url, depth, headings.size(), links.size(), PageParseEvent.PARSED);
+            return new WebPage(url, headings, depth, links, document.getByteCount());
+        } catch (PageSkippedException e) {
+            event.finish(url, depth, 0, 0, PageParseEvent.SKIPPED);
+            return new WebPage(url, depth, e.getReason());
         } catch (IOException e) {
+            event.finish(url, depth, 0, 0, PageParseEvent.BROKEN);
             return new WebPage(url, depth, true);
         }
     }
@@ -62,7 +122,37 @@ public class PageParser implements PageParserInterface {
             return new ArrayList<>();
         }
 
-        HtmlDocument document = page.getDocument();
-        return linkExtractor.extractLinks(document, page.getUrl());
+        return new ArrayList<>(page.getLinks());
+    }
+
+    private static ElementExtractor<List<Heading>> toElementExtractor(HeadingExtractorInterface headingExtractor) {
+        if (headingExtractor instanceof HeadingExtractor elementExtractor) {
+            return elementExtractor;
+        }
+        return new DocumentExtractorAdapter<>((document, baseUrl) -> headingExtractor.extractHeadings(document));
+    }
+
+    private static ElementExtractor<List<URL>> toElementExtractor(LinkExtractorInterface linkExtractor) {
+        if (linkExtractor instanceof LinkExtractor elementExtractor) {
+            return elementExtractor;
+        }
+        return new DocumentExtractorAdapter<>(linkExtractor::extractLinks);
+    }
+
+    public static HtmlDocumentFetcher createFetcher(FetcherType fetcherType, Duration connectTimeout, Duration readTimeout) {
+        return createFetcher(fetcherType, connectTimeout, readTimeout, FetchLimits.NONE);
+    }
+
+    /**
+     * jsoup only supports a single timeout for the whole request, it is given the read timeout.
+     */
+    public static HtmlDocumentFetcher createFetcher(FetcherType fetcherType,
+                                                    Duration connectTimeout,
+                                                    Duration readTimeout,
+                                                    FetchLimits limits) {
+        return switch (fetcherType) {
+            case JSOUP -> new JsoupDocumentFetcher((int) readTimeout.toMillis(), limits);
+            case HTTP_CLIENT -> new HttpClientDocumentFetcher(connectTimeout, readTimeout, limits);
+        };
     }
 }
@@ -4,9 +4,28 @@ import io.github.yikesboy.models.WebPage;
 
 import java.net.URL;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PageParserInterface {
     WebPage parse(URL url, int depth);
 
     List<URL> extractLinks(WebPage url);
+
+    /**
+     * Parses the page and passes each outgoing link of it to the listener. Streaming parsers do so while the
+     * page is still downloading, others once it is parsed. The links are passed in the order of
+     * {@link #extractLinks}, none are passed if the page turns out to be broken before its first link.
+     */
+    default WebPage parse(URL url, int depth, Consumer<URL> linkListener) {
+        WebPage page = parse(url, depth);
+        extractLinks(page).forEach(linkListener);
+        return page;
+    }
+
+    /**
+     * @return {@code true} if {@link #parse(URL, int, Consumer)} passes links before the page is complete
+     */
+    default boolean isStreaming() {
+        return false;
+    }
 }
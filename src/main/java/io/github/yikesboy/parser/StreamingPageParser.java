@@ -0,0 +1,108 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.StreamingHtmlDocumentFetcher;
+import io.github.yikesboy.html.jsoup.JsoupStreamingDocumentFetcher;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Page parser that passes links on while the page body is still downloading, so their fetches overlap the
+ * rest of the download. The returned {@link WebPage} is extracted from the complete document in the same
+ * way {@link PageParser} does it.
+ * <p>
+ * If the download fails after some links were passed on, the page is still reported as broken.
+ */
+public class StreamingPageParser implements PageParserInterface {
+    private final StreamingHtmlDocumentFetcher documentFetcher;
+    private final HeadingExtractor headingExtractor;
+    private final LinkExtractor linkExtractor;
+    private final ExtractionPipeline extractionPipeline;
+    private final CrawlMetricsRecorder metrics;
+
+    public StreamingPageParser(int timeoutMs) {
+        this(timeoutMs, FetchLimits.NONE);
+    }
+
+    public StreamingPageParser(int timeoutMs, FetchLimits limits) {
+        this(new JsoupStreamingDocumentFetcher(timeoutMs, limits));
+    }
+
+    public StreamingPageParser(StreamingHtmlDocumentFetcher documentFetcher) {
+        this(documentFetcher, CrawlMetricsRecorder.NONE);
+    }
+
+    /**
+     * The recorded fetch time includes passing the links on, it ends with the download.
+     */
+    public StreamingPageParser(StreamingHtmlDocumentFetcher documentFetcher, CrawlMetricsRecorder metrics) {
+        this.documentFetcher = documentFetcher;
+        this.headingExtractor = new HeadingExtractor();
+        this.linkExtractor = new LinkExtractor();
+        this.extractionPipeline = new ExtractionPipeline(List.of(headingExtractor, linkExtractor));
+        this.metrics = metrics;
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth) {
+        return parse(url, depth, link -> {
+        });
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth, Consumer<URL> linkListener) {
+        if (url == null) {
+            throw new IllegalArgumentException("Url cannot be null.");
+        }
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative.");
+        }
+
+        try {
+            long fetchStart = System.nanoTime();
+            HtmlDocument document = documentFetcher.fetch(url, element -> {
+                if (linkExtractor.getTagNames().contains(element.getTagName())) {
+                    URL link = linkExtractor.resolveLink(element, url);
+                    if (link != null) {
+                        linkListener.accept(link);
+                    }
+                }
+            });
+            long extractionStart = System.nanoTime();
+            metrics.recordFetch(extractionStart - fetchStart);
+
+            ExtractionResult extraction = extractionPipeline.extract(document, url);
+            List<Heading> headings = extraction.get(headingExtractor);
+            List<URL> links = extraction.get(linkExtractor);
+            metrics.recordExtraction(System.nanoTime() - extractionStart, headings.size(), links.size());
+            return new WebPage(url, headings, depth, links, document.getByteCount());
+        } catch (PageSkippedException e) {
+            return new WebPage(url, depth, e.getReason());
+        } catch (IOException e) {
+            return new WebPage(url, depth, true);
+        }
+    }
+
+    @Override
+    public List<URL> extractLinks(WebPage page) {
+        if (page == null || page.isBroken()) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(page.getLinks());
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return true;
+    }
+}
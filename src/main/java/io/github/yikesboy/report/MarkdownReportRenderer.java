@@ -0,0 +1,166 @@
+package io.github.yikesboy.report;
+
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the markdown report format piece by piece, so a report can be written in one go or streamed while
+ * the crawl is still running. Indentation and heading markers are cached instead of being built per line.
+ */
+public class MarkdownReportRenderer {
+    private static final String ARROW_INDENTATION = ">";
+    private static final String LINK_START = "<a>";
+    private static final String LINK_END = "</a>";
+    private static final String LINE_BREAK = "<br>";
+    private static final String NEW_LINE = "\n";
+    private static final String INDENT_ELEMENT = "--";
+    private static final String HEADING_ELEMENT = "#";
+    private static final String SPACE = " ";
+    private static final int CACHED_DEPTHS = 32;
+    private static final int CACHED_HEADING_LEVELS = 6;
+
+    private static final String[] ARROW_INDENTS = new String[CACHED_DEPTHS];
+    private static final String[] HEADING_PREFIXES = new String[CACHED_DEPTHS];
+    private static final String[] HEADING_MARKERS = new String[CACHED_HEADING_LEVELS + 1];
+
+    static {
+        for (int depth = 0; depth < CACHED_DEPTHS; depth++) {
+            ARROW_INDENTS[depth] = buildIndentation(depth);
+            HEADING_PREFIXES[depth] = ARROW_INDENTS[depth] + SPACE;
+        }
+        for (int level = 0; level <= CACHED_HEADING_LEVELS; level++) {
+            HEADING_MARKERS[level] = buildHeadingMarker(level);
+        }
+    }
+
+    public void renderReport(Appendable out, WebPage rootPage, List<CrawlError> errors) throws IOException {
+        renderRootPage(out, rootPage);
+        for (WebPage childPage : rootPage.getChildPages()) {
+            renderChildPage(out, childPage);
+        }
+        renderSkippedPages(out, rootPage);
+        renderErrors(out, errors);
+    }
+
+    public void renderRootPage(Appendable out, WebPage rootPage) throws IOException {
+        out.append("input: ");
+        appendLink(out, rootPage);
+        out.append(NEW_LINE);
+        out.append(LINE_BREAK).append("depth: ").append(Integer.toString(rootPage.getDepth())).append(NEW_LINE);
+        renderHeadings(out, rootPage, "");
+    }
+
+    /**
+     * Renders a child page including its complete subtree.
+     */
+    public void renderChildPage(Appendable out, WebPage childPage) throws IOException {
+        if (childPage == null) {
+            return;
+        }
+
+        out.append(NEW_LINE).append(LINE_BREAK);
+
+        int depth = childPage.getDepth();
+        boolean isBroken = childPage.isBroken();
+        out.append(arrowIndentation(depth)).append(linkLabel(childPage));
+        appendLink(out, childPage);
+        out.append(NEW_LINE);
+
+        if (!isBroken && !childPage.isSkipped()) {
+            out.append(LINE_BREAK).append("depth: ").append(Integer.toString(depth)).append(NEW_LINE);
+        }
+
+        renderHeadings(out, childPage, headingPrefix(depth));
+        for (WebPage grandChildPage : childPage.getChildPages()) {
+            renderChildPage(out, grandChildPage);
+        }
+    }
+
+    /**
+     * Lists the pages of the crawl that were skipped, with the reason, apart from the broken links.
+     */
+    public void renderSkippedPages(Appendable out, WebPage rootPage) throws IOException {
+        List<WebPage> skippedPages = new ArrayList<>();
+        collectSkippedPages(rootPage, skippedPages);
+        if (skippedPages.isEmpty()) {
+            return;
+        }
+
+        out.append(NEW_LINE).append(LINE_BREAK).append("## Skipped Links").append(NEW_LINE);
+        for (WebPage page : skippedPages) {
+            out.append(arrowIndentation(page.getDepth())).append(" skipped ");
+            appendLink(out, page);
+            out.append(": ").append(page.getSkipReason().getDescription()).append(NEW_LINE);
+        }
+    }
+
+    public void renderErrors(Appendable out, List<CrawlError> errors) throws IOException {
+        if (errors.isEmpty()) {
+            return;
+        }
+
+        out.append(NEW_LINE).append(LINE_BREAK).append("## Crawl Errors").append(NEW_LINE);
+        for (CrawlError error : errors) {
+            out.append(arrowIndentation(error.depth()))
+                    .append(" error at ")
+                    .append(LINK_START).append(error.url().toString()).append(LINK_END)
+                    .append(": ")
+                    .append(error.message())
+                    .append(NEW_LINE);
+        }
+    }
+
+    private void renderHeadings(Appendable out, WebPage page, String indentPrefix) throws IOException {
+        for (Heading heading : page.getHeadings()) {
+            out.append(headingMarker(heading.level())).append(indentPrefix).append(heading.text()).append(NEW_LINE);
+        }
+    }
+
+    private static void collectSkippedPages(WebPage page, List<WebPage> skippedPages) {
+        if (page.isSkipped()) {
+            skippedPages.add(page);
+        }
+        for (WebPage childPage : page.getChildPages()) {
+            collectSkippedPages(childPage, skippedPages);
+        }
+    }
+
+    private static String linkLabel(WebPage page) {
+        if (page.isBroken()) {
+            return " broken link ";
+        }
+        return page.isSkipped() ? " skipped link " : " link to ";
+    }
+
+    private void appendLink(Appendable out, WebPage page) throws IOException {
+        out.append(LINK_START).append(page.getUrl().toString()).append(LINK_END);
+    }
+
+    private static String arrowIndentation(int depth) {
+        int clampedDepth = Math.max(0, depth);
+        return clampedDepth < CACHED_DEPTHS ? ARROW_INDENTS[clampedDepth] : buildIndentation(clampedDepth);
+    }
+
+    private static String headingPrefix(int depth) {
+        int clampedDepth = Math.max(0, depth);
+        return clampedDepth < CACHED_DEPTHS ? HEADING_PREFIXES[clampedDepth] : buildIndentation(clampedDepth) + SPACE;
+    }
+
+    private static String headingMarker(int level) {
+        int clampedLevel = Math.max(0, level);
+        return clampedLevel <= CACHED_HEADING_LEVELS ? HEADING_MARKERS[clampedLevel] : buildHeadingMarker(clampedLevel);
+    }
+
+    private static String buildIndentation(int depth) {
+        return INDENT_ELEMENT.repeat(depth) + ARROW_INDENTATION;
+    }
+
+    private static String buildHeadingMarker(int level) {
+        return HEADING_ELEMENT.repeat(level) + SPACE;
+    }
+}
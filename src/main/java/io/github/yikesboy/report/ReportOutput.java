@@ -0,0 +1,31 @@
+package io.github.yikesboy.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+public class ReportOutput {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ReportOutput() {
+    }
+
+    public static Writer open(Path outputPath, boolean gzip) throws IOException {
+        OutputStream outputStream = Files.newOutputStream(outputPath);
+        try {
+            if (gzip) {
+                outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            }
+            return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        } catch (IOException e) {
+            outputStream.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.yikesboy.report;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.WebPage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Report generator that writes the report while the crawl is running. It has to be registered as
+ * {@link CrawlListener} of the crawl: the root page is written as soon as it is parsed and every subtree
+ * below the root as soon as it is complete, so the report is never held in memory as a whole.
+ * {@link #generateReport} then only appends the error section and closes the file.
+ * <p>
+ * If no streamed report for the given root page exists, the whole report is written at once.
+ */
+public class StreamingReportGenerator implements ReportGeneratorInterface, CrawlListener {
+    private final Path outputPath;
+    private final boolean gzip;
+    private final MarkdownReportRenderer renderer;
+
+    private Writer writer;
+    private WebPage rootPage;
+    private IOException streamFailure;
+
+    public StreamingReportGenerator(Path outputPath, boolean gzip) {
+        this.outputPath = outputPath;
+        this.gzip = gzip;
+        this.renderer = new MarkdownReportRenderer();
+    }
+
+    @Override
+    public synchronized void onCrawlStarted(CrawlConfig config) {
+        closeQuietly();
+        rootPage = null;
+        streamFailure = null;
+        try {
+            writer = ReportOutput.open(outputPath, gzip);
+        } catch (IOException e) {
+            streamFailure = e;
+        }
+    }
+
+    @Override
+    public synchronized void onPageParsed(WebPage page) {
+        if (writer == null || rootPage != null || page.getDepth() != 0) {
+            return;
+        }
+
+        rootPage = page;
+        write(() -> renderer.renderRootPage(writer, page));
+    }
+
+    @Override
+    public synchronized void onChildPageAttached(WebPage parent, WebPage child) {
+        if (writer == null || parent != rootPage) {
+            return;
+        }
+
+        write(() -> renderer.renderChildPage(writer, child));
+    }
+
+    @Override
+    public synchronized boolean generateReport(WebPage rootPage, List<CrawlError> errors, Path outputPath) {
+        if (writer == null || rootPage != this.rootPage || !outputPath.equals(this.outputPath)) {
+            return writeCompleteReport(rootPage, errors, outputPath);
+        }
+
+        write(() -> renderer.renderSkippedPages(writer, rootPage));
+        write(() -> renderer.renderErrors(writer, errors));
+        closeQuietly();
+
+        if (streamFailure != null) {
+            System.err.println("Error writing report: " + streamFailure.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean writeCompleteReport(WebPage rootPage, List<CrawlError> errors, Path outputPath) {
+        closeQuietly();
+        return new ReportGenerator(gzip).generateReport(rootPage, errors, outputPath);
+    }
+
+    private void write(ReportWrite reportWrite) {
+        if (streamFailure != null) {
+            return;
+        }
+        try {
+            reportWrite.run();
+        } catch (IOException e) {
+            streamFailure = e;
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            if (streamFailure == null) {
+                streamFailure = e;
+            }
+        }
+        writer = null;
+    }
+
+    private interface ReportWrite {
+        void run() throws IOException;
+    }
+}
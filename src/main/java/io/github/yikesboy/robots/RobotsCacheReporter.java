@@ -0,0 +1,24 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+import java.util.Locale;
+
+/**
+ * Prints how often the {@link RobotsTxtCache} answered without fetching a robots.txt once a crawl is finished.
+ */
+public class RobotsCacheReporter implements CrawlListener {
+    private final RobotsTxtCache cache;
+
+    public RobotsCacheReporter(RobotsTxtCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("Robots.txt fetches: " + cache.getMisses()
+                + ", cache hits: " + cache.getHits()
+                + String.format(Locale.ROOT, ", hit rate: %.1f%%", cache.getHitRate() * 100));
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.models.SkipReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+
+import java.net.URL;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parser decorator that honours robots.txt. Pages the {@link RobotsTxtCache} disallows are not fetched and
+ * come back as skipped, all other pages are passed to the wrapped parser.
+ */
+public class RobotsPageParser implements PageParserInterface {
+    private final PageParserInterface parser;
+    private final RobotsTxtCache cache;
+
+    public RobotsPageParser(PageParserInterface parser, RobotsTxtCache cache) {
+        this.parser = parser;
+        this.cache = cache;
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth) {
+        if (!cache.isAllowed(url)) {
+            return new WebPage(url, depth, SkipReason.ROBOTS_DISALLOWED);
+        }
+        return parser.parse(url, depth);
+    }
+
+    @Override
+    public WebPage parse(URL url, int depth, Consumer<URL> linkListener) {
+        if (!cache.isAllowed(url)) {
+            return new WebPage(url, depth, SkipReason.ROBOTS_DISALLOWED);
+        }
+        return parser.parse(url, depth, linkListener);
+    }
+
+    @Override
+    public List<URL> extractLinks(WebPage page) {
+        return parser.extractLinks(page);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return parser.isStreaming();
+    }
+}
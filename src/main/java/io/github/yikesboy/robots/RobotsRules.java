@@ -0,0 +1,121 @@
+package io.github.yikesboy.robots;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The Allow and Disallow rules of one robots.txt group, compiled for matching. Rules are sorted by pattern
+ * length with Allow first among equally long patterns, so the first matching rule is the most specific one and
+ * decides, as RFC 9309 requires. Patterns without wildcards are plain prefix checks, patterns with {@code *} are
+ * split at the wildcards once and matched segment by segment without regular expressions.
+ */
+public class RobotsRules {
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), Duration.ZERO);
+    public static final RobotsRules DISALLOW_ALL = new RobotsRules(List.of(new Rule("/", false)), Duration.ZERO);
+
+    private static final String ROBOTS_TXT_PATH = "/robots.txt";
+
+    private final CompiledRule[] rules;
+    private final Duration crawlDelay;
+
+    /**
+     * @param crawlDelay The delay the group asked for between requests, zero if it did not.
+     */
+    public RobotsRules(List<Rule> rules, Duration crawlDelay) {
+        List<CompiledRule> compiledRules = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (!rule.pattern().isEmpty()) {
+                compiledRules.add(new CompiledRule(rule));
+            }
+        }
+        compiledRules.sort(Comparator.comparingInt((CompiledRule rule) -> rule.length).reversed()
+                .thenComparing(rule -> !rule.allow));
+        this.rules = compiledRules.toArray(new CompiledRule[0]);
+        this.crawlDelay = crawlDelay;
+    }
+
+    public boolean isAllowed(URL url) {
+        return isAllowed(pathAndQuery(url));
+    }
+
+    /**
+     * @param path The path of a URL including its query, starting with {@code /}.
+     */
+    public boolean isAllowed(String path) {
+        if (path.equals(ROBOTS_TXT_PATH)) {
+            return true;
+        }
+        for (CompiledRule rule : rules) {
+            if (rule.matches(path)) {
+                return rule.allow;
+            }
+        }
+        return true;
+    }
+
+    public Duration getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    static String pathAndQuery(URL url) {
+        String path = url.getPath().isEmpty() ? "/" : url.getPath();
+        return url.getQuery() == null ? path : path + "?" + url.getQuery();
+    }
+
+    /**
+     * A single Allow or Disallow line.
+     *
+     * @param pattern The path pattern, may contain {@code *} and end with {@code $}.
+     * @param allow   Whether the line is an Allow line.
+     */
+    public record Rule(String pattern, boolean allow) {
+    }
+
+    private static final class CompiledRule {
+        private static final char WILDCARD = '*';
+        private static final char END_ANCHOR = '$';
+
+        private final String[] segments;
+        private final boolean anchored;
+        private final boolean allow;
+        private final int length;
+
+        private CompiledRule(Rule rule) {
+            String pattern = rule.pattern();
+            this.anchored = pattern.charAt(pattern.length() - 1) == END_ANCHOR;
+            String body = anchored ? pattern.substring(0, pattern.length() - 1) : pattern;
+            this.segments = body.split("\\" + WILDCARD, -1);
+            this.allow = rule.allow();
+            this.length = pattern.length();
+        }
+
+        private boolean matches(String path) {
+            String first = segments[0];
+            if (segments.length == 1) {
+                return anchored ? path.equals(first) : path.startsWith(first);
+            }
+            if (!path.startsWith(first)) {
+                return false;
+            }
+
+            int position = first.length();
+            int last = segments.length - 1;
+            for (int i = 1; i < last; i++) {
+                int index = path.indexOf(segments[i], position);
+                if (index < 0) {
+                    return false;
+                }
+                position = index + segments[i].length();
+            }
+
+            String tail = segments[last];
+            if (anchored) {
+                return path.length() - tail.length() >= position && path.endsWith(tail);
+            }
+            return path.indexOf(tail, position) >= 0;
+        }
+    }
+}
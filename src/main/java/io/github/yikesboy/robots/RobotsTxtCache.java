@@ -0,0 +1,219 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import io.github.yikesboy.scheduler.HostDelays;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Fetches the robots.txt of every origin once and keeps its compiled {@link RobotsRules} for a time to live.
+ * Callers asking for an origin whose robots.txt is still being fetched wait for that fetch instead of starting
+ * another one. Expired entries are dropped while the crawl runs, at most once a minute.
+ * <p>
+ * A missing robots.txt (4xx) allows everything, a failing server (5xx) disallows everything for a short while
+ * as RFC 9309 asks. Network errors and fetches slower than {@link #FETCH_TIMEOUT} allow everything for a short
+ * while too, the page fetch then reports the broken link itself. The {@code Crawl-delay} of an origin is passed
+ * to the scheduler as its {@link HostDelays}.
+ */
+public class RobotsTxtCache implements HostDelays {
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final Duration FAILURE_TTL = Duration.ofMinutes(5);
+    public static final Duration FETCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String ROBOTS_TXT_PATH = "/robots.txt";
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpPageTransport transport;
+    private final RobotsTxtParser parser;
+    private final long ttlNanos;
+    private final long failureTtlNanos;
+    private final long fetchTimeoutNanos;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, Entry> entries;
+    private final ConcurrentMap<String, Duration> crawlDelays;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final AtomicLong nextEviction;
+
+    public RobotsTxtCache(HttpPageTransport transport) {
+        this(transport, DEFAULT_TTL);
+    }
+
+    public RobotsTxtCache(HttpPageTransport transport, Duration ttl) {
+        this(transport, new RobotsTxtParser(), ttl, FETCH_TIMEOUT, System::nanoTime);
+    }
+
+    RobotsTxtCache(HttpPageTransport transport, RobotsTxtParser parser, Duration ttl, Duration fetchTimeout,
+                   LongSupplier nanoTime) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Robots.txt TTL must be positive.");
+        }
+        this.transport = transport;
+        this.parser = parser;
+        this.ttlNanos = ttl.toNanos();
+        this.failureTtlNanos = Math.min(ttlNanos, FAILURE_TTL.toNanos());
+        this.fetchTimeoutNanos = fetchTimeout.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new ConcurrentHashMap<>();
+        this.crawlDelays = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.nextEviction = new AtomicLong(nanoTime.getAsLong() + EVICTION_INTERVAL_NANOS);
+    }
+
+    public boolean isAllowed(URL url) {
+        return getRules(url).isAllowed(url);
+    }
+
+    /**
+     * Returns the rules of the URL's origin, fetching its robots.txt if it is not cached or expired.
+     */
+    public RobotsRules getRules(URL url) {
+        String origin = originOf(url);
+        long now = nanoTime.getAsLong();
+        Entry entry = entries.get(origin);
+        if (entry != null && !entry.isExpired(now)) {
+            hits.increment();
+            return entry.rules.join();
+        }
+
+        evictExpiredPeriodically(now);
+        Entry freshEntry = new Entry(url.getHost().toLowerCase(Locale.ROOT));
+        Entry installedEntry = entries.compute(origin,
+                (key, existing) -> existing != null && !existing.isExpired(now) ? existing : freshEntry);
+        if (installedEntry != freshEntry) {
+            hits.increment();
+            return installedEntry.rules.join();
+        }
+
+        misses.increment();
+        load(url, freshEntry);
+        return freshEntry.rules.join();
+    }
+
+    @Override
+    public Duration delayFor(String host) {
+        return crawlDelays.getOrDefault(host, Duration.ZERO);
+    }
+
+    /**
+     * Removes every entry whose time to live has passed, together with its crawl delay.
+     */
+    public void evictExpired() {
+        long now = nanoTime.getAsLong();
+        entries.forEach((origin, entry) -> {
+            if (entry.isExpired(now) && entries.remove(origin, entry)) {
+                crawlDelays.remove(entry.host);
+            }
+        });
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of robots.txt fetches
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpiredPeriodically(long now) {
+        long next = nextEviction.get();
+        if (now - next >= 0 && nextEviction.compareAndSet(next, now + EVICTION_INTERVAL_NANOS)) {
+            evictExpired();
+        }
+    }
+
+    private void load(URL url, Entry entry) {
+        URL robotsUrl;
+        try {
+            robotsUrl = new URL(url.getProtocol(), url.getHost(), url.getPort(), ROBOTS_TXT_PATH);
+        } catch (MalformedURLException e) {
+            complete(entry, RobotsRules.ALLOW_ALL, failureTtlNanos);
+            return;
+        }
+
+        CompletableFuture<HttpPageResponse> fetch;
+        try {
+            fetch = transport.send(robotsUrl, Map.of());
+        } catch (RuntimeException e) {
+            complete(entry, RobotsRules.ALLOW_ALL, failureTtlNanos);
+            return;
+        }
+        fetch.copy().orTimeout(fetchTimeoutNanos, TimeUnit.NANOSECONDS).whenComplete((response, error) -> {
+            if (error != null) {
+                complete(entry, RobotsRules.ALLOW_ALL, failureTtlNanos);
+            } else {
+                complete(response, entry);
+            }
+        });
+    }
+
+    private void complete(HttpPageResponse response, Entry entry) {
+        int status = response.statusCode();
+        if (response.isSuccessful()) {
+            complete(entry, parser.parse(new String(response.body(), StandardCharsets.UTF_8)), ttlNanos);
+        } else if (status >= 500) {
+            complete(entry, RobotsRules.DISALLOW_ALL, failureTtlNanos);
+        } else {
+            complete(entry, RobotsRules.ALLOW_ALL, ttlNanos);
+        }
+    }
+
+    private void complete(Entry entry, RobotsRules rules, long entryTtlNanos) {
+        if (rules.getCrawlDelay().isZero()) {
+            crawlDelays.remove(entry.host);
+        } else {
+            crawlDelays.put(entry.host, rules.getCrawlDelay());
+        }
+        entry.expiresAt = nanoTime.getAsLong() + entryTtlNanos;
+        entry.loaded = true;
+        entry.rules.complete(rules);
+    }
+
+    static String originOf(URL url) {
+        int port = url.getPort() == url.getDefaultPort() ? -1 : url.getPort();
+        return url.getProtocol() + "://" + url.getHost().toLowerCase(Locale.ROOT) + (port < 0 ? "" : ":" + port);
+    }
+
+    private static final class Entry {
+        private final String host;
+        private final CompletableFuture<RobotsRules> rules;
+        private volatile long expiresAt;
+        private volatile boolean loaded;
+
+        private Entry(String host) {
+            this.host = host;
+            this.rules = new CompletableFuture<>();
+        }
+
+        private boolean isExpired(long now) {
+            return loaded && now - expiresAt >= 0;
+        }
+    }
+}
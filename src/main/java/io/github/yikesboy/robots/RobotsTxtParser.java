@@ -0,0 +1,112 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.html.UserAgent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses robots.txt files as described in RFC 9309, plus the non-standard {@code Crawl-delay}. Only the groups
+ * for the crawler's product token are kept, or the {@code *} groups if there are none. Several groups for the
+ * same agent are merged.
+ */
+public class RobotsTxtParser {
+    public static final Duration MAX_CRAWL_DELAY = Duration.ofSeconds(60);
+
+    private static final String WILDCARD_AGENT = "*";
+    private static final char COMMENT_PREFIX = '#';
+    private static final char KEY_SEPARATOR = ':';
+
+    private final String userAgentToken;
+
+    public RobotsTxtParser() {
+        this(UserAgent.TOKEN);
+    }
+
+    public RobotsTxtParser(String userAgentToken) {
+        this.userAgentToken = userAgentToken.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Crawl delays above {@link #MAX_CRAWL_DELAY} are cut to it, so a single host cannot stall the crawl.
+     */
+    public RobotsRules parse(String content) {
+        Group agentGroup = new Group();
+        Group wildcardGroup = new Group();
+        List<Group> currentGroups = new ArrayList<>();
+        boolean readingAgents = false;
+
+        for (String rawLine : content.split("\r\n|\r|\n")) {
+            int commentIndex = rawLine.indexOf(COMMENT_PREFIX);
+            String line = (commentIndex < 0 ? rawLine : rawLine.substring(0, commentIndex)).trim();
+            int separatorIndex = line.indexOf(KEY_SEPARATOR);
+            if (separatorIndex < 0) {
+                continue;
+            }
+            String key = line.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(separatorIndex + 1).trim();
+
+            if (key.equals("user-agent")) {
+                if (!readingAgents) {
+                    currentGroups.clear();
+                    readingAgents = true;
+                }
+                String agent = value.toLowerCase(Locale.ROOT);
+                if (agent.equals(userAgentToken)) {
+                    currentGroups.add(agentGroup);
+                } else if (agent.equals(WILDCARD_AGENT)) {
+                    currentGroups.add(wildcardGroup);
+                }
+                continue;
+            }
+
+            readingAgents = false;
+            for (Group group : currentGroups) {
+                group.add(key, value);
+            }
+        }
+
+        Group group = agentGroup.isMatched() ? agentGroup : wildcardGroup;
+        return group.isMatched() ? group.toRules() : RobotsRules.ALLOW_ALL;
+    }
+
+    private static final class Group {
+        private final List<RobotsRules.Rule> rules = new ArrayList<>();
+        private Duration crawlDelay = Duration.ZERO;
+        private boolean matched;
+
+        private void add(String key, String value) {
+            matched = true;
+            switch (key) {
+                case "allow" -> rules.add(new RobotsRules.Rule(value, true));
+                case "disallow" -> rules.add(new RobotsRules.Rule(value, false));
+                case "crawl-delay" -> crawlDelay = parseCrawlDelay(value);
+                default -> {
+                }
+            }
+        }
+
+        private boolean isMatched() {
+            return matched;
+        }
+
+        private RobotsRules toRules() {
+            return new RobotsRules(rules, crawlDelay);
+        }
+
+        private Duration parseCrawlDelay(String value) {
+            try {
+                double seconds = Double.parseDouble(value);
+                if (!(seconds > 0)) {
+                    return crawlDelay;
+                }
+                Duration delay = Duration.ofMillis((long) Math.min(seconds * 1000, MAX_CRAWL_DELAY.toMillis()));
+                return delay.compareTo(crawlDelay) > 0 ? delay : crawlDelay;
+            } catch (NumberFormatException e) {
+                return crawlDelay;
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.yikesboy.scheduler;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Scheduler without any politeness policy, every fetch is run immediately on the calling thread.
+ */
+public class DirectFetchScheduler implements FetchSchedulerInterface {
+    @Override
+    public <T> CompletableFuture<T> schedule(URL url, Supplier<T> fetch) {
+        try {
+            return CompletableFuture.completedFuture(fetch.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
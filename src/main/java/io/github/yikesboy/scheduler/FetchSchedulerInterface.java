@@ -0,0 +1,20 @@
+package io.github.yikesboy.scheduler;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface FetchSchedulerInterface {
+    /**
+     * Runs the given fetch once the scheduling policy for the host of {@code url} permits it.
+     *
+     * @return a future that is completed with the result of the fetch.
+     */
+    <T> CompletableFuture<T> schedule(URL url, Supplier<T> fetch);
+
+    /**
+     * Cancels the futures of all fetches that have not started yet, fetches that are running complete.
+     */
+    default void cancelPending() {
+    }
+}
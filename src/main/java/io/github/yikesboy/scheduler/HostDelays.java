@@ -0,0 +1,19 @@
+package io.github.yikesboy.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Delays between requests that individual hosts asked for, such as the {@code Crawl-delay} of their robots.txt.
+ */
+@FunctionalInterface
+public interface HostDelays {
+    HostDelays NONE = host -> Duration.ZERO;
+
+    /**
+     * Called whenever the scheduler is about to start a fetch, so it must not block.
+     *
+     * @param host The lower case host name.
+     * @return the delay the host asked for, zero if it did not ask for one or it is not known yet
+     */
+    Duration delayFor(String host);
+}
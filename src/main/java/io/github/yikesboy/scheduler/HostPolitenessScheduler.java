@@ -0,0 +1,346 @@
+package io.github.yikesboy.scheduler;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Scheduler that enforces a {@link PolitenessPolicy} per host.
+ * <p>
+ * Fetches that are not yet permitted are queued per host instead of blocking a thread. They are dispatched
+ * to the given executor as soon as a slot of their host is free and its token bucket allows a new request.
+ * Hosts without queued or running fetches are evicted once their bucket is full again, so the state kept
+ * is bounded by the number of active hosts. A delay a host asked for through the policy's {@link HostDelays} is
+ * picked up before each dispatch, it replaces the bucket of the host with one that allows no bursts.
+ * <p>
+ * A running fetch that has to retry waits through {@link #awaitRetry(URL, Duration, boolean)}: it gives its slot
+ * back while it waits and queues up for its host again afterwards. The same holds for its permit if the fetches
+ * of all hosts share a limit.
+ */
+public class HostPolitenessScheduler implements FetchSchedulerInterface, AutoCloseable {
+    private static final ThreadLocal<RunningFetch> RUNNING_FETCH = new ThreadLocal<>();
+
+    private final PolitenessPolicy policy;
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private final Map<String, HostState> hosts;
+    private final AtomicLong cancellations;
+    private final Semaphore fetchPermits;
+
+    public HostPolitenessScheduler(PolitenessPolicy policy, Executor executor) {
+        this(policy, executor, new Semaphore(Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param fetchPermits Limits the fetches running at once over all hosts. A dispatched fetch waits on the
+     *                     executor's thread for its permit.
+     */
+    public HostPolitenessScheduler(PolitenessPolicy policy, Executor executor, Semaphore fetchPermits) {
+        this.policy = policy;
+        this.executor = executor;
+        this.fetchPermits = fetchPermits;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "host-scheduler-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hosts = new ConcurrentHashMap<>();
+        this.cancellations = new AtomicLong();
+
+        long evictionPeriodNanos = policy.idleEviction().toNanos();
+        timer.scheduleAtFixedRate(this::evictIdleHosts, evictionPeriodNanos, evictionPeriodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> schedule(URL url, Supplier<T> fetch) {
+        PendingFetch<T> pendingFetch = new PendingFetch<>(fetch);
+        HostState state = hosts.compute(hostKey(url), (host, existing) -> {
+            HostState hostState = existing != null ? existing : new HostState(host, policy, System.nanoTime());
+            hostState.enqueue(pendingFetch);
+            return hostState;
+        });
+
+        drain(state);
+        return pendingFetch.result;
+    }
+
+    /**
+     * Waits before the fetch running on this thread tries {@code url} again. A fetch run by a scheduler gives its
+     * slot back while it waits, then queues up for its host again ahead of fetches that have not started yet. A
+     * delay the host asked for, such as {@code Retry-After}, holds back every request to the host. Fetches not run
+     * by a scheduler for the host of {@code url} only wait.
+     *
+     * @param delayHost whether the other requests to the host wait for the delay too
+     * @return false if the pending fetches were cancelled while or before the fetch waited, it must not retry then
+     */
+    public static boolean awaitRetry(URL url, Duration delay, boolean delayHost) throws InterruptedException {
+        RunningFetch runningFetch = RUNNING_FETCH.get();
+        if (runningFetch == null || !runningFetch.state.host.equals(hostKey(url))) {
+            try {
+                CompletableFuture.runAsync(() -> {
+                }, CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS)).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+            return true;
+        }
+        return runningFetch.scheduler.awaitRetry(runningFetch, delay, delayHost);
+    }
+
+    @Override
+    public void cancelPending() {
+        cancellations.incrementAndGet();
+        for (HostState state : hosts.values()) {
+            List<PendingFetch<?>> pendingFetches;
+            synchronized (state) {
+                pendingFetches = new ArrayList<>(state.queue);
+                pendingFetches.addAll(state.pausedFetches);
+                state.queue.clear();
+                state.pausedFetches.clear();
+            }
+            for (PendingFetch<?> pendingFetch : pendingFetches) {
+                pendingFetch.result.cancel(false);
+            }
+        }
+    }
+
+    public int getTrackedHostCount() {
+        return hosts.size();
+    }
+
+    public void evictIdleHosts() {
+        long now = System.nanoTime();
+        for (String host : hosts.keySet()) {
+            hosts.computeIfPresent(host, (key, state) -> state.isEvictable(now, policy) ? null : state);
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private void drain(HostState state) {
+        while (true) {
+            PendingFetch<?> next;
+            synchronized (state) {
+                if (state.queue.isEmpty() || state.inFlight >= policy.maxInFlightPerHost()) {
+                    return;
+                }
+
+                long now = System.nanoTime();
+                state.applyHostDelay(policy.hostDelays().delayFor(state.host), policy, now);
+                long waitNanos = Math.max(state.bucket.nanosUntilAvailable(now), state.blockedUntilNanos - now);
+                if (waitNanos > 0) {
+                    scheduleDrain(state, waitNanos);
+                    return;
+                }
+
+                state.bucket.tryConsume(now);
+                state.started = true;
+                state.inFlight++;
+                next = state.queue.poll();
+            }
+            dispatch(state, next);
+        }
+    }
+
+    private void scheduleDrain(HostState state, long waitNanos) {
+        if (state.drainScheduled) {
+            return;
+        }
+        state.drainScheduled = true;
+        timer.schedule(() -> {
+            synchronized (state) {
+                state.drainScheduled = false;
+            }
+            drain(state);
+        }, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A resumed retry already has its thread, it is handed the slot instead of being run on the executor.
+     */
+    private <T> void dispatch(HostState state, PendingFetch<T> pendingFetch) {
+        if (pendingFetch.resumedRetry) {
+            if (!pendingFetch.result.complete(null)) {
+                release(state);
+            }
+            return;
+        }
+        try {
+            executor.execute(() -> run(state, pendingFetch));
+        } catch (RejectedExecutionException e) {
+            release(state);
+            pendingFetch.result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void run(HostState state, PendingFetch<T> pendingFetch) {
+        fetchPermits.acquireUninterruptibly();
+        RunningFetch outerFetch = RUNNING_FETCH.get();
+        RUNNING_FETCH.set(new RunningFetch(this, state, cancellations.get()));
+        T value;
+        try {
+            value = pendingFetch.fetch.get();
+        } catch (Throwable e) {
+            release(state);
+            pendingFetch.result.completeExceptionally(e);
+            return;
+        } finally {
+            RUNNING_FETCH.set(outerFetch);
+            fetchPermits.release();
+        }
+        release(state);
+        pendingFetch.result.complete(value);
+    }
+
+    /**
+     * The slot and the permit are given back before waiting and taken again by the resumed retry. A cancelled
+     * retry takes its slot back without waiting for the host, both are released when the fetch ends like any other.
+     */
+    private boolean awaitRetry(RunningFetch runningFetch, Duration delay, boolean delayHost)
+            throws InterruptedException {
+        HostState state = runningFetch.state;
+        PendingFetch<Object> resumedRetry = new PendingFetch<>(() -> null, true);
+        long delayNanos = delay.toNanos();
+        synchronized (state) {
+            if (cancellations.get() != runningFetch.cancellation) {
+                return false;
+            }
+            long blockedUntilNanos = System.nanoTime() + delayNanos;
+            if (delayHost && blockedUntilNanos - state.blockedUntilNanos > 0) {
+                state.blockedUntilNanos = blockedUntilNanos;
+            }
+            state.pausedFetches.add(resumedRetry);
+        }
+        release(state);
+        fetchPermits.release();
+        try {
+            timer.schedule(() -> resume(state, resumedRetry), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            resumedRetry.result.cancel(false);
+        }
+
+        try {
+            resumedRetry.result.get();
+        } catch (CancellationException | ExecutionException e) {
+            // cancelled with the pending fetches, handled below
+        } finally {
+            resumedRetry.result.cancel(false);
+            if (resumedRetry.result.isCancelled()) {
+                synchronized (state) {
+                    state.pausedFetches.remove(resumedRetry);
+                    state.inFlight++;
+                }
+            }
+            fetchPermits.acquireUninterruptibly();
+        }
+        return !resumedRetry.result.isCancelled();
+    }
+
+    private void resume(HostState state, PendingFetch<?> resumedRetry) {
+        synchronized (state) {
+            if (!state.pausedFetches.remove(resumedRetry)) {
+                return;
+            }
+            state.queue.addFirst(resumedRetry);
+        }
+        drain(state);
+    }
+
+    private void release(HostState state) {
+        synchronized (state) {
+            state.inFlight--;
+            state.lastActivityNanos = System.nanoTime();
+        }
+        drain(state);
+    }
+
+    private static String hostKey(URL url) {
+        return url.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    private record RunningFetch(HostPolitenessScheduler scheduler, HostState state, long cancellation) {
+    }
+
+    private static final class PendingFetch<T> {
+        private final Supplier<T> fetch;
+        private final CompletableFuture<T> result;
+        private final boolean resumedRetry;
+
+        private PendingFetch(Supplier<T> fetch) {
+            this(fetch, false);
+        }
+
+        private PendingFetch(Supplier<T> fetch, boolean resumedRetry) {
+            this.fetch = fetch;
+            this.result = new CompletableFuture<>();
+            this.resumedRetry = resumedRetry;
+        }
+    }
+
+    private static final class HostState {
+        private final String host;
+        private final Deque<PendingFetch<?>> queue;
+        private final Set<PendingFetch<?>> pausedFetches;
+        private TokenBucket bucket;
+        private Duration hostDelay;
+        private int inFlight;
+        private boolean started;
+        private boolean drainScheduled;
+        private long lastActivityNanos;
+        private long blockedUntilNanos;
+
+        private HostState(String host, PolitenessPolicy policy, long nowNanos) {
+            this.host = host;
+            this.queue = new ArrayDeque<>();
+            this.pausedFetches = new HashSet<>();
+            this.bucket = new TokenBucket(policy.burst(), policy.minDelay(), nowNanos);
+            this.hostDelay = Duration.ZERO;
+            this.lastActivityNanos = nowNanos;
+            this.blockedUntilNanos = nowNanos;
+        }
+
+        /**
+         * Replaces the bucket when the delay of the host changed. A host that was already fetched from has to
+         * wait a full delay before the next fetch.
+         */
+        private void applyHostDelay(Duration delay, PolitenessPolicy policy, long nowNanos) {
+            if (delay.equals(hostDelay)) {
+                return;
+            }
+            hostDelay = delay;
+            bucket = delay.compareTo(policy.minDelay()) > 0
+                    ? new TokenBucket(1, delay, nowNanos)
+                    : new TokenBucket(policy.burst(), policy.minDelay(), nowNanos);
+            if (started) {
+                bucket.tryConsume(nowNanos);
+            }
+        }
+
+        private synchronized void enqueue(PendingFetch<?> pendingFetch) {
+            queue.add(pendingFetch);
+        }
+
+        private synchronized boolean isEvictable(long nowNanos, PolitenessPolicy policy) {
+            return queue.isEmpty()
+                    && pausedFetches.isEmpty()
+                    && inFlight == 0
+                    && !drainScheduled
+                    && nowNanos - lastActivityNanos >= policy.idleEviction().toNanos()
+                    && nowNanos - blockedUntilNanos >= 0
+                    && bucket.isFull(nowNanos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.yikesboy.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Limits applied to every host of a crawl.
+ *
+ * @param maxInFlightPerHost Maximum number of concurrent requests to one host.
+ * @param minDelay           Minimum delay between the starts of two requests to one host.
+ * @param burst              Number of requests that may start back to back after the host was idle.
+ * @param idleEviction       Time after which the state of an idle host is dropped.
+ * @param hostDelays         Delays asked for by single hosts, applied where they exceed {@code minDelay}.
+ */
+public record PolitenessPolicy(int maxInFlightPerHost,
+                               Duration minDelay,
+                               int burst,
+                               Duration idleEviction,
+                               HostDelays hostDelays) {
+    public static final int DEFAULT_MAX_IN_FLIGHT_PER_HOST = 4;
+    public static final Duration DEFAULT_IDLE_EVICTION = Duration.ofSeconds(30);
+
+    public PolitenessPolicy {
+        if (maxInFlightPerHost < 1) {
+            throw new IllegalArgumentException("Max in-flight requests per host must be at least 1.");
+        }
+        if (minDelay == null || minDelay.isNegative()) {
+            throw new IllegalArgumentException("Minimum host delay cannot be negative.");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1.");
+        }
+        if (idleEviction == null || idleEviction.isNegative() || idleEviction.isZero()) {
+            throw new IllegalArgumentException("Idle eviction time must be positive.");
+        }
+        if (hostDelays == null) {
+            throw new IllegalArgumentException("Host delays cannot be null.");
+        }
+    }
+
+    public PolitenessPolicy(int maxInFlightPerHost, Duration minDelay, int burst, Duration idleEviction) {
+        this(maxInFlightPerHost, minDelay, burst, idleEviction, HostDelays.NONE);
+    }
+
+    public PolitenessPolicy(int maxInFlightPerHost, Duration minDelay) {
+        this(maxInFlightPerHost, minDelay, 1, DEFAULT_IDLE_EVICTION);
+    }
+
+    public PolitenessPolicy withHostDelays(HostDelays hostDelays) {
+        return new PolitenessPolicy(maxInFlightPerHost, minDelay, burst, idleEviction, hostDelays);
+    }
+
+    public static PolitenessPolicy defaults() {
+        return new PolitenessPolicy(DEFAULT_MAX_IN_FLIGHT_PER_HOST, Duration.ZERO);
+    }
+}
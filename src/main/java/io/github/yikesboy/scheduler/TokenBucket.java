@@ -0,0 +1,59 @@
+package io.github.yikesboy.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Token bucket that refills one token per refill interval up to its capacity.
+ * Not thread-safe, callers have to synchronize access.
+ */
+public class TokenBucket {
+    private final long capacity;
+    private final long refillIntervalNanos;
+    private long tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(long capacity, Duration refillInterval, long nowNanos) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = refillInterval.toNanos();
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    public boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens == 0) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    public long nanosUntilAvailable(long nowNanos) {
+        refill(nowNanos);
+        if (tokens > 0) {
+            return 0;
+        }
+        return lastRefillNanos + refillIntervalNanos - nowNanos;
+    }
+
+    public boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens == capacity;
+    }
+
+    private void refill(long nowNanos) {
+        if (refillIntervalNanos == 0) {
+            tokens = capacity;
+            lastRefillNanos = nowNanos;
+            return;
+        }
+
+        long elapsedIntervals = (nowNanos - lastRefillNanos) / refillIntervalNanos;
+        if (elapsedIntervals <= 0) {
+            return;
+        }
+
+        tokens = Math.min(capacity, tokens + elapsedIntervals);
+        lastRefillNanos = tokens == capacity ? nowNanos : lastRefillNanos + elapsedIntervals * refillIntervalNanos;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.yikesboy.snapshot;
+
+import io.github.yikesboy.models.Heading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@link PageSnapshot}s of one crawl, keyed by page URL. Snapshots are stored gzip compressed, a
+ * snapshot is written to a temporary file first so an interrupted write never replaces the previous one.
+ */
+public class CrawlSnapshot {
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Map<String, PageSnapshot> pages = new ConcurrentHashMap<>();
+
+    /**
+     * @return the snapshot stored in the file, an empty snapshot if the file does not exist
+     */
+    public static CrawlSnapshot load(Path file) throws IOException {
+        CrawlSnapshot snapshot = new CrawlSnapshot();
+        if (!Files.exists(file)) {
+            return snapshot;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format in " + file);
+            }
+            int pageCount = input.readInt();
+            for (int i = 0; i < pageCount; i++) {
+                snapshot.put(readPage(input));
+            }
+        }
+        return snapshot;
+    }
+
+    public void save(Path file) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        List<PageSnapshot> snapshots = new ArrayList<>(pages.values());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(snapshots.size());
+            for (PageSnapshot page : snapshots) {
+                writePage(output, page);
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Optional<PageSnapshot> get(URL url) {
+        return Optional.ofNullable(pages.get(url.toString()));
+    }
+
+    public void put(PageSnapshot page) {
+        pages.put(page.url().toString(), page);
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    private static PageSnapshot readPage(DataInputStream input) throws IOException {
+        URL url = new URL(readString(input));
+        String etag = readString(input);
+        String lastModified = readString(input);
+        byte[] contentHash = new byte[input.readUnsignedByte()];
+        input.readFully(contentHash);
+
+        int headingCount = input.readInt();
+        List<Heading> headings = new ArrayList<>(headingCount);
+        for (int i = 0; i < headingCount; i++) {
+            headings.add(new Heading(input.readUnsignedByte(), readString(input)));
+        }
+
+        int linkCount = input.readInt();
+        List<URL> links = new ArrayList<>(linkCount);
+        for (int i = 0; i < linkCount; i++) {
+            links.add(new URL(readString(input)));
+        }
+        return new PageSnapshot(url, etag, lastModified, contentHash, headings, links);
+    }
+
+    private static void writePage(DataOutputStream output, PageSnapshot page) throws IOException {
+        writeString(output, page.url().toString());
+        writeString(output, page.etag());
+        writeString(output, page.lastModified());
+        output.writeByte(page.contentHash().length);
+        output.write(page.contentHash());
+
+        output.writeInt(page.headings().size());
+        for (Heading heading : page.headings()) {
+            output.writeByte(heading.level());
+            writeString(output, heading.text());
+        }
+
+        output.writeInt(page.links().size());
+        for (URL link : page.links()) {
+            writeString(output, link.toString());
+        }
+    }
+
+    /**
+     * Strings are written with an int length, {@link DataOutputStream#writeUTF} is limited to 64 KB.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
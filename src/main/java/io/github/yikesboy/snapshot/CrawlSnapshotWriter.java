@@ -0,0 +1,31 @@
+package io.github.yikesboy.snapshot;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.parser.IncrementalPageParser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Replaces the snapshot file with the pages of the finished crawl and prints how many pages were reused.
+ */
+public class CrawlSnapshotWriter implements CrawlListener {
+    private final IncrementalPageParser parser;
+    private final Path file;
+
+    public CrawlSnapshotWriter(IncrementalPageParser parser, Path file) {
+        this.parser = parser;
+        this.file = file;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("Incremental crawl: " + parser.getStats());
+        try {
+            parser.getCurrentSnapshot().save(file);
+        } catch (IOException e) {
+            System.err.println("Error writing crawl snapshot: " + e.getMessage());
+        }
+    }
+}
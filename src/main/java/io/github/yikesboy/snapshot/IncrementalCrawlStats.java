@@ -0,0 +1,24 @@
+package io.github.yikesboy.snapshot;
+
+/**
+ * Counters of an incremental crawl.
+ *
+ * @param notModifiedPages pages the server answered with 304 Not Modified
+ * @param unchangedPages   pages downloaded again whose content did not change
+ * @param parsedPages      new or changed pages that had to be parsed
+ */
+public record IncrementalCrawlStats(long notModifiedPages, long unchangedPages, long parsedPages) {
+    /**
+     * @return share of pages taken from the previous snapshot
+     */
+    public double reuseRate() {
+        long pages = notModifiedPages + unchangedPages + parsedPages;
+        return pages == 0 ? 0 : (double) (notModifiedPages + unchangedPages) / pages;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("not modified=%d, unchanged=%d, parsed=%d, reused=%.1f%%",
+                notModifiedPages, unchangedPages, parsedPages, reuseRate() * 100);
+    }
+}
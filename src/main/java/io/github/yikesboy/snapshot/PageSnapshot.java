@@ -0,0 +1,29 @@
+package io.github.yikesboy.snapshot;
+
+import io.github.yikesboy.models.Heading;
+
+import java.net.URL;
+import java.util.List;
+
+/**
+ * What a crawl extracted from one page, together with what is needed to tell whether the page changed since.
+ * Empty strings stand for validators the server did not send.
+ *
+ * @param url          The requested URL of the page.
+ * @param etag         The {@code ETag} header of the response.
+ * @param lastModified The {@code Last-Modified} header of the response.
+ * @param contentHash  SHA-256 over the response URL, content type and body.
+ * @param headings     The extracted headings.
+ * @param links        The extracted outgoing links.
+ */
+public record PageSnapshot(URL url,
+                           String etag,
+                           String lastModified,
+                           byte[] contentHash,
+                           List<Heading> headings,
+                           List<URL> links) {
+    public PageSnapshot {
+        headings = List.copyOf(headings);
+        links = List.copyOf(links);
+    }
+}
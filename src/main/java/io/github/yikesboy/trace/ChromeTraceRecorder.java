@@ -0,0 +1,142 @@
+package io.github.yikesboy.trace;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the spans of a crawl and writes them as Chrome trace-event JSON when the crawl is finished, which
+ * loads in Perfetto and {@code chrome://tracing}. Every thread appends to its own buffer, so recording takes
+ * no lock and shares no state between workers. The buffers are only read after the crawl is finished, once
+ * every task has been joined.
+ */
+public class ChromeTraceRecorder implements CrawlTracer, CrawlListener {
+    private static final int PROCESS_ID = 1;
+    private static final String CATEGORY = "crawl";
+    private static final double NANOS_PER_MICROSECOND = 1_000.0;
+
+    private final Path file;
+    private final long originNanos;
+    private final AtomicInteger nextThreadId;
+    private final Queue<ThreadBuffer> buffers;
+    private final ThreadLocal<ThreadBuffer> threadBuffer;
+
+    public ChromeTraceRecorder(Path file) {
+        this.file = file;
+        this.originNanos = System.nanoTime();
+        this.nextThreadId = new AtomicInteger(1);
+        this.buffers = new ConcurrentLinkedQueue<>();
+        this.threadBuffer = ThreadLocal.withInitial(this::newBuffer);
+    }
+
+    @Override
+    public void span(String name, URL url, int depth, long startNanos, long endNanos) {
+        threadBuffer.get().spans.add(new Span(name, url, depth, startNanos, endNanos));
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        try {
+            write();
+            System.out.println("Crawl trace saved to: " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error writing crawl trace: " + e.getMessage());
+        }
+    }
+
+    public void write() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+    }
+
+    void write(Writer writer) throws IOException {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        for (ThreadBuffer buffer : buffers) {
+            first = separate(writer, first);
+            writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + PROCESS_ID + ",\"tid\":" + buffer.threadId
+                    + ",\"args\":{\"name\":" + quote(buffer.threadName) + "}}");
+            for (Span span : buffer.spans) {
+                first = separate(writer, first);
+                writeSpan(writer, buffer.threadId, span);
+            }
+        }
+        writer.write("\n]}\n");
+    }
+
+    private void writeSpan(Writer writer, int threadId, Span span) throws IOException {
+        writer.write("{\"name\":");
+        writer.write(quote(span.name()));
+        writer.write(",\"cat\":\"" + CATEGORY + "\",\"ph\":\"X\",\"ts\":");
+        writer.write(micros(span.startNanos() - originNanos));
+        writer.write(",\"dur\":");
+        writer.write(micros(span.endNanos() - span.startNanos()));
+        writer.write(",\"pid\":" + PROCESS_ID + ",\"tid\":" + threadId + ",\"args\":{\"url\":");
+        writer.write(quote(span.url().toString()));
+        writer.write(",\"host\":");
+        writer.write(quote(span.url().getHost()));
+        writer.write(",\"depth\":" + span.depth() + "}}");
+    }
+
+    private ThreadBuffer newBuffer() {
+        ThreadBuffer buffer = new ThreadBuffer(nextThreadId.getAndIncrement(), Thread.currentThread().getName());
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private static boolean separate(Writer writer, boolean first) throws IOException {
+        writer.write(first ? "\n" : ",\n");
+        return false;
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MICROSECOND);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private record Span(String name, URL url, int depth, long startNanos, long endNanos) {
+    }
+
+    private static final class ThreadBuffer {
+        private final int threadId;
+        private final String threadName;
+        private final List<Span> spans = new ArrayList<>();
+
+        private ThreadBuffer(int threadId, String threadName) {
+            this.threadId = threadId;
+            this.threadName = threadName;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.yikesboy.trace;
+
+import java.net.URL;
+
+/**
+ * Receives the timed phases of crawl tasks. Spans are reported by the thread they ran on, implementations are
+ * called concurrently from crawl worker threads and must not block.
+ */
+public interface CrawlTracer {
+    CrawlTracer NONE = new CrawlTracer() {
+    };
+
+    /**
+     * Records a phase of the crawl of a page that ran on the current thread.
+     *
+     * @param startNanos {@link System#nanoTime()} when the phase started
+     * @param endNanos   {@link System#nanoTime()} when the phase ended
+     */
+    default void span(String name, URL url, int depth, long startNanos, long endNanos) {
+    }
+}
@@ -1,23 +1,41 @@
 package io.github.yikesboy.util;
 
 import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlEngine;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.config.FetcherType;
+import io.github.yikesboy.config.VisitedSetType;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 
 public class ArgumentParser implements ArgumentParserInterface {
+    private static final int REQUIRED_ARGUMENT_COUNT = 3;
+    private static final String OPTION_PREFIX = "--";
+    private static final char OPTION_VALUE_SEPARATOR = '=';
+    private static final long BYTES_PER_KILOBYTE = 1024L;
+    private static final long BYTES_PER_MEGABYTE = BYTES_PER_KILOBYTE * 1024;
+
     public CrawlConfig parse(String[] args) {
         validateArgLength(args);
         URL url = parseUrl(args[0]);
         int depth = parseDepth(args[1]);
         Set<String> domains = parseDomains(args[2]);
+        CrawlOptions options = parseOptions(args);
+        if (options.getAllowedDomainsFile() != null) {
+            domains.addAll(readDomains(options.getAllowedDomainsFile()));
+        }
 
-        return new CrawlConfig(url, depth, domains);
+        return new CrawlConfig(url, depth, domains, options);
     }
 
     private void validateArgLength(String[] args) {
-        if (args.length < 3) {
+        if (args.length < REQUIRED_ARGUMENT_COUNT) {
             throw new IllegalArgumentException("Missing required arguments.");
         }
     }
@@ -53,4 +71,155 @@ public class ArgumentParser implements ArgumentParserInterface {
 
         return domains;
     }
+
+    private Set<String> readDomains(Path file) {
+        try {
+            return DomainMatcher.readDomains(file);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read allowed domains from " + file + ".");
+        }
+    }
+
+    private CrawlOptions parseOptions(String[] args) {
+        CrawlOptions.Builder builder = CrawlOptions.builder();
+
+        for (int i = REQUIRED_ARGUMENT_COUNT; i < args.length; i++) {
+            String argument = args[i];
+            if (argument != null && argument.startsWith(OPTION_PREFIX)) {
+                applyOption(builder, argument.substring(OPTION_PREFIX.length()));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private void applyOption(CrawlOptions.Builder builder, String option) {
+        int separatorIndex = option.indexOf(OPTION_VALUE_SEPARATOR);
+        String name = separatorIndex < 0 ? option : option.substring(0, separatorIndex);
+        String value = separatorIndex < 0 ? null : option.substring(separatorIndex + 1);
+
+        switch (name) {
+            case "engine" -> builder.engine(CrawlEngine.fromOptionValue(requireValue(name, value)));
+            case "max-in-flight" -> builder.maxInFlight(parsePositiveInt(name, value));
+            case "per-host" -> builder.maxRequestsPerHost(parsePositiveInt(name, value));
+            case "host-delay-ms" -> builder.minHostDelay(Duration.ofMillis(parseNonNegativeLong(name, value)));
+            case "fetcher" -> builder.fetcherType(FetcherType.fromOptionValue(requireValue(name, value)));
+            case "connect-timeout-ms" -> builder.connectTimeout(Duration.ofMillis(parsePositiveInt(name, value)));
+            case "read-timeout-ms" -> builder.readTimeout(Duration.ofMillis(parsePositiveInt(name, value)));
+            case "stream-report" -> builder.streamReport(parseFlag(name, value));
+            case "gzip-report" -> builder.gzipReport(parseFlag(name, value));
+            case "stream-parse" -> builder.streamParse(parseFlag(name, value));
+            case "visited" -> builder.visitedSetType(VisitedSetType.fromOptionValue(requireValue(name, value)));
+            case "visited-dir" -> builder.visitedDirectory(Paths.get(requireValue(name, value)));
+            case "visited-expected" -> builder.visitedExpectedUrls(parsePositiveLong(name, value));
+            case "visited-fpp" -> builder.visitedFalsePositiveRate(parseRate(name, value));
+            case "visited-memory-mb" -> builder.visitedMemoryBudgetBytes(parsePositiveLong(name, value) * BYTES_PER_MEGABYTE);
+            case "http-cache" -> builder.httpCacheDirectory(Paths.get(requireValue(name, value)));
+            case "http-cache-mb" -> builder.httpCacheMaxBytes(parsePositiveLong(name, value) * BYTES_PER_MEGABYTE);
+            case "snapshot" -> builder.snapshotFile(Paths.get(requireValue(name, value)));
+            case "checkpoint" -> builder.checkpointFile(Paths.get(requireValue(name, value)));
+            case "resume" -> builder.resume(parseFlag(name, value));
+            case "allowed-domains-file" -> builder.allowedDomainsFile(Paths.get(requireValue(name, value)));
+            case "metrics" -> builder.metricsDirectory(Paths.get(requireValue(name, value)));
+            case "metrics-interval-ms" -> builder.metricsInterval(Duration.ofMillis(parsePositiveInt(name, value)));
+            case "jfr" -> builder.jfrFile(Paths.get(requireValue(name, value)));
+            case "trace" -> builder.traceFile(Paths.get(requireValue(name, value)));
+            case "max-pages" -> builder.maxPages(parsePositiveLong(name, value));
+            case "max-download-mb" -> builder.maxBytes(parsePositiveLong(name, value) * BYTES_PER_MEGABYTE);
+            case "max-duration-ms" -> builder.maxDuration(Duration.ofMillis(parsePositiveLong(name, value)));
+            case "max-retries" -> builder.maxRetries(parseNonNegativeInt(name, value));
+            case "retry-backoff-ms" -> builder.retryBackoff(Duration.ofMillis(parsePositiveLong(name, value)));
+            case "circuit-failures" -> builder.circuitFailureThreshold(parsePositiveInt(name, value));
+            case "circuit-open-ms" -> builder.circuitOpenDuration(Duration.ofMillis(parsePositiveLong(name, value)));
+            case "max-page-kb" -> builder.maxPageBytes(parsePositiveLong(name, value) * BYTES_PER_KILOBYTE);
+            case "skip-extensions" -> builder.skippedExtensions(parseList(name, value));
+            case "robots" -> builder.respectRobots(parseFlag(name, value));
+            case "robots-ttl-ms" -> builder.robotsTtl(Duration.ofMillis(parsePositiveLong(name, value)));
+            default -> throw new IllegalArgumentException("Unknown option: " + OPTION_PREFIX + name);
+        }
+    }
+
+    private String requireValue(String name, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " requires a value.");
+        }
+        return value.trim();
+    }
+
+    private boolean parseFlag(String name, String value) {
+        if (value == null) {
+            return true;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be true or false.");
+        };
+    }
+
+    private int parsePositiveInt(String name, String value) {
+        try {
+            int number = Integer.parseInt(requireValue(name, value));
+            if (number < 1) {
+                throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be positive.");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be a valid integer.");
+        }
+    }
+
+    private Set<String> parseList(String name, String value) {
+        Set<String> values = new HashSet<>();
+        for (String item : requireValue(name, value).split(",")) {
+            if (!item.isBlank()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+
+    private int parseNonNegativeInt(String name, String value) {
+        try {
+            int number = Integer.parseInt(requireValue(name, value));
+            if (number < 0) {
+                throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " cannot be negative.");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be a valid integer.");
+        }
+    }
+
+    private long parsePositiveLong(String name, String value) {
+        long number = parseNonNegativeLong(name, value);
+        if (number < 1) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be positive.");
+        }
+        return number;
+    }
+
+    private double parseRate(String name, String value) {
+        try {
+            double rate = Double.parseDouble(requireValue(name, value));
+            if (!(rate > 0 && rate < 1)) {
+                throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be between 0 and 1.");
+            }
+            return rate;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be a valid number.");
+        }
+    }
+
+    private long parseNonNegativeLong(String name, String value) {
+        try {
+            long number = Long.parseLong(requireValue(name, value));
+            if (number < 0) {
+                throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " cannot be negative.");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Option " + OPTION_PREFIX + name + " must be a valid integer.");
+        }
+    }
 }
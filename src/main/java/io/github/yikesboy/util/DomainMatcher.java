@@ -0,0 +1,105 @@
+package io.github.yikesboy.util;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allowlist of domains compiled into a trie of their labels in reverse order, {@code docs.github.com} is
+ * stored as {@code com -> github -> docs}. A host is matched by walking its labels from the last one, so a
+ * lookup costs one map access per label of the host no matter how many domains are allowed. A host matches if
+ * it is an allowed domain or a subdomain of one, hosts and domains are compared case-insensitively.
+ * <p>
+ * Decisions are memoized per host, as most links of a crawl point to a few hosts. The memo stops growing once
+ * it holds {@link #MAX_MEMOIZED_HOSTS} hosts.
+ */
+public class DomainMatcher {
+    static final int MAX_MEMOIZED_HOSTS = 65_536;
+
+    private static final char COMMENT_PREFIX = '#';
+
+    private final LabelNode root;
+    private final Map<String, Boolean> decisions;
+
+    public DomainMatcher(Set<String> allowedDomains) {
+        this.root = new LabelNode();
+        this.decisions = new ConcurrentHashMap<>();
+        for (String domain : allowedDomains) {
+            add(domain.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Reads an allowlist with one domain per line. Blank lines and lines starting with {@code #} are skipped.
+     */
+    public static Set<String> readDomains(Path file) throws IOException {
+        Set<String> domains = new HashSet<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String domain = line.trim();
+            if (!domain.isEmpty() && domain.charAt(0) != COMMENT_PREFIX) {
+                domains.add(domain);
+            }
+        }
+        return domains;
+    }
+
+    public boolean matches(URL url) {
+        return matches(url.getHost());
+    }
+
+    public boolean matches(String host) {
+        Boolean decision = decisions.get(host);
+        if (decision == null) {
+            decision = lookup(host.toLowerCase(Locale.ROOT));
+            if (decisions.size() < MAX_MEMOIZED_HOSTS) {
+                decisions.put(host, decision);
+            }
+        }
+        return decision;
+    }
+
+    private void add(String domain) {
+        if (domain.isEmpty()) {
+            return;
+        }
+
+        LabelNode node = root;
+        int end = domain.length();
+        while (end > 0) {
+            int dot = domain.lastIndexOf('.', end - 1);
+            node = node.children.computeIfAbsent(domain.substring(dot + 1, end), label -> new LabelNode());
+            end = dot;
+        }
+        node.allowed = true;
+    }
+
+    private boolean lookup(String host) {
+        LabelNode node = root;
+        int end = host.length();
+        while (end > 0) {
+            int dot = host.lastIndexOf('.', end - 1);
+            node = node.children.get(host.substring(dot + 1, end));
+            if (node == null) {
+                return false;
+            }
+            if (node.allowed) {
+                return true;
+            }
+            end = dot;
+        }
+        return false;
+    }
+
+    private static final class LabelNode {
+        private final Map<String, LabelNode> children = new HashMap<>();
+        private boolean allowed;
+    }
+}
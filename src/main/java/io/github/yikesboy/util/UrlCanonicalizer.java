@@ -0,0 +1,230 @@
+package io.github.yikesboy.util;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns URLs into a canonical string, so that URLs pointing to the same page are crawled only once.
+ * <p>
+ * Applies the syntax-based normalization of RFC 3986: the host is lowercased, default ports, fragments and
+ * {@code .} and {@code ..} path segments are removed, percent-encoded unreserved characters are decoded and the
+ * remaining percent-encodings are uppercased. Paths keep their case. On top of that a trailing slash is removed,
+ * query parameters with one of the stripped names are dropped and the remaining ones can be sorted.
+ * <p>
+ * Each component is copied into a single builder in one pass, dot segments are removed while copying.
+ * Parameters that have to be reordered are the only part that is copied again.
+ */
+public class UrlCanonicalizer {
+    public static final Set<String> TRACKING_PARAMETERS = Set.of(
+            "utm_source", "utm_medium", "utm_campaign", "utm_term", "utm_content", "gclid", "fbclid", "msclkid");
+
+    private static final UrlCanonicalizer DEFAULT = new UrlCanonicalizer(TRACKING_PARAMETERS, true);
+    private static final String HEX_DIGITS = "0123456789ABCDEF";
+
+    private final Set<String> strippedParameters;
+    private final boolean sortQuery;
+
+    public UrlCanonicalizer(Set<String> strippedParameters, boolean sortQuery) {
+        this.strippedParameters = Set.copyOf(strippedParameters);
+        this.sortQuery = sortQuery;
+    }
+
+    /**
+     * @return a canonicalizer that strips the {@link #TRACKING_PARAMETERS} and sorts queries
+     */
+    public static UrlCanonicalizer defaults() {
+        return DEFAULT;
+    }
+
+    public String canonicalize(URL url) {
+        String path = url.getPath();
+        String query = url.getQuery();
+        StringBuilder canonical = new StringBuilder(url.getProtocol().length() + url.getHost().length()
+                + path.length() + (query == null ? 0 : query.length()) + 16);
+
+        canonical.append(url.getProtocol().toLowerCase(Locale.ROOT)).append("://");
+        if (url.getUserInfo() != null) {
+            canonical.append(url.getUserInfo()).append('@');
+        }
+        canonical.append(url.getHost().toLowerCase(Locale.ROOT));
+        if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+            canonical.append(':').append(url.getPort());
+        }
+
+        appendPath(canonical, path);
+        if (canonical.charAt(canonical.length() - 1) == '/') {
+            canonical.setLength(canonical.length() - 1);
+        }
+        if (query != null && !query.isEmpty()) {
+            appendQuery(canonical, query);
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Copies the path segment by segment. A {@code .} segment is dropped again right after it is copied, a
+     * {@code ..} segment also drops the segment before it, as in the remove_dot_segments algorithm of RFC 3986.
+     */
+    private static void appendPath(StringBuilder canonical, String path) {
+        int pathStart = canonical.length();
+        int[] segmentStarts = new int[8];
+        int segmentCount = 0;
+        int position = path.startsWith("/") ? 1 : 0;
+
+        while (position <= path.length()) {
+            int end = path.indexOf('/', position);
+            if (end < 0) {
+                end = path.length();
+            }
+            boolean lastSegment = end == path.length();
+
+            int segmentStart = canonical.length();
+            canonical.append('/');
+            appendPercentNormalized(canonical, path, position, end);
+            int segmentLength = canonical.length() - segmentStart - 1;
+
+            if (isDotSegment(canonical, segmentStart + 1, segmentLength, 1)) {
+                canonical.setLength(segmentStart);
+                if (lastSegment) {
+                    canonical.append('/');
+                }
+            } else if (isDotSegment(canonical, segmentStart + 1, segmentLength, 2)) {
+                canonical.setLength(segmentCount > 0 ? segmentStarts[--segmentCount] : segmentStart);
+                if (lastSegment) {
+                    canonical.append('/');
+                }
+            } else {
+                if (segmentCount == segmentStarts.length) {
+                    segmentStarts = Arrays.copyOf(segmentStarts, segmentCount * 2);
+                }
+                segmentStarts[segmentCount++] = segmentStart;
+            }
+            position = end + 1;
+        }
+
+        if (canonical.length() == pathStart) {
+            canonical.append('/');
+        }
+    }
+
+    /**
+     * Parameters are normalized straight into the builder. They are only copied out and sorted if they are not
+     * in order already.
+     */
+    private void appendQuery(StringBuilder canonical, String query) {
+        int queryStart = canonical.length();
+        boolean sorted = true;
+        int previousStart = -1;
+        int position = 0;
+        while (position <= query.length()) {
+            int end = query.indexOf('&', position);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (end > position && !isStripped(query, position, end)) {
+                canonical.append(canonical.length() == queryStart ? '?' : '&');
+                int parameterStart = canonical.length();
+                appendPercentNormalized(canonical, query, position, end);
+                if (previousStart >= 0 && compare(canonical, previousStart, parameterStart - 1,
+                        parameterStart, canonical.length()) > 0) {
+                    sorted = false;
+                }
+                previousStart = parameterStart;
+            }
+            position = end + 1;
+        }
+
+        if (sortQuery && !sorted) {
+            List<String> parameters = new ArrayList<>(List.of(canonical.substring(queryStart + 1).split("&")));
+            Collections.sort(parameters);
+            canonical.setLength(queryStart + 1);
+            canonical.append(String.join("&", parameters));
+        }
+    }
+
+    private boolean isStripped(String query, int start, int end) {
+        int nameEnd = query.indexOf('=', start);
+        if (nameEnd < 0 || nameEnd > end) {
+            nameEnd = end;
+        }
+        for (String parameter : strippedParameters) {
+            if (parameter.length() == nameEnd - start && query.startsWith(parameter, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compare(CharSequence text, int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        int length = Math.min(firstEnd - firstStart, secondEnd - secondStart);
+        for (int i = 0; i < length; i++) {
+            int difference = text.charAt(firstStart + i) - text.charAt(secondStart + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (firstEnd - firstStart) - (secondEnd - secondStart);
+    }
+
+    /**
+     * Copies the characters between percent-encodings in bulk, only the encodings themselves are rewritten.
+     */
+    private static void appendPercentNormalized(StringBuilder target, String source, int start, int end) {
+        int position = start;
+        int percent = source.indexOf('%', position);
+        while (percent >= 0 && percent < end) {
+            target.append(source, position, percent);
+            int high = percent + 2 < end ? hexValue(source.charAt(percent + 1)) : -1;
+            int low = percent + 2 < end ? hexValue(source.charAt(percent + 2)) : -1;
+            if (high < 0 || low < 0) {
+                target.append('%');
+                position = percent + 1;
+            } else {
+                char decoded = (char) (high << 4 | low);
+                if (isUnreserved(decoded)) {
+                    target.append(decoded);
+                } else {
+                    target.append('%').append(HEX_DIGITS.charAt(high)).append(HEX_DIGITS.charAt(low));
+                }
+                position = percent + 3;
+            }
+            percent = source.indexOf('%', position);
+        }
+        target.append(source, position, end);
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isDotSegment(CharSequence canonical, int start, int length, int dots) {
+        if (length != dots) {
+            return false;
+        }
+        for (int i = start; i < start + length; i++) {
+            if (canonical.charAt(i) != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -23,13 +23,10 @@ public class UrlUtil {
         return false;
     }
 
+    /**
+     * @return the canonical form of the URL by the {@link UrlCanonicalizer#defaults() default rules}
+     */
     public static String normalizeUrl(URL url) {
-        String urlStr = url.toString();
-
-        if (urlStr.endsWith("/")) {
-            urlStr = urlStr.substring(0, urlStr.length() - 1);
-        }
-
-        return urlStr.toLowerCase();
+        return UrlCanonicalizer.defaults().canonicalize(url);
     }
 }
@@ -0,0 +1,79 @@
+package io.github.yikesboy.visited;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter over 64-bit fingerprints. The probe positions are derived from the fingerprint with double
+ * hashing, so no additional hash function is evaluated. Not thread-safe, callers have to synchronize.
+ */
+public class BloomFilter {
+    private static final double LN2 = Math.log(2);
+    private static final long MAX_BITS = (long) Integer.MAX_VALUE * Long.SIZE;
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this.bitCount = bitsFor(expectedInsertions, falsePositiveRate);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+        this.words = new long[(int) ((bitCount + Long.SIZE - 1) / Long.SIZE)];
+    }
+
+    /**
+     * @return the number of bits a filter with the given parameters allocates
+     */
+    public static long bitsFor(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be at least 1.");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        return Math.min(Math.max(bits, Long.SIZE), MAX_BITS);
+    }
+
+    public void put(long fingerprint) {
+        long hash = fingerprint;
+        long step = stepFor(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+            hash += step;
+        }
+    }
+
+    public boolean mightContain(long fingerprint) {
+        long hash = fingerprint;
+        long step = stepFor(fingerprint);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            hash += step;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getSizeBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    private static long stepFor(long fingerprint) {
+        return Long.rotateLeft(fingerprint, 32) | 1L;
+    }
+}
@@ -0,0 +1,438 @@
+package io.github.yikesboy.visited;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Visited set for crawls whose visited URLs do not fit into the heap.
+ * <p>
+ * Fingerprints of new URLs are added to a Bloom filter and to an in-memory tier. Once the in-memory tier
+ * reaches its share of the memory budget it is swapped for an empty one and written to a sorted segment file
+ * by a background spill thread, the segment is then memory-mapped for lookups. When there are too many
+ * segments the smallest adjacent ones that fit into one segment are merged, so the number of segments stays
+ * bounded by the number of fingerprints.
+ * <p>
+ * A lookup first asks the Bloom filter. A negative answer means the URL was never seen and neither the
+ * in-memory tiers nor the disk are touched, only positives are checked against the in-memory tiers and the
+ * segments. The lock of the set only guards the Bloom filter and the in-memory tiers, segment files are
+ * written, merged and searched outside of it. Claims only wait for the disk when a full tier is still being
+ * written while the next one fills up.
+ */
+public class DiskSpillingVisitedUrlSet implements VisitedUrlSetInterface, AutoCloseable {
+    private static final int MAX_SEGMENTS = 8;
+    private static final int MIN_HOT_TIER_SLOTS = 16;
+    private static final int TIER_COUNT = 2;
+    private static final long SPILL_THREAD_KEEP_ALIVE_SECONDS = 1;
+    private static final String SPILL_THREAD_NAME = "visited-spill";
+    private static final String SEGMENT_FILE_PREFIX = "visited-";
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+
+    private final DiskVisitedUrlSetConfig config;
+    private final long maxSegmentFingerprints;
+    private final BloomFilter filter;
+    private final int hotTierCapacity;
+    private final List<FingerprintSegment> segments;
+    private final ReadWriteLock segmentsLock;
+    private final ExecutorService spillExecutor;
+    private final AtomicLong nextSegmentId;
+    private final LongAdder lookups;
+    private final LongAdder filterNegatives;
+    private final LongAdder hotTierHits;
+    private final LongAdder diskProbes;
+    private final LongAdder diskHits;
+    private final LongAdder falsePositives;
+
+    private FingerprintTable hotTier;
+    private FingerprintTable spillingTier;
+    private boolean spilling;
+    private long spilledTiers;
+    private RuntimeException spillFailure;
+    private long size;
+    private volatile Path directory;
+
+    public DiskSpillingVisitedUrlSet() {
+        this(DiskVisitedUrlSetConfig.defaults());
+    }
+
+    public DiskSpillingVisitedUrlSet(DiskVisitedUrlSetConfig config) {
+        this(config, FingerprintSegment.MAX_FINGERPRINTS);
+    }
+
+    /**
+     * The memory budget left by the Bloom filter is shared by the tier that fills up and the one being written.
+     */
+    DiskSpillingVisitedUrlSet(DiskVisitedUrlSetConfig config, long maxSegmentFingerprints) {
+        long filterBytes = BloomFilter.bitsFor(config.expectedUrls(), config.falsePositiveRate()) / Byte.SIZE;
+        long tierBytes = (config.memoryBudgetBytes() - filterBytes) / TIER_COUNT;
+        long hotTierSlots = Long.highestOneBit(Math.max(1, tierBytes / Long.BYTES));
+        if (filterBytes >= config.memoryBudgetBytes() || hotTierSlots < MIN_HOT_TIER_SLOTS) {
+            throw new IllegalArgumentException("Memory budget of " + config.memoryBudgetBytes()
+                    + " bytes is too small for a Bloom filter of " + filterBytes + " bytes.");
+        }
+
+        this.config = config;
+        this.maxSegmentFingerprints = maxSegmentFingerprints;
+        this.filter = new BloomFilter(config.expectedUrls(), config.falsePositiveRate());
+        this.hotTierCapacity = (int) Math.min(hotTierSlots / 4 * 3, maxSegmentFingerprints);
+        this.hotTier = new FingerprintTable(MIN_HOT_TIER_SLOTS);
+        this.segments = new ArrayList<>();
+        this.segmentsLock = new ReentrantReadWriteLock();
+        this.spillExecutor = createSpillExecutor();
+        this.nextSegmentId = new AtomicLong();
+        this.lookups = new LongAdder();
+        this.filterNegatives = new LongAdder();
+        this.hotTierHits = new LongAdder();
+        this.diskProbes = new LongAdder();
+        this.diskHits = new LongAdder();
+        this.falsePositives = new LongAdder();
+    }
+
+    /**
+     * A URL the Bloom filter may have seen is searched on disk outside the lock. If a tier was spilled in the
+     * meantime, the URL may have moved from memory to disk unnoticed, so the disk is searched again.
+     */
+    @Override
+    public boolean claim(String normalizedUrl) {
+        long fingerprint = UrlFingerprint.of(normalizedUrl);
+        lookups.increment();
+        long seenSpilledTiers;
+        synchronized (this) {
+            throwSpillFailure();
+            if (!filter.mightContain(fingerprint)) {
+                filterNegatives.increment();
+                add(fingerprint);
+                return true;
+            }
+            if (isInMemory(fingerprint)) {
+                return false;
+            }
+            seenSpilledTiers = spilledTiers;
+        }
+
+        while (true) {
+            if (isOnDisk(fingerprint)) {
+                return false;
+            }
+            synchronized (this) {
+                if (isInMemory(fingerprint)) {
+                    return false;
+                }
+                if (seenSpilledTiers == spilledTiers) {
+                    falsePositives.increment();
+                    add(fingerprint);
+                    return true;
+                }
+                seenSpilledTiers = spilledTiers;
+            }
+        }
+    }
+
+    /**
+     * A tier is published as a segment before it is dropped from memory, so a fingerprint missed in memory
+     * is found on disk.
+     */
+    @Override
+    public boolean contains(String normalizedUrl) {
+        long fingerprint = UrlFingerprint.of(normalizedUrl);
+        lookups.increment();
+        synchronized (this) {
+            if (!filter.mightContain(fingerprint)) {
+                filterNegatives.increment();
+                return false;
+            }
+            if (isInMemory(fingerprint)) {
+                return true;
+            }
+        }
+        if (isOnDisk(fingerprint)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        awaitSpill();
+        filter.clear();
+        hotTier.clear();
+        spillingTier = null;
+        spillFailure = null;
+        spilledTiers++;
+        closeSegments();
+        size = 0;
+        lookups.reset();
+        filterNegatives.reset();
+        hotTierHits.reset();
+        diskProbes.reset();
+        diskHits.reset();
+        falsePositives.reset();
+    }
+
+    /**
+     * Deletes all segment files, including those left behind by a failed write or merge, and the temporary
+     * directory. The set stays usable and is empty afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            clear();
+        } finally {
+            deleteSegmentFiles();
+        }
+    }
+
+    public VisitedSetStats getStats() {
+        int segmentCount;
+        segmentsLock.readLock().lock();
+        try {
+            segmentCount = segments.size();
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+        return new VisitedSetStats(lookups.sum(), filterNegatives.sum(), hotTierHits.sum(), diskProbes.sum(),
+                diskHits.sum(), falsePositives.sum(), segmentCount);
+    }
+
+    /**
+     * Waits until the tier being written and any merge it started are done.
+     */
+    synchronized void awaitSpill() {
+        boolean interrupted = false;
+        while (spilling) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isInMemory(long fingerprint) {
+        if (hotTier.contains(fingerprint) || spillingTier != null && spillingTier.contains(fingerprint)) {
+            hotTierHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isOnDisk(long fingerprint) {
+        segmentsLock.readLock().lock();
+        try {
+            for (FingerprintSegment segment : segments) {
+                diskProbes.increment();
+                if (segment.contains(fingerprint)) {
+                    diskHits.increment();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    private void add(long fingerprint) {
+        filter.put(fingerprint);
+        hotTier.add(fingerprint);
+        size++;
+        while (hotTier.size() >= hotTierCapacity) {
+            if (spillingTier == null) {
+                startSpill();
+                return;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            throwSpillFailure();
+        }
+    }
+
+    private void startSpill() {
+        FingerprintTable tier = hotTier;
+        spillingTier = tier;
+        spilling = true;
+        hotTier = new FingerprintTable(MIN_HOT_TIER_SLOTS);
+        spillExecutor.execute(() -> spill(tier));
+    }
+
+    private void spill(FingerprintTable tier) {
+        try {
+            FingerprintSegment segment = FingerprintSegment.write(nextSegmentFile(), tier.toSortedArray());
+            segmentsLock.writeLock().lock();
+            try {
+                segments.add(segment);
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+            synchronized (this) {
+                spillingTier = null;
+                spilledTiers++;
+                notifyAll();
+            }
+            compactSegments();
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                spillFailure = e instanceof IOException ioException
+                        ? new UncheckedIOException("Could not write visited URLs to disk", ioException)
+                        : (RuntimeException) e;
+            }
+        } finally {
+            synchronized (this) {
+                spilling = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Merges the smallest two adjacent segments that fit into one segment until there are at most
+     * {@value #MAX_SEGMENTS}. Segments too large to be merged any further stay as they are.
+     */
+    private void compactSegments() throws IOException {
+        while (true) {
+            List<FingerprintSegment> run = smallestMergeableRun();
+            if (run.isEmpty()) {
+                return;
+            }
+
+            FingerprintSegment merged = FingerprintSegment.merge(nextSegmentFile(), run);
+            segmentsLock.writeLock().lock();
+            try {
+                int index = segments.indexOf(run.get(0));
+                segments.subList(index, index + run.size()).clear();
+                segments.add(index, merged);
+                for (FingerprintSegment segment : run) {
+                    segment.close();
+                }
+            } finally {
+                segmentsLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private List<FingerprintSegment> smallestMergeableRun() {
+        segmentsLock.readLock().lock();
+        try {
+            if (segments.size() <= MAX_SEGMENTS) {
+                return List.of();
+            }
+            int best = -1;
+            long bestSize = Long.MAX_VALUE;
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                long mergedSize = segments.get(i).size() + segments.get(i + 1).size();
+                if (mergedSize <= maxSegmentFingerprints && mergedSize < bestSize) {
+                    best = i;
+                    bestSize = mergedSize;
+                }
+            }
+            return best < 0 ? List.of() : List.copyOf(segments.subList(best, best + 2));
+        } finally {
+            segmentsLock.readLock().unlock();
+        }
+    }
+
+    private void throwSpillFailure() {
+        if (spillFailure != null) {
+            throw spillFailure;
+        }
+    }
+
+    private Path nextSegmentFile() throws IOException {
+        if (directory == null) {
+            synchronized (this) {
+                if (directory == null && config.directory() != null) {
+                    directory = Files.createDirectories(config.directory());
+                } else if (directory == null) {
+                    directory = Files.createTempDirectory(SEGMENT_FILE_PREFIX);
+                    directory.toFile().deleteOnExit();
+                }
+            }
+        }
+        return directory.resolve(SEGMENT_FILE_PREFIX + nextSegmentId.getAndIncrement() + SEGMENT_FILE_SUFFIX);
+    }
+
+    private void closeSegments() {
+        segmentsLock.writeLock().lock();
+        try {
+            for (FingerprintSegment segment : segments) {
+                segment.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            segments.clear();
+            segmentsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tries to delete every segment file before the first failure is thrown, a configured directory is kept.
+     */
+    private void deleteSegmentFiles() {
+        Path segmentDirectory = directory;
+        if (segmentDirectory == null) {
+            return;
+        }
+
+        IOException failure = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(segmentDirectory,
+                SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+        } catch (IOException e) {
+            failure = failure == null ? e : failure;
+        }
+        if (failure == null && config.directory() == null) {
+            try {
+                Files.deleteIfExists(segmentDirectory);
+                directory = null;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Could not delete visited URL segments in " + segmentDirectory, failure);
+        }
+    }
+
+    private static ExecutorService createSpillExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, SPILL_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, SPILL_THREAD_NAME);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.yikesboy.visited;
+
+import io.github.yikesboy.config.CrawlOptions;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of a {@link DiskSpillingVisitedUrlSet}.
+ *
+ * @param directory         directory of the segment files, {@code null} for a temporary directory
+ * @param expectedUrls      number of URLs the Bloom filter is sized for, beyond it the false positive rate rises
+ * @param falsePositiveRate false positive rate of the Bloom filter at {@code expectedUrls}
+ * @param memoryBudgetBytes heap used by the Bloom filter and the in-memory tier together
+ */
+public record DiskVisitedUrlSetConfig(Path directory,
+                                      long expectedUrls,
+                                      double falsePositiveRate,
+                                      long memoryBudgetBytes) {
+    public DiskVisitedUrlSetConfig {
+        if (expectedUrls < 1) {
+            throw new IllegalArgumentException("Expected URL count must be at least 1.");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+        }
+        if (memoryBudgetBytes < 1) {
+            throw new IllegalArgumentException("Memory budget must be positive.");
+        }
+    }
+
+    public static DiskVisitedUrlSetConfig defaults() {
+        return new DiskVisitedUrlSetConfig(null, CrawlOptions.DEFAULT_VISITED_EXPECTED_URLS,
+                CrawlOptions.DEFAULT_VISITED_FALSE_POSITIVE_RATE, CrawlOptions.DEFAULT_VISITED_MEMORY_BUDGET_BYTES);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.yikesboy.visited;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Immutable file of sorted fingerprints that is memory-mapped for lookups. A lookup is a binary search
+ * over the mapping, the pages it touches are loaded by the operating system on demand.
+ */
+class FingerprintSegment implements AutoCloseable {
+    static final long MAX_FINGERPRINTS = Integer.MAX_VALUE / Long.BYTES;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long size;
+    private LongBuffer fingerprints;
+
+    private FingerprintSegment(Path file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.fingerprints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asLongBuffer();
+        }
+        this.size = fingerprints.limit();
+    }
+
+    static FingerprintSegment write(Path file, long[] sortedFingerprints) throws IOException {
+        try (DataOutputStream output = open(file)) {
+            for (long fingerprint : sortedFingerprints) {
+                output.writeLong(fingerprint);
+            }
+        } catch (IOException e) {
+            throw deleteAfterFailure(file, e);
+        }
+        return new FingerprintSegment(file);
+    }
+
+    /**
+     * Writes the union of the given segments into a new segment. The source segments are left untouched.
+     */
+    static FingerprintSegment merge(Path file, List<FingerprintSegment> segments) throws IOException {
+        long[] positions = new long[segments.size()];
+        try (DataOutputStream output = open(file)) {
+            long previous = FingerprintTable.EMPTY;
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < segments.size(); i++) {
+                    FingerprintSegment segment = segments.get(i);
+                    if (positions[i] < segment.size
+                            && (next < 0 || segment.get(positions[i]) < segments.get(next).get(positions[next]))) {
+                        next = i;
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+                long fingerprint = segments.get(next).get(positions[next]++);
+                if (fingerprint != previous) {
+                    output.writeLong(fingerprint);
+                    previous = fingerprint;
+                }
+            }
+        } catch (IOException e) {
+            throw deleteAfterFailure(file, e);
+        }
+        return new FingerprintSegment(file);
+    }
+
+    boolean contains(long fingerprint) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long stored = get(middle);
+            if (stored < fingerprint) {
+                low = middle + 1;
+            } else if (stored > fingerprint) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Drops the mapping and deletes the file. The mapping itself is released once it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        fingerprints = null;
+        Files.deleteIfExists(file);
+    }
+
+    private long get(long index) {
+        return fingerprints.get((int) index);
+    }
+
+    /**
+     * Removes the partially written file of a failed write, so no segment file is left behind.
+     */
+    private static IOException deleteAfterFailure(Path file, IOException failure) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        file.toFile().deleteOnExit();
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE));
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.yikesboy.visited;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed hash table of non-zero 64-bit fingerprints with linear probing. It grows once it is three
+ * quarters full. Not thread-safe, callers have to synchronize.
+ */
+class FingerprintTable {
+    static final long EMPTY = 0L;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int initialCapacity;
+    private long[] table;
+    private int size;
+
+    FingerprintTable(int expectedEntries) {
+        this.initialCapacity = capacityFor(expectedEntries);
+        this.table = new long[initialCapacity];
+    }
+
+    boolean add(long fingerprint) {
+        if (!insert(table, fingerprint)) {
+            return false;
+        }
+        size++;
+        if (size > table.length / 4 * 3) {
+            resize();
+        }
+        return true;
+    }
+
+    boolean contains(long fingerprint) {
+        int mask = table.length - 1;
+        for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+            long stored = table[slot];
+            if (stored == fingerprint) {
+                return true;
+            }
+            if (stored == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    void clear() {
+        table = new long[initialCapacity];
+        size = 0;
+    }
+
+    long[] toSortedArray() {
+        long[] fingerprints = new long[size];
+        int index = 0;
+        for (long fingerprint : table) {
+            if (fingerprint != EMPTY) {
+                fingerprints[index++] = fingerprint;
+            }
+        }
+        Arrays.sort(fingerprints);
+        return fingerprints;
+    }
+
+    static int capacityFor(int entries) {
+        long required = (long) entries * 4 / 3 + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < required && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void resize() {
+        if (table.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Fingerprint table is full.");
+        }
+        long[] resized = new long[table.length << 1];
+        for (long fingerprint : table) {
+            if (fingerprint != EMPTY) {
+                insert(resized, fingerprint);
+            }
+        }
+        table = resized;
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        for (int slot = (int) fingerprint & mask; ; slot = (slot + 1) & mask) {
+            long stored = table[slot];
+            if (stored == fingerprint) {
+                return false;
+            }
+            if (stored == EMPTY) {
+                table[slot] = fingerprint;
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.yikesboy.visited;
+
+/**
+ * Visited set that stores a 64-bit {@link UrlFingerprint} per URL instead of the URL itself.
+ * <p>
+ * The fingerprints are kept in open-addressed {@code long[]} tables with linear probing. The table is split
+ * into stripes with their own lock, so concurrent claims of different URLs rarely contend. A table grows once
+ * it is three quarters full, which keeps the memory per URL between 10 and 22 bytes.
+ * <p>
+ * Two different URLs with the same fingerprint are treated as the same URL, the second one is not crawled.
+ */
+public class FingerprintVisitedUrlSet implements VisitedUrlSetInterface {
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+    private static final int DEFAULT_EXPECTED_URLS = 1 << 16;
+
+    private final Stripe[] stripes;
+
+    public FingerprintVisitedUrlSet() {
+        this(DEFAULT_EXPECTED_URLS);
+    }
+
+    public FingerprintVisitedUrlSet(int expectedUrls) {
+        if (expectedUrls < 0) {
+            throw new IllegalArgumentException("Expected URL count cannot be negative.");
+        }
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(expectedUrls / STRIPE_COUNT + 1);
+        }
+    }
+
+    @Override
+    public boolean claim(String normalizedUrl) {
+        long fingerprint = UrlFingerprint.of(normalizedUrl);
+        return stripeFor(fingerprint).add(fingerprint);
+    }
+
+    @Override
+    public boolean contains(String normalizedUrl) {
+        long fingerprint = UrlFingerprint.of(normalizedUrl);
+        return stripeFor(fingerprint).contains(fingerprint);
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * @return the bytes held by the fingerprint tables
+     */
+    public long getTableBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            bytes += stripe.capacity() * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private Stripe stripeFor(long fingerprint) {
+        return stripes[(int) (fingerprint >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    private static final class Stripe {
+        private final FingerprintTable table;
+
+        private Stripe(int expectedEntries) {
+            this.table = new FingerprintTable(expectedEntries);
+        }
+
+        private synchronized boolean add(long fingerprint) {
+            return table.add(fingerprint);
+        }
+
+        private synchronized boolean contains(long fingerprint) {
+            return table.contains(fingerprint);
+        }
+
+        private synchronized int size() {
+            return table.size();
+        }
+
+        private synchronized int capacity() {
+            return table.capacity();
+        }
+
+        private synchronized void clear() {
+            table.clear();
+        }
+    }
+}
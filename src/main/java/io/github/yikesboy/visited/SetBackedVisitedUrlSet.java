@@ -0,0 +1,41 @@
+package io.github.yikesboy.visited;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Visited set that keeps the full URL strings in a {@link Set}. It is exact but needs an entry and the
+ * string of every visited URL.
+ */
+public class SetBackedVisitedUrlSet implements VisitedUrlSetInterface {
+    private final Set<String> urls;
+
+    public SetBackedVisitedUrlSet() {
+        this(Collections.newSetFromMap(new ConcurrentHashMap<>()));
+    }
+
+    public SetBackedVisitedUrlSet(Set<String> urls) {
+        this.urls = urls;
+    }
+
+    @Override
+    public boolean claim(String normalizedUrl) {
+        return urls.add(normalizedUrl);
+    }
+
+    @Override
+    public boolean contains(String normalizedUrl) {
+        return urls.contains(normalizedUrl);
+    }
+
+    @Override
+    public long size() {
+        return urls.size();
+    }
+
+    @Override
+    public void clear() {
+        urls.clear();
+    }
+}
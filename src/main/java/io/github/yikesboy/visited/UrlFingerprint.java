@@ -0,0 +1,35 @@
+package io.github.yikesboy.visited;
+
+/**
+ * 64-bit fingerprints of normalized URLs. The chars are hashed with FNV-1a and the result is passed through
+ * the MurmurHash3 finalizer so every bit of the fingerprint depends on every char.
+ * With 10 million URLs the probability of any collision is about 3 in a million.
+ * <p>
+ * Fingerprints are never 0, so 0 can mark empty slots in fingerprint tables.
+ */
+public class UrlFingerprint {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long ZERO_REPLACEMENT = 0x9e3779b97f4a7c15L;
+
+    private UrlFingerprint() {
+    }
+
+    public static long of(CharSequence normalizedUrl) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalizedUrl.length(); i++) {
+            hash = (hash ^ normalizedUrl.charAt(i)) * FNV_PRIME;
+        }
+        long fingerprint = mix(hash);
+        return fingerprint == 0 ? ZERO_REPLACEMENT : fingerprint;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.yikesboy.visited;
+
+/**
+ * Counters of a {@link DiskSpillingVisitedUrlSet}.
+ *
+ * @param lookups         claims and contains checks
+ * @param filterNegatives lookups answered by the Bloom filter alone
+ * @param hotTierHits     lookups found in the in-memory tier
+ * @param diskProbes      binary searches over segment files
+ * @param diskHits        lookups found in a segment file
+ * @param falsePositives  lookups the Bloom filter passed but that were not found anywhere
+ * @param segmentCount    current number of segment files
+ */
+public record VisitedSetStats(long lookups,
+                              long filterNegatives,
+                              long hotTierHits,
+                              long diskProbes,
+                              long diskHits,
+                              long falsePositives,
+                              int segmentCount) {
+    /**
+     * @return share of lookups that did not need the in-memory tier or the disk
+     */
+    public double filterHitRate() {
+        return lookups == 0 ? 0 : (double) filterNegatives / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lookups=%d, filter hit rate=%.1f%%, hot tier hits=%d, disk probes=%d, disk hits=%d, "
+                        + "false positives=%d, segments=%d",
+                lookups, filterHitRate() * 100, hotTierHits, diskProbes, diskHits, falsePositives, segmentCount);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.yikesboy.visited;
+
+import io.github.yikesboy.crawler.CrawlListener;
+import io.github.yikesboy.models.CrawlResult;
+
+/**
+ * Prints the {@link VisitedSetStats} of a {@link DiskSpillingVisitedUrlSet} once a crawl is finished and
+ * deletes its segment files.
+ */
+public class VisitedSetStatsReporter implements CrawlListener {
+    private final DiskSpillingVisitedUrlSet visitedUrls;
+
+    public VisitedSetStatsReporter(DiskSpillingVisitedUrlSet visitedUrls) {
+        this.visitedUrls = visitedUrls;
+    }
+
+    @Override
+    public void onCrawlFinished(CrawlResult result) {
+        System.out.println("Visited set: " + visitedUrls.getStats());
+        visitedUrls.close();
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.yikesboy.visited;
+
+/**
+ * Set of the normalized URLs a crawl has already claimed. Implementations have to be thread-safe.
+ */
+public interface VisitedUrlSetInterface {
+    /**
+     * Atomically marks the URL as visited.
+     *
+     * @return {@code true} if the caller claimed the URL and has to crawl it,
+     * {@code false} if it was claimed before
+     */
+    boolean claim(String normalizedUrl);
+
+    boolean contains(String normalizedUrl);
+
+    long size();
+
+    void clear();
+}
@@ -0,0 +1,188 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrawlCheckpoint Tests")
+public class CrawlCheckpointTest {
+    private static final Duration SYNC_INTERVAL = Duration.ofMillis(10);
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private URL rootUrl;
+    private URL childUrl;
+    private CrawlConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("checkpoint.bin");
+        rootUrl = new URL("https://github.com");
+        childUrl = new URL("https://github.com/child");
+        config = new CrawlConfig(rootUrl, 2, Set.of("github.com"));
+    }
+
+    @Test
+    @DisplayName("Should restore pages written before the crawl was interrupted")
+    void shouldRestorePagesWrittenBeforeInterruption() throws Exception {
+        CheckpointWriter writer = new CheckpointWriter(file, CrawlCheckpoint.empty(), SYNC_INTERVAL);
+        writer.onCrawlStarted(config);
+        writer.onPageParsed(new WebPage(rootUrl, List.of(new Heading(1, "Root")), 0, List.of(childUrl)));
+        writer.onPageParsed(new WebPage(childUrl, 1, true));
+
+        CrawlCheckpoint checkpoint = awaitCheckpoint(2);
+
+        assertEquals(rootUrl.toExternalForm(), checkpoint.getRootUrl().toExternalForm());
+        WebPage restoredRoot = checkpoint.restore(rootUrl, 0).orElseThrow();
+        assertEquals(List.of(new Heading(1, "Root")), restoredRoot.getHeadings());
+        assertEquals(List.of(childUrl), restoredRoot.getLinks());
+        assertTrue(checkpoint.restore(childUrl, 1).orElseThrow().isBroken());
+        assertTrue(checkpoint.restore(new URL("https://github.com/other"), 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match the root URL by its canonical form without resolving hosts")
+    void shouldMatchRootUrlByCanonicalForm() throws Exception {
+        CheckpointWriter writer = new CheckpointWriter(file, CrawlCheckpoint.empty(), SYNC_INTERVAL);
+        writer.onCrawlStarted(config);
+        writer.onPageParsed(new WebPage(rootUrl, List.of(), 0, List.of()));
+
+        CrawlCheckpoint checkpoint = awaitCheckpoint(1);
+
+        assertTrue(checkpoint.isCheckpointOf(new URL("https://GitHub.com/")));
+        assertFalse(checkpoint.isCheckpointOf(new URL("https://gist.github.com")));
+        assertFalse(checkpoint.isCheckpointOf(new URL("http://github.com.invalid")));
+        assertFalse(CrawlCheckpoint.empty().isCheckpointOf(rootUrl));
+    }
+
+    @Test
+    @DisplayName("Should ignore torn record and continue behind the last complete one")
+    void shouldIgnoreTornRecordAndContinueBehindIt() throws Exception {
+        CheckpointWriter writer = new CheckpointWriter(file, CrawlCheckpoint.empty(), SYNC_INTERVAL);
+        writer.onCrawlStarted(config);
+        writer.onPageParsed(new WebPage(rootUrl, List.of(), 0, List.of(childUrl)));
+        awaitCheckpoint(1);
+        Files.write(file, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        CrawlCheckpoint tornCheckpoint = CrawlCheckpoint.load(file);
+        CheckpointWriter resumedWriter = new CheckpointWriter(file, tornCheckpoint, SYNC_INTERVAL);
+        resumedWriter.onCrawlStarted(config);
+        resumedWriter.onPageParsed(new WebPage(rootUrl, List.of(), 0, List.of(childUrl)));
+        resumedWriter.onPageParsed(new WebPage(childUrl, List.of(), 1, List.of()));
+
+        assertEquals(1, tornCheckpoint.size());
+        CrawlCheckpoint checkpoint = awaitCheckpoint(2);
+        assertTrue(checkpoint.contains(childUrl));
+        assertEquals(Files.size(file), checkpoint.getValidLength());
+    }
+
+    @Test
+    @DisplayName("Should delete checkpoint when crawl finishes")
+    void shouldDeleteCheckpointWhenCrawlFinishes() {
+        CheckpointWriter writer = new CheckpointWriter(file, CrawlCheckpoint.empty(), SYNC_INTERVAL);
+        writer.onCrawlStarted(config);
+        WebPage rootPage = new WebPage(rootUrl, List.of(), 0, List.of());
+        writer.onPageParsed(rootPage);
+
+        writer.onCrawlFinished(new CrawlResult(rootPage, List.of()));
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should keep a resumable checkpoint when a budget stops the crawl")
+    void shouldKeepCheckpointWhenBudgetStopsCrawl() throws Exception {
+        List<URL> links = List.of(childUrl, new URL("https://github.com/second"), new URL("https://github.com/third"));
+        List<URL> fetchedUrls = new CopyOnWriteArrayList<>();
+        PageParserInterface parser = new PageParserInterface() {
+            @Override
+            public WebPage parse(URL url, int depth) {
+                fetchedUrls.add(url);
+                return new WebPage(url, List.of(), depth, depth == 0 ? links : List.of());
+            }
+
+            @Override
+            public List<URL> extractLinks(WebPage page) {
+                return new ArrayList<>(page.getLinks());
+            }
+        };
+        CrawlConfig budgetConfig = new CrawlConfig(rootUrl, 1, Set.of("github.com"),
+                CrawlOptions.builder().maxPages(2).build());
+
+        CheckpointWriter writer = new CheckpointWriter(file, CrawlCheckpoint.empty(), SYNC_INTERVAL);
+        CrawlResult partialResult;
+        try (WebCrawlerService service = new WebCrawlerService(parser, PolitenessPolicy.defaults(), writer)) {
+            partialResult = service.crawl(budgetConfig);
+        }
+
+        assertEquals(CrawlStopReason.PAGE_BUDGET, partialResult.stopReason());
+        assertTrue(Files.exists(file));
+        CrawlCheckpoint checkpoint = CrawlCheckpoint.load(file);
+        assertTrue(checkpoint.isCheckpointOf(rootUrl));
+        assertEquals(2, fetchedUrls.size());
+
+        fetchedUrls.clear();
+        CrawlResult resumedResult;
+        try (WebCrawlerService service = new WebCrawlerService(new ResumingPageParser(parser, checkpoint),
+                PolitenessPolicy.defaults(), new CheckpointWriter(file, checkpoint, SYNC_INTERVAL))) {
+            resumedResult = service.crawl(config);
+        }
+
+        assertEquals(CrawlStopReason.COMPLETED, resumedResult.stopReason());
+        assertEquals(3, resumedResult.rootPage().getChildPages().size());
+        assertEquals(2, fetchedUrls.size());
+        assertFalse(fetchedUrls.contains(rootUrl));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Should reject file that is no checkpoint")
+    void shouldRejectFileThatIsNoCheckpoint() throws IOException {
+        Files.writeString(file, "not a checkpoint");
+
+        assertThrows(IOException.class, () -> CrawlCheckpoint.load(file));
+    }
+
+    /**
+     * Helper method that waits until the background writer has synced the expected number of pages.
+     */
+    private CrawlCheckpoint awaitCheckpoint(int expectedPages) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(file) && Files.size(file) > 0) {
+                CrawlCheckpoint checkpoint = CrawlCheckpoint.load(file);
+                if (checkpoint.size() == expectedPages) {
+                    return checkpoint;
+                }
+            }
+            Thread.sleep(SYNC_INTERVAL.toMillis());
+        }
+        return fail("Checkpoint did not reach " + expectedPages + " pages");
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.yikesboy.checkpoint;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumingPageParser Tests")
+public class ResumingPageParserTest {
+    @Mock
+    private PageParserInterface mockParser;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should resume crawl without fetching completed pages")
+    void shouldResumeCrawlWithoutFetchingCompletedPages() throws Exception {
+        URL rootUrl = new URL("https://github.com");
+        URL childUrl = new URL("https://github.com/child");
+        Path file = tempDir.resolve("checkpoint.bin");
+        CrawlConfig config = new CrawlConfig(rootUrl, 1, Set.of("github.com"));
+
+        CheckpointWriter interruptedWriter = new CheckpointWriter(file, CrawlCheckpoint.empty(), Duration.ofMillis(10));
+        interruptedWriter.onCrawlStarted(config);
+        interruptedWriter.onPageParsed(new WebPage(rootUrl, List.of(new Heading(1, "Root")), 0, List.of(childUrl)));
+        CrawlCheckpoint checkpoint = awaitPages(file);
+
+        WebPage childPage = new WebPage(childUrl, List.of(new Heading(2, "Child")), 1, List.of());
+        when(mockParser.parse(childUrl, 1)).thenReturn(childPage);
+        when(mockParser.extractLinks(any())).thenAnswer(invocation -> new ArrayList<>(
+                invocation.<WebPage>getArgument(0).getLinks()));
+
+        CrawlResult result = new WebCrawlerService(new ResumingPageParser(mockParser, checkpoint)).crawl(config);
+
+        verify(mockParser, never()).parse(eq(rootUrl), anyInt());
+        assertEquals("Root", result.rootPage().getHeadings().get(0).text());
+        assertEquals(List.of(childPage), result.rootPage().getChildPages());
+    }
+
+    private static CrawlCheckpoint awaitPages(Path file) throws Exception {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            if (file.toFile().length() > 0) {
+                CrawlCheckpoint checkpoint = CrawlCheckpoint.load(file);
+                if (checkpoint.size() > 0) {
+                    return checkpoint;
+                }
+            }
+            Thread.sleep(10);
+        }
+        return fail("Checkpoint was not written");
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.models.CrawlStopReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrawlBudget Tests")
+public class CrawlBudgetTest {
+    @Test
+    @DisplayName("Should complete a crawl that stays within its budget")
+    void shouldCompleteWithinBudget() {
+        CrawlBudget budget = CrawlBudget.start(CrawlOptions.defaults(), () -> fail("Budget must not be exhausted"));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(budget.tryStartPage());
+            budget.recordBytes(1_000_000);
+        }
+
+        assertFalse(budget.isExhausted());
+        assertEquals(CrawlStopReason.COMPLETED, budget.finish());
+    }
+
+    @Test
+    @DisplayName("Should refuse pages beyond the page budget and notify once")
+    void shouldStopAtPageBudget() {
+        AtomicInteger notifications = new AtomicInteger();
+        CrawlBudget budget = CrawlBudget.start(
+                CrawlOptions.builder().maxPages(2).build(), notifications::incrementAndGet);
+
+        assertTrue(budget.tryStartPage());
+        assertTrue(budget.tryStartPage());
+        assertFalse(budget.isExhausted());
+        assertFalse(budget.tryStartPage());
+        assertFalse(budget.tryStartPage());
+
+        assertTrue(budget.isExhausted());
+        assertEquals(1, notifications.get());
+        assertEquals(CrawlStopReason.PAGE_BUDGET, budget.finish());
+    }
+
+    @Test
+    @DisplayName("Should stop once the downloaded bytes reach the budget")
+    void shouldStopAtByteBudget() {
+        CrawlBudget budget = CrawlBudget.start(CrawlOptions.builder().maxBytes(1_000).build(), () -> {
+        });
+
+        budget.recordBytes(600);
+        assertTrue(budget.tryStartPage());
+        budget.recordBytes(600);
+
+        assertFalse(budget.tryStartPage());
+        assertEquals(CrawlStopReason.BYTE_BUDGET, budget.finish());
+    }
+
+    @Test
+    @DisplayName("Should notify when the deadline passes without any page being started")
+    void shouldStopAtDeadline() throws InterruptedException {
+        CountDownLatch exhausted = new CountDownLatch(1);
+        CrawlBudget budget = CrawlBudget.start(
+                CrawlOptions.builder().maxDuration(Duration.ofMillis(20)).build(), exhausted::countDown);
+
+        assertTrue(exhausted.await(5, TimeUnit.SECONDS));
+        assertTrue(budget.isExhausted());
+        assertFalse(budget.tryStartPage());
+        assertEquals(CrawlStopReason.DEADLINE, budget.finish());
+    }
+
+    @Test
+    @DisplayName("Should ignore a deadline passing after the crawl finished")
+    void shouldIgnoreDeadlineAfterFinish() throws InterruptedException {
+        AtomicInteger notifications = new AtomicInteger();
+        CrawlBudget budget = CrawlBudget.start(
+                CrawlOptions.builder().maxDuration(Duration.ofMillis(20)).build(), notifications::incrementAndGet);
+
+        assertEquals(CrawlStopReason.COMPLETED, budget.finish());
+        Thread.sleep(100);
+
+        assertEquals(0, notifications.get());
+        assertEquals(CrawlStopReason.COMPLETED, budget.finish());
+    }
+
+    @Test
+    @DisplayName("Should turn cancelled fetches into no page and rethrow other failures")
+    void shouldSkipCancelledFetches() {
+        assertNull(CrawlBudget.skipCancelled(new CancellationException()));
+        assertNull(CrawlBudget.skipCancelled(new CompletionException(new CancellationException())));
+
+        CompletionException failure = new CompletionException(new IllegalStateException("boom"));
+        assertSame(failure, assertThrows(CompletionException.class, () -> CrawlBudget.skipCancelled(failure)));
+        assertThrows(CompletionException.class, () -> CrawlBudget.skipCancelled(new IllegalStateException()));
+    }
+}
@@ -14,14 +14,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CrawlTaskTest {
@@ -37,7 +40,7 @@ public class CrawlTaskTest {
     void setUp() throws MalformedURLException {
         testUrl = new URL("https://github.com");
         testConfig = new CrawlConfig(testUrl, 2, Set.of("github.com"));
-        visitedUrls = new HashSet<>();
+        visitedUrls = ConcurrentHashMap.newKeySet();
         errors = new ConcurrentLinkedQueue<>();
     }
 
@@ -46,7 +49,7 @@ public class CrawlTaskTest {
     void shouldReturnNullWhenURLIsNull() {
         CrawlTask task = new CrawlTask(null, 0, testConfig, mockParser, visitedUrls, errors);
 
-        WebPage result = task.compute();
+        WebPage result = task.invoke();
 
         assertNull(result);
         assertTrue(visitedUrls.isEmpty());
@@ -59,7 +62,7 @@ public class CrawlTaskTest {
         URL url = new URL("https://github.com");
         CrawlTask task = new CrawlTask(url, 3, testConfig, mockParser, visitedUrls, errors);
 
-        WebPage result = task.compute();
+        WebPage result = task.invoke();
 
         assertNull(result);
         assertTrue(errors.isEmpty());
@@ -73,7 +76,7 @@ public class CrawlTaskTest {
         visitedUrls.add(normalizedUrl);
         CrawlTask task = new CrawlTask(url, 0, testConfig, mockParser, visitedUrls, errors);
 
-        WebPage result = task.compute();
+        WebPage result = task.invoke();
 
         assertNull(result);
         assertTrue(errors.isEmpty());
@@ -91,10 +94,33 @@ public class CrawlTaskTest {
         when(mockParser.extractLinks(mockPage)).thenReturn(mockLinks);
 
         CrawlTask task = new CrawlTask(url, 0, testConfig, mockParser, visitedUrls, errors);
-        WebPage result = task.compute();
+        WebPage result = task.invoke();
 
         assertNotNull(result);
         assertTrue(result.getChildPages().isEmpty());
         assertTrue(errors.isEmpty());
     }
+
+    @Test
+    @DisplayName("Should fork children while a streaming parser is still parsing")
+    void shouldForkChildrenWhileStreaming() throws MalformedURLException {
+        URL childUrl = new URL("https://github.com/child");
+        WebPage rootPage = new WebPage(testUrl, 0, false);
+        WebPage childPage = new WebPage(childUrl, 1, false);
+        when(mockParser.isStreaming()).thenReturn(true);
+        when(mockParser.parse(eq(testUrl), eq(0), any())).thenAnswer(invocation -> {
+            Consumer<URL> linkListener = invocation.getArgument(2);
+            linkListener.accept(childUrl);
+            linkListener.accept(new URL("https://forbidden.com/page"));
+            return rootPage;
+        });
+        when(mockParser.parse(eq(childUrl), eq(1), any())).thenReturn(childPage);
+
+        CrawlTask task = new CrawlTask(testUrl, 0, testConfig, mockParser, visitedUrls, errors);
+        WebPage result = task.invoke();
+
+        assertEquals(List.of(childPage), result.getChildPages());
+        verify(mockParser, never()).extractLinks(any());
+        assertTrue(errors.isEmpty());
+    }
 }
@@ -0,0 +1,267 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.metrics.CrawlMetrics;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FrontierCrawlerService Tests")
+public class FrontierCrawlerServiceTest {
+    @Mock
+    private PageParserInterface mockParser;
+
+    private FrontierCrawlerService crawlerService;
+    private URL rootUrl;
+    private CrawlConfig config;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        crawlerService = new FrontierCrawlerService(mockParser, 4);
+        rootUrl = new URL("https://github.com");
+        config = new CrawlConfig(rootUrl, 2, Set.of("github.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        crawlerService.close();
+    }
+
+    @Test
+    @DisplayName("Should return CrawlResult with root page")
+    void shouldReturnCrawlResultWithRootPage() {
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(new ArrayList<>());
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertSame(rootPage, result.rootPage());
+        assertTrue(result.errors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should attach child pages in link order and skip duplicates")
+    void shouldAttachChildPagesInLinkOrder() throws MalformedURLException {
+        URL first = new URL("https://github.com/first");
+        URL second = new URL("https://github.com/second");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage firstPage = new WebPage(first, 1, false);
+        WebPage secondPage = new WebPage(second, 1, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(first, second, first));
+        when(mockParser.parse(first, 1)).thenReturn(firstPage);
+        when(mockParser.parse(second, 1)).thenReturn(secondPage);
+        when(mockParser.extractLinks(firstPage)).thenReturn(List.of());
+        when(mockParser.extractLinks(secondPage)).thenReturn(List.of());
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertEquals(List.of(firstPage, secondPage), result.rootPage().getChildPages());
+        verify(mockParser, times(1)).parse(first, 1);
+    }
+
+    @Test
+    @DisplayName("Should crawl a page at the shallowest depth it is linked from")
+    void shouldCrawlPageAtShallowestDepth() throws MalformedURLException {
+        URL deep = new URL("https://github.com/deep");
+        URL shared = new URL("https://github.com/shared");
+        URL leaf = new URL("https://github.com/leaf");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage deepPage = new WebPage(deep, 1, false);
+        WebPage sharedPage = new WebPage(shared, 1, false);
+        WebPage leafPage = new WebPage(leaf, 2, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(deep, shared));
+        when(mockParser.parse(deep, 1)).thenReturn(deepPage);
+        when(mockParser.parse(shared, 1)).thenReturn(sharedPage);
+        when(mockParser.extractLinks(deepPage)).thenReturn(List.of(shared));
+        when(mockParser.extractLinks(sharedPage)).thenReturn(List.of(leaf));
+        when(mockParser.parse(leaf, 2)).thenReturn(leafPage);
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertEquals(List.of(deepPage, sharedPage), result.rootPage().getChildPages());
+        assertTrue(deepPage.getChildPages().isEmpty());
+        assertEquals(List.of(leafPage), sharedPage.getChildPages());
+        verify(mockParser, never()).parse(shared, 2);
+    }
+
+    @Test
+    @DisplayName("Should attach a page only after its own subtree is complete")
+    void shouldAttachSubtreeBeforePage() throws MalformedURLException {
+        URL child = new URL("https://github.com/child");
+        URL grandchild = new URL("https://github.com/grandchild");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage childPage = new WebPage(child, 1, false);
+        WebPage grandchildPage = new WebPage(grandchild, 2, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(child));
+        when(mockParser.parse(child, 1)).thenReturn(childPage);
+        when(mockParser.extractLinks(childPage)).thenReturn(List.of(grandchild));
+        when(mockParser.parse(grandchild, 2)).thenReturn(grandchildPage);
+        List<Integer> attachedSubtreeSizes = new ArrayList<>();
+        CrawlListener listener = new CrawlListener() {
+            @Override
+            public void onChildPageAttached(WebPage parent, WebPage child) {
+                attachedSubtreeSizes.add(child.getChildPages().size());
+            }
+        };
+
+        new FrontierCrawlerService(mockParser, 2, PolitenessPolicy.defaults(), listener).crawl(config);
+
+        assertEquals(List.of(0, 1), attachedSubtreeSizes);
+    }
+
+    @Test
+    @DisplayName("Should fetch a page linked from concurrently fetched pages once and count the other link")
+    void shouldFetchSharedLinkOnce() throws MalformedURLException {
+        URL first = new URL("https://github.com/first");
+        URL second = new URL("https://github.com/second");
+        URL shared = new URL("https://github.com/shared");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage firstPage = new WebPage(first, 1, false);
+        WebPage secondPage = new WebPage(second, 1, false);
+        WebPage sharedPage = new WebPage(shared, 2, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(first, second));
+        when(mockParser.parse(first, 1)).thenReturn(firstPage);
+        when(mockParser.parse(second, 1)).thenReturn(secondPage);
+        when(mockParser.extractLinks(firstPage)).thenReturn(List.of(shared));
+        when(mockParser.extractLinks(secondPage)).thenReturn(List.of(shared));
+        when(mockParser.parse(shared, 2)).thenReturn(sharedPage);
+        CrawlMetrics metrics = new CrawlMetrics();
+        PolitenessPolicy policy = PolitenessPolicy.defaults();
+
+        try (FrontierCrawlerService service = new FrontierCrawlerService(
+                mockParser, 4, policy, CrawlListener.NONE, new SetBackedVisitedUrlSet(), metrics)) {
+            service.crawl(config);
+        }
+
+        verify(mockParser, times(1)).parse(shared, 2);
+        assertEquals(1, metrics.getDuplicateUrls());
+    }
+
+    @Test
+    @DisplayName("Should record error for broken page")
+    void shouldRecordErrorForBrokenPage() {
+        WebPage brokenRootPage = new WebPage(rootUrl, 0, true);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(brokenRootPage);
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertTrue(result.rootPage().isBroken());
+        assertEquals(1, result.errors().size());
+        verify(mockParser, never()).extractLinks(any());
+    }
+
+    @Test
+    @DisplayName("Should not follow links beyond the maximum depth")
+    void shouldNotFollowLinksBeyondMaxDepth() {
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+
+        CrawlResult result = crawlerService.crawl(new CrawlConfig(rootUrl, 0, Set.of("github.com")));
+
+        assertTrue(result.rootPage().getChildPages().isEmpty());
+        verify(mockParser, never()).extractLinks(any());
+    }
+
+    @Test
+    @DisplayName("Should clear state between crawls")
+    void shouldClearStateBetweenCrawls() {
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(new ArrayList<>());
+
+        crawlerService.crawl(config);
+        CrawlResult secondResult = crawlerService.crawl(config);
+
+        assertNotNull(secondResult.rootPage());
+        verify(mockParser, times(2)).parse(rootUrl, 0);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive worker count")
+    void shouldRejectNonPositiveWorkerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new FrontierCrawlerService(mockParser, 0));
+    }
+
+    @Test
+    @DisplayName("Should stop at the page budget and return the partial tree")
+    void shouldStopAtPageBudget() throws MalformedURLException {
+        when(mockParser.parse(any(URL.class), anyInt()))
+                .thenAnswer(invocation -> fanOutPage(invocation.getArgument(0), invocation.getArgument(1), 100));
+        when(mockParser.extractLinks(any(WebPage.class)))
+                .thenAnswer(invocation -> invocation.<WebPage>getArgument(0).getLinks());
+        CrawlOptions options = CrawlOptions.builder().maxPages(3).build();
+
+        CrawlResult result = crawlerService.crawl(new CrawlConfig(rootUrl, 3, Set.of("github.com"), options));
+
+        assertEquals(CrawlStopReason.PAGE_BUDGET, result.stopReason());
+        assertEquals(2, result.rootPage().getChildPages().size());
+        assertEquals(3, countPages(result.rootPage()));
+        verify(mockParser, times(3)).parse(any(URL.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should stop its numbered worker threads when closed")
+    void shouldStopWorkerThreadsWhenClosed() throws Exception {
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        when(mockParser.parse(any(URL.class), anyInt())).thenAnswer(invocation -> {
+            workers.add(Thread.currentThread());
+            return fanOutPage(invocation.getArgument(0), invocation.getArgument(1), 100);
+        });
+        when(mockParser.extractLinks(any(WebPage.class)))
+                .thenAnswer(invocation -> invocation.<WebPage>getArgument(0).getLinks());
+
+        crawlerService.crawl(new CrawlConfig(rootUrl, 1, Set.of("github.com")));
+        crawlerService.close();
+
+        for (Thread worker : workers) {
+            assertTrue(worker.getName().matches("crawler-frontier-worker-\\d+"), worker.getName());
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(worker.isAlive(), worker.getName() + " is still running");
+        }
+    }
+
+    private static WebPage fanOutPage(URL url, int depth, long byteCount) throws MalformedURLException {
+        List<URL> links = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            links.add(new URL(url + "/" + i));
+        }
+        return new WebPage(url, List.of(), depth, links, byteCount);
+    }
+
+    private static int countPages(WebPage page) {
+        int count = 1;
+        for (WebPage childPage : page.getChildPages()) {
+            count += countPages(childPage);
+        }
+        return count;
+    }
+}
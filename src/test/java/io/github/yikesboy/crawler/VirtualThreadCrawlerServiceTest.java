@@ -0,0 +1,214 @@
+package io.github.yikesboy.crawler;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.metrics.CrawlMetrics;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VirtualThreadCrawlerService Tests")
+public class VirtualThreadCrawlerServiceTest {
+    @Mock
+    private PageParserInterface mockParser;
+
+    private VirtualThreadCrawlerService crawlerService;
+    private URL rootUrl;
+    private CrawlConfig config;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        crawlerService = new VirtualThreadCrawlerService(mockParser, 4);
+        rootUrl = new URL("https://github.com");
+        config = new CrawlConfig(rootUrl, 2, Set.of("github.com"));
+    }
+
+    @Test
+    @DisplayName("Should return CrawlResult with root page")
+    void shouldReturnCrawlResultWithRootPage() {
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(new ArrayList<>());
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertNotNull(result.rootPage());
+        assertEquals(rootUrl, result.rootPage().getUrl());
+        assertTrue(result.errors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should attach child pages in link order and skip duplicates")
+    void shouldAttachChildPagesInLinkOrder() throws MalformedURLException {
+        URL first = new URL("https://github.com/first");
+        URL second = new URL("https://github.com/second");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage firstPage = new WebPage(first, 1, false);
+        WebPage secondPage = new WebPage(second, 1, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(first, second, first));
+        when(mockParser.parse(first, 1)).thenReturn(firstPage);
+        when(mockParser.parse(second, 1)).thenReturn(secondPage);
+        when(mockParser.extractLinks(firstPage)).thenReturn(List.of());
+        when(mockParser.extractLinks(secondPage)).thenReturn(List.of());
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertEquals(List.of(firstPage, secondPage), result.rootPage().getChildPages());
+        verify(mockParser, times(1)).parse(first, 1);
+    }
+
+    @Test
+    @DisplayName("Should fetch a page linked from concurrently fetched pages once and count the other link")
+    void shouldFetchSharedLinkOnce() throws MalformedURLException {
+        URL first = new URL("https://github.com/first");
+        URL second = new URL("https://github.com/second");
+        URL shared = new URL("https://github.com/shared");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage firstPage = new WebPage(first, 1, false);
+        WebPage secondPage = new WebPage(second, 1, false);
+        WebPage sharedPage = new WebPage(shared, 2, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(first, second));
+        when(mockParser.parse(first, 1)).thenReturn(firstPage);
+        when(mockParser.parse(second, 1)).thenReturn(secondPage);
+        when(mockParser.extractLinks(firstPage)).thenReturn(List.of(shared));
+        when(mockParser.extractLinks(secondPage)).thenReturn(List.of(shared));
+        when(mockParser.parse(shared, 2)).thenReturn(sharedPage);
+        CrawlMetrics metrics = new CrawlMetrics();
+        PolitenessPolicy policy = PolitenessPolicy.defaults();
+
+        try (VirtualThreadCrawlerService service = new VirtualThreadCrawlerService(
+                mockParser, 4, policy, CrawlListener.NONE, new SetBackedVisitedUrlSet(), metrics)) {
+            service.crawl(config);
+        }
+
+        verify(mockParser, times(1)).parse(shared, 2);
+        assertEquals(1, metrics.getDuplicateUrls());
+    }
+
+    @Test
+    @DisplayName("Should record error for broken page")
+    void shouldRecordErrorForBrokenPage() {
+        WebPage brokenRootPage = new WebPage(rootUrl, 0, true);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(brokenRootPage);
+
+        CrawlResult result = crawlerService.crawl(config);
+
+        assertTrue(result.rootPage().isBroken());
+        assertEquals(1, result.errors().size());
+        verify(mockParser, never()).extractLinks(any());
+    }
+
+    @Test
+    @DisplayName("Should not run more fetches in parallel than the in-flight limit")
+    void shouldRespectInFlightLimit() throws Exception {
+        int linkCount = 20;
+        List<URL> links = new ArrayList<>();
+        for (int i = 0; i < linkCount; i++) {
+            links.add(new URL("https://github.com/page" + i));
+        }
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        when(mockParser.parse(any(URL.class), anyInt())).thenAnswer(invocation -> {
+            URL url = invocation.getArgument(0);
+            if (url.equals(rootUrl)) {
+                return rootPage;
+            }
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            started.await(1, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return new WebPage(url, 1, false);
+        });
+        when(mockParser.extractLinks(rootPage)).thenReturn(links);
+        VirtualThreadCrawlerService service =
+                new VirtualThreadCrawlerService(mockParser, 2, new PolitenessPolicy(linkCount, Duration.ZERO),
+                        CrawlListener.NONE, new SetBackedVisitedUrlSet(), Executors.newCachedThreadPool());
+
+        CrawlResult result = service.crawl(new CrawlConfig(rootUrl, 1, Set.of("github.com")));
+
+        assertEquals(linkCount, result.rootPage().getChildPages().size());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should clear state between crawls")
+    void shouldClearStateBetweenCrawls() {
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(new ArrayList<>());
+
+        crawlerService.crawl(config);
+        CrawlResult secondResult = crawlerService.crawl(config);
+
+        assertNotNull(secondResult.rootPage());
+        verify(mockParser, times(2)).parse(rootUrl, 0);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive in-flight limit")
+    void shouldRejectNonPositiveInFlightLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new VirtualThreadCrawlerService(mockParser, 0));
+    }
+
+    @Test
+    @DisplayName("Should stop at the download budget and return the partial tree")
+    void shouldStopAtByteBudget() throws MalformedURLException {
+        when(mockParser.parse(any(URL.class), anyInt()))
+                .thenAnswer(invocation -> fanOutPage(invocation.getArgument(0), invocation.getArgument(1), 1_000));
+        when(mockParser.extractLinks(any(WebPage.class)))
+                .thenAnswer(invocation -> invocation.<WebPage>getArgument(0).getLinks());
+        CrawlOptions options = CrawlOptions.builder().maxBytes(3_000).build();
+
+        CrawlResult result = crawlerService.crawl(new CrawlConfig(rootUrl, 3, Set.of("github.com"), options));
+
+        assertEquals(CrawlStopReason.BYTE_BUDGET, result.stopReason());
+        assertEquals(rootUrl, result.rootPage().getUrl());
+        assertTrue(countPages(result.rootPage()) < 156);
+    }
+
+    private static WebPage fanOutPage(URL url, int depth, long byteCount) throws MalformedURLException {
+        List<URL> links = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            links.add(new URL(url + "/" + i));
+        }
+        return new WebPage(url, List.of(), depth, links, byteCount);
+    }
+
+    private static int countPages(WebPage page) {
+        int count = 1;
+        for (WebPage childPage : page.getChildPages()) {
+            count += countPages(childPage);
+        }
+        return count;
+    }
+}
@@ -1,9 +1,15 @@
 package io.github.yikesboy.crawler;
 
 import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlOptions;
+import io.github.yikesboy.metrics.CrawlMetrics;
+import io.github.yikesboy.metrics.MetricsSnapshot;
 import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.CrawlStopReason;
 import io.github.yikesboy.models.WebPage;
 import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -75,6 +82,33 @@ public class WebCrawlerServiceTest {
         assertNotNull(service);
     }
 
+    @Test
+    @DisplayName("Should stop its pool threads when closed")
+    void shouldStopPoolThreadsWhenClosed() throws InterruptedException {
+        List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+        when(mockParser.parse(rootUrl, 0)).thenAnswer(invocation -> {
+            workers.add(Thread.currentThread());
+            return new WebPage(rootUrl, 0, false);
+        });
+        when(mockParser.extractLinks(any())).thenReturn(new ArrayList<>());
+
+        crawlerService.crawl(config);
+        crawlerService.close();
+
+        assertFalse(workers.isEmpty());
+        for (Thread worker : workers) {
+            worker.join(5_000);
+            assertFalse(worker.isAlive(), worker.getName() + " is still running");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive parallelism")
+    void shouldRejectNonPositiveParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new WebCrawlerService(
+                mockParser, PolitenessPolicy.defaults(), CrawlListener.NONE, new SetBackedVisitedUrlSet(), 0));
+    }
+
     @Test
     @DisplayName("Should handle broken root page")
     void shouldHandleBrokenRootPage() {
@@ -112,4 +146,122 @@ public class WebCrawlerServiceTest {
         assertEquals(rootUrl, firstResult.rootPage().getUrl());
         assertEquals(secondUrl, secondResult.rootPage().getUrl());
     }
+
+    @Test
+    @DisplayName("Should record duplicate URLs, domain rejects and pool gauges")
+    void shouldRecordMetrics() throws MalformedURLException {
+        URL child = new URL("https://github.com/child");
+        URL external = new URL("https://example.com/page");
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        WebPage childPage = new WebPage(child, 1, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(List.of(child, external, child));
+        when(mockParser.parse(child, 1)).thenReturn(childPage);
+        when(mockParser.extractLinks(childPage)).thenReturn(List.of(rootUrl));
+        CrawlMetrics metrics = new CrawlMetrics();
+        WebCrawlerService service = new WebCrawlerService(
+                mockParser, PolitenessPolicy.defaults(), metrics, new SetBackedVisitedUrlSet(), 2, metrics);
+
+        service.crawl(config);
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, counter(snapshot, "crawler_pages_total"));
+        assertEquals(2, counter(snapshot, "crawler_duplicate_urls_total"));
+        assertEquals(1, counter(snapshot, "crawler_domain_rejects_total"));
+        assertTrue(snapshot.gauges().stream().anyMatch(gauge -> gauge.name().equals("crawler_forkjoin_steals")));
+    }
+
+    @Test
+    @DisplayName("Should not hold pool threads for fetches waiting for their host")
+    void shouldNotBlockWorkersOnQueuedFetches() throws MalformedURLException {
+        List<URL> links = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            links.add(new URL("https://github.com/page" + i));
+        }
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(mockParser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(mockParser.extractLinks(rootPage)).thenReturn(links);
+        CrawlMetrics metrics = new CrawlMetrics();
+        List<Long> poolSizes = Collections.synchronizedList(new ArrayList<>());
+        when(mockParser.parse(any(URL.class), eq(1))).thenAnswer(invocation -> {
+            poolSizes.add(gauge(metrics.snapshot(), "crawler_forkjoin_pool_size"));
+            return new WebPage(invocation.getArgument(0), 1, false);
+        });
+        CrawlConfig shallowConfig = new CrawlConfig(rootUrl, 1, Set.of("github.com"));
+
+        try (WebCrawlerService service = new WebCrawlerService(mockParser, new PolitenessPolicy(1, Duration.ZERO),
+                metrics, new SetBackedVisitedUrlSet(), 2, metrics)) {
+            CrawlResult result = service.crawl(shallowConfig);
+
+            assertEquals(300, result.rootPage().getChildPages().size());
+        }
+        assertTrue(Collections.max(poolSizes) <= 4, "Pool grew to " + Collections.max(poolSizes) + " threads");
+    }
+
+    private static long gauge(MetricsSnapshot snapshot, String name) {
+        return snapshot.gauges().stream()
+                .filter(gauge -> gauge.name().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .value();
+    }
+
+    private static long counter(MetricsSnapshot snapshot, String name) {
+        return snapshot.counters().stream()
+                .filter(counter -> counter.name().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .value();
+    }
+
+    @Test
+    @DisplayName("Should stop at the page budget and return the partial tree")
+    void shouldStopAtPageBudget() throws MalformedURLException {
+        when(mockParser.parse(any(URL.class), anyInt()))
+                .thenAnswer(invocation -> fanOutPage(invocation.getArgument(0), invocation.getArgument(1), 100));
+        when(mockParser.extractLinks(any(WebPage.class)))
+                .thenAnswer(invocation -> invocation.<WebPage>getArgument(0).getLinks());
+        CrawlOptions options = CrawlOptions.builder().maxPages(10).build();
+
+        CrawlResult result = crawlerService.crawl(new CrawlConfig(rootUrl, 3, Set.of("github.com"), options));
+
+        assertEquals(CrawlStopReason.PAGE_BUDGET, result.stopReason());
+        assertEquals(rootUrl, result.rootPage().getUrl());
+        assertTrue(countPages(result.rootPage()) <= 10);
+        verify(mockParser, atMost(10)).parse(any(URL.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should cancel fetches waiting for their host when the deadline passes")
+    void shouldStopAtDeadline() throws MalformedURLException {
+        when(mockParser.parse(any(URL.class), anyInt()))
+                .thenAnswer(invocation -> fanOutPage(invocation.getArgument(0), invocation.getArgument(1), 100));
+        when(mockParser.extractLinks(any(WebPage.class)))
+                .thenAnswer(invocation -> invocation.<WebPage>getArgument(0).getLinks());
+        WebCrawlerService service = new WebCrawlerService(mockParser, new PolitenessPolicy(1, Duration.ofMillis(200)));
+        CrawlOptions options = CrawlOptions.builder().maxDuration(Duration.ofMillis(300)).build();
+
+        long start = System.nanoTime();
+        CrawlResult result = service.crawl(new CrawlConfig(rootUrl, 2, Set.of("github.com"), options));
+
+        assertEquals(CrawlStopReason.DEADLINE, result.stopReason());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertTrue(countPages(result.rootPage()) < 31);
+    }
+
+    private static WebPage fanOutPage(URL url, int depth, long byteCount) throws MalformedURLException {
+        List<URL> links = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            links.add(new URL(url + "/" + i));
+        }
+        return new WebPage(url, List.of(), depth, links, byteCount);
+    }
+
+    private static int countPages(WebPage page) {
+        int count = 1;
+        for (WebPage childPage : page.getChildPages()) {
+            count += countPages(childPage);
+        }
+        return count;
+    }
 }
@@ -0,0 +1,66 @@
+package io.github.yikesboy.html;
+
+import io.github.yikesboy.models.SkipReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FetchLimits Tests")
+public class FetchLimitsTest {
+    private final FetchLimits limits = new FetchLimits(1024, Set.of(".PDF", "zip", " "));
+
+    @Test
+    @DisplayName("Should normalise extensions and match them against the last path segment")
+    void shouldMatchExtensions() throws MalformedURLException {
+        assertEquals(Set.of("pdf", "zip"), limits.skippedExtensions());
+        assertEquals("pdf", FetchLimits.extensionOf(new URL("https://github.com/docs/Manual.PDF?download=1")));
+        assertEquals("", FetchLimits.extensionOf(new URL("https://github.com/v1.2/readme")));
+
+        assertSkipped(SkipReason.EXCLUDED_EXTENSION, () -> limits.checkUrl(new URL("https://github.com/a.zip")));
+        assertDoesNotThrow(() -> limits.checkUrl(new URL("https://github.com/zip")));
+    }
+
+    @Test
+    @DisplayName("Should check content type and length of successful responses only")
+    void shouldCheckHeaders() throws MalformedURLException {
+        URL url = new URL("https://github.com/page");
+
+        assertDoesNotThrow(() -> limits.checkHeaders(url, 200, "text/html; charset=UTF-8", "1024"));
+        assertDoesNotThrow(() -> limits.checkHeaders(url, 200, "application/xhtml+xml", null));
+        assertDoesNotThrow(() -> limits.checkHeaders(url, 200, null, "not a number"));
+        assertDoesNotThrow(() -> limits.checkHeaders(url, 404, "application/json", "4096"));
+        assertSkipped(SkipReason.NOT_HTML, () -> limits.checkHeaders(url, 200, "application/pdf", "10"));
+        assertSkipped(SkipReason.TOO_LARGE, () -> limits.checkHeaders(url, 200, "text/html", "1025"));
+        assertSkipped(SkipReason.TOO_LARGE, () -> limits.checkBodySize(url, 1025));
+    }
+
+    @Test
+    @DisplayName("Should accept HTML and XML media types in any case and reject other text")
+    void shouldMatchMediaTypes() throws MalformedURLException {
+        URL url = new URL("https://github.com/page");
+
+        assertTrue(FetchLimits.isParseableContentType("Text/HTML; charset=UTF-8"));
+        assertTrue(FetchLimits.isParseableContentType(" APPLICATION/XHTML+XML "));
+        assertTrue(FetchLimits.isParseableContentType("application/rss+xml; charset=utf-8"));
+        assertTrue(FetchLimits.isParseableContentType("text/xml"));
+        assertFalse(FetchLimits.isParseableContentType("text/css"));
+        assertFalse(FetchLimits.isParseableContentType("text/plain; charset=UTF-8"));
+        assertFalse(FetchLimits.isParseableContentType("text/javascript"));
+        assertFalse(FetchLimits.isParseableContentType("text/csv"));
+        assertFalse(FetchLimits.isParseableContentType("application/json"));
+
+        assertDoesNotThrow(() -> limits.checkHeaders(url, 200, "Text/HTML; charset=UTF-8", null));
+        assertSkipped(SkipReason.NOT_HTML, () -> limits.checkHeaders(url, 200, "text/css", null));
+        assertDoesNotThrow(() -> new FetchLimits(1024, Set.of(), false).checkHeaders(url, 200, "text/plain", null));
+    }
+
+    private static void assertSkipped(SkipReason reason, Executable check) {
+        assertEquals(reason, assertThrows(PageSkippedException.class, check).getReason());
+    }
+}
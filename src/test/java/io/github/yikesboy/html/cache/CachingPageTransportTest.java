@@ -0,0 +1,181 @@
+package io.github.yikesboy.html.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.http.HttpClientDocumentFetcher;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import io.github.yikesboy.html.jsoup.JsoupPageTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingPageTransport Tests")
+public class CachingPageTransportTest {
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 01 Jan 2025 00:00:00 GMT";
+    private static final byte[] BODY = "<html><head><title>Cached</title></head><body></body></html>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    private URL url;
+    private DiskHttpCache cache;
+    private List<Map<String, String>> sentHeaders;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        url = new URL("https://github.com/page");
+        cache = new DiskHttpCache(tempDir, 1024 * 1024);
+        sentHeaders = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should serve fresh response without request")
+    void shouldServeFreshResponseWithoutRequest() {
+        HttpPageTransport server = respondWith(200, "max-age=60");
+        CachingPageTransport transport = new CachingPageTransport(server, cache, clockAt(0));
+        transport.send(url, Map.of()).join();
+
+        CachingPageTransport laterTransport = new CachingPageTransport(server, cache, clockAt(59_000));
+        HttpPageResponse response = laterTransport.send(url, Map.of()).join();
+
+        assertEquals(1, sentHeaders.size());
+        assertEquals(200, response.statusCode());
+        assertArrayEquals(BODY, response.body());
+        assertEquals(1, laterTransport.getStats().freshHits());
+        assertEquals(BODY.length, laterTransport.getStats().bytesSaved());
+    }
+
+    @Test
+    @DisplayName("Should revalidate stale response and serve 304 from cache")
+    void shouldRevalidateStaleResponse() {
+        CachingPageTransport firstRun = new CachingPageTransport(respondWith(200, "max-age=60"), cache, clockAt(0));
+        firstRun.send(url, Map.of()).join();
+
+        CachingPageTransport secondRun = new CachingPageTransport(respondWith(304, "max-age=60"), cache, clockAt(61_000));
+        HttpPageResponse response = secondRun.send(url, Map.of()).join();
+
+        assertEquals(ETAG, sentHeaders.get(1).get(CachedResponse.IF_NONE_MATCH_HEADER));
+        assertEquals(LAST_MODIFIED, sentHeaders.get(1).get(CachedResponse.IF_MODIFIED_SINCE_HEADER));
+        assertEquals(200, response.statusCode());
+        assertArrayEquals(BODY, response.body());
+        assertEquals(1, secondRun.getStats().revalidatedHits());
+        assertTrue(cache.get(url).orElseThrow().isFresh(61_000 + 59_000));
+    }
+
+    @Test
+    @DisplayName("Should revalidate response without max-age on every request")
+    void shouldRevalidateResponseWithoutMaxAge() {
+        CachingPageTransport transport = new CachingPageTransport(respondWith(200, null), cache, clockAt(0));
+        transport.send(url, Map.of()).join();
+        transport.send(url, Map.of()).join();
+
+        assertEquals(2, sentHeaders.size());
+        assertEquals(ETAG, sentHeaders.get(1).get(CachedResponse.IF_NONE_MATCH_HEADER));
+        assertEquals(2, transport.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("Should not store no-store responses")
+    void shouldNotStoreNoStoreResponses() {
+        CachingPageTransport transport = new CachingPageTransport(respondWith(200, "no-store, max-age=60"), cache, clockAt(0));
+        transport.send(url, Map.of()).join();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not store error responses")
+    void shouldNotStoreErrorResponses() {
+        CachingPageTransport transport = new CachingPageTransport(respondWith(500, "max-age=60"), cache, clockAt(0));
+        HttpPageResponse response = transport.send(url, Map.of()).join();
+
+        assertEquals(500, response.statusCode());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should revalidate through jsoup against a real server")
+    void shouldRevalidateThroughJsoup() throws IOException {
+        AtomicInteger fullResponses = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst(CachedResponse.IF_NONE_MATCH_HEADER))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(BODY);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            URL pageUrl = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/page");
+            CachingPageTransport transport = new CachingPageTransport(new JsoupPageTransport(2000), cache);
+            HttpClientDocumentFetcher fetcher = new HttpClientDocumentFetcher(transport);
+
+            HtmlDocument first = fetcher.fetch(pageUrl);
+            HtmlDocument second = fetcher.fetch(pageUrl);
+
+            assertEquals("Cached", first.getTitle());
+            assertEquals("Cached", second.getTitle());
+            assertEquals(1, fullResponses.get());
+            assertEquals(1, transport.getStats().revalidatedHits());
+            assertEquals(0.5, transport.getStats().hitRate());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Helper method that creates a transport answering every request with the given status, the validators
+     * and an optional Cache-Control header.
+     */
+    private HttpPageTransport respondWith(int statusCode, String cacheControl) {
+        return (requestUrl, requestHeaders) -> {
+            sentHeaders.add(requestHeaders);
+            Map<String, List<String>> headers = new HashMap<>();
+            headers.put("ETag", List.of(ETAG));
+            headers.put("Last-Modified", List.of(LAST_MODIFIED));
+            headers.put("Content-Type", List.of("text/html"));
+            if (cacheControl != null) {
+                headers.put("Cache-Control", List.of(cacheControl));
+            }
+            byte[] body = statusCode == 304 ? new byte[0] : BODY;
+            return CompletableFuture.completedFuture(new HttpPageResponse(
+                    requestUrl, statusCode, HttpHeaders.of(headers, (name, value) -> true), body));
+        };
+    }
+
+    private static Clock clockAt(long millis) {
+        return Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
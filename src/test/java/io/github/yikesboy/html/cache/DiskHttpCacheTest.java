@@ -0,0 +1,114 @@
+package io.github.yikesboy.html.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DiskHttpCache Tests")
+public class DiskHttpCacheTest {
+    private static final int BODY_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    private URL firstUrl;
+    private URL secondUrl;
+    private URL thirdUrl;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        firstUrl = new URL("https://github.com/first");
+        secondUrl = new URL("https://github.com/second");
+        thirdUrl = new URL("https://github.com/third");
+    }
+
+    @Test
+    @DisplayName("Should return stored response")
+    void shouldReturnStoredResponse() throws IOException {
+        DiskHttpCache cache = new DiskHttpCache(tempDir, 1024 * 1024);
+        CachedResponse response = response(firstUrl, "\"v1\"");
+
+        cache.put(firstUrl, response);
+        Optional<CachedResponse> cached = cache.get(firstUrl);
+
+        assertTrue(cached.isPresent());
+        assertEquals("\"v1\"", cached.get().etag());
+        assertEquals("text/html", cached.get().contentType());
+        assertArrayEquals(response.body(), cached.get().body());
+        assertTrue(cache.get(secondUrl).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep entries across instances")
+    void shouldKeepEntriesAcrossInstances() throws IOException {
+        new DiskHttpCache(tempDir, 1024 * 1024).put(firstUrl, response(firstUrl, "\"v1\""));
+
+        DiskHttpCache reopened = new DiskHttpCache(tempDir, 1024 * 1024);
+
+        assertEquals(1, reopened.size());
+        assertTrue(reopened.get(firstUrl).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() throws IOException {
+        DiskHttpCache cache = new DiskHttpCache(tempDir, 2 * BODY_SIZE + 500);
+        cache.put(firstUrl, response(firstUrl, "\"v1\""));
+        cache.put(secondUrl, response(secondUrl, "\"v1\""));
+
+        cache.get(firstUrl);
+        cache.put(thirdUrl, response(thirdUrl, "\"v1\""));
+
+        assertTrue(cache.get(firstUrl).isPresent());
+        assertTrue(cache.get(secondUrl).isEmpty());
+        assertTrue(cache.get(thirdUrl).isPresent());
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.getTotalBytes() <= 2 * BODY_SIZE + 500);
+    }
+
+    @Test
+    @DisplayName("Should replace entry of the same URL")
+    void shouldReplaceEntryOfSameUrl() throws IOException {
+        DiskHttpCache cache = new DiskHttpCache(tempDir, 1024 * 1024);
+
+        cache.put(firstUrl, response(firstUrl, "\"v1\""));
+        long sizeAfterFirstPut = cache.getTotalBytes();
+        cache.put(firstUrl, response(firstUrl, "\"v2\""));
+
+        assertEquals(1, cache.size());
+        assertEquals(sizeAfterFirstPut, cache.getTotalBytes());
+        assertEquals("\"v2\"", cache.get(firstUrl).orElseThrow().etag());
+    }
+
+    @Test
+    @DisplayName("Should treat deleted entry file as miss")
+    void shouldTreatDeletedEntryFileAsMiss() throws IOException {
+        DiskHttpCache cache = new DiskHttpCache(tempDir, 1024 * 1024);
+        cache.put(firstUrl, response(firstUrl, "\"v1\""));
+
+        try (var files = Files.list(tempDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+
+        assertTrue(cache.get(firstUrl).isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private static CachedResponse response(URL url, String etag) {
+        byte[] body = "a".repeat(BODY_SIZE).getBytes(StandardCharsets.UTF_8);
+        return new CachedResponse(url, etag, "", "text/html", 0, 60, body);
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.yikesboy.html.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.models.SkipReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HttpClientDocumentFetcher Tests")
+public class HttpClientDocumentFetcherTest {
+    private HttpServer server;
+    private HttpClientDocumentFetcher fetcher;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serve("/page", 200, "text/html; charset=UTF-8", "<html><head><title>Page</title></head><body><h1>Hello</h1></body></html>");
+        serve("/missing", 404, "text/html", "not found");
+        serve("/file.pdf", 200, "application/pdf", "%PDF-1.4");
+        server.createContext("/busy", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "120");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fetcher = new HttpClientDocumentFetcher(Duration.ofSeconds(2), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should fetch and parse HTML document")
+    void shouldFetchAndParseDocument() throws IOException {
+        HtmlDocument document = fetcher.fetch(new URL(baseUrl + "/page"));
+
+        assertEquals("Page", document.getTitle());
+        assertEquals("Hello", document.select("h1").get(0).getText());
+    }
+
+    @Test
+    @DisplayName("Should fetch document asynchronously")
+    void shouldFetchDocumentAsynchronously() throws Exception {
+        HtmlDocument document = fetcher.fetchAsync(new URL(baseUrl + "/page")).get(5, TimeUnit.SECONDS);
+
+        assertEquals("Page", document.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should throw FetchStatusException for error status")
+    void shouldThrowForErrorStatus() {
+        FetchStatusException exception = assertThrows(FetchStatusException.class,
+                () -> fetcher.fetch(new URL(baseUrl + "/missing")));
+
+        assertEquals(404, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should pass the Retry-After delay of an error status on")
+    void shouldReadRetryAfter() throws IOException {
+        FetchStatusException exception = assertThrows(FetchStatusException.class,
+                () -> fetcher.fetch(new URL(baseUrl + "/busy")));
+
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(Optional.of(Duration.ofMinutes(2)), exception.getRetryAfter());
+        assertEquals(Optional.empty(), assertThrows(FetchStatusException.class,
+                () -> fetcher.fetch(new URL(baseUrl + "/missing"))).getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("Should parse Retry-After as seconds or as an HTTP date")
+    void shouldParseRetryAfterFormats() {
+        Instant now = Instant.parse("2015-10-21T07:28:00Z");
+
+        assertEquals(Optional.of(Duration.ofSeconds(30)), HttpPageResponse.parseRetryAfter(" 30 ", now));
+        assertEquals(Optional.of(Duration.ofSeconds(90)),
+                HttpPageResponse.parseRetryAfter("Wed, 21 Oct 2015 07:29:30 GMT", now));
+        assertEquals(Optional.of(Duration.ZERO),
+                HttpPageResponse.parseRetryAfter("Wed, 21 Oct 2015 07:00:00 GMT", now));
+        assertEquals(Optional.empty(), HttpPageResponse.parseRetryAfter("soon", now));
+    }
+
+    @Test
+    @DisplayName("Should skip non-HTML content")
+    void shouldSkipNonHtmlContent() {
+        PageSkippedException exception = assertThrows(PageSkippedException.class,
+                () -> fetcher.fetch(new URL(baseUrl + "/file.pdf")));
+
+        assertEquals(SkipReason.NOT_HTML, exception.getReason());
+    }
+
+    @Test
+    @DisplayName("Should skip bodies above the size limit, declared or streamed")
+    void shouldSkipOversizedBodies() {
+        server.createContext("/chunked", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write("<p>".repeat(100).getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        HttpClientDocumentFetcher limitedFetcher = new HttpClientDocumentFetcher(
+                Duration.ofSeconds(2), Duration.ofSeconds(2), new FetchLimits(64, Set.of()));
+
+        assertEquals(SkipReason.TOO_LARGE, assertThrows(PageSkippedException.class,
+                () -> limitedFetcher.fetch(new URL(baseUrl + "/page"))).getReason());
+        assertEquals(SkipReason.TOO_LARGE, assertThrows(PageSkippedException.class,
+                () -> limitedFetcher.fetch(new URL(baseUrl + "/chunked"))).getReason());
+    }
+
+    @Test
+    @DisplayName("Should skip excluded extensions without sending a request")
+    void shouldSkipExcludedExtensionsWithoutRequest() {
+        AtomicInteger requests = new AtomicInteger();
+        server.createContext("/archive.zip", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        HttpClientDocumentFetcher limitedFetcher = new HttpClientDocumentFetcher(
+                Duration.ofSeconds(2), Duration.ofSeconds(2), new FetchLimits(Long.MAX_VALUE, Set.of(".ZIP")));
+
+        assertEquals(SkipReason.EXCLUDED_EXTENSION, assertThrows(PageSkippedException.class,
+                () -> limitedFetcher.fetch(new URL(baseUrl + "/archive.zip"))).getReason());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for null URL")
+    void shouldThrowForNullUrl() {
+        assertThrows(IllegalArgumentException.class, () -> fetcher.fetch(null));
+    }
+
+    private void serve(String path, int status, String contentType, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.yikesboy.html.jsoup;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.yikesboy.html.FetchLimits;
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.PageSkippedException;
+import io.github.yikesboy.html.UserAgent;
+import io.github.yikesboy.models.SkipReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsoupDocumentFetcher Tests")
+public class JsoupDocumentFetcherTest {
+    private static final String PAGE_HTML = "<html><head><title>Page</title></head><body><h1>Hello</h1></body></html>";
+
+    private HttpServer server;
+    private JsoupDocumentFetcher fetcher;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serve("/page", 200, "text/html; charset=UTF-8", PAGE_HTML, PAGE_HTML.length());
+        serve("/large", 200, "text/html", "<p>".repeat(100), 300);
+        serve("/chunked", 200, "text/html", "<p>".repeat(100), 0);
+        serve("/video", 200, "video/mp4", "not a page", 10);
+        server.createContext("/agent", exchange -> {
+            String html = PAGE_HTML.replace("Page", exchange.getRequestHeaders().getFirst("User-Agent"));
+            byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fetcher = new JsoupDocumentFetcher(2000, new FetchLimits(128, Set.of("pdf")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should fetch and parse an HTML page within the limits")
+    void shouldFetchPage() throws IOException {
+        assertEquals("Page", fetcher.fetch(new URL(baseUrl + "/page")).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should identify as the crawler on both jsoup connections")
+    void shouldSendCrawlerUserAgent() throws IOException {
+        URL url = new URL(baseUrl + "/agent");
+
+        assertEquals(UserAgent.HEADER_VALUE, fetcher.fetch(url).getTitle());
+        assertEquals(UserAgent.HEADER_VALUE, new JsoupStreamingDocumentFetcher(2000).fetch(url).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should stream the closed elements of a page and return the whole document")
+    void shouldStreamPage() throws IOException {
+        List<String> closedTags = new ArrayList<>();
+        JsoupStreamingDocumentFetcher streamingFetcher = new JsoupStreamingDocumentFetcher(2000);
+
+        HtmlDocument document =
+                streamingFetcher.fetch(new URL(baseUrl + "/page"), element -> closedTags.add(element.getTagName()));
+
+        assertEquals("Page", document.getTitle());
+        assertTrue(closedTags.contains("h1"));
+    }
+
+    @Test
+    @DisplayName("Should skip non-HTML content, oversized bodies and excluded extensions")
+    void shouldSkipUnwantedResponses() {
+        assertEquals(SkipReason.NOT_HTML, skipReason("/video"));
+        assertEquals(SkipReason.TOO_LARGE, skipReason("/large"));
+        assertEquals(SkipReason.TOO_LARGE, skipReason("/chunked"));
+        assertEquals(SkipReason.EXCLUDED_EXTENSION, skipReason("/manual.pdf"));
+    }
+
+    @Test
+    @DisplayName("Should pass the Retry-After delay of an error status on")
+    void shouldReadRetryAfter() throws IOException {
+        server.createContext("/busy", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "5");
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+
+        URL url = new URL(baseUrl + "/busy");
+        FetchStatusException exception = assertThrows(FetchStatusException.class, () -> fetcher.fetch(url));
+        FetchStatusException streamingException = assertThrows(FetchStatusException.class,
+                () -> new JsoupStreamingDocumentFetcher(2000).fetch(url, element -> fail("Body was parsed")));
+
+        assertEquals(429, exception.getStatusCode());
+        assertEquals(Optional.of(Duration.ofSeconds(5)), exception.getRetryAfter());
+        assertEquals(429, streamingException.getStatusCode());
+        assertEquals(Optional.of(Duration.ofSeconds(5)), streamingException.getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("Should stream a page in the charset its meta tag declares")
+    void shouldStreamPageInMetaCharset() throws IOException {
+        String html = "<html><head><meta charset=\"ISO-8859-1\"><title>Grüße</title></head><body></body></html>";
+        serveBytes("/latin1", html.getBytes(StandardCharsets.ISO_8859_1));
+        URL url = new URL(baseUrl + "/latin1");
+
+        assertEquals("Grüße", new JsoupStreamingDocumentFetcher(2000).fetch(url).getTitle());
+        assertEquals("Grüße", fetcher.fetch(url).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should stream a page in the charset of its byte order mark")
+    void shouldStreamPageInByteOrderMarkCharset() throws IOException {
+        byte[] html = "<p>Grüße</p>".getBytes(StandardCharsets.UTF_16LE);
+        byte[] body = new byte[html.length + 2];
+        body[0] = (byte) 0xFF;
+        body[1] = (byte) 0xFE;
+        System.arraycopy(html, 0, body, 2, html.length);
+        serveBytes("/utf16", body);
+
+        HtmlDocument document = new JsoupStreamingDocumentFetcher(2000).fetch(new URL(baseUrl + "/utf16"));
+
+        assertEquals("Grüße", document.select("p").get(0).getText());
+    }
+
+    private SkipReason skipReason(String path) {
+        return assertThrows(PageSkippedException.class, () -> fetcher.fetch(new URL(baseUrl + path))).getReason();
+    }
+
+    private void serveBytes(String path, byte[] body) {
+        server.createContext(path, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+    }
+
+    private void serve(String path, int status, String contentType, String body, long contentLength) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, contentLength);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            } catch (IOException e) {
+                // the client closed the connection after rejecting the headers
+            }
+        });
+    }
+}
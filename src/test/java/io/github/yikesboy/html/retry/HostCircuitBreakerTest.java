@@ -0,0 +1,100 @@
+package io.github.yikesboy.html.retry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HostCircuitBreaker Tests")
+public class HostCircuitBreakerTest {
+    private static final String HOST = "github.com";
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final HostCircuitBreaker breaker =
+            new HostCircuitBreaker(new CircuitBreakerPolicy(2, OPEN_DURATION), nanoTime::get);
+
+    @Test
+    @DisplayName("Should open after consecutive failures and only for that host")
+    void shouldOpenAfterConsecutiveFailures() {
+        breaker.recordFailure(HOST);
+        assertTrue(breaker.tryAcquire(HOST));
+        breaker.recordFailure(HOST);
+
+        assertFalse(breaker.tryAcquire(HOST));
+        assertTrue(breaker.tryAcquire("example.com"));
+        assertEquals(1, breaker.getOpenedCircuits());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count after a success")
+    void shouldResetAfterSuccess() {
+        breaker.recordFailure(HOST);
+        breaker.recordSuccess(HOST);
+        breaker.recordFailure(HOST);
+
+        assertTrue(breaker.tryAcquire(HOST));
+        assertEquals(0, breaker.getOpenedCircuits());
+    }
+
+    @Test
+    @DisplayName("Should let a single trial through after the open duration and close on its success")
+    void shouldCloseAfterSuccessfulTrial() {
+        openCircuit();
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+        assertTrue(breaker.tryAcquire(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        breaker.recordSuccess(HOST);
+
+        assertTrue(breaker.tryAcquire(HOST));
+        assertTrue(breaker.tryAcquire(HOST));
+    }
+
+    @Test
+    @DisplayName("Should open again when the trial fails")
+    void shouldReopenAfterFailedTrial() {
+        openCircuit();
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire(HOST));
+
+        breaker.recordFailure(HOST);
+
+        assertFalse(breaker.tryAcquire(HOST));
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire(HOST));
+    }
+
+    @Test
+    @DisplayName("Should keep the circuit open but let the next trial through when a trial is released")
+    void shouldKeepCircuitOpenAfterReleasedTrial() {
+        openCircuit();
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire(HOST));
+
+        breaker.release(HOST);
+
+        assertTrue(breaker.tryAcquire(HOST));
+        assertFalse(breaker.tryAcquire(HOST));
+        assertEquals(1, breaker.getOpenedCircuits());
+    }
+
+    @Test
+    @DisplayName("Should keep the failure count when a fetch is released")
+    void shouldKeepFailureCountAfterRelease() {
+        breaker.recordFailure(HOST);
+        breaker.release(HOST);
+        breaker.recordFailure(HOST);
+
+        assertFalse(breaker.tryAcquire(HOST));
+    }
+
+    private void openCircuit() {
+        breaker.recordFailure(HOST);
+        breaker.recordFailure(HOST);
+        assertFalse(breaker.tryAcquire(HOST));
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.yikesboy.html.retry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RetryPolicy Tests")
+public class RetryPolicyTest {
+    @Test
+    @DisplayName("Should double the backoff up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        RetryPolicy policy = new RetryPolicy(100, Duration.ofMillis(500), Duration.ofSeconds(3), Duration.ZERO);
+
+        assertEquals(Duration.ofMillis(500), policy.backoff(1));
+        assertEquals(Duration.ofSeconds(1), policy.backoff(2));
+        assertEquals(Duration.ofSeconds(2), policy.backoff(3));
+        assertEquals(Duration.ofSeconds(3), policy.backoff(4));
+        assertEquals(Duration.ofSeconds(3), policy.backoff(100));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void shouldRejectInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(-1, Duration.ofMillis(500)));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RetryPolicy(1, Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ZERO));
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.StreamingHtmlDocumentFetcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RetryingDocumentFetcher Tests")
+public class RetryingDocumentFetcherTest {
+    private static final Duration BACKOFF = Duration.ofMillis(100);
+
+    private HtmlDocumentFetcher delegate;
+    private HtmlDocument document;
+    private List<Duration> delays;
+    private List<Boolean> hostDelays;
+    private boolean retryAllowed;
+    private FetchRetrier retrier;
+    private URL url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        delegate = mock(HtmlDocumentFetcher.class);
+        document = mock(HtmlDocument.class);
+        delays = new ArrayList<>();
+        hostDelays = new ArrayList<>();
+        retryAllowed = true;
+        url = new URL("https://github.com/page");
+    }
+
+    @Test
+    @DisplayName("Should retry timeouts with a growing, jittered backoff")
+    void shouldRetryTimeoutsWithBackoff() throws IOException {
+        when(delegate.fetch(url))
+                .thenThrow(new SocketTimeoutException("timeout"))
+                .thenThrow(new ConnectException("refused"))
+                .thenReturn(document);
+
+        assertSame(document, fetcher(2, CircuitBreakerPolicy.defaults()).fetch(url));
+
+        assertEquals(2, delays.size());
+        assertBetween(BACKOFF.dividedBy(2), BACKOFF, delays.get(0));
+        assertBetween(BACKOFF, BACKOFF.multipliedBy(2), delays.get(1));
+    }
+
+    @Test
+    @DisplayName("Should wait for the Retry-After delay of a 429 or 503 response")
+    void shouldHonourRetryAfter() throws IOException {
+        when(delegate.fetch(url))
+                .thenThrow(new FetchStatusException(url, 429, Duration.ofSeconds(3)))
+                .thenThrow(new FetchStatusException(url, 503, Duration.ZERO))
+                .thenReturn(document);
+
+        assertSame(document, fetcher(2, CircuitBreakerPolicy.defaults()).fetch(url));
+
+        assertEquals(List.of(Duration.ofSeconds(3), Duration.ZERO), delays);
+        assertEquals(List.of(true, true), hostDelays);
+    }
+
+    @Test
+    @DisplayName("Should only hold back the whole host for a Retry-After delay")
+    void shouldOnlyDelayHostForRetryAfter() throws IOException {
+        when(delegate.fetch(url))
+                .thenThrow(new FetchStatusException(url, 503))
+                .thenThrow(new FetchStatusException(url, 429, Duration.ofSeconds(1)))
+                .thenReturn(document);
+
+        assertSame(document, fetcher(2, CircuitBreakerPolicy.defaults()).fetch(url));
+
+        assertEquals(List.of(false, true), hostDelays);
+    }
+
+    @Test
+    @DisplayName("Should fail with the last error when the wait for a retry is cancelled")
+    void shouldStopWhenRetryIsCancelled() throws IOException {
+        SocketTimeoutException timeout = new SocketTimeoutException("timeout");
+        when(delegate.fetch(url)).thenThrow(timeout).thenReturn(document);
+        retryAllowed = false;
+        RetryingDocumentFetcher fetcher = fetcher(2, CircuitBreakerPolicy.defaults());
+
+        assertSame(timeout, assertThrows(SocketTimeoutException.class, () -> fetcher.fetch(url)));
+        assertEquals(0, retrier.getRetries());
+        verify(delegate, times(1)).fetch(url);
+    }
+
+    @Test
+    @DisplayName("Should give up when the Retry-After delay is too long")
+    void shouldNotWaitForLongRetryAfter() throws IOException {
+        FetchStatusException busy =
+                new FetchStatusException(url, 503, RetryPolicy.DEFAULT_MAX_RETRY_AFTER.plusSeconds(1));
+        when(delegate.fetch(url)).thenThrow(busy);
+
+        assertSame(busy, assertThrows(FetchStatusException.class,
+                () -> fetcher(2, CircuitBreakerPolicy.defaults()).fetch(url)));
+        assertTrue(delays.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not retry client errors and unknown hosts")
+    void shouldNotRetryPermanentFailures() throws IOException {
+        when(delegate.fetch(url)).thenThrow(new FetchStatusException(url, 404));
+        RetryingDocumentFetcher fetcher = fetcher(2, CircuitBreakerPolicy.defaults());
+
+        assertThrows(FetchStatusException.class, () -> fetcher.fetch(url));
+        URL unknownUrl = new URL("https://unknown.example.com/");
+        when(delegate.fetch(unknownUrl)).thenThrow(new UnknownHostException("unknown.example.com"));
+        assertThrows(UnknownHostException.class, () -> fetcher.fetch(unknownUrl));
+
+        verify(delegate, times(1)).fetch(url);
+        verify(delegate, times(1)).fetch(unknownUrl);
+        assertEquals(0, retrier.getRetries());
+    }
+
+    @Test
+    @DisplayName("Should fail with the last error once the retries are used up")
+    void shouldStopAfterMaxRetries() throws IOException {
+        when(delegate.fetch(url)).thenThrow(new FetchStatusException(url, 502));
+        RetryingDocumentFetcher fetcher = fetcher(2, CircuitBreakerPolicy.defaults());
+
+        FetchStatusException exception = assertThrows(FetchStatusException.class, () -> fetcher.fetch(url));
+
+        assertEquals(502, exception.getStatusCode());
+        verify(delegate, times(3)).fetch(url);
+        assertEquals(2, retrier.getRetries());
+    }
+
+    @Test
+    @DisplayName("Should fail fast once repeated timeouts opened the circuit of a host")
+    void shouldFailFastWhenCircuitIsOpen() throws IOException {
+        when(delegate.fetch(any())).thenThrow(new SocketTimeoutException("timeout"));
+        RetryingDocumentFetcher fetcher = fetcher(1, new CircuitBreakerPolicy(3, Duration.ofMinutes(1)));
+        URL otherPage = new URL("https://github.com/other");
+
+        assertThrows(SocketTimeoutException.class, () -> fetcher.fetch(url));
+        assertThrows(HostUnavailableException.class, () -> fetcher.fetch(otherPage));
+        assertThrows(HostUnavailableException.class, () -> fetcher.fetch(otherPage));
+
+        verify(delegate, times(2)).fetch(url);
+        verify(delegate, times(1)).fetch(otherPage);
+        assertEquals(1, retrier.getOpenedCircuits());
+        assertEquals(2, retrier.getFailedFastFetches());
+    }
+
+    @Test
+    @DisplayName("Should give up the trial of an open circuit when the trial fetch throws")
+    void shouldReleaseTrialOnRuntimeException() throws IOException {
+        when(delegate.fetch(url))
+                .thenThrow(new SocketTimeoutException("timeout"))
+                .thenThrow(new IllegalStateException("parser bug"))
+                .thenReturn(document);
+        RetryingDocumentFetcher fetcher = fetcher(0, new CircuitBreakerPolicy(1, Duration.ofNanos(1)));
+
+        assertThrows(SocketTimeoutException.class, () -> fetcher.fetch(url));
+        assertThrows(IllegalStateException.class, () -> fetcher.fetch(url));
+
+        assertSame(document, fetcher.fetch(url));
+        assertEquals(0, retrier.getFailedFastFetches());
+    }
+
+    @Test
+    @DisplayName("Should neither close nor trip a circuit on an error status")
+    void shouldKeepCircuitOnErrorStatus() throws IOException {
+        when(delegate.fetch(url))
+                .thenThrow(new SocketTimeoutException("timeout"))
+                .thenThrow(new FetchStatusException(url, 503))
+                .thenThrow(new SocketTimeoutException("timeout"));
+        RetryingDocumentFetcher fetcher = fetcher(0, new CircuitBreakerPolicy(1, Duration.ofNanos(1)));
+
+        assertThrows(SocketTimeoutException.class, () -> fetcher.fetch(url));
+        assertThrows(FetchStatusException.class, () -> fetcher.fetch(url));
+        assertThrows(SocketTimeoutException.class, () -> fetcher.fetch(url));
+
+        assertEquals(1, retrier.getOpenedCircuits());
+    }
+
+    @Test
+    @DisplayName("Should stream a fetch again after it failed while streaming")
+    void shouldRetryStreamedFetches() throws IOException {
+        StreamingHtmlDocumentFetcher streamingDelegate = mock(StreamingHtmlDocumentFetcher.class);
+        Consumer<HtmlElement> listener = element -> {
+        };
+        when(streamingDelegate.fetch(url, listener))
+                .thenThrow(new SocketTimeoutException("timeout"))
+                .thenReturn(document);
+        fetcher(2, CircuitBreakerPolicy.defaults());
+
+        assertSame(document, new RetryingStreamingDocumentFetcher(streamingDelegate, retrier).fetch(url, listener));
+        assertEquals(1, retrier.getRetries());
+    }
+
+    @Test
+    @DisplayName("Should recognise timeouts and connection failures wrapped in other exceptions")
+    void shouldRecogniseHostFailures() {
+        assertTrue(FetchRetrier.isHostFailure(new IOException(new ConnectException("refused"))));
+        assertTrue(FetchRetrier.isHostFailure(new java.net.http.HttpConnectTimeoutException("timeout")));
+        assertFalse(FetchRetrier.isHostFailure(new FetchStatusException(url, 503)));
+        assertFalse(FetchRetrier.isHostFailure(new IOException("broken body")));
+    }
+
+    private RetryingDocumentFetcher fetcher(int maxRetries, CircuitBreakerPolicy circuitBreakerPolicy) {
+        retrier = new FetchRetrier(new RetryPolicy(maxRetries, BACKOFF),
+                new HostCircuitBreaker(circuitBreakerPolicy), (retryUrl, delay, delayHost) -> {
+                    delays.add(delay);
+                    hostDelays.add(delayHost);
+                    return retryAllowed;
+                });
+        return new RetryingDocumentFetcher(delegate, retrier);
+    }
+
+    private static void assertBetween(Duration min, Duration max, Duration actual) {
+        assertTrue(actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0,
+                actual + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.yikesboy.html.retry;
+
+import io.github.yikesboy.html.FetchStatusException;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RetryingPageTransport Tests")
+public class RetryingPageTransportTest {
+    private HttpPageTransport delegate;
+    private List<Duration> delays;
+    private FetchRetrier retrier;
+    private URL url;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        delegate = mock(HttpPageTransport.class);
+        delays = new ArrayList<>();
+        retrier = new FetchRetrier(new RetryPolicy(2, Duration.ofMillis(100)),
+                new HostCircuitBreaker(CircuitBreakerPolicy.defaults()), (retryUrl, delay, delayHost) -> {
+                    delays.add(delay);
+                    return true;
+                });
+        url = new URL("https://github.com/page");
+    }
+
+    @Test
+    @DisplayName("Should retry timeouts and temporary error statuses")
+    void shouldRetryTemporaryFailures() {
+        HttpPageResponse ok = response(200);
+        when(delegate.send(url, Map.of()))
+                .thenReturn(CompletableFuture.failedFuture(new SocketTimeoutException("timeout")))
+                .thenReturn(CompletableFuture.completedFuture(response(503)))
+                .thenReturn(CompletableFuture.completedFuture(ok));
+
+        assertSame(ok, new RetryingPageTransport(delegate, retrier).send(url, Map.of()).join());
+        assertEquals(2, retrier.getRetries());
+    }
+
+    @Test
+    @DisplayName("Should return other responses as they are")
+    void shouldReturnOtherResponses() throws MalformedURLException {
+        HttpPageResponse notModified = response(304);
+        HttpPageResponse notFound = response(404);
+        URL missingUrl = new URL("https://github.com/missing");
+        when(delegate.send(url, Map.of())).thenReturn(CompletableFuture.completedFuture(notModified));
+        when(delegate.send(missingUrl, Map.of())).thenReturn(CompletableFuture.completedFuture(notFound));
+        RetryingPageTransport transport = new RetryingPageTransport(delegate, retrier);
+
+        assertSame(notModified, transport.send(url, Map.of()).join());
+        assertSame(notFound, transport.send(missingUrl, Map.of()).join());
+        assertTrue(delays.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail with the error status once the retries are used up")
+    void shouldFailAfterMaxRetries() {
+        when(delegate.send(url, Map.of())).thenReturn(CompletableFuture.completedFuture(response(502)));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> new RetryingPageTransport(delegate, retrier).send(url, Map.of()).join());
+
+        assertEquals(502, assertInstanceOf(FetchStatusException.class, exception.getCause()).getStatusCode());
+        verify(delegate, times(3)).send(url, Map.of());
+    }
+
+    private HttpPageResponse response(int statusCode) {
+        return new HttpPageResponse(url, statusCode, HttpHeaders.of(Map.of(), (name, value) -> true), new byte[0]);
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.yikesboy.jfr;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.parser.PageParser;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrawlRecording Tests")
+public class CrawlRecordingTest {
+    private static final String ROOT_HTML = "<h1>Root</h1><a href=\"/child\">child</a><a href=\"/missing\">missing</a>";
+    private static final String CHILD_HTML = "<h2>Child</h2><a href=\"/\">root</a>";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should not record without a file")
+    void shouldNotRecordWithoutFile() throws IOException {
+        CrawlRecording recording = CrawlRecording.start(null);
+
+        assertSame(CrawlRecording.NONE, recording);
+        recording.close();
+    }
+
+    @Test
+    @DisplayName("Should write the crawler events of a crawl to the file")
+    void shouldRecordCrawlerEvents() throws IOException {
+        URL rootUrl = new URL("https://github.com/");
+        PageParser parser = new PageParser(url -> switch (url.getPath()) {
+            case "/" -> JsoupHtmlDocument.parse(ROOT_HTML.getBytes(StandardCharsets.UTF_8), null, url);
+            case "/child" -> JsoupHtmlDocument.parse(CHILD_HTML.getBytes(StandardCharsets.UTF_8), null, url);
+            default -> throw new IOException("Not found: " + url);
+        });
+        Path file = directory.resolve("crawl.jfr");
+
+        try (CrawlRecording ignored = CrawlRecording.start(file)) {
+            new WebCrawlerService(parser).crawl(new CrawlConfig(rootUrl, 1, Set.of("github.com")));
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("io.github.yikesboy."))
+                .toList();
+        assertEquals(Set.of("io.github.yikesboy.DocumentParse", "io.github.yikesboy.PageParse",
+                        "io.github.yikesboy.Extraction", "io.github.yikesboy.CrawlTask"),
+                events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toSet()));
+
+        RecordedEvent rootParse = event(events, "io.github.yikesboy.PageParse", "https://github.com/");
+        assertEquals("github.com", rootParse.getString("host"));
+        assertEquals(0, rootParse.getInt("depth"));
+        assertEquals(1, rootParse.getInt("headings"));
+        assertEquals(2, rootParse.getInt("links"));
+        assertEquals(PageParseEvent.PARSED, rootParse.getString("outcome"));
+        assertEquals(PageParseEvent.BROKEN,
+                event(events, "io.github.yikesboy.PageParse", "https://github.com/missing").getString("outcome"));
+
+        RecordedEvent rootTask = event(events, "io.github.yikesboy.CrawlTask", "https://github.com/");
+        assertEquals(2, rootTask.getInt("forkedTasks"));
+        assertEquals(CrawlTaskEvent.CRAWLED, rootTask.getString("outcome"));
+        assertEquals(ExtractionEvent.HEADINGS_AND_LINKS,
+                event(events, "io.github.yikesboy.Extraction", "https://github.com/child").getString("extractor"));
+        assertEquals(ROOT_HTML.length(),
+                event(events, "io.github.yikesboy.DocumentParse", "https://github.com/").getLong("bytes"));
+        assertTrue(Files.size(file) > 0);
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name, String url) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name) && url.equals(event.getString("url")))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.yikesboy.metrics;
+
+import io.github.yikesboy.models.WebPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrawlMetrics Tests")
+public class CrawlMetricsTest {
+    @Test
+    @DisplayName("Should count pages, headings, links, duplicates and domain rejects")
+    void shouldCountRecordedEvents() throws MalformedURLException {
+        CrawlMetrics metrics = new CrawlMetrics();
+        metrics.onPageParsed(new WebPage(new URL("https://github.com"), 0, false));
+        metrics.recordExtraction(1_000, 2, 5);
+        metrics.recordExtraction(1_000, 1, 0);
+        metrics.recordDuplicateUrl();
+        metrics.recordDomainReject();
+        metrics.recordDomainReject();
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(1, counter(snapshot, "crawler_pages_total"));
+        assertEquals(0, counter(snapshot, "crawler_broken_pages_total"));
+        assertEquals(3, counter(snapshot, "crawler_headings_total"));
+        assertEquals(5, counter(snapshot, "crawler_links_total"));
+        assertEquals(1, counter(snapshot, "crawler_duplicate_urls_total"));
+        assertEquals(2, counter(snapshot, "crawler_domain_rejects_total"));
+        assertEquals(2, histogram(snapshot, "crawler_extraction_duration_seconds").getCount());
+        assertEquals(0, histogram(snapshot, "crawler_fetch_duration_seconds").getCount());
+    }
+
+    @Test
+    @DisplayName("Should count broken pages per host")
+    void shouldCountErrorsPerHost() throws MalformedURLException {
+        CrawlMetrics metrics = new CrawlMetrics();
+        metrics.onPageParsed(new WebPage(new URL("https://b.example.com/1"), 1, true));
+        metrics.onPageParsed(new WebPage(new URL("https://a.example.com/1"), 1, true));
+        metrics.onPageParsed(new WebPage(new URL("https://b.example.com/2"), 1, true));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(3, counter(snapshot, "crawler_broken_pages_total"));
+        assertEquals(Map.of("a.example.com", 1L, "b.example.com", 2L), snapshot.errorsByHost());
+        assertEquals("a.example.com", snapshot.errorsByHost().keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Should read gauges when a snapshot is taken")
+    void shouldReadGaugesOnSnapshot() {
+        CrawlMetrics metrics = new CrawlMetrics();
+        AtomicLong value = new AtomicLong(3);
+        metrics.registerGauge("crawler_test_gauge", "A test gauge.", value::get);
+
+        assertEquals(3, metrics.snapshot().gauges().get(0).value());
+        value.set(8);
+        assertEquals(8, metrics.snapshot().gauges().get(0).value());
+    }
+
+    private static long counter(MetricsSnapshot snapshot, String name) {
+        return snapshot.counters().stream()
+                .filter(counter -> counter.name().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .value();
+    }
+
+    private static HistogramSnapshot histogram(MetricsSnapshot snapshot, String name) {
+        return snapshot.histograms().stream()
+                .filter(histogram -> histogram.name().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .histogram();
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.yikesboy.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+public class LatencyHistogramTest {
+    @Test
+    @DisplayName("Should put every value into a bucket that contains it")
+    void shouldPutValuesIntoContainingBuckets() {
+        long[] values = {0, 1, 7, 8, 15, 16, 17, 1_000, 999_999, 5_000_000, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index < LatencyHistogram.BUCKET_COUNT, "index of " + value);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index), "upper bound of " + value);
+            assertTrue(index == 0 || value > LatencyHistogram.bucketUpperBound(index - 1), "lower bound of " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the bucket width within an eighth of the value")
+    void shouldKeepRelativePrecision() {
+        for (long value = 8; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long width = LatencyHistogram.bucketUpperBound(index) - LatencyHistogram.bucketUpperBound(index - 1);
+            assertTrue(width <= value / 8 + 1, "bucket width at " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report count, mean, percentiles and maximum")
+    void shouldReportSummary() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50.5, snapshot.getMeanNanos() / 1_000_000, 0.01);
+        assertEquals(50, snapshot.percentileNanos(50) / 1_000_000.0, 50 * 0.125);
+        assertEquals(99, snapshot.percentileNanos(99) / 1_000_000.0, 99 * 0.125);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), snapshot.maxNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), snapshot.percentileNanos(100));
+    }
+
+    @Test
+    @DisplayName("Should count values at or below a limit")
+    void shouldCountValuesAtMost() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+        histogram.record(TimeUnit.SECONDS.toNanos(3));
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1, snapshot.countAtMost(TimeUnit.MILLISECONDS.toNanos(5)));
+        assertEquals(2, snapshot.countAtMost(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertEquals(3, snapshot.countAtMost(TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    @DisplayName("Should not lose values recorded concurrently")
+    void shouldRecordConcurrently() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, histogram.snapshot().getCount());
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.yikesboy.metrics;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.WebPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetricsFileExporter Tests")
+public class MetricsFileExporterTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should export counters, gauges, histograms and host errors as Prometheus text")
+    void shouldExportPrometheusText() throws IOException {
+        CrawlMetrics metrics = recordedMetrics();
+
+        new MetricsFileExporter(metrics, directory, Duration.ofMinutes(1)).export();
+
+        List<String> lines = Files.readAllLines(directory.resolve(MetricsFileExporter.PROMETHEUS_FILE));
+        assertTrue(lines.contains("# TYPE crawler_pages_total counter"));
+        assertTrue(lines.contains("crawler_pages_total 2"));
+        assertTrue(lines.contains("crawler_broken_pages_total 1"));
+        assertTrue(lines.contains("crawler_links_total 3"));
+        assertTrue(lines.contains("crawler_queue_size 7"));
+        assertTrue(lines.contains("# TYPE crawler_fetch_duration_seconds histogram"));
+        assertTrue(lines.contains("crawler_fetch_duration_seconds_bucket{le=\"0.005\"} 0"));
+        assertTrue(lines.contains("crawler_fetch_duration_seconds_bucket{le=\"0.025\"} 1"));
+        assertTrue(lines.contains("crawler_fetch_duration_seconds_bucket{le=\"+Inf\"} 2"));
+        assertTrue(lines.contains("crawler_fetch_duration_seconds_count 2"));
+        assertTrue(lines.contains("crawler_host_errors_total{host=\"broken.example.com\"} 1"));
+    }
+
+    @Test
+    @DisplayName("Should export a JSON summary")
+    void shouldExportJsonSummary() throws IOException {
+        CrawlMetrics metrics = recordedMetrics();
+
+        new MetricsFileExporter(metrics, directory, Duration.ofMinutes(1)).export();
+
+        String json = Files.readString(directory.resolve(MetricsFileExporter.JSON_FILE));
+        assertTrue(json.contains("\"crawler_pages_total\": 2"));
+        assertTrue(json.contains("\"crawler_queue_size\": 7"));
+        assertTrue(json.contains("\"crawler_fetch_duration_seconds\": {\"count\": 2, \"mean_ms\": 110.000"));
+        assertTrue(json.contains("\"max_ms\": 200.000"));
+        assertTrue(json.contains("\"broken.example.com\": 1"));
+    }
+
+    @Test
+    @DisplayName("Should export while the crawl runs and once it is finished")
+    void shouldExportPeriodicallyAndOnFinish() throws Exception {
+        CrawlMetrics metrics = new CrawlMetrics();
+        MetricsFileExporter exporter = new MetricsFileExporter(metrics, directory, Duration.ofMillis(10));
+        Path prometheusFile = directory.resolve(MetricsFileExporter.PROMETHEUS_FILE);
+
+        exporter.onCrawlStarted(new CrawlConfig(new URL("https://github.com"), 1, Set.of("github.com")));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(prometheusFile) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(Files.exists(prometheusFile));
+
+        metrics.onPageParsed(new WebPage(new URL("https://github.com"), 0, false));
+        exporter.onCrawlFinished(new CrawlResult(null, List.of()));
+
+        assertTrue(Files.readAllLines(prometheusFile).contains("crawler_pages_total 1"));
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    private static CrawlMetrics recordedMetrics() throws IOException {
+        CrawlMetrics metrics = new CrawlMetrics();
+        metrics.recordFetch(TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.recordFetch(TimeUnit.MILLISECONDS.toNanos(200));
+        metrics.recordExtraction(TimeUnit.MILLISECONDS.toNanos(1), 2, 3);
+        metrics.registerGauge("crawler_queue_size", "Queued pages.", () -> 7);
+        metrics.onPageParsed(new WebPage(new URL("https://github.com"), 0, false));
+        metrics.onPageParsed(new WebPage(new URL("https://broken.example.com/page"), 1, true));
+        return metrics;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.html.HtmlDocument;
+import io.github.yikesboy.html.HtmlElement;
+import io.github.yikesboy.html.jsoup.JsoupHtmlDocument;
+import io.github.yikesboy.models.Heading;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExtractionPipeline Tests")
+public class ExtractionPipelineTest {
+    private static final String HTML = """
+            <html>
+            <head><title> Sample Title </title></head>
+            <body>
+                <h1>First heading</h1>
+                <a href="/first">first</a>
+                <div><h2>Nested heading</h2><a href="https://github.com/second">second</a></div>
+                <a href="#fragment">fragment</a>
+                <a href="javascript:void(0)">script</a>
+                <a>no href</a>
+                <h3>Last heading</h3>
+            </body>
+            </html>
+            """;
+
+    private HeadingExtractor headingExtractor;
+    private LinkExtractor linkExtractor;
+    private ExtractionPipeline pipeline;
+    private URL baseUrl;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        headingExtractor = new HeadingExtractor();
+        linkExtractor = new LinkExtractor();
+        pipeline = new ExtractionPipeline(List.of(headingExtractor, linkExtractor));
+        baseUrl = new URL("https://github.com");
+    }
+
+    @Test
+    @DisplayName("Should extract the same values as the separate extractors")
+    void shouldExtractSameValuesAsSeparateExtractors() {
+        HtmlDocument document = new JsoupHtmlDocument(Jsoup.parse(HTML, baseUrl.toString()));
+
+        ExtractionResult result = pipeline.extract(document, baseUrl);
+
+        assertEquals(headingExtractor.extractHeadings(document), result.get(headingExtractor));
+        assertEquals(linkExtractor.extractLinks(document, baseUrl), result.get(linkExtractor));
+        assertEquals(List.of(new Heading(1, "First heading"), new Heading(2, "Nested heading"),
+                new Heading(3, "Last heading")), result.get(headingExtractor));
+        assertEquals(2, result.get(linkExtractor).size());
+    }
+
+    @Test
+    @DisplayName("Should traverse the document only once for all extractors")
+    void shouldTraverseDocumentOnce() {
+        CountingDocument document = new CountingDocument(new JsoupHtmlDocument(Jsoup.parse(HTML)));
+
+        pipeline.extract(document, baseUrl);
+
+        assertEquals(1, document.traversals.get());
+        assertEquals(0, document.selects.get());
+        assertEquals(Set.of("h1", "h2", "h3", "h4", "h5", "h6", "a"), pipeline.getTagNames());
+    }
+
+    @Test
+    @DisplayName("Should run document extractors after the traversal")
+    void shouldRunDocumentExtractorsAfterTraversal() {
+        HtmlDocument document = new JsoupHtmlDocument(Jsoup.parse(HTML));
+        DocumentExtractorAdapter<String> titleAdapter =
+                new DocumentExtractorAdapter<>((htmlDocument, url) -> htmlDocument.getTitle());
+        ExtractionPipeline adapterPipeline = new ExtractionPipeline(List.of(titleAdapter));
+
+        ExtractionResult result = adapterPipeline.extract(document, baseUrl);
+
+        assertEquals("Sample Title", result.get(titleAdapter));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for extractor outside the pipeline")
+    void shouldThrowForUnknownExtractor() {
+        HtmlDocument document = new JsoupHtmlDocument(Jsoup.parse(HTML));
+
+        ExtractionResult result = pipeline.extract(document, baseUrl);
+
+        assertThrows(IllegalArgumentException.class, () -> result.get(new HeadingExtractor()));
+    }
+
+    private static final class CountingDocument implements HtmlDocument {
+        private final HtmlDocument delegate;
+        private final AtomicInteger traversals = new AtomicInteger();
+        private final AtomicInteger selects = new AtomicInteger();
+
+        private CountingDocument(HtmlDocument delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<HtmlElement> select(String cssSelector) {
+            selects.incrementAndGet();
+            return delegate.select(cssSelector);
+        }
+
+        @Override
+        public String getTitle() {
+            return delegate.getTitle();
+        }
+
+        @Override
+        public void traverse(Set<String> tagNames, Consumer<HtmlElement> visitor) {
+            traversals.incrementAndGet();
+            delegate.traverse(tagNames, visitor);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.yikesboy.parser;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.html.http.HttpClientDocumentFetcher;
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.CrawlResult;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.report.MarkdownReportRenderer;
+import io.github.yikesboy.snapshot.CrawlSnapshot;
+import io.github.yikesboy.snapshot.IncrementalCrawlStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IncrementalPageParser Tests")
+public class IncrementalPageParserTest {
+    private static final String ROOT_URL = "https://github.com/";
+
+    private Map<String, String> pages;
+    private Map<String, String> etags;
+
+    @BeforeEach
+    void setUp() {
+        pages = new ConcurrentHashMap<>();
+        etags = new ConcurrentHashMap<>();
+        pages.put(ROOT_URL, "<html><body><h1>Root</h1><a href=\"/first\">1</a><a href=\"/second\">2</a></body></html>");
+        pages.put(ROOT_URL + "first", "<html><body><h2>First</h2><a href=\"/second\">2</a></body></html>");
+        pages.put(ROOT_URL + "second", "<html><body><h2>Second</h2><a href=\"/third\">3</a></body></html>");
+        pages.put(ROOT_URL + "third", "<html><body><h3>Third</h3></body></html>");
+        etags.put(ROOT_URL, "\"root-v1\"");
+    }
+
+    @Test
+    @DisplayName("Should reuse pages answered with 304")
+    void shouldReusePagesAnsweredWithNotModified() throws IOException {
+        IncrementalPageParser firstRun = new IncrementalPageParser(transport(), new CrawlSnapshot());
+        WebPage firstPage = firstRun.parse(new URL(ROOT_URL), 0);
+
+        IncrementalPageParser secondRun = new IncrementalPageParser(transport(), firstRun.getCurrentSnapshot());
+        WebPage secondPage = secondRun.parse(new URL(ROOT_URL), 0);
+
+        assertEquals(firstPage.getHeadings(), secondPage.getHeadings());
+        assertEquals(firstPage.getLinks(), secondPage.getLinks());
+        assertEquals(new IncrementalCrawlStats(1, 0, 0), secondRun.getStats());
+        assertTrue(secondRun.getCurrentSnapshot().get(new URL(ROOT_URL)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should record every fetch but only the extraction of parsed pages")
+    void shouldRecordFetchesAndExtractions() throws IOException {
+        List<String> recorded = new ArrayList<>();
+        CrawlMetricsRecorder metrics = new CrawlMetricsRecorder() {
+            @Override
+            public void recordFetch(long nanos) {
+                recorded.add("fetch");
+            }
+
+            @Override
+            public void recordExtraction(long nanos, int headings, int links) {
+                recorded.add("extraction " + headings + " " + links);
+            }
+        };
+        IncrementalPageParser firstRun = new IncrementalPageParser(transport(), new CrawlSnapshot(), metrics);
+        firstRun.parse(new URL(ROOT_URL), 0);
+
+        new IncrementalPageParser(transport(), firstRun.getCurrentSnapshot(), metrics).parse(new URL(ROOT_URL), 0);
+
+        assertEquals(List.of("fetch", "extraction 1 2", "fetch"), recorded);
+    }
+
+    @Test
+    @DisplayName("Should reuse pages with unchanged content")
+    void shouldReusePagesWithUnchangedContent() throws IOException {
+        URL url = new URL(ROOT_URL + "first");
+        IncrementalPageParser firstRun = new IncrementalPageParser(transport(), new CrawlSnapshot());
+        firstRun.parse(url, 1);
+
+        IncrementalPageParser secondRun = new IncrementalPageParser(transport(), firstRun.getCurrentSnapshot());
+        WebPage page = secondRun.parse(url, 1);
+
+        assertEquals("First", page.getHeadings().get(0).text());
+        assertEquals(new IncrementalCrawlStats(0, 1, 0), secondRun.getStats());
+    }
+
+    @Test
+    @DisplayName("Should parse pages with changed content")
+    void shouldParsePagesWithChangedContent() throws IOException {
+        URL url = new URL(ROOT_URL + "first");
+        IncrementalPageParser firstRun = new IncrementalPageParser(transport(), new CrawlSnapshot());
+        firstRun.parse(url, 1);
+        pages.put(url.toString(), "<html><body><h2>Changed</h2></body></html>");
+
+        IncrementalPageParser secondRun = new IncrementalPageParser(transport(), firstRun.getCurrentSnapshot());
+        WebPage page = secondRun.parse(url, 1);
+
+        assertEquals("Changed", page.getHeadings().get(0).text());
+        assertTrue(page.getLinks().isEmpty());
+        assertEquals(new IncrementalCrawlStats(0, 0, 1), secondRun.getStats());
+    }
+
+    @Test
+    @DisplayName("Should return broken page for error status")
+    void shouldReturnBrokenPageForErrorStatus() throws IOException {
+        IncrementalPageParser parser = new IncrementalPageParser(transport(), new CrawlSnapshot());
+
+        WebPage page = parser.parse(new URL(ROOT_URL + "missing"), 1);
+
+        assertTrue(page.isBroken());
+        assertEquals(0, parser.getCurrentSnapshot().size());
+    }
+
+    @Test
+    @DisplayName("Should produce the same result as a full crawl")
+    void shouldProduceSameResultAsFullCrawl() throws IOException {
+        CrawlConfig config = new CrawlConfig(new URL(ROOT_URL), 3, Set.of("github.com"));
+        IncrementalPageParser firstRun = new IncrementalPageParser(transport(), new CrawlSnapshot());
+        new WebCrawlerService(firstRun).crawl(config);
+        pages.put(ROOT_URL + "third", "<html><body><h3>Third changed</h3></body></html>");
+
+        IncrementalPageParser secondRun = new IncrementalPageParser(transport(), firstRun.getCurrentSnapshot());
+        CrawlResult incrementalResult = new WebCrawlerService(secondRun).crawl(config);
+        CrawlResult fullResult = new WebCrawlerService(new PageParser(new HttpClientDocumentFetcher(transport())))
+                .crawl(config);
+
+        assertEquals(render(fullResult), render(incrementalResult));
+        assertEquals(new IncrementalCrawlStats(1, 2, 1), secondRun.getStats());
+    }
+
+    /**
+     * Helper method that creates a transport serving the pages map. Pages with an ETag answer matching
+     * conditional requests with 304, unknown pages with 404.
+     */
+    private HttpPageTransport transport() {
+        return (url, requestHeaders) -> {
+            String body = pages.get(url.toString());
+            String etag = etags.get(url.toString());
+            Map<String, List<String>> headers = new HashMap<>();
+            headers.put("Content-Type", List.of("text/html; charset=UTF-8"));
+            if (etag != null) {
+                headers.put("ETag", List.of(etag));
+            }
+
+            int statusCode = body == null ? 404 : etag != null && etag.equals(requestHeaders.get("If-None-Match")) ? 304 : 200;
+            byte[] bytes = statusCode == 200 ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            return CompletableFuture.completedFuture(
+                    new HttpPageResponse(url, statusCode, HttpHeaders.of(headers, (name, value) -> true), bytes));
+        };
+    }
+
+    private static String render(CrawlResult result) throws IOException {
+        StringBuilder report = new StringBuilder();
+        new MarkdownReportRenderer().renderReport(report, result.rootPage(), result.errors());
+        return report.toString();
+    }
+}
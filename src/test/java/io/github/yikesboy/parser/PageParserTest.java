@@ -2,7 +2,9 @@ package io.github.yikesboy.parser;
 
 import io.github.yikesboy.html.HtmlDocument;
 import io.github.yikesboy.html.HtmlDocumentFetcher;
+import io.github.yikesboy.html.PageSkippedException;
 import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.SkipReason;
 import io.github.yikesboy.models.WebPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +19,7 @@ import java.net.URL;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,15 +47,17 @@ public class PageParserTest {
     @DisplayName("Should create complete WebPage on successful fetch")
     void shouldCreateCompleteWebPageOnSuccess() throws IOException {
         List<Heading> headings = List.of(new Heading(1, "Test Heading"));
+        List<URL> links = List.of(new URL("https://github.com/page1"));
         when(documentFetcher.fetch(testUrl)).thenReturn(htmlDocument);
         when(headingExtractor.extractHeadings(htmlDocument)).thenReturn(headings);
+        when(linkExtractor.extractLinks(htmlDocument, testUrl)).thenReturn(links);
 
         WebPage result = pageParser.parse(testUrl, 2);
 
         assertFalse(result.isBroken());
         assertEquals(testUrl, result.getUrl());
         assertEquals(2, result.getDepth());
-        assertEquals(htmlDocument, result.getDocument());
+        assertEquals(links, result.getLinks());
         assertEquals(headings, result.getHeadings());
     }
 
@@ -79,7 +83,20 @@ public class PageParserTest {
         assertTrue(result.isBroken());
         assertEquals(testUrl, result.getUrl());
         assertEquals(1, result.getDepth());
-        assertNull(result.getDocument());
+        assertTrue(result.getLinks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should create a skipped WebPage when the fetch was skipped")
+    void shouldCreateSkippedPageWhenFetchIsSkipped() throws IOException {
+        when(documentFetcher.fetch(testUrl)).thenThrow(new PageSkippedException(testUrl, SkipReason.NOT_HTML));
+
+        WebPage result = pageParser.parse(testUrl, 1);
+
+        assertTrue(result.isSkipped());
+        assertFalse(result.isBroken());
+        assertEquals(SkipReason.NOT_HTML, result.getSkipReason());
+        assertTrue(pageParser.extractLinks(result).isEmpty());
     }
 
 
@@ -104,14 +121,13 @@ public class PageParserTest {
     @Test
     @DisplayName("Should extract links from valid page")
     void shouldExtractLinksFromValidPage() throws Exception {
-        WebPage validPage = new WebPage(testUrl, List.of(), 0, htmlDocument);
         List<URL> expectedLinks = List.of(new URL("https://github.com/page1"));
-        when(linkExtractor.extractLinks(htmlDocument, testUrl)).thenReturn(expectedLinks);
+        WebPage validPage = new WebPage(testUrl, List.of(), 0, expectedLinks);
 
         List<URL> result = pageParser.extractLinks(validPage);
 
         assertEquals(expectedLinks, result);
-        verify(linkExtractor).extractLinks(htmlDocument, testUrl);
+        verifyNoInteractions(linkExtractor);
     }
 
     @Test
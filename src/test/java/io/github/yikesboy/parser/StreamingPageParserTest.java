@@ -0,0 +1,160 @@
+package io.github.yikesboy.parser;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.yikesboy.html.jsoup.JsoupStreamingDocumentFetcher;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.WebPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StreamingPageParser Tests")
+public class StreamingPageParserTest {
+    private static final int TIMEOUT_MS = 5_000;
+    private static final String FIRST_PART = "<html><head><title>Page</title></head><body>"
+            + "<h1>Start</h1><a href=\"/first\">first</a><p>";
+    private static final String SECOND_PART = "</p><h2>End</h2><a href=\"/second\">second</a>"
+            + "<a href=\"#top\">top</a></body></html>";
+
+    private HttpServer server;
+    private String baseUrl;
+    private CountDownLatch firstLinkReceived;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        firstLinkReceived = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(FIRST_PART.getBytes(StandardCharsets.UTF_8));
+                body.write(" ".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                awaitFirstLink();
+                body.write(SECOND_PART.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/page", exchange -> {
+            byte[] body = (FIRST_PART + SECOND_PART).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should pass links on before the body is complete")
+    void shouldPassLinksBeforeBodyIsComplete() throws IOException {
+        StreamingPageParser parser = new StreamingPageParser(TIMEOUT_MS);
+        List<URL> streamedLinks = new ArrayList<>();
+
+        WebPage page = parser.parse(new URL(baseUrl + "/slow"), 0, link -> {
+            streamedLinks.add(link);
+            firstLinkReceived.countDown();
+        });
+
+        assertFalse(page.isBroken());
+        assertEquals(List.of(new URL(baseUrl + "/first"), new URL(baseUrl + "/second")), streamedLinks);
+    }
+
+    @Test
+    @DisplayName("Should create the same page as the buffered parser")
+    void shouldCreateSamePageAsBufferedParser() throws IOException {
+        URL url = new URL(baseUrl + "/page");
+
+        WebPage streamedPage = new StreamingPageParser(TIMEOUT_MS).parse(url, 1);
+        WebPage bufferedPage = new PageParser(TIMEOUT_MS).parse(url, 1);
+
+        assertEquals(bufferedPage.getHeadings(), streamedPage.getHeadings());
+        assertEquals(bufferedPage.getLinks(), streamedPage.getLinks());
+        assertEquals(bufferedPage.getDepth(), streamedPage.getDepth());
+        assertEquals(bufferedPage.getByteCount(), streamedPage.getByteCount());
+    }
+
+    @Test
+    @DisplayName("Should count the streamed body bytes")
+    void shouldCountStreamedBytes() throws IOException {
+        firstLinkReceived.countDown();
+        int bodyBytes = (FIRST_PART + " ".repeat(64 * 1024) + SECOND_PART).getBytes(StandardCharsets.UTF_8).length;
+
+        WebPage page = new StreamingPageParser(TIMEOUT_MS).parse(new URL(baseUrl + "/slow"), 0);
+
+        assertEquals(bodyBytes, page.getByteCount());
+    }
+
+    @Test
+    @DisplayName("Should record the fetch and the extraction of a page")
+    void shouldRecordFetchAndExtraction() throws IOException {
+        List<String> recorded = new ArrayList<>();
+        CrawlMetricsRecorder metrics = new CrawlMetricsRecorder() {
+            @Override
+            public void recordFetch(long nanos) {
+                recorded.add("fetch");
+            }
+
+            @Override
+            public void recordExtraction(long nanos, int headings, int links) {
+                recorded.add("extraction " + headings + " " + links);
+            }
+        };
+        StreamingPageParser parser = new StreamingPageParser(new JsoupStreamingDocumentFetcher(TIMEOUT_MS), metrics);
+
+        parser.parse(new URL(baseUrl + "/page"), 0);
+
+        assertEquals(List.of("fetch", "extraction 2 2"), recorded);
+    }
+
+    @Test
+    @DisplayName("Should create broken page for error status")
+    void shouldCreateBrokenPageForErrorStatus() throws IOException {
+        WebPage page = new StreamingPageParser(TIMEOUT_MS).parse(new URL(baseUrl + "/missing"), 0);
+
+        assertTrue(page.isBroken());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for negative depth")
+    void shouldThrowForNegativeDepth() {
+        StreamingPageParser parser = new StreamingPageParser(TIMEOUT_MS);
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(new URL(baseUrl + "/page"), -1));
+    }
+
+    private void awaitFirstLink() throws IOException {
+        try {
+            if (!firstLinkReceived.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IOException("First link was not streamed before the body was complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.github.yikesboy.report;
 
 import io.github.yikesboy.models.CrawlError;
 import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.SkipReason;
 import io.github.yikesboy.models.WebPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -83,6 +84,22 @@ public class ReportGeneratorTest {
         assertFalse(content.contains("depth: 1") && content.contains("broken link"));
     }
 
+    @Test
+    @DisplayName("Should list skipped links apart from broken links")
+    void shouldListSkippedLinks() throws IOException {
+        WebPage rootPage = createPageWithBrokenChild();
+        rootPage.addChildPage(new WebPage(new URL("https://github.com/manual.pdf"), 1, SkipReason.EXCLUDED_EXTENSION));
+        Path outputPath = tempDir.resolve("skipped-links-report.md");
+
+        assertTrue(reportGenerator.generateReport(rootPage, Collections.emptyList(), outputPath));
+
+        String content = Files.readString(outputPath);
+        assertTrue(content.contains("--> skipped link <a>https://github.com/manual.pdf</a>"));
+        assertTrue(content.contains("## Skipped Links"));
+        assertTrue(content.contains("--> skipped <a>https://github.com/manual.pdf</a>: file extension is excluded"));
+        assertFalse(content.contains("skipped <a>https://github.com/broken</a>"));
+    }
+
     @Test
     @DisplayName("Should handle page with multiple headings")
     void shouldHandleMultipleHeadings() throws IOException {
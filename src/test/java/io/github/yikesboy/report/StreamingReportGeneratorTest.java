@@ -0,0 +1,135 @@
+package io.github.yikesboy.report;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.models.CrawlError;
+import io.github.yikesboy.models.Heading;
+import io.github.yikesboy.models.WebPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StreamingReportGenerator Tests")
+public class StreamingReportGeneratorTest {
+    private URL rootUrl;
+    private CrawlConfig config;
+    private List<CrawlError> errors;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        rootUrl = new URL("https://github.com");
+        config = new CrawlConfig(rootUrl, 2, Set.of("github.com"));
+        errors = List.of(new CrawlError(new URL("https://github.com/error"), 1, "Error Message"));
+    }
+
+    @Test
+    @DisplayName("Should stream the same report as the ReportGenerator")
+    void shouldStreamSameReportAsReportGenerator() throws IOException {
+        Path streamedPath = tempDir.resolve("streamed-report.md");
+        Path expectedPath = tempDir.resolve("expected-report.md");
+        StreamingReportGenerator generator = new StreamingReportGenerator(streamedPath, false);
+
+        WebPage rootPage = crawlTree(generator);
+        boolean result = generator.generateReport(rootPage, errors, streamedPath);
+        new ReportGenerator().generateReport(rootPage, errors, expectedPath);
+
+        assertTrue(result);
+        assertArrayEquals(Files.readAllBytes(expectedPath), Files.readAllBytes(streamedPath));
+    }
+
+    @Test
+    @DisplayName("Should write gzip compressed report")
+    void shouldWriteGzipCompressedReport() throws IOException {
+        Path streamedPath = tempDir.resolve("streamed-report.md.gz");
+        Path expectedPath = tempDir.resolve("expected-report.md");
+        StreamingReportGenerator generator = new StreamingReportGenerator(streamedPath, true);
+
+        WebPage rootPage = crawlTree(generator);
+        boolean result = generator.generateReport(rootPage, errors, streamedPath);
+        new ReportGenerator().generateReport(rootPage, errors, expectedPath);
+
+        assertTrue(result);
+        assertEquals(Files.readString(expectedPath), readGzip(streamedPath));
+    }
+
+    @Test
+    @DisplayName("Should write complete report when crawl was not streamed")
+    void shouldWriteCompleteReportWhenCrawlWasNotStreamed() throws IOException {
+        Path outputPath = tempDir.resolve("report.md");
+        StreamingReportGenerator generator = new StreamingReportGenerator(outputPath, false);
+        WebPage rootPage = new WebPage(rootUrl, List.of(new Heading(1, "Root Heading")), 0, null);
+
+        boolean result = generator.generateReport(rootPage, Collections.emptyList(), outputPath);
+
+        assertTrue(result);
+        assertTrue(Files.readString(outputPath).contains("# Root Heading"));
+    }
+
+    @Test
+    @DisplayName("Should return false when report file cannot be opened")
+    void shouldReturnFalseWhenReportFileCannotBeOpened() {
+        Path invalidPath = Path.of("/invalid/directory/report.md");
+        StreamingReportGenerator generator = new StreamingReportGenerator(invalidPath, false);
+
+        WebPage rootPage = crawlTree(generator);
+        boolean result = generator.generateReport(rootPage, errors, invalidPath);
+
+        assertFalse(result);
+    }
+
+    /**
+     * Helper method that replays the listener events of a crawl with two levels below the root,
+     * children are attached bottom-up like the crawl engines do.
+     */
+    private WebPage crawlTree(StreamingReportGenerator generator) {
+        try {
+            generator.onCrawlStarted(config);
+
+            WebPage rootPage = new WebPage(rootUrl, List.of(new Heading(1, "Root Heading")), 0, null);
+            generator.onPageParsed(rootPage);
+
+            WebPage firstChild = new WebPage(new URL("https://github.com/first"),
+                    List.of(new Heading(2, "First Child")), 1, null);
+            WebPage grandChild = new WebPage(new URL("https://github.com/first/nested"),
+                    List.of(new Heading(3, "Grand Child")), 2, null);
+            WebPage brokenChild = new WebPage(new URL("https://github.com/broken"), 1, true);
+            generator.onPageParsed(firstChild);
+            generator.onPageParsed(grandChild);
+            generator.onPageParsed(brokenChild);
+
+            firstChild.addChildPage(grandChild);
+            generator.onChildPageAttached(firstChild, grandChild);
+            rootPage.addChildPage(firstChild);
+            generator.onChildPageAttached(rootPage, firstChild);
+            rootPage.addChildPage(brokenChild);
+            generator.onChildPageAttached(rootPage, brokenChild);
+
+            return rootPage;
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String readGzip(Path path) throws IOException {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(path))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
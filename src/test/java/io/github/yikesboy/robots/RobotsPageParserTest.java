@@ -0,0 +1,49 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.models.SkipReason;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RobotsPageParser Tests")
+public class RobotsPageParserTest {
+    @Mock
+    private PageParserInterface mockParser;
+
+    @Test
+    @DisplayName("Should skip disallowed pages without fetching them")
+    void shouldSkipDisallowedPages() throws Exception {
+        URL privateUrl = new URL("https://github.com/private/page");
+        URL publicUrl = new URL("https://github.com/page");
+        WebPage publicPage = new WebPage(publicUrl, List.of(), 1, List.of());
+        when(mockParser.parse(publicUrl, 1)).thenReturn(publicPage);
+        RobotsPageParser parser = new RobotsPageParser(mockParser, new RobotsTxtCache((url, headers) ->
+                CompletableFuture.completedFuture(new HttpPageResponse(url, 200,
+                        HttpHeaders.of(Map.of(), (name, value) -> true),
+                        "User-agent: *\nDisallow: /private\n".getBytes(StandardCharsets.UTF_8)))));
+
+        WebPage privatePage = parser.parse(privateUrl, 1);
+
+        assertTrue(privatePage.isSkipped());
+        assertEquals(SkipReason.ROBOTS_DISALLOWED, privatePage.getSkipReason());
+        assertFalse(privatePage.isBroken());
+        assertSame(publicPage, parser.parse(publicUrl, 1));
+        verify(mockParser, never()).parse(eq(privateUrl), anyInt());
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.yikesboy.robots;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RobotsRules Tests")
+public class RobotsRulesTest {
+    @Test
+    @DisplayName("Should let the longest matching rule decide")
+    void shouldApplyLongestMatch() {
+        RobotsRules rules = rules(disallow("/private"), allow("/private/public"), disallow("/private/public/secret"));
+
+        assertTrue(rules.isAllowed("/"));
+        assertFalse(rules.isAllowed("/private/page"));
+        assertTrue(rules.isAllowed("/private/public/page"));
+        assertFalse(rules.isAllowed("/private/public/secret.html"));
+    }
+
+    @Test
+    @DisplayName("Should prefer allow over disallow for equally long patterns")
+    void shouldPreferAllowOnTie() {
+        RobotsRules rules = rules(disallow("/page"), allow("/page"));
+
+        assertTrue(rules.isAllowed("/page"));
+    }
+
+    @Test
+    @DisplayName("Should match wildcards and end anchors")
+    void shouldMatchWildcardsAndAnchors() {
+        RobotsRules rules = rules(disallow("/*.pdf$"), disallow("/search*q="), disallow("/exact$"));
+
+        assertFalse(rules.isAllowed("/files/report.pdf"));
+        assertTrue(rules.isAllowed("/files/report.pdf.html"));
+        assertFalse(rules.isAllowed("/search/results?q=crawler"));
+        assertTrue(rules.isAllowed("/search/results"));
+        assertFalse(rules.isAllowed("/exact"));
+        assertTrue(rules.isAllowed("/exact/child"));
+    }
+
+    @Test
+    @DisplayName("Should match the path and query of a URL and always allow robots.txt")
+    void shouldMatchUrls() throws Exception {
+        RobotsRules rules = rules(disallow("/*?session="));
+
+        assertFalse(rules.isAllowed(new URL("https://github.com/page?session=1")));
+        assertTrue(rules.isAllowed(new URL("https://github.com/page")));
+        assertTrue(rules.isAllowed(new URL("https://github.com")));
+        assertTrue(RobotsRules.DISALLOW_ALL.isAllowed(new URL("https://github.com/robots.txt")));
+        assertFalse(RobotsRules.DISALLOW_ALL.isAllowed(new URL("https://github.com")));
+    }
+
+    private static RobotsRules rules(RobotsRules.Rule... rules) {
+        return new RobotsRules(List.of(rules), Duration.ZERO);
+    }
+
+    private static RobotsRules.Rule allow(String pattern) {
+        return new RobotsRules.Rule(pattern, true);
+    }
+
+    private static RobotsRules.Rule disallow(String pattern) {
+        return new RobotsRules.Rule(pattern, false);
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.yikesboy.robots;
+
+import io.github.yikesboy.html.http.HttpPageResponse;
+import io.github.yikesboy.html.http.HttpPageTransport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RobotsTxtCache Tests")
+public class RobotsTxtCacheTest {
+    private static final String ROBOTS_TXT = "User-agent: *\nDisallow: /private\nCrawl-delay: 2\n";
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofMillis(200);
+
+    private final List<URL> requests = new CopyOnWriteArrayList<>();
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    @DisplayName("Should fetch robots.txt once per origin and count hits")
+    void shouldCacheRulesPerOrigin() throws Exception {
+        RobotsTxtCache cache = cache(url -> completed(url, 200, ROBOTS_TXT));
+
+        assertFalse(cache.isAllowed(new URL("https://github.com/private/page")));
+        assertTrue(cache.isAllowed(new URL("https://github.com/public")));
+        assertTrue(cache.isAllowed(new URL("https://GitHub.com:443/other")));
+        assertFalse(cache.isAllowed(new URL("http://github.com/private")));
+
+        assertEquals(List.of(new URL("https://github.com/robots.txt"), new URL("http://github.com/robots.txt")),
+                requests);
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(Duration.ofSeconds(2), cache.delayFor("github.com"));
+        assertEquals(Duration.ZERO, cache.delayFor("example.com"));
+    }
+
+    @Test
+    @DisplayName("Should share the fetch between concurrent first requests")
+    void shouldShareConcurrentFetch() throws Exception {
+        CompletableFuture<HttpPageResponse> response = new CompletableFuture<>();
+        RobotsTxtCache cache = cache(url -> response);
+        URL url = new URL("https://github.com/private");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<RobotsRules>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.getRules(url)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            response.complete(completed(new URL("https://github.com/robots.txt"), 200, ROBOTS_TXT).join());
+
+            RobotsRules rules = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<RobotsRules> result : results) {
+                assertSame(rules, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, requests.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(3, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Should fetch robots.txt again once its time to live has passed")
+    void shouldExpireEntries() throws Exception {
+        RobotsTxtCache cache = cache(url -> completed(url, 200, ROBOTS_TXT));
+        URL url = new URL("https://github.com/page");
+
+        cache.getRules(url);
+        nanoTime.addAndGet(Duration.ofMinutes(59).toNanos());
+        cache.getRules(url);
+        assertEquals(1, requests.size());
+
+        nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.evictExpired();
+        assertEquals(0, cache.size());
+        assertEquals(Duration.ZERO, cache.delayFor("github.com"));
+
+        cache.getRules(url);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    @DisplayName("Should allow everything without robots.txt and nothing while the server fails")
+    void shouldHandleErrorStatuses() throws Exception {
+        assertTrue(cache(url -> completed(url, 404, "")).isAllowed(new URL("https://github.com/page")));
+        assertFalse(cache(url -> completed(url, 503, "")).isAllowed(new URL("https://github.com/page")));
+        assertTrue(cache(url -> CompletableFuture.failedFuture(new IOException("Connection refused")))
+                .isAllowed(new URL("https://github.com/page")));
+    }
+
+    @Test
+    @DisplayName("Should allow everything for a short time when the fetch cannot start or does not finish")
+    void shouldCompleteFailedAndStalledFetches() throws Exception {
+        RobotsTxtCache throwingCache = cache(url -> {
+            throw new IllegalStateException("Transport closed");
+        });
+        RobotsTxtCache stalledCache = cache(url -> new CompletableFuture<>());
+        URL url = new URL("https://github.com/page");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertTrue(throwingCache.isAllowed(url));
+            assertTrue(throwingCache.isAllowed(url));
+            assertTrue(stalledCache.isAllowed(url));
+        });
+        nanoTime.addAndGet(RobotsTxtCache.FAILURE_TTL.toNanos());
+        throwingCache.getRules(url);
+
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    @DisplayName("Should retry a failing server after a short time")
+    void shouldExpireFailuresEarly() throws Exception {
+        RobotsTxtCache cache = cache(url -> completed(url, 503, ""));
+        URL url = new URL("https://github.com/page");
+
+        cache.getRules(url);
+        nanoTime.addAndGet(RobotsTxtCache.FAILURE_TTL.toNanos());
+        cache.getRules(url);
+
+        assertEquals(2, requests.size());
+    }
+
+    private RobotsTxtCache cache(Function<URL, CompletableFuture<HttpPageResponse>> server) {
+        HttpPageTransport transport = (url, headers) -> {
+            requests.add(url);
+            return server.apply(url);
+        };
+        return new RobotsTxtCache(transport, new RobotsTxtParser(), Duration.ofHours(1), FETCH_TIMEOUT, nanoTime::get);
+    }
+
+    private static CompletableFuture<HttpPageResponse> completed(URL url, int statusCode, String body) {
+        return CompletableFuture.completedFuture(new HttpPageResponse(url, statusCode,
+                HttpHeaders.of(Map.of(), (name, value) -> true), body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.yikesboy.robots;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RobotsTxtParser Tests")
+public class RobotsTxtParserTest {
+    private final RobotsTxtParser parser = new RobotsTxtParser();
+
+    @Test
+    @DisplayName("Should use the groups of the crawler instead of the wildcard group")
+    void shouldPreferOwnGroups() {
+        RobotsRules rules = parser.parse("""
+                User-agent: *
+                Disallow: /
+
+                User-agent: OtherBot
+                User-agent: cleancodewebcrawler # our token, in any case
+                Disallow: /private
+                Crawl-delay: 2.5
+
+                User-agent: CleanCodeWebCrawler
+                Allow: /private/public
+                """);
+
+        assertTrue(rules.isAllowed("/"));
+        assertFalse(rules.isAllowed("/private/page"));
+        assertTrue(rules.isAllowed("/private/public/page"));
+        assertEquals(Duration.ofMillis(2500), rules.getCrawlDelay());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the wildcard group")
+    void shouldUseWildcardGroup() {
+        RobotsRules rules = parser.parse("User-agent: OtherBot\nDisallow: /\n\nUser-agent: *\nDisallow: /tmp\n"
+                + "Disallow:\n");
+
+        assertTrue(rules.isAllowed("/page"));
+        assertFalse(rules.isAllowed("/tmp/file"));
+        assertEquals(Duration.ZERO, rules.getCrawlDelay());
+    }
+
+    @Test
+    @DisplayName("Should allow everything without a matching group")
+    void shouldAllowWithoutMatchingGroup() {
+        assertSame(RobotsRules.ALLOW_ALL, parser.parse("User-agent: OtherBot\nDisallow: /\n"));
+        assertSame(RobotsRules.ALLOW_ALL, parser.parse("not a robots.txt"));
+    }
+
+    @Test
+    @DisplayName("Should cap the crawl delay and ignore invalid ones")
+    void shouldCapCrawlDelay() {
+        assertEquals(RobotsTxtParser.MAX_CRAWL_DELAY,
+                parser.parse("User-agent: *\nCrawl-delay: 3600\n").getCrawlDelay());
+        assertEquals(Duration.ZERO, parser.parse("User-agent: *\nCrawl-delay: soon\n").getCrawlDelay());
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.yikesboy.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HostPolitenessScheduler Tests")
+public class HostPolitenessSchedulerTest {
+    private ExecutorService executor;
+    private HostPolitenessScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should not exceed max in-flight requests per host")
+    void shouldNotExceedMaxInFlightPerHost() throws Exception {
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(2, Duration.ZERO), executor);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        URL url = new URL("https://github.com/page");
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(scheduler.schedule(url, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                return running.decrementAndGet();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Should cancel fetches waiting for their host without running them")
+    void shouldCancelPendingFetches() throws Exception {
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ofMinutes(1)), executor);
+        URL url = new URL("https://github.com/page");
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Integer> first = scheduler.schedule(url, runs::incrementAndGet);
+        CompletableFuture<Integer> second = scheduler.schedule(url, runs::incrementAndGet);
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+
+        scheduler.cancelPending();
+
+        assertTrue(second.isCancelled());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should schedule different hosts independently")
+    void shouldScheduleHostsIndependently() throws Exception {
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ZERO), executor);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = scheduler.schedule(new URL("https://github.com"),
+                () -> awaitLatch(bothRunning));
+        CompletableFuture<Boolean> second = scheduler.schedule(new URL("https://example.com"),
+                () -> awaitLatch(bothRunning));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, scheduler.getTrackedHostCount());
+    }
+
+    @Test
+    @DisplayName("Should keep minimum delay between requests to the same host")
+    void shouldKeepMinimumDelayBetweenRequests() throws Exception {
+        long delayMs = 50;
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(4, Duration.ofMillis(delayMs)), executor);
+        URL url = new URL("https://github.com");
+        List<Long> startTimes = new CopyOnWriteArrayList<>();
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(scheduler.schedule(url, () -> startTimes.add(System.nanoTime())));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        List<Long> sorted = startTimes.stream().sorted().toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(sorted.get(i) - sorted.get(i - 1));
+            assertTrue(gapMs >= delayMs - 5, "Gap between requests was only " + gapMs + "ms");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the delay a host asked for between its requests")
+    void shouldKeepHostDelayBetweenRequests() throws Exception {
+        long delayMs = 50;
+        PolitenessPolicy policy = new PolitenessPolicy(4, Duration.ZERO)
+                .withHostDelays(host -> host.equals("github.com") ? Duration.ofMillis(delayMs) : Duration.ZERO);
+        scheduler = new HostPolitenessScheduler(policy, executor);
+        URL url = new URL("https://github.com");
+        List<Long> startTimes = new CopyOnWriteArrayList<>();
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(scheduler.schedule(url, () -> startTimes.add(System.nanoTime())));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        List<Long> sorted = startTimes.stream().sorted().toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(sorted.get(i) - sorted.get(i - 1));
+            assertTrue(gapMs >= delayMs - 5, "Gap between requests was only " + gapMs + "ms");
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the slot of a fetch waiting to retry to the next fetch of its host")
+    void shouldFreeSlotWhileWaitingToRetry() throws Exception {
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ZERO), executor);
+        URL url = new URL("https://github.com/page");
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = scheduler.schedule(url,
+                () -> awaitRetry(url, Duration.ofMillis(200), false) && secondDone.getCount() == 0);
+        CompletableFuture<Boolean> second = scheduler.schedule(url, () -> {
+            secondDone.countDown();
+            return true;
+        });
+
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should give the shared permit of a fetch waiting to retry to fetches of other hosts")
+    void shouldFreePermitWhileWaitingToRetry() throws Exception {
+        Semaphore fetchPermits = new Semaphore(1);
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ZERO), executor, fetchPermits);
+        URL url = new URL("https://github.com/page");
+        URL otherUrl = new URL("https://example.com/page");
+        CountDownLatch waiting = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = scheduler.schedule(url, () -> {
+            waiting.countDown();
+            return awaitRetry(url, Duration.ofMillis(500), false) && otherDone.getCount() == 0;
+        });
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> other = scheduler.schedule(otherUrl, () -> {
+            otherDone.countDown();
+            return true;
+        });
+
+        assertTrue(other.get(5, TimeUnit.SECONDS));
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, fetchPermits.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should hold back every request to a host for the delay it asked for")
+    void shouldHoldBackHostForRetryAfter() throws Exception {
+        long delayMs = 200;
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ZERO), executor);
+        URL url = new URL("https://github.com/page");
+        AtomicLong pausedAt = new AtomicLong();
+
+        CompletableFuture<Boolean> first = scheduler.schedule(url, () -> {
+            pausedAt.set(System.nanoTime());
+            return awaitRetry(url, Duration.ofMillis(delayMs), true);
+        });
+        CompletableFuture<Long> second = scheduler.schedule(url, System::nanoTime);
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(second.get(5, TimeUnit.SECONDS) - pausedAt.get());
+        assertTrue(waitedMs >= delayMs - 5, "Request started after only " + waitedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("Should end the waits of retries when pending fetches are cancelled")
+    void shouldCancelWaitingRetries() throws Exception {
+        scheduler = new HostPolitenessScheduler(new PolitenessPolicy(1, Duration.ZERO), executor);
+        URL url = new URL("https://github.com/page");
+        CountDownLatch waiting = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> retry = scheduler.schedule(url, () -> {
+            waiting.countDown();
+            return awaitRetry(url, Duration.ofMinutes(1), true);
+        });
+        URL otherUrl = new URL("https://example.com/page");
+        CompletableFuture<Boolean> lateRetry = scheduler.schedule(otherUrl,
+                () -> awaitLatch(cancelled) && awaitRetry(otherUrl, Duration.ofMinutes(1), true));
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        sleep(50);
+        scheduler.cancelPending();
+        cancelled.countDown();
+
+        assertFalse(retry.get(5, TimeUnit.SECONDS));
+        assertFalse(lateRetry.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should propagate exceptions of the fetch")
+    void shouldPropagateFetchExceptions() throws MalformedURLException {
+        scheduler = new HostPolitenessScheduler(PolitenessPolicy.defaults(), executor);
+
+        CompletableFuture<Object> future = scheduler.schedule(new URL("https://github.com"), () -> {
+            throw new IllegalStateException("fetch failed");
+        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should evict idle hosts")
+    void shouldEvictIdleHosts() throws Exception {
+        PolitenessPolicy policy = new PolitenessPolicy(1, Duration.ZERO, 1, Duration.ofMillis(1));
+        scheduler = new HostPolitenessScheduler(policy, executor);
+        scheduler.schedule(new URL("https://github.com"), () -> true).get(5, TimeUnit.SECONDS);
+
+        sleep(10);
+        scheduler.evictIdleHosts();
+
+        assertEquals(0, scheduler.getTrackedHostCount());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid politeness policy")
+    void shouldRejectInvalidPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> new PolitenessPolicy(0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new PolitenessPolicy(1, Duration.ofMillis(-1)));
+    }
+
+    private static boolean awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean awaitRetry(URL url, Duration delay, boolean delayHost) {
+        try {
+            return HostPolitenessScheduler.awaitRetry(url, delay, delayHost);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.yikesboy.snapshot;
+
+import io.github.yikesboy.models.Heading;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CrawlSnapshot Tests")
+public class CrawlSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should load saved pages")
+    void shouldLoadSavedPages() throws IOException {
+        Path file = tempDir.resolve("snapshot.bin");
+        URL url = new URL("https://github.com/page");
+        URL link = new URL("https://github.com/other");
+        String longHeading = "h".repeat(70_000);
+        CrawlSnapshot snapshot = new CrawlSnapshot();
+        snapshot.put(new PageSnapshot(url, "\"v1\"", "", new byte[]{1, 2, 3},
+                List.of(new Heading(1, "Title"), new Heading(2, longHeading)), List.of(link)));
+
+        snapshot.save(file);
+        CrawlSnapshot loaded = CrawlSnapshot.load(file);
+
+        PageSnapshot page = loaded.get(url).orElseThrow();
+        assertEquals(1, loaded.size());
+        assertEquals("\"v1\"", page.etag());
+        assertEquals("", page.lastModified());
+        assertArrayEquals(new byte[]{1, 2, 3}, page.contentHash());
+        assertEquals(List.of(new Heading(1, "Title"), new Heading(2, longHeading)), page.headings());
+        assertEquals(List.of(link), page.links());
+        assertFalse(Files.exists(tempDir.resolve("snapshot.bin.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should return empty snapshot for missing file")
+    void shouldReturnEmptySnapshotForMissingFile() throws IOException {
+        CrawlSnapshot snapshot = CrawlSnapshot.load(tempDir.resolve("missing.bin"));
+
+        assertEquals(0, snapshot.size());
+    }
+}
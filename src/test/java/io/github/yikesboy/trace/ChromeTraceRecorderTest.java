@@ -0,0 +1,81 @@
+package io.github.yikesboy.trace;
+
+import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.crawler.WebCrawlerService;
+import io.github.yikesboy.metrics.CrawlMetricsRecorder;
+import io.github.yikesboy.models.WebPage;
+import io.github.yikesboy.parser.PageParserInterface;
+import io.github.yikesboy.scheduler.PolitenessPolicy;
+import io.github.yikesboy.visited.SetBackedVisitedUrlSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ChromeTraceRecorder Tests")
+public class ChromeTraceRecorderTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should write spans as complete events on the track of their thread")
+    void shouldWriteSpansPerThread() throws Exception {
+        ChromeTraceRecorder recorder = new ChromeTraceRecorder(directory.resolve("trace.json"));
+        URL url = new URL("https://github.com/\"quoted\"");
+        long start = System.nanoTime();
+        recorder.span("fetch and parse", url, 1, start, start + 2_500_000);
+        Thread worker = new Thread(() -> recorder.span("queued", url, 1, start, start + 1_000), "crawl-worker");
+        worker.start();
+        worker.join();
+
+        StringWriter json = new StringWriter();
+        recorder.write(json);
+        String trace = json.toString();
+
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertTrue(trace.endsWith("]}\n"));
+        assertTrue(trace.contains("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\""
+                + Thread.currentThread().getName() + "\"}}"));
+        assertTrue(trace.contains("\"ph\":\"M\",\"pid\":1,\"tid\":2,\"args\":{\"name\":\"crawl-worker\"}}"));
+        assertTrue(trace.contains("{\"name\":\"fetch and parse\",\"cat\":\"crawl\",\"ph\":\"X\""));
+        assertTrue(trace.contains(",\"dur\":2500.000,\"pid\":1,\"tid\":1,\"args\":{\"url\":"
+                + "\"https://github.com/\\\"quoted\\\"\",\"host\":\"github.com\",\"depth\":1}}"));
+        assertTrue(trace.contains(",\"dur\":1.000,\"pid\":1,\"tid\":2,"));
+    }
+
+    @Test
+    @DisplayName("Should trace the phases of fork/join crawl tasks")
+    void shouldTraceCrawlTasks() throws IOException {
+        URL rootUrl = new URL("https://github.com");
+        URL child = new URL("https://github.com/child");
+        PageParserInterface parser = mock(PageParserInterface.class);
+        WebPage rootPage = new WebPage(rootUrl, 0, false);
+        when(parser.parse(rootUrl, 0)).thenReturn(rootPage);
+        when(parser.extractLinks(rootPage)).thenReturn(List.of(child));
+        when(parser.parse(child, 1)).thenReturn(new WebPage(child, 1, false));
+        Path file = directory.resolve("trace.json");
+        ChromeTraceRecorder recorder = new ChromeTraceRecorder(file);
+        WebCrawlerService service = new WebCrawlerService(parser, PolitenessPolicy.defaults(), recorder,
+                new SetBackedVisitedUrlSet(), 2, CrawlMetricsRecorder.NONE, recorder);
+
+        service.crawl(new CrawlConfig(rootUrl, 1, Set.of("github.com")));
+
+        String trace = Files.readString(file);
+        for (String span : List.of("crawl task", "queued", "await page", "fetch and parse", "expand links",
+                "wait for children")) {
+            assertTrue(trace.contains("{\"name\":\"" + span + "\",\"cat\":\"crawl\""), span);
+        }
+        assertTrue(trace.contains("\"url\":\"https://github.com/child\",\"host\":\"github.com\",\"depth\":1"));
+    }
+}
@@ -1,15 +1,26 @@
 package io.github.yikesboy.util;
 
 import io.github.yikesboy.config.CrawlConfig;
+import io.github.yikesboy.config.CrawlEngine;
+import io.github.yikesboy.config.CrawlOptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("ArgumentParser Tests")
 public class ArgumentParserTest {
@@ -106,4 +117,183 @@ public class ArgumentParserTest {
         assertEquals(3, config.maxDepth());
         assertEquals(Set.of("https://github.com"), config.allowedDomains());
     }
+
+    @Test
+    @DisplayName("Should use default options when no options are given")
+    void shouldUseDefaultOptions() {
+        String[] args = {"https://github.com", "1", "github.com"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(CrawlEngine.FORK_JOIN, config.options().getEngine());
+    }
+
+    @Test
+    @DisplayName("Should parse engine and in-flight options")
+    void shouldParseEngineOptions() {
+        String[] args = {"https://github.com", "1", "github.com", "--engine=virtual", "--max-in-flight=1000"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(CrawlEngine.VIRTUAL_THREADS, config.options().getEngine());
+        assertEquals(1000, config.options().getMaxInFlight());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for unknown option")
+    void shouldThrowForUnknownOption() {
+        String[] args = {"https://github.com", "1", "github.com", "--unknown=1"};
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(args));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for invalid option value")
+    void shouldThrowForInvalidOptionValue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--engine=threads"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--max-in-flight=0"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--max-in-flight"}));
+    }
+
+    @Test
+    @DisplayName("Should parse metrics directory and interval")
+    void shouldParseMetricsOptions() {
+        String[] args = {"https://github.com", "1", "github.com", "--metrics=out", "--metrics-interval-ms=250"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(Paths.get("out"), config.options().getMetricsDirectory());
+        assertEquals(Duration.ofMillis(250), config.options().getMetricsInterval());
+        assertNull(parser.parse(new String[]{"https://github.com", "1", "github.com"}).options().getMetricsDirectory());
+    }
+
+    @Test
+    @DisplayName("Should parse flight recording file")
+    void shouldParseJfrFile() {
+        String[] args = {"https://github.com", "1", "github.com", "--jfr=crawl.jfr"};
+        assertEquals(Paths.get("crawl.jfr"), parser.parse(args).options().getJfrFile());
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--jfr"}));
+    }
+
+    @Test
+    @DisplayName("Should parse trace file and require the fork/join engine for it")
+    void shouldParseTraceFile() {
+        String[] args = {"https://github.com", "1", "github.com", "--trace=trace.json"};
+        assertEquals(Paths.get("trace.json"), parser.parse(args).options().getTraceFile());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(
+                new String[]{"https://github.com", "1", "github.com", "--trace=trace.json", "--engine=virtual"}));
+    }
+
+    @Test
+    @DisplayName("Should parse crawl budgets")
+    void shouldParseCrawlBudgets() {
+        String[] args = {"https://github.com", "1", "github.com",
+                "--max-pages=500", "--max-download-mb=2", "--max-duration-ms=60000"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(500, config.options().getMaxPages());
+        assertEquals(2L * 1024 * 1024, config.options().getMaxBytes());
+        assertEquals(Duration.ofMinutes(1), config.options().getMaxDuration());
+
+        CrawlConfig unlimited = parser.parse(new String[]{"https://github.com", "1", "github.com"});
+        assertEquals(CrawlOptions.UNLIMITED, unlimited.options().getMaxPages());
+        assertNull(unlimited.options().getMaxDuration());
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--max-pages=0"}));
+    }
+
+    @Test
+    @DisplayName("Should parse retry and circuit breaker options")
+    void shouldParseRetryOptions() {
+        String[] args = {"https://github.com", "1", "github.com", "--max-retries=0", "--retry-backoff-ms=250",
+                "--circuit-failures=3", "--circuit-open-ms=10000"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(0, config.options().getMaxRetries());
+        assertEquals(Duration.ofMillis(250), config.options().getRetryBackoff());
+        assertEquals(3, config.options().getCircuitFailureThreshold());
+        assertEquals(Duration.ofSeconds(10), config.options().getCircuitOpenDuration());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--max-retries=-1"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parse(new String[]{"https://github.com", "1", "github.com", "--circuit-failures=0"}));
+    }
+
+    @Test
+    @DisplayName("Should parse page size limit and skipped extensions")
+    void shouldParseFetchLimits() {
+        String[] args = {"https://github.com", "1", "github.com", "--max-page-kb=512", "--skip-extensions=pdf, zip,,"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(512L * 1024, config.options().getMaxPageBytes());
+        assertEquals(Set.of("pdf", "zip"), config.options().getSkippedExtensions());
+
+        CrawlConfig defaults = parser.parse(new String[]{"https://github.com", "1", "github.com"});
+        assertEquals(CrawlOptions.DEFAULT_MAX_PAGE_BYTES, defaults.options().getMaxPageBytes());
+        assertTrue(defaults.options().getSkippedExtensions().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should parse robots.txt options")
+    void shouldParseRobotsOptions() {
+        String[] args = {"https://github.com", "1", "github.com", "--robots=false", "--robots-ttl-ms=60000"};
+        CrawlConfig config = parser.parse(args);
+        assertFalse(config.options().isRespectRobots());
+        assertEquals(Duration.ofMinutes(1), config.options().getRobotsTtl());
+
+        CrawlConfig defaults = parser.parse(new String[]{"https://github.com", "1", "github.com"});
+        assertTrue(defaults.options().isRespectRobots());
+        assertEquals(CrawlOptions.DEFAULT_ROBOTS_TTL, defaults.options().getRobotsTtl());
+    }
+
+    @Test
+    @DisplayName("Should parse report flags")
+    void shouldParseReportFlags() {
+        String[] args = {"https://github.com", "1", "github.com", "--stream-report", "--gzip-report=true"};
+        CrawlConfig config = parser.parse(args);
+        assertTrue(config.options().isStreamReport());
+        assertTrue(config.options().isGzipReport());
+        assertEquals("crawler-report.md.gz", config.options().getReportFile());
+    }
+
+    @Test
+    @DisplayName("Should parse HTTP cache options")
+    void shouldParseHttpCacheOptions() {
+        String[] args = {"https://github.com", "1", "github.com", "--http-cache=cache", "--http-cache-mb=10"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(Paths.get("cache"), config.options().getHttpCacheDirectory());
+        assertEquals(10L * 1024 * 1024, config.options().getHttpCacheMaxBytes());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(
+                new String[]{"https://github.com", "1", "github.com", "--http-cache=cache", "--stream-parse"}));
+    }
+
+    @Test
+    @DisplayName("Should parse snapshot option")
+    void shouldParseSnapshotOption() {
+        String[] args = {"https://github.com", "1", "github.com", "--snapshot=crawl.snapshot"};
+        CrawlConfig config = parser.parse(args);
+        assertEquals(Paths.get("crawl.snapshot"), config.options().getSnapshotFile());
+    }
+
+    @Test
+    @DisplayName("Should parse checkpoint options")
+    void shouldParseCheckpointOptions() {
+        CrawlConfig defaults = parser.parse(new String[]{"https://github.com", "1", "github.com"});
+        CrawlConfig resumed = parser.parse(new String[]{"https://github.com", "1", "github.com", "--resume"});
+        CrawlConfig custom = parser.parse(new String[]{"https://github.com", "1", "github.com", "--checkpoint=crawl.bin"});
+
+        assertNull(defaults.options().getCheckpointFile());
+        assertTrue(resumed.options().isResume());
+        assertEquals(Paths.get("crawler-checkpoint.bin"), resumed.options().getCheckpointFile());
+        assertEquals(Paths.get("crawl.bin"), custom.options().getCheckpointFile());
+        assertFalse(custom.options().isResume());
+    }
+
+    @Test
+    @DisplayName("Should add the domains of an allowed domains file")
+    void shouldAddDomainsOfAllowedDomainsFile(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("domains.txt"), "# mirrors\nexample.org\n\n  docs.example.net \n");
+        String[] args = {"https://github.com", "1", "github.com", "--allowed-domains-file=" + file};
+
+        CrawlConfig config = parser.parse(args);
+
+        assertEquals(Set.of("github.com", "example.org", "docs.example.net"), config.allowedDomains());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(new String[]{
+                "https://github.com", "1", "github.com", "--allowed-domains-file=" + directory.resolve("missing.txt")}));
+    }
 }
@@ -0,0 +1,72 @@
+package io.github.yikesboy.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DomainMatcher Tests")
+public class DomainMatcherTest {
+    private final DomainMatcher matcher = new DomainMatcher(Set.of("github.com", "docs.example.org", "127.0.0.1"));
+
+    @ParameterizedTest
+    @CsvSource({
+            "github.com, true",
+            "api.github.com, true",
+            "a.b.github.com, true",
+            "GitHub.COM, true",
+            "docs.example.org, true",
+            "v2.docs.example.org, true",
+            "example.org, false",
+            "notgithub.com, false",
+            "github.com.evil.net, false",
+            "com, false",
+            "127.0.0.1, true",
+            "'', false"
+    })
+    @DisplayName("Should match allowed domains and their subdomains")
+    void shouldMatchDomainsAndSubdomains(String host, boolean expected) {
+        assertEquals(expected, matcher.matches(host));
+    }
+
+    @Test
+    @DisplayName("Should agree with UrlUtil.isAllowedDomain")
+    void shouldAgreeWithUrlUtil() throws MalformedURLException {
+        Set<String> domains = Set.of("github.com", "example.org");
+        DomainMatcher domainMatcher = new DomainMatcher(domains);
+        for (String url : new String[]{"https://github.com/a", "https://gist.github.com", "https://example.org",
+                "https://www.example.org/x", "https://example.com", "https://xgithub.com"}) {
+            assertEquals(UrlUtil.isAllowedDomain(new URL(url), domains), domainMatcher.matches(new URL(url)), url);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match large allowlists")
+    void shouldMatchLargeAllowlists() {
+        Set<String> domains = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            domains.add("site" + i + ".example.net");
+        }
+        DomainMatcher largeMatcher = new DomainMatcher(domains);
+
+        assertTrue(largeMatcher.matches("www.site49999.example.net"));
+        assertFalse(largeMatcher.matches("site50000.example.net"));
+        assertFalse(largeMatcher.matches("example.net"));
+    }
+
+    @Test
+    @DisplayName("Should return the same decision for a memoized host")
+    void shouldReturnMemoizedDecision() {
+        assertTrue(matcher.matches("api.github.com"));
+        assertTrue(matcher.matches("api.github.com"));
+        assertFalse(matcher.matches("example.com"));
+        assertFalse(matcher.matches("example.com"));
+    }
+}
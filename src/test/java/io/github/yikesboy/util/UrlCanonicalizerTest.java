@@ -0,0 +1,96 @@
+package io.github.yikesboy.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UrlCanonicalizer Tests")
+public class UrlCanonicalizerTest {
+    private final UrlCanonicalizer canonicalizer = UrlCanonicalizer.defaults();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "HTTPS://GitHub.COM/Path       | https://github.com/Path",
+            "https://github.com:443/a      | https://github.com/a",
+            "http://github.com:80/a        | http://github.com/a",
+            "http://github.com:8080/a      | http://github.com:8080/a",
+            "https://github.com/a#section  | https://github.com/a",
+            "https://github.com/           | https://github.com",
+            "https://github.com            | https://github.com",
+            "https://github.com/a/         | https://github.com/a"
+    })
+    @DisplayName("Should normalize scheme, host, port, fragment and trailing slash")
+    void shouldNormalizeAuthority(String input, String expected) throws MalformedURLException {
+        assertEquals(expected, canonicalizer.canonicalize(new URL(input)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "https://github.com/a/./b          | https://github.com/a/b",
+            "https://github.com/a/b/../c       | https://github.com/a/c",
+            "https://github.com/a/b/..         | https://github.com/a",
+            "https://github.com/../a           | https://github.com/a",
+            "https://github.com/a/./../../b/.  | https://github.com/b",
+            "https://github.com/a/..b/c.       | https://github.com/a/..b/c."
+    })
+    @DisplayName("Should remove dot segments")
+    void shouldRemoveDotSegments(String input, String expected) throws MalformedURLException {
+        assertEquals(expected, canonicalizer.canonicalize(new URL(input)));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "https://github.com/%7Euser      | https://github.com/~user",
+            "https://github.com/a%2fb        | https://github.com/a%2Fb",
+            "https://github.com/%41%42c      | https://github.com/ABc",
+            "https://github.com/a%2         | https://github.com/a%2",
+            "https://github.com/a%zz         | https://github.com/a%zz",
+            "https://github.com/%2E%2E/a     | https://github.com/a"
+    })
+    @DisplayName("Should normalize percent-encodings")
+    void shouldNormalizePercentEncodings(String input, String expected) throws MalformedURLException {
+        assertEquals(expected, canonicalizer.canonicalize(new URL(input)));
+    }
+
+    @Test
+    @DisplayName("Should strip tracking parameters and sort the query")
+    void shouldStripTrackingParametersAndSortQuery() throws MalformedURLException {
+        URL url = new URL("https://github.com/search?utm_source=mail&q=test&page=%7e1&fbclid=abc");
+
+        assertEquals("https://github.com/search?page=~1&q=test", canonicalizer.canonicalize(url));
+    }
+
+    @Test
+    @DisplayName("Should drop the query if only stripped parameters remain")
+    void shouldDropEmptyQuery() throws MalformedURLException {
+        assertEquals("https://github.com/a", canonicalizer.canonicalize(new URL("https://github.com/a/?utm_medium=x")));
+        assertEquals("https://github.com/a", canonicalizer.canonicalize(new URL("https://github.com/a?")));
+    }
+
+    @Test
+    @DisplayName("Should keep query order and parameters when configured")
+    void shouldKeepQueryWhenConfigured() throws MalformedURLException {
+        UrlCanonicalizer keepingCanonicalizer = new UrlCanonicalizer(Set.of(), false);
+        URL url = new URL("https://github.com/search?utm_source=mail&q=test&page=1");
+
+        assertEquals("https://github.com/search?utm_source=mail&q=test&page=1",
+                keepingCanonicalizer.canonicalize(url));
+    }
+
+    @Test
+    @DisplayName("Should map equivalent URLs to the same string")
+    void shouldMapEquivalentUrlsToSameString() throws MalformedURLException {
+        String canonical = canonicalizer.canonicalize(new URL("https://github.com/docs/guide?b=2&a=1"));
+
+        assertEquals(canonical,
+                canonicalizer.canonicalize(new URL("HTTPS://GITHUB.COM:443/docs/./api/../guide/?a=1&b=2#top")));
+        assertNotEquals(canonical, canonicalizer.canonicalize(new URL("https://github.com/Docs/guide?b=2&a=1")));
+    }
+}
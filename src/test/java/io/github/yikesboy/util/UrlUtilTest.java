@@ -84,9 +84,9 @@ public class UrlUtilTest {
     @CsvSource({
             "https://GITHUB.com/path, https://github.com/path",
             "http://github.com/, http://github.com",
-            "https://Github.Com/Path, https://github.com/path"
+            "https://Github.Com/Path, https://github.com/Path"
     })
-    @DisplayName("Should normalize URLs by removing trailing slash and converting to lowercase")
+    @DisplayName("Should normalize URLs by removing trailing slash and lowercasing the host")
     void shouldNormalizeUrls(String input, String expected) throws MalformedURLException {
         URL url = new URL(input);
 
@@ -112,7 +112,7 @@ public class UrlUtilTest {
 
         String normalized = UrlUtil.normalizeUrl(url);
 
-        assertEquals("https://github.com/search?q=test&page=1", normalized);
+        assertEquals("https://github.com/search?page=1&q=test", normalized);
     }
 
     @Test
@@ -122,6 +122,6 @@ public class UrlUtilTest {
 
         String normalized = UrlUtil.normalizeUrl(url);
 
-        assertEquals("https://github.com/path", normalized);
+        assertEquals("https://github.com/Path", normalized);
     }
 }
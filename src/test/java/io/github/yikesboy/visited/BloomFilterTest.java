@@ -0,0 +1,48 @@
+package io.github.yikesboy.visited;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BloomFilter Tests")
+public class BloomFilterTest {
+    @Test
+    @DisplayName("Should contain every inserted fingerprint")
+    void shouldContainInsertedFingerprints() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UrlFingerprint.of("https://github.com/" + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(UrlFingerprint.of("https://github.com/" + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay close to the configured false positive rate")
+    void shouldStayCloseToFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UrlFingerprint.of("https://github.com/" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UrlFingerprint.of("https://gitlab.com/" + i))) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for invalid false positive rate")
+    void shouldThrowForInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.yikesboy.visited;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DiskSpillingVisitedUrlSet Tests")
+public class DiskSpillingVisitedUrlSetTest {
+    private static final int URL_COUNT = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    private DiskSpillingVisitedUrlSet visitedUrls;
+
+    @BeforeEach
+    void setUp() {
+        visitedUrls = new DiskSpillingVisitedUrlSet(new DiskVisitedUrlSetConfig(tempDir, 1_000, 0.01, 4_096));
+    }
+
+    @AfterEach
+    void tearDown() {
+        visitedUrls.close();
+    }
+
+    @Test
+    @DisplayName("Should claim every URL exactly once after spilling to disk")
+    void shouldClaimEveryUrlOnceAfterSpilling() {
+        for (int i = 0; i < URL_COUNT; i++) {
+            assertTrue(visitedUrls.claim(url(i)));
+        }
+
+        for (int i = 0; i < URL_COUNT; i++) {
+            assertFalse(visitedUrls.claim(url(i)), "URL " + i + " was claimed twice");
+        }
+        visitedUrls.awaitSpill();
+        assertEquals(URL_COUNT, visitedUrls.size());
+        assertTrue(visitedUrls.getStats().segmentCount() > 0);
+        assertTrue(visitedUrls.getStats().diskHits() > 0);
+    }
+
+    @Test
+    @DisplayName("Should skip the disk for URLs rejected by the Bloom filter")
+    void shouldSkipDiskForFilterNegatives() {
+        visitedUrls.claim(url(0));
+
+        assertFalse(visitedUrls.contains(url(1)));
+
+        VisitedSetStats stats = visitedUrls.getStats();
+        assertEquals(2, stats.lookups());
+        assertEquals(2, stats.filterNegatives());
+        assertEquals(0, stats.diskProbes());
+        assertEquals(1.0, stats.filterHitRate());
+    }
+
+    @Test
+    @DisplayName("Should merge segments when there are too many")
+    void shouldMergeSegments() throws IOException {
+        for (int i = 0; i < URL_COUNT * 4; i++) {
+            visitedUrls.claim(url(i));
+        }
+        visitedUrls.awaitSpill();
+
+        assertTrue(visitedUrls.getStats().segmentCount() <= 9);
+        assertTrue(segmentFileCount() <= 9);
+        assertTrue(visitedUrls.contains(url(0)));
+        assertTrue(visitedUrls.contains(url(URL_COUNT * 4 - 1)));
+    }
+
+    @Test
+    @DisplayName("Should keep the segment count bounded once segments reach their maximum size")
+    void shouldBoundSegmentsBeyondMaximumSize() throws IOException {
+        long maxSegmentFingerprints = 1_000;
+        visitedUrls.close();
+        visitedUrls = new DiskSpillingVisitedUrlSet(
+                new DiskVisitedUrlSetConfig(tempDir, 1_000, 0.01, 4_096), maxSegmentFingerprints);
+
+        for (int i = 0; i < URL_COUNT * 4; i++) {
+            visitedUrls.claim(url(i));
+        }
+        visitedUrls.awaitSpill();
+
+        long bound = 8 + 2 * visitedUrls.size() / maxSegmentFingerprints;
+        assertTrue(visitedUrls.getStats().segmentCount() <= bound,
+                visitedUrls.getStats().segmentCount() + " segments");
+        assertTrue(segmentFileCount() <= bound);
+        assertTrue(visitedUrls.contains(url(0)));
+        assertTrue(visitedUrls.contains(url(URL_COUNT * 4 - 1)));
+    }
+
+    @Test
+    @DisplayName("Should claim every URL once when claimed concurrently while spilling")
+    void shouldClaimOnceConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        LongAdder claimed = new LongAdder();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < URL_COUNT; i++) {
+                        if (visitedUrls.claim(url(i))) {
+                            claimed.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(URL_COUNT, claimed.sum());
+        assertEquals(URL_COUNT, visitedUrls.size());
+    }
+
+    @Test
+    @DisplayName("Should delete leftover segment files when closed")
+    void shouldDeleteLeftoverFilesWhenClosed() throws IOException {
+        for (int i = 0; i < URL_COUNT; i++) {
+            visitedUrls.claim(url(i));
+        }
+        visitedUrls.awaitSpill();
+        Files.createFile(tempDir.resolve("visited-leftover.seg"));
+
+        visitedUrls.close();
+
+        assertEquals(0, segmentFileCount());
+    }
+
+    @Test
+    @DisplayName("Should delete segment files when cleared")
+    void shouldDeleteSegmentFilesWhenCleared() throws IOException {
+        for (int i = 0; i < URL_COUNT; i++) {
+            visitedUrls.claim(url(i));
+        }
+
+        visitedUrls.clear();
+
+        assertEquals(0, segmentFileCount());
+        assertEquals(0, visitedUrls.size());
+        assertTrue(visitedUrls.claim(url(0)));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when the Bloom filter exceeds the memory budget")
+    void shouldThrowWhenFilterExceedsMemoryBudget() {
+        DiskVisitedUrlSetConfig config = new DiskVisitedUrlSetConfig(tempDir, 1_000_000, 0.01, 1_024);
+
+        assertThrows(IllegalArgumentException.class, () -> new DiskSpillingVisitedUrlSet(config));
+    }
+
+    private long segmentFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private static String url(int index) {
+        return "https://github.com/page/" + index;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.yikesboy.visited;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FingerprintVisitedUrlSet Tests")
+public class FingerprintVisitedUrlSetTest {
+    private FingerprintVisitedUrlSet visitedUrls;
+
+    @BeforeEach
+    void setUp() {
+        visitedUrls = new FingerprintVisitedUrlSet(0);
+    }
+
+    @Test
+    @DisplayName("Should claim a URL only once")
+    void shouldClaimUrlOnlyOnce() {
+        assertTrue(visitedUrls.claim("https://github.com"));
+        assertFalse(visitedUrls.claim("https://github.com"));
+        assertTrue(visitedUrls.contains("https://github.com"));
+        assertFalse(visitedUrls.contains("https://github.com/other"));
+        assertEquals(1, visitedUrls.size());
+    }
+
+    @Test
+    @DisplayName("Should grow beyond the expected URL count")
+    void shouldGrowBeyondExpectedUrlCount() {
+        int urlCount = 100_000;
+        for (int i = 0; i < urlCount; i++) {
+            assertTrue(visitedUrls.claim("https://github.com/page/" + i));
+        }
+
+        assertEquals(urlCount, visitedUrls.size());
+        for (int i = 0; i < urlCount; i++) {
+            assertTrue(visitedUrls.contains("https://github.com/page/" + i));
+        }
+        assertTrue(visitedUrls.getTableBytes() < urlCount * 24L);
+    }
+
+    @Test
+    @DisplayName("Should forget all URLs when cleared")
+    void shouldForgetAllUrlsWhenCleared() {
+        visitedUrls.claim("https://github.com");
+
+        visitedUrls.clear();
+
+        assertEquals(0, visitedUrls.size());
+        assertTrue(visitedUrls.claim("https://github.com"));
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of concurrent claims win")
+    void shouldLetExactlyOneConcurrentClaimWin() throws Exception {
+        int threadCount = 8;
+        int urlCount = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threadCount; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int claimed = 0;
+                    for (int i = 0; i < urlCount; i++) {
+                        if (visitedUrls.claim("https://github.com/page/" + i)) {
+                            claimed++;
+                        }
+                    }
+                    return claimed;
+                }));
+            }
+            start.countDown();
+
+            int totalClaimed = 0;
+            for (Future<Integer> result : results) {
+                totalClaimed += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(urlCount, totalClaimed);
+            assertEquals(urlCount, visitedUrls.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for negative expected URL count")
+    void shouldThrowForNegativeExpectedUrlCount() {
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintVisitedUrlSet(-1));
+    }
+}